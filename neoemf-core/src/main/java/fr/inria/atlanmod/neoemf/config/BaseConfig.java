@@ -9,15 +9,19 @@
 package fr.inria.atlanmod.neoemf.config;
 
 import fr.inria.atlanmod.neoemf.bind.Bindings;
+import fr.inria.atlanmod.neoemf.core.internal.SequentialIdProvider;
 import fr.inria.atlanmod.neoemf.data.mapping.DataMapper;
 import fr.inria.atlanmod.neoemf.data.store.AutoSavingStore;
 import fr.inria.atlanmod.neoemf.data.store.ClassCachingStore;
+import fr.inria.atlanmod.neoemf.data.store.ConcurrentStore;
 import fr.inria.atlanmod.neoemf.data.store.ContainerCachingStore;
+import fr.inria.atlanmod.neoemf.data.store.ElementCachingStore;
 import fr.inria.atlanmod.neoemf.data.store.FeatureCachingStore;
 import fr.inria.atlanmod.neoemf.data.store.ListeningStore;
 import fr.inria.atlanmod.neoemf.data.store.ReadOnlyStore;
 import fr.inria.atlanmod.neoemf.data.store.SizeCachingStore;
 import fr.inria.atlanmod.neoemf.data.store.Store;
+import fr.inria.atlanmod.neoemf.data.store.WriteBehindStore;
 import fr.inria.atlanmod.neoemf.data.store.listener.LoggingStoreListener;
 import fr.inria.atlanmod.neoemf.data.store.listener.RecordingStoreListener;
 import fr.inria.atlanmod.neoemf.data.store.listener.StoreListener;
@@ -83,10 +87,25 @@ public class BaseConfig<C extends BaseConfig<C>> implements Config {
     /**
      * The key identifying the mapping to use for the created {@link fr.inria.atlanmod.neoemf.data.Backend}.
      */
-    static final String BACKEND_MAPPING = createKey(BACKEND, "mapping");
+    protected static final String BACKEND_MAPPING = createKey(BACKEND, "mapping");
+
+    /**
+     * The key identifying the version of the layout of the database.
+     */
+    static final String BACKEND_LAYOUT = createKey(BACKEND, "layout");
 
     // endregion
 
+    /**
+     * The key identifying whether identifiers are generated sequentially.
+     */
+    static final String SEQUENTIAL_IDS = createKey(BASE_PREFIX, "ids", "sequential");
+
+    /**
+     * The key identifying the node number of sequential identifiers.
+     */
+    static final String SEQUENTIAL_IDS_NODE = createKey(BASE_PREFIX, "ids", "node");
+
     // region Store/Listener configuration
 
     /**
@@ -212,6 +231,53 @@ public class BaseConfig<C extends BaseConfig<C>> implements Config {
         return setMappingWithCheck(mappingType, true);
     }
 
+    @Nonnull
+    @Override
+    public Optional<Integer> getLayoutVersion() {
+        return getOption(BACKEND_LAYOUT)
+                .map(String::valueOf)
+                .map(Integer::parseInt);
+    }
+
+    @Nonnull
+    @Override
+    public C setLayoutVersion(int version) {
+        // Stored as text, as when loaded from a configuration file
+        return addOption(BACKEND_LAYOUT, String.valueOf(version));
+    }
+
+    @Override
+    public boolean isSequentialIds() {
+        return getOption(SEQUENTIAL_IDS)
+                .map(String::valueOf)
+                .map(Boolean::parseBoolean)
+                .orElse(false);
+    }
+
+    @Nonnull
+    @Override
+    public C generateSequentialIds() {
+        return addOption(SEQUENTIAL_IDS, true);
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Integer> getSequentialIdsNode() {
+        return getOption(SEQUENTIAL_IDS_NODE)
+                .map(String::valueOf)
+                .map(Integer::parseInt);
+    }
+
+    @Nonnull
+    @Override
+    public C generateSequentialIds(int node) {
+        if (node < 0 || node > SequentialIdProvider.MAX_NODE) {
+            throw new InvalidConfigException(String.format("The node number must be between 0 and %d (but it was %d)", SequentialIdProvider.MAX_NODE, node));
+        }
+
+        return generateSequentialIds().addOption(SEQUENTIAL_IDS_NODE, node);
+    }
+
     @Nonnull
     @Override
     public <T> C addOption(String key, T value) {
@@ -250,30 +316,72 @@ public class BaseConfig<C extends BaseConfig<C>> implements Config {
         return addStore(new FeatureCachingStore());
     }
 
+    @Nonnull
+    @Override
+    public C cacheFeatures(long maximumSize) {
+        return addStore(new FeatureCachingStore(checkCacheSize(maximumSize)));
+    }
+
+    @Nonnull
+    @Override
+    public C cacheElements() {
+        return addStore(new ElementCachingStore());
+    }
+
+    @Nonnull
+    @Override
+    public C cacheElements(long maximumSize) {
+        return addStore(new ElementCachingStore(checkCacheSize(maximumSize)));
+    }
+
     @Nonnull
     @Override
     public C cacheContainers() {
         return addStore(new ContainerCachingStore());
     }
 
+    @Nonnull
+    @Override
+    public C cacheContainers(long maximumSize) {
+        return addStore(new ContainerCachingStore(checkCacheSize(maximumSize)));
+    }
+
     @Nonnull
     @Override
     public C cacheMetaClasses() {
         return addStore(new ClassCachingStore());
     }
 
+    @Nonnull
+    @Override
+    public C cacheMetaClasses(long maximumSize) {
+        return addStore(new ClassCachingStore(checkCacheSize(maximumSize)));
+    }
+
     @Nonnull
     @Override
     public C cacheSizes() {
         return addStore(new SizeCachingStore());
     }
 
+    @Nonnull
+    @Override
+    public C cacheSizes(long maximumSize) {
+        return addStore(new SizeCachingStore(checkCacheSize(maximumSize)));
+    }
+
     @Nonnull
     @Override
     public C readOnly() {
         return addStore(new ReadOnlyStore());
     }
 
+    @Nonnull
+    @Override
+    public C concurrent() {
+        return addStore(new ConcurrentStore());
+    }
+
     @Nonnull
     @Override
     public C autoSave() {
@@ -290,6 +398,39 @@ public class BaseConfig<C extends BaseConfig<C>> implements Config {
         return addStore(new AutoSavingStore(chunk));
     }
 
+    @Nonnull
+    @Override
+    public C writeBehind() {
+        return addStore(new WriteBehindStore());
+    }
+
+    @Nonnull
+    @Override
+    public C writeBehind(long threshold) {
+        if (threshold <= 0) {
+            throw new InvalidConfigException(String.format("The write-behind threshold must be greater than 0 (but it was %d)", threshold));
+        }
+
+        return addStore(new WriteBehindStore(threshold));
+    }
+
+    /**
+     * Checks the maximum size of a cache.
+     *
+     * @param maximumSize the maximum size to check
+     *
+     * @return the {@code maximumSize}
+     *
+     * @throws InvalidConfigException if {@code maximumSize <= 0}
+     */
+    private long checkCacheSize(long maximumSize) {
+        if (maximumSize <= 0) {
+            throw new InvalidConfigException(String.format("The maximum size of a cache must be greater than 0 (but it was %d)", maximumSize));
+        }
+
+        return maximumSize;
+    }
+
     // endregion
 
     // region Listeners
@@ -140,6 +140,21 @@ public interface Config extends ImmutableConfig {
     @Nonnull
     Config setMapping(String mapping);
 
+    /**
+     * Defines the version of the layout of the database, i.e. the way the data are stored in the database. This option
+     * is defined by the {@link fr.inria.atlanmod.neoemf.data.BackendFactory} when the database is created, and is
+     * saved with the back-end.
+     *
+     * @param version the version of the layout
+     *
+     * @return this configuration (for chaining)
+     *
+     * @throws InvalidConfigException if the version is already defined and different from {@code version}
+     * @see fr.inria.atlanmod.neoemf.data.AbstractBackendFactory#layoutVersion()
+     */
+    @Nonnull
+    Config setLayoutVersion(int version);
+
     /**
      * Adds a key/value in this configuration. A custom configuration, which is not part of NeoEMF, can be added.
      *
@@ -154,6 +169,42 @@ public interface Config extends ImmutableConfig {
     @Nonnull
     <V> Config addOption(String key, V value);
 
+    /**
+     * Adds the {@code sequential-ids} feature in this configuration.
+     * <p>
+     * The identifiers of new objects are generated in increasing order instead of randomly, so objects created together
+     * are stored next to each other in back-ends that keep their keys ordered.
+     * <p>
+     * <b>NOTE:</b> The identifier of an object is generated on its first use, for instance when one of its features is
+     * set or when it is added to a hash-based collection, and it never changes afterwards. A sequential identifier is
+     * only generated if this first use happens while the object is attached to a resource that has been saved or
+     * loaded with this configuration. An object that is used while it is detached, or while its resource has not been
+     * saved or loaded yet, keeps a random identifier. This feature is not saved with the back-end.
+     * <p>
+     * The node number of the identifiers is random, and a warning is logged: use {@link #generateSequentialIds(int)}
+     * when several processes create objects in the same database.
+     *
+     * @return this configuration (for chaining)
+     *
+     * @see fr.inria.atlanmod.neoemf.core.internal.SequentialIdProvider
+     */
+    @Nonnull
+    Config generateSequentialIds();
+
+    /**
+     * Adds the {@code sequential-ids} feature in this configuration, using the given {@code node} number. Two processes
+     * that create objects in the same database must use different node numbers.
+     *
+     * @param node the node number, between {@code 0} and {@link fr.inria.atlanmod.neoemf.core.internal.SequentialIdProvider#MAX_NODE}
+     *
+     * @return this configuration (for chaining)
+     *
+     * @throws InvalidConfigException if the {@code node} is out of range
+     * @see #generateSequentialIds()
+     */
+    @Nonnull
+    Config generateSequentialIds(@Nonnegative int node);
+
     // region Stores
 
     /**
@@ -174,6 +225,48 @@ public interface Config extends ImmutableConfig {
     @Nonnull
     Config cacheFeatures();
 
+    /**
+     * Adds the {@code cache-features} feature in this configuration, with a cache that holds at most {@code maximumSize}
+     * values.
+     * <p>
+     * Unlike {@link #cacheFeatures()}, where cached values are only released by the garbage collector, the least
+     * valuable entries are evicted as soon as the cache is full.
+     *
+     * @param maximumSize the maximum number of cached values
+     *
+     * @return this configuration (for chaining)
+     *
+     * @throws InvalidConfigException if {@code maximumSize <= 0}
+     * @see fr.inria.atlanmod.neoemf.data.store.Store#cacheStats()
+     */
+    @Nonnull
+    Config cacheFeatures(long maximumSize);
+
+    /**
+     * Adds the {@code cache-elements} feature in this configuration.
+     * <p>
+     * This is an alternative to {@link #cacheFeatures()}, where the values of all the features of an element are cached
+     * in a single entry, and loaded at once.
+     *
+     * @return this configuration (for chaining)
+     */
+    @Nonnull
+    Config cacheElements();
+
+    /**
+     * Adds the {@code cache-elements} feature in this configuration, with a cache that holds the values of at most
+     * {@code maximumSize} elements.
+     *
+     * @param maximumSize the maximum number of cached elements
+     *
+     * @return this configuration (for chaining)
+     *
+     * @throws InvalidConfigException if {@code maximumSize <= 0}
+     * @see #cacheElements()
+     */
+    @Nonnull
+    Config cacheElements(long maximumSize);
+
     /**
      * Adds the {@code cache-containers} feature in this configuration.
      *
@@ -182,6 +275,23 @@ public interface Config extends ImmutableConfig {
     @Nonnull
     Config cacheContainers();
 
+    /**
+     * Adds the {@code cache-containers} feature in this configuration, with a cache that holds at most {@code maximumSize}
+     * containers.
+     * <p>
+     * Unlike {@link #cacheContainers()}, where cached containers are only released by the garbage collector, the least
+     * valuable entries are evicted as soon as the cache is full.
+     *
+     * @param maximumSize the maximum number of cached containers
+     *
+     * @return this configuration (for chaining)
+     *
+     * @throws InvalidConfigException if {@code maximumSize <= 0}
+     * @see fr.inria.atlanmod.neoemf.data.store.Store#cacheStats()
+     */
+    @Nonnull
+    Config cacheContainers(long maximumSize);
+
     /**
      * Adds the {@code cache-metaclasses} feature in this configuration.
      *
@@ -190,6 +300,23 @@ public interface Config extends ImmutableConfig {
     @Nonnull
     Config cacheMetaClasses();
 
+    /**
+     * Adds the {@code cache-metaclasses} feature in this configuration, with a cache that holds at most {@code maximumSize}
+     * meta-classes.
+     * <p>
+     * Unlike {@link #cacheMetaClasses()}, where cached meta-classes are only released by the garbage collector, the least
+     * valuable entries are evicted as soon as the cache is full.
+     *
+     * @param maximumSize the maximum number of cached meta-classes
+     *
+     * @return this configuration (for chaining)
+     *
+     * @throws InvalidConfigException if {@code maximumSize <= 0}
+     * @see fr.inria.atlanmod.neoemf.data.store.Store#cacheStats()
+     */
+    @Nonnull
+    Config cacheMetaClasses(long maximumSize);
+
     /**
      * Adds the {@code cache-sizes} feature in this configuration.
      *
@@ -198,6 +325,23 @@ public interface Config extends ImmutableConfig {
     @Nonnull
     Config cacheSizes();
 
+    /**
+     * Adds the {@code cache-sizes} feature in this configuration, with a cache that holds at most {@code maximumSize}
+     * sizes.
+     * <p>
+     * Unlike {@link #cacheSizes()}, where cached sizes are only released by the garbage collector, the least
+     * valuable entries are evicted as soon as the cache is full.
+     *
+     * @param maximumSize the maximum number of cached sizes
+     *
+     * @return this configuration (for chaining)
+     *
+     * @throws InvalidConfigException if {@code maximumSize <= 0}
+     * @see fr.inria.atlanmod.neoemf.data.store.Store#cacheStats()
+     */
+    @Nonnull
+    Config cacheSizes(long maximumSize);
+
     /**
      * Adds the {@code read-only} feature in this configuration.
      *
@@ -206,6 +350,19 @@ public interface Config extends ImmutableConfig {
     @Nonnull
     Config readOnly();
 
+    /**
+     * Adds the {@code concurrent} feature in this configuration.
+     * <p>
+     * Several threads can then query the same resource in parallel: read operations are processed concurrently, while
+     * modifications are processed one at a time, when no read operation is pending.
+     *
+     * @return this configuration (for chaining)
+     *
+     * @see fr.inria.atlanmod.neoemf.data.store.ConcurrentStore
+     */
+    @Nonnull
+    Config concurrent();
+
     /**
      * Adds the {@code autoSave} feature in this configuration.
      *
@@ -228,6 +385,32 @@ public interface Config extends ImmutableConfig {
     @Nonnull
     Config autoSave(@Nonnegative long chunk);
 
+    /**
+     * Adds the {@code writeBehind} feature in this configuration.
+     * <p>
+     * The modifications are then buffered in memory, and only their net result is written to the back-end, on save or
+     * when the buffer is full.
+     *
+     * @return this configuration (for chaining)
+     *
+     * @see fr.inria.atlanmod.neoemf.data.store.WriteBehindStore
+     */
+    @Nonnull
+    Config writeBehind();
+
+    /**
+     * Adds the {@code writeBehind} feature, with a defined {@code threshold}, in this configuration.
+     *
+     * @param threshold the number of buffered modifications that triggers a flush
+     *
+     * @return this configuration (for chaining)
+     *
+     * @throws InvalidConfigException if {@code threshold <= 0}
+     * @see #writeBehind()
+     */
+    @Nonnull
+    Config writeBehind(@Nonnegative long threshold);
+
     // endregion
 
     // region Listeners
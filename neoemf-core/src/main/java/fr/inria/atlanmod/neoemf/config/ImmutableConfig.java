@@ -8,6 +8,10 @@
 
 package fr.inria.atlanmod.neoemf.config;
 
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.core.IdProvider;
+import fr.inria.atlanmod.neoemf.core.internal.SequentialIdProvider;
+import fr.inria.atlanmod.neoemf.data.store.ConcurrentStore;
 import fr.inria.atlanmod.neoemf.data.store.ReadOnlyStore;
 import fr.inria.atlanmod.neoemf.data.store.Store;
 
@@ -78,6 +82,56 @@ public interface ImmutableConfig {
     @Nonnull
     String getMapping();
 
+    /**
+     * Returns the version of the layout of the database.
+     *
+     * @return an {@link Optional} containing the version, or an empty {@link Optional} if the database has been created
+     * before the layout was versioned
+     *
+     * @see Config#setLayoutVersion(int)
+     */
+    @Nonnull
+    Optional<Integer> getLayoutVersion();
+
+    /**
+     * Returns {@code true} if the identifiers of new objects must be generated sequentially.
+     *
+     * @return {@code true} if the identifiers must be generated sequentially
+     *
+     * @see Config#generateSequentialIds()
+     */
+    boolean isSequentialIds();
+
+    /**
+     * Returns the node number used to generate sequential identifiers.
+     *
+     * @return an {@link Optional} containing the node number, or an empty {@link Optional} if a random node number must
+     * be used
+     *
+     * @see Config#generateSequentialIds(int)
+     */
+    @Nonnull
+    Optional<Integer> getSequentialIdsNode();
+
+    /**
+     * Returns the provider used to generate the identifiers of new objects, according to this configuration.
+     *
+     * @return the provider
+     *
+     * @see #isSequentialIds()
+     * @see #getSequentialIdsNode()
+     */
+    @Nonnull
+    default IdProvider getIdProvider() {
+        if (!isSequentialIds()) {
+            return Id.getProvider();
+        }
+
+        return getSequentialIdsNode()
+                .map(SequentialIdProvider::forNode)
+                .orElseGet(SequentialIdProvider::getInstance);
+    }
+
     /**
      * Returns {@code true} if the {@code key} is defined.
      *
@@ -141,4 +195,13 @@ public interface ImmutableConfig {
     default boolean isReadOnly() {
         return getStores().stream().anyMatch(c -> ReadOnlyStore.class == c.getClass());
     }
+
+    /**
+     * Returns {@code true} if the "concurrent" mode is defined.
+     *
+     * @return {@code true} if the "concurrent" mode is defined
+     */
+    default boolean isConcurrent() {
+        return getStores().stream().anyMatch(c -> ConcurrentStore.class == c.getClass());
+    }
 }
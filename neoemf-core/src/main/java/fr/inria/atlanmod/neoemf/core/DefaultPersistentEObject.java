@@ -127,8 +127,16 @@ public class DefaultPersistentEObject extends MinimalEStoreEObjectImpl implement
     @Nonnull
     @Override
     public Id id() {
+        return idFrom(PersistentResource.isPersistent(resource)
+                ? ((PersistentResource) resource).idProvider()
+                : Id.getProvider());
+    }
+
+    @Nonnull
+    @Override
+    public Id idFrom(IdProvider provider) {
         if (id == Id.UNDEFINED) { // Id#UNDEFINED is immutable
-            id(Id.getProvider().generate());
+            id(provider.generate());
         }
         return id;
     }
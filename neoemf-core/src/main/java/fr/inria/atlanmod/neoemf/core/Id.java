@@ -36,6 +36,9 @@ public interface Id extends Comparable<Id>, Serializable {
 
     /**
      * Returns the instance of the default {@link IdProvider}.
+     * <p>
+     * The identifiers generated by this provider are random. The objects of a resource can use another provider, with
+     * {@link fr.inria.atlanmod.neoemf.config.Config#generateSequentialIds()}.
      *
      * @return the instance
      */
@@ -9,6 +9,7 @@
 package fr.inria.atlanmod.neoemf.core;
 
 import fr.inria.atlanmod.neoemf.core.internal.PersistenceAdapter;
+import fr.inria.atlanmod.neoemf.core.internal.collect.AllContentsSpliterator;
 import fr.inria.atlanmod.neoemf.data.store.Storable;
 
 import org.eclipse.emf.ecore.EObject;
@@ -16,6 +17,8 @@ import org.eclipse.emf.ecore.InternalEObject;
 import org.eclipse.emf.ecore.resource.Resource;
 
 import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -58,6 +61,21 @@ public interface PersistentEObject extends InternalEObject, Storable, Iterable<P
      */
     void id(Id newId);
 
+    /**
+     * Returns the identifier of this {@code PersistentEObject}, generating it with the given {@code provider} if it
+     * is not defined yet.
+     *
+     * @param provider the provider used to generate the identifier
+     *
+     * @return the identifier
+     *
+     * @see fr.inria.atlanmod.neoemf.resource.PersistentResource#idProvider()
+     */
+    @Nonnull
+    default Id idFrom(IdProvider provider) {
+        return id();
+    }
+
     /**
      * Returns the resource that contains this {@code PersistentEObject}.
      *
@@ -89,4 +107,20 @@ public interface PersistentEObject extends InternalEObject, Storable, Iterable<P
     default Iterator<PersistentEObject> iterator() {
         return (Iterator) eContents().iterator();
     }
+
+    /**
+     * Returns a stream on all the direct and indirect contents of this object, in the same order as {@link
+     * #eAllContents()}.
+     * <p>
+     * The returned stream can be processed in {@link Stream#parallel() parallel}, each thread visiting disjoint
+     * subtrees.
+     *
+     * @return a new stream
+     *
+     * @see #eAllContents()
+     */
+    @Nonnull
+    default Stream<PersistentEObject> streamAllContents() {
+        return StreamSupport.stream(new AllContentsSpliterator<>(this), false);
+    }
 }
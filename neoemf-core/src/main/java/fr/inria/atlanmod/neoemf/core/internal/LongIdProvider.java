@@ -34,7 +34,7 @@ public class LongIdProvider extends AbstractIdProvider {
     /**
      * Constructs a new {@code LongIdProvider}.
      */
-    private LongIdProvider() {
+    protected LongIdProvider() {
     }
 
     /**
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2013 Atlanmod.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.core.internal;
+
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.core.IdProvider;
+
+import org.atlanmod.commons.annotation.Static;
+import org.atlanmod.commons.annotation.VisibleForTesting;
+import org.atlanmod.commons.log.Log;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.annotation.concurrent.ThreadSafe;
+
+import static org.atlanmod.commons.Preconditions.checkArgument;
+import static org.atlanmod.commons.Preconditions.checkNotNull;
+
+/**
+ * A {@link LongIdProvider} that generates increasing identifiers, instead of random ones.
+ * <p>
+ * A generated identifier is composed of the current time in milliseconds, a node number, and a sequence number within
+ * the millisecond. The identifiers generated by the same provider are strictly increasing, so elements created
+ * together are stored next to each other in ordered back-ends. When the sequence of a millisecond is exhausted, the
+ * provider waits for the next millisecond.
+ * <p>
+ * There is a single provider for each node number, so the identifiers are unique within a JVM. Several JVMs that
+ * create elements in the same database must use different node numbers: the node number of the {@linkplain
+ * #getInstance() default provider} is random, so two JVMs share it with a probability of 1/1024, and a warning is
+ * logged when it is created.
+ */
+@ThreadSafe
+@ParametersAreNonnullByDefault
+public class SequentialIdProvider extends LongIdProvider {
+
+    /**
+     * The highest node number.
+     */
+    @Nonnegative
+    public static final int MAX_NODE = (1 << 10) - 1;
+
+    /**
+     * The origin of the timestamps (2019-01-01T00:00:00Z), in milliseconds.
+     */
+    private static final long EPOCH = 1546300800000L;
+
+    /**
+     * The number of bits of the sequence number.
+     */
+    private static final int SEQUENCE_BITS = 12;
+
+    /**
+     * The number of bits of the node number.
+     */
+    private static final int NODE_BITS = Integer.bitCount(MAX_NODE);
+
+    /**
+     * The highest sequence number.
+     */
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+
+    /**
+     * The providers that have been created, identified by their node number.
+     */
+    @Nonnull
+    private static final Map<Integer, SequentialIdProvider> PROVIDERS = new ConcurrentHashMap<>();
+
+    /**
+     * The node number of this provider, shifted to its position.
+     */
+    private final long node;
+
+    /**
+     * The clock that returns the current time in milliseconds.
+     */
+    @Nonnull
+    private final LongSupplier clock;
+
+    /**
+     * The timestamp of the last generated identifier.
+     */
+    private long lastTimestamp = -1;
+
+    /**
+     * The sequence number of the last generated identifier, within the {@link #lastTimestamp}.
+     */
+    private long sequence;
+
+    /**
+     * Constructs a new {@code SequentialIdProvider}.
+     *
+     * @param node  the node number of this provider
+     * @param clock the clock that returns the current time in milliseconds
+     *
+     * @throws IllegalArgumentException if {@code node < 0} or {@code node > MAX_NODE}
+     * @see #forNode(int)
+     */
+    @VisibleForTesting
+    protected SequentialIdProvider(@Nonnegative int node, LongSupplier clock) {
+        checkArgument(node >= 0 && node <= MAX_NODE, "node (%d) must be between 0 and %d", node, MAX_NODE);
+
+        this.node = (long) node << SEQUENCE_BITS;
+        this.clock = checkNotNull(clock, "clock");
+    }
+
+    /**
+     * Returns the default instance of this class, with a random node number. A warning is logged on first call, because
+     * the identifiers generated by several JVMs may collide: use {@link #forNode(int)} instead.
+     *
+     * @return the instance of this class
+     */
+    @Nonnull
+    public static IdProvider getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Returns the instance of this class with the given {@code node} number.
+     *
+     * @param node the node number
+     *
+     * @return the instance of this class
+     *
+     * @throws IllegalArgumentException if {@code node < 0} or {@code node > MAX_NODE}
+     */
+    @Nonnull
+    public static IdProvider forNode(@Nonnegative int node) {
+        checkArgument(node >= 0 && node <= MAX_NODE, "node (%d) must be between 0 and %d", node, MAX_NODE);
+
+        return PROVIDERS.computeIfAbsent(node, n -> new SequentialIdProvider(n, System::currentTimeMillis));
+    }
+
+    @Nonnull
+    @Override
+    public synchronized Id generate() {
+        // The clock may go backwards: the identifiers remain increasing
+        long timestamp = Math.max(clock.getAsLong(), lastTimestamp);
+
+        if (timestamp == lastTimestamp) {
+            sequence = (sequence + 1) & MAX_SEQUENCE;
+
+            if (sequence == 0) {
+                // Wait instead of overflowing on the node number
+                timestamp = nextTimestamp(lastTimestamp);
+            }
+        }
+        else {
+            sequence = 0;
+        }
+
+        lastTimestamp = timestamp;
+        return fromLong(((timestamp - EPOCH) << (NODE_BITS + SEQUENCE_BITS)) | node | sequence);
+    }
+
+    /**
+     * Waits until the clock returns a time after the {@code timestamp}.
+     *
+     * @param timestamp the timestamp to exceed
+     *
+     * @return the new current time
+     */
+    private long nextTimestamp(long timestamp) {
+        long currentTime;
+        while ((currentTime = clock.getAsLong()) <= timestamp) {
+            Thread.yield();
+        }
+        return currentTime;
+    }
+
+    /**
+     * The initialization-on-demand holder of the default instance of this class.
+     */
+    @Static
+    private static final class Holder {
+
+        /**
+         * The instance of the outer class.
+         */
+        static final IdProvider INSTANCE = createInstance();
+
+        /**
+         * Creates the instance of the outer class, with a random node number.
+         *
+         * @return the instance
+         */
+        @Nonnull
+        private static IdProvider createInstance() {
+            int node = ThreadLocalRandom.current().nextInt(MAX_NODE + 1);
+
+            Log.warn("No node number is defined for sequential identifiers: using the random node {0}, "
+                    + "which may collide with the node of another process", node);
+
+            return forNode(node);
+        }
+    }
+}
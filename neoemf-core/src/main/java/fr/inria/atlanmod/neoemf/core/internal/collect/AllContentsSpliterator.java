@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2013 Atlanmod.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.core.internal.collect;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static java.util.Objects.isNull;
+import static org.atlanmod.commons.Preconditions.checkNotNull;
+
+/**
+ * A {@link Spliterator} that iterates recursively over all the contents of an {@link Iterable} and its content, in
+ * the same order as {@link AllContentsIterator}.
+ * <p>
+ * This spliterator keeps the subtrees that remain to be visited: splitting it hands over the first half of these
+ * subtrees to a new spliterator, so that a parallel stream processes disjoint subtrees on different threads. When a
+ * single subtree remains, its root is split from its children.
+ * <p>
+ * <b>NOTE:</b> The children of a visited element are read when it is visited, and are kept until they are visited
+ * themselves. Processing the contents of a persistent resource in parallel requires a store chain that supports
+ * concurrent reads.
+ *
+ * @param <E> the type of elements contained in the root
+ * @see fr.inria.atlanmod.neoemf.config.Config#concurrent()
+ */
+@ParametersAreNonnullByDefault
+public class AllContentsSpliterator<E extends Iterable<E>> implements Spliterator<E> {
+
+    /**
+     * The roots of the subtrees that remain to be visited, in order.
+     */
+    @Nonnull
+    private final Deque<E> pending;
+
+    /**
+     * Constructs a new {@code AllContentsSpliterator}.
+     *
+     * @param root the root of this spliterator, which is not part of the visited elements
+     */
+    public AllContentsSpliterator(Iterable<E> root) {
+        checkNotNull(root, "root");
+
+        this.pending = new ArrayDeque<>();
+        root.forEach(pending::offerLast);
+    }
+
+    /**
+     * Constructs a new {@code AllContentsSpliterator} on the given subtrees.
+     *
+     * @param pending the roots of the subtrees to visit, in order
+     */
+    private AllContentsSpliterator(Deque<E> pending) {
+        this.pending = pending;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super E> action) {
+        checkNotNull(action, "action");
+
+        E next = pending.pollFirst();
+        if (isNull(next)) {
+            return false;
+        }
+
+        pushChildren(next);
+        action.accept(next);
+        return true;
+    }
+
+    @Nullable
+    @Override
+    public Spliterator<E> trySplit() {
+        int size = pending.size();
+
+        if (size == 0) {
+            return null;
+        }
+
+        if (size == 1) {
+            // Split the last root from its children, that are visited after it
+            E root = pending.pollFirst();
+            pushChildren(root);
+            return Collections.singletonList(root).spliterator();
+        }
+
+        Deque<E> prefix = new ArrayDeque<>(size / 2);
+        for (int i = 0; i < size / 2; i++) {
+            prefix.offerLast(pending.pollFirst());
+        }
+        return new AllContentsSpliterator<>(prefix);
+    }
+
+    @Override
+    public long estimateSize() {
+        return pending.isEmpty() ? 0 : Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+
+    /**
+     * Adds the children of the {@code element} in front of the pending subtrees, so that they are visited next.
+     *
+     * @param element the element
+     */
+    private void pushChildren(E element) {
+        List<E> children = new ArrayList<>();
+        element.forEach(children::add);
+
+        for (int i = children.size() - 1; i >= 0; i--) {
+            pending.offerFirst(children.get(i));
+        }
+    }
+}
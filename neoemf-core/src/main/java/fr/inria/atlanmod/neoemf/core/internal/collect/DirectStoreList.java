@@ -46,6 +46,12 @@ public class DirectStoreList<E> extends DelegatingEcoreEList.Dynamic<E> implemen
 
     private static final long serialVersionUID = 2630358403343923944L;
 
+    /**
+     * The default number of elements read at once from the store by the iterators of this list.
+     */
+    @Nonnegative
+    public static final int DEFAULT_CHUNK_SIZE = 64;
+
     /**
      * The object that holds the store.
      */
@@ -199,6 +205,22 @@ public class DirectStoreList<E> extends DelegatingEcoreEList.Dynamic<E> implemen
         return iterator();
     }
 
+    /**
+     * Returns an iterator over the elements of this list, without resolving them, starting at the specified {@code
+     * index}. The elements are read from the store in a single pass.
+     *
+     * @param index the index of the first element to return
+     *
+     * @return a new iterator
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    protected Iterator<E> delegateIterator(@Nonnegative int index) {
+        return eStore().streamAll(owner, eStructuralFeature, index)
+                .map(e -> (E) e)
+                .iterator();
+    }
+
     @Override
     protected ListIterator<E> delegateListIterator() {
         return listIterator();
@@ -317,10 +339,48 @@ public class DirectStoreList<E> extends DelegatingEcoreEList.Dynamic<E> implemen
 
     // region Iterators
 
+    /**
+     * Returns the number of elements read at once from the store by the iterators of this list.
+     *
+     * @return the size of a chunk
+     */
+    @Nonnegative
+    protected int chunkSize() {
+        return DEFAULT_CHUNK_SIZE;
+    }
+
+    /**
+     * Returns an iterator over the resolved elements of this list, starting at the specified {@code index}.
+     *
+     * @param index the index of the first element to return
+     *
+     * @return a new iterator
+     *
+     * @see #delegateIterator(int)
+     */
+    @Nonnull
+    private Iterator<E> resolvingIterator(@Nonnegative int index) {
+        final Iterator<E> iterator = delegateIterator(index);
+
+        return new Iterator<E>() {
+            private int position = index;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public E next() {
+                return resolve(position++, iterator.next());
+            }
+        };
+    }
+
     @Nonnull
     @Override
     public Iterator<E> basicIterator() {
-        return new NonResolvingLazyIterator<>(this, () -> modCount);
+        return new NonResolvingLazyIterator<>(this, () -> modCount, this::delegateIterator, chunkSize());
     }
 
     @Nonnull
@@ -334,13 +394,13 @@ public class DirectStoreList<E> extends DelegatingEcoreEList.Dynamic<E> implemen
     public ListIterator<E> basicListIterator(int index) {
         // Avoid checking the size when index == 0
         checkPositionIndex(index, index == 0 ? 0 : size());
-        return new NonResolvingLazyListIterator<>(this, () -> modCount, index);
+        return new NonResolvingLazyListIterator<>(this, () -> modCount, index, this::delegateIterator, chunkSize());
     }
 
     @Nonnull
     @Override
     public Iterator<E> iterator() {
-        return new LazyIterator<>(this, () -> modCount);
+        return new LazyIterator<>(this, () -> modCount, this::resolvingIterator, chunkSize());
     }
 
     @Nonnull
@@ -354,7 +414,7 @@ public class DirectStoreList<E> extends DelegatingEcoreEList.Dynamic<E> implemen
     public ListIterator<E> listIterator(int index) {
         // Avoid checking the size when index == 0
         checkPositionIndex(index, index == 0 ? 0 : size());
-        return new LazyListIterator<>(this, () -> modCount, index);
+        return new LazyListIterator<>(this, () -> modCount, index, this::resolvingIterator, chunkSize());
     }
 
     // endregion
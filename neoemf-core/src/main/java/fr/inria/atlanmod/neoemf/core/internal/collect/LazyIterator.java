@@ -10,20 +10,30 @@ package fr.inria.atlanmod.neoemf.core.internal.collect;
 
 import org.atlanmod.commons.LazyInt;
 
+import java.util.ArrayList;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.function.IntFunction;
 import java.util.function.IntSupplier;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 
+import static java.util.Objects.isNull;
+import static org.atlanmod.commons.Preconditions.checkGreaterThan;
+import static org.atlanmod.commons.Preconditions.checkNotNull;
 import static org.atlanmod.commons.Preconditions.checkState;
 
 /**
  * A lazy {@link Iterator} that delegates its operations (structural and verification) to the containing list.
+ * <p>
+ * If a source is defined, the elements are not retrieved one by one from the containing list, but read in chunks from
+ * a sequential iterator that starts at a given index. The current chunk, and the source, are discarded as soon as the
+ * containing list is modified by another way than this iterator.
  *
  * @param <L> the type of the containing list
  * @param <E> the type of elements returned by this iterator
@@ -65,6 +75,47 @@ public class LazyIterator<L extends List<E>, E> implements Iterator<E> {
      */
     protected int expectedModCount;
 
+    /**
+     * The function to create a sequential iterator over the elements of the containing list, from a given index.
+     */
+    @Nullable
+    private final IntFunction<Iterator<E>> source;
+
+    /**
+     * The maximum number of elements to read at once from the {@link #source}.
+     */
+    @Nonnegative
+    private final int chunkSize;
+
+    /**
+     * The elements that have been read from the {@link #source}.
+     */
+    @Nonnull
+    private final List<E> chunk = new ArrayList<>();
+
+    /**
+     * The index of the first element of the {@link #chunk} in the containing list.
+     */
+    @Nonnegative
+    private int chunkStart;
+
+    /**
+     * The modification count of the containing list when the {@link #chunk} was read.
+     */
+    private int chunkModCount;
+
+    /**
+     * The current iterator created by the {@link #source}, or {@code null} if it must be created again.
+     */
+    @Nullable
+    private Iterator<E> sourceIterator;
+
+    /**
+     * The index, in the containing list, of the next element returned by the {@link #sourceIterator}.
+     */
+    @Nonnegative
+    private int sourceIndex;
+
     /**
      * Constructs a new {@code LazyIterator}.
      *
@@ -76,6 +127,32 @@ public class LazyIterator<L extends List<E>, E> implements Iterator<E> {
         this.containingList = containingList;
         this.expectedModCount = modCount.getAsInt();
         this.size = LazyInt.with(containingList::size);
+        this.source = null;
+        this.chunkSize = 1;
+    }
+
+    /**
+     * Constructs a new {@code LazyIterator} that reads the elements of the containing list in chunks.
+     *
+     * @param containingList the containing list
+     * @param modCount       the function to retrieve the modification count of the containing list
+     * @param source         the function to create a sequential iterator over the elements of the containing list,
+     *                       from a given index
+     * @param chunkSize      the maximum number of elements to read at once from the {@code source}
+     *
+     * @throws IllegalArgumentException if {@code chunkSize <= 0}
+     */
+    public LazyIterator(L containingList, IntSupplier modCount, IntFunction<Iterator<E>> source, @Nonnegative int chunkSize) {
+        checkNotNull(source, "source");
+        checkGreaterThan(chunkSize, 0, "chunkSize (%d) must be greater than 0", chunkSize);
+
+        this.modCount = modCount;
+        this.containingList = containingList;
+        this.expectedModCount = modCount.getAsInt();
+        this.size = LazyInt.with(containingList::size);
+        this.source = source;
+        this.chunkSize = chunkSize;
+        this.chunkModCount = expectedModCount;
     }
 
     @Override
@@ -86,7 +163,7 @@ public class LazyIterator<L extends List<E>, E> implements Iterator<E> {
     @Override
     public final E next() {
         try {
-            E next = doGet(cursor);
+            E next = get(cursor);
             checkModCount();
             lastCursor = cursor++;
             return next;
@@ -107,6 +184,7 @@ public class LazyIterator<L extends List<E>, E> implements Iterator<E> {
             doRemove(lastCursor);
             expectedModCount = modCount.getAsInt();
             size.update(s -> s - 1);
+            didRemove(lastCursor);
             if (lastCursor < cursor) {
                 --cursor;
             }
@@ -117,6 +195,92 @@ public class LazyIterator<L extends List<E>, E> implements Iterator<E> {
         }
     }
 
+    /**
+     * Returns the element at the specified {@code index} in the containing list, from the current chunk if a source is
+     * defined.
+     *
+     * @param index index of the element to return
+     *
+     * @return the element at the specified position in the containing list
+     *
+     * @throws IndexOutOfBoundsException if the {@code index} is out of range
+     */
+    @Nonnull
+    protected final E get(int index) {
+        if (isNull(source)) {
+            return doGet(index);
+        }
+
+        if (index < 0) {
+            throw new IndexOutOfBoundsException(String.valueOf(index));
+        }
+
+        if (chunkModCount != modCount.getAsInt()) {
+            // The containing list has been modified: the chunk and the source are no longer valid
+            chunk.clear();
+            sourceIterator = null;
+            chunkModCount = modCount.getAsInt();
+        }
+
+        if (index < chunkStart || index >= chunkStart + chunk.size()) {
+            readChunk(index);
+        }
+
+        if (index < chunkStart || index >= chunkStart + chunk.size()) {
+            throw new IndexOutOfBoundsException(String.valueOf(index));
+        }
+
+        return chunk.get(index - chunkStart);
+    }
+
+    /**
+     * Reads the chunk that contains the element at the specified {@code index}. The source is only re-created if the
+     * chunk does not immediately follow the previous one.
+     *
+     * @param index the index of the element to read
+     */
+    private void readChunk(@Nonnegative int index) {
+        // Iterating backward: read the elements that precede the index
+        int start = index < chunkStart
+                ? Math.max(0, index - chunkSize + 1)
+                : index;
+
+        if (isNull(sourceIterator) || start != sourceIndex) {
+            sourceIterator = checkNotNull(source).apply(start);
+            sourceIndex = start;
+        }
+
+        chunk.clear();
+        chunkStart = start;
+
+        while (chunk.size() < chunkSize && sourceIterator.hasNext()) {
+            chunk.add(sourceIterator.next());
+            sourceIndex++;
+        }
+    }
+
+    /**
+     * Updates the current chunk after the removal of the element at the specified {@code index} by this iterator.
+     *
+     * @param index the index of the removed element
+     */
+    private void didRemove(int index) {
+        if (isNull(source) || chunk.isEmpty()) {
+            return;
+        }
+
+        // The following elements of the chunk are still valid, once shifted
+        if (index >= chunkStart && index < chunkStart + chunk.size()) {
+            chunk.remove(index - chunkStart);
+        }
+        else {
+            chunk.clear();
+        }
+
+        sourceIterator = null;
+        chunkModCount = expectedModCount;
+    }
+
     /**
      * Returns the element at the specified {@code index} in the containing list.
      *
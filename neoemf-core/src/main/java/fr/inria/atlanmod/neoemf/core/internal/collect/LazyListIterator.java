@@ -9,11 +9,14 @@
 package fr.inria.atlanmod.neoemf.core.internal.collect;
 
 import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import java.util.function.IntFunction;
 import java.util.function.IntSupplier;
 
+import javax.annotation.Nonnegative;
 import javax.annotation.ParametersAreNonnullByDefault;
 
 import static org.atlanmod.commons.Preconditions.checkPositionIndex;
@@ -51,6 +54,22 @@ public class LazyListIterator<L extends List<E>, E> extends LazyIterator<L, E> i
         this.cursor = index;
     }
 
+    /**
+     * Constructs a new {@code LazyListIterator} that reads the elements of the containing list in chunks.
+     *
+     * @param containingList the containing list
+     * @param modCount       the function to retrieve the modification count of the containing list
+     * @param index          the starting index
+     * @param source         the function to create a sequential iterator over the elements of the containing list,
+     *                       from a given index
+     * @param chunkSize      the maximum number of elements to read at once from the {@code source}
+     */
+    public LazyListIterator(L containingList, IntSupplier modCount, int index, IntFunction<Iterator<E>> source, @Nonnegative int chunkSize) {
+        super(containingList, modCount, source, chunkSize);
+        checkPositionIndex(index, index == 0 ? 0 : size.getAsInt());
+        this.cursor = index;
+    }
+
     @Override
     public final boolean hasPrevious() {
         return cursor > 0;
@@ -59,7 +78,7 @@ public class LazyListIterator<L extends List<E>, E> extends LazyIterator<L, E> i
     @Override
     public final E previous() {
         try {
-            E previous = doGet(--cursor);
+            E previous = get(--cursor);
             checkModCount();
             lastCursor = cursor;
             return previous;
@@ -10,8 +10,11 @@ package fr.inria.atlanmod.neoemf.core.internal.collect;
 
 import org.eclipse.emf.ecore.util.InternalEList;
 
+import java.util.Iterator;
+import java.util.function.IntFunction;
 import java.util.function.IntSupplier;
 
+import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
 
@@ -34,6 +37,19 @@ public class NonResolvingLazyIterator<L extends InternalEList<E>, E> extends Laz
         super(containingList, modCount);
     }
 
+    /**
+     * Constructs a new {@code NonResolvingLazyIterator} that reads the elements of the containing list in chunks.
+     *
+     * @param containingList the containing list
+     * @param modCount       the function to retrieve the modification count of the containing list
+     * @param source         the function to create a sequential iterator over the elements of the containing list,
+     *                       from a given index, without resolving them
+     * @param chunkSize      the maximum number of elements to read at once from the {@code source}
+     */
+    public NonResolvingLazyIterator(L containingList, IntSupplier modCount, IntFunction<Iterator<E>> source, @Nonnegative int chunkSize) {
+        super(containingList, modCount, source, chunkSize);
+    }
+
     @Nonnull
     @Override
     protected E doGet(int index) {
@@ -19,8 +19,10 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
 
@@ -111,6 +113,38 @@ public abstract class AbstractBackendFactory<C extends Config> extends AbstractM
         return supportsTransient;
     }
 
+    /**
+     * Returns the version of the layout of the databases created by this factory, i.e. the way the data are stored.
+     * This version must be incremented each time this layout changes in an incompatible way: the databases created
+     * with another version are refused when opened.
+     * <p>
+     * By default, this method returns {@code 0}, which is also the version of the databases created before the layout
+     * was versioned.
+     *
+     * @return the version of the layout
+     *
+     * @see #checkLayoutVersion(int)
+     */
+    @Nonnegative
+    protected int layoutVersion() {
+        return 0;
+    }
+
+    /**
+     * Checks that a database can be opened by this factory, according to the {@code version} of its layout.
+     *
+     * @param version the version of the layout of the database, or {@code 0} if it is not defined
+     *
+     * @throws InvalidBackendException if the {@code version} is different from the {@link #layoutVersion()}
+     */
+    protected final void checkLayoutVersion(int version) {
+        if (version != layoutVersion()) {
+            throw new InvalidBackendException(String.format(
+                    "The database has been created with the layout version %d, but %s only supports the version %d: export it with the NeoEMF version that created it, then import it again",
+                    version, name, layoutVersion()));
+        }
+    }
+
     @Nonnull
     @Override
     public Backend createBackend(URI uri, ImmutableConfig baseConfig) {
@@ -143,9 +177,16 @@ public abstract class AbstractBackendFactory<C extends Config> extends AbstractM
     private Backend createLocalBackend(URI uri, ImmutableConfig baseConfig) throws Exception {
         Path directory = uriToPath(uri);
 
-        // Merge and check conflicts between the two configurations, or create a new default mutable configuration
-        C mergedConfig = (C) Config.load(directory).orElseGet(() -> Config.forName(baseConfig.getName(), baseConfig.getVariant())).merge(baseConfig);
+        Optional<C> existingConfig = Config.load(directory);
+        if (existingConfig.isPresent()) {
+            checkLayoutVersion(existingConfig.get().getLayoutVersion().orElse(0));
+        }
 
+        // Merge and check conflicts between the two configurations, or create a new default mutable configuration
+        C mergedConfig = (C) existingConfig.orElseGet(() -> Config.forName(baseConfig.getName(), baseConfig.getVariant())).merge(baseConfig);
+        if (!existingConfig.isPresent() && layoutVersion() > 0) {
+            mergedConfig.setLayoutVersion(layoutVersion());
+        }
         Backend newBackend = createLocalBackend(directory, mergedConfig);
 
         // Save the configuration next to the created database
@@ -189,7 +230,6 @@ public abstract class AbstractBackendFactory<C extends Config> extends AbstractM
 
         // Create a new default mutable configuration
         C mergedConfig = (C) Config.forName(baseConfig.getName(), baseConfig.getVariant()).merge(baseConfig);
-
         return createRemoteBackend(url, mergedConfig);
     }
 
@@ -16,12 +16,14 @@ import java.util.LinkedHashSet;
 import java.util.Set;
 
 import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * The manager of {@link Backend} instances. All registered {@link Backend}s will be automatically closed when the
  * application will shutdown.
  */
 @Singleton
+@ThreadSafe
 final class BackendManager {
 
     /**
@@ -52,7 +54,7 @@ final class BackendManager {
      *
      * @param backend the backend to register
      */
-    public void register(AbstractBackend backend) {
+    public synchronized void register(AbstractBackend backend) {
         activeBackends.add(backend);
     }
 
@@ -61,7 +63,7 @@ final class BackendManager {
      *
      * @param backend the backend to unregister
      */
-    public void unregister(AbstractBackend backend) {
+    public synchronized void unregister(AbstractBackend backend) {
         activeBackends.remove(backend);
     }
 
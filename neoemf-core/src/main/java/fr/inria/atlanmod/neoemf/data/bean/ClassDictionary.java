@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2013 Atlanmod.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.bean;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.annotation.concurrent.ThreadSafe;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.atlanmod.commons.Preconditions.checkArgument;
+import static org.atlanmod.commons.Preconditions.checkGreaterThanOrEqualTo;
+import static org.atlanmod.commons.Preconditions.checkNotNull;
+
+/**
+ * An in-memory dictionary that associates each {@link ClassBean} of a back-end with a compact identifier.
+ * <p>
+ * A back-end persists each entry once, and stores the identifier of the meta-class of an instance instead of its name
+ * and URI. Identifiers are assigned sequentially from {@code 0}, so {@link #nextId()} is the identifier of the next
+ * registered meta-class.
+ */
+@ThreadSafe
+@ParametersAreNonnullByDefault
+public final class ClassDictionary {
+
+    /**
+     * The identifier of each registered meta-class.
+     */
+    @Nonnull
+    private final Map<ClassBean, Integer> ids = new ConcurrentHashMap<>();
+
+    /**
+     * The meta-class of each registered identifier.
+     */
+    @Nonnull
+    private final Map<Integer, ClassBean> classes = new ConcurrentHashMap<>();
+
+    /**
+     * Retrieves the meta-class associated with the given {@code id}.
+     *
+     * @param id the identifier of the meta-class
+     *
+     * @return an {@link Optional} containing the meta-class, or {@link Optional#empty()} if the {@code id} is not
+     * registered
+     */
+    @Nonnull
+    public Optional<ClassBean> classOf(int id) {
+        return Optional.ofNullable(classes.get(id));
+    }
+
+    /**
+     * Retrieves the identifier associated with the given {@code metaClass}.
+     *
+     * @param metaClass the meta-class
+     *
+     * @return an {@link Optional} containing the identifier, or {@link Optional#empty()} if the {@code metaClass} is not
+     * registered
+     *
+     * @throws NullPointerException if the {@code metaClass} is {@code null}
+     */
+    @Nonnull
+    public Optional<Integer> idOf(ClassBean metaClass) {
+        checkNotNull(metaClass, "metaClass");
+
+        return Optional.ofNullable(ids.get(metaClass));
+    }
+
+    /**
+     * Retrieves the identifiers of all registered meta-classes among the given {@code metaClasses}.
+     *
+     * @param metaClasses the meta-classes
+     *
+     * @return a set of identifiers, which may contain fewer elements than {@code metaClasses}
+     *
+     * @throws NullPointerException if the {@code metaClasses} is {@code null}
+     */
+    @Nonnull
+    public Set<Integer> idsOf(Set<ClassBean> metaClasses) {
+        checkNotNull(metaClasses, "metaClasses");
+
+        return metaClasses.stream()
+                .map(ids::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Returns the identifier to assign to the next registered meta-class.
+     *
+     * @return the next identifier
+     */
+    @Nonnegative
+    public int nextId() {
+        return classes.size();
+    }
+
+    /**
+     * Registers the association between the {@code id} and the {@code metaClass}.
+     *
+     * @param id        the identifier of the meta-class
+     * @param metaClass the meta-class
+     *
+     * @throws NullPointerException     if the {@code metaClass} is {@code null}
+     * @throws IllegalArgumentException if {@code id < 0}, or if the {@code id} is already associated with another
+     *                                  meta-class
+     */
+    public synchronized void register(@Nonnegative int id, ClassBean metaClass) {
+        checkGreaterThanOrEqualTo(id, 0, "id (%d) must not be negative", id);
+        checkNotNull(metaClass, "metaClass");
+
+        ClassBean previous = classes.putIfAbsent(id, metaClass);
+        checkArgument(isNull(previous) || previous.equals(metaClass), "%d is already associated with %s", id, previous);
+
+        ids.put(metaClass, id);
+    }
+
+    /**
+     * Registers the {@code metaClass} with the next available identifier, if it is not already registered.
+     *
+     * @param metaClass the meta-class
+     *
+     * @return the identifier of the meta-class
+     *
+     * @throws NullPointerException if the {@code metaClass} is {@code null}
+     */
+    public synchronized int register(ClassBean metaClass) {
+        checkNotNull(metaClass, "metaClass");
+
+        Integer existingId = ids.get(metaClass);
+        if (nonNull(existingId)) {
+            return existingId;
+        }
+
+        final int id = nextId();
+        register(id, metaClass);
+        return id;
+    }
+
+    /**
+     * Removes all registered meta-classes.
+     */
+    public synchronized void clear() {
+        ids.clear();
+        classes.clear();
+    }
+}
@@ -12,6 +12,7 @@ import fr.inria.atlanmod.neoemf.core.Id;
 import fr.inria.atlanmod.neoemf.core.IdConverters;
 import fr.inria.atlanmod.neoemf.data.AbstractBackend;
 import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
+import fr.inria.atlanmod.neoemf.data.bean.ClassDictionary;
 import fr.inria.atlanmod.neoemf.data.bean.FeatureBean;
 import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
 import fr.inria.atlanmod.neoemf.data.bean.serializer.BeanSerializerFactory;
@@ -29,8 +30,10 @@ import org.atlanmod.commons.io.serializer.BinarySerializer;
 
 import java.io.IOException;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 import javax.annotation.Nonnull;
@@ -104,7 +107,15 @@ public abstract class AbstractInMemoryBackend extends AbstractBackend implements
      * @return a mutable map
      */
     @Nonnull
-    protected abstract Map<Id, ClassBean> instances();
+    protected abstract Map<Id, Integer> instances();
+
+    /**
+     * Returns the dictionary that associates each meta-class with the identifier stored in {@link #instances()}.
+     *
+     * @return a mutable dictionary
+     */
+    @Nonnull
+    protected abstract ClassDictionary dictionary();
 
     /**
      * Returns the map that holds single-features.
@@ -114,6 +125,20 @@ public abstract class AbstractInMemoryBackend extends AbstractBackend implements
     @Nonnull
     protected abstract Map<SingleFeatureBean, Object> features();
 
+    /**
+     * Returns the map that indexes all instances by their meta-class, if this back-end maintains such an index.
+     * <p>
+     * By default, this method returns an empty {@link Optional}: the instances are retrieved by scanning {@link
+     * #instances()}.
+     *
+     * @return an {@link Optional} containing a mutable map, or an empty {@link Optional} if the instances are not
+     * indexed
+     */
+    @Nonnull
+    protected Optional<Map<ClassBean, Set<Id>>> instancesIndex() {
+        return Optional.empty();
+    }
+
     /**
      * Checks the specified {@code feature} before using it.
      *
@@ -151,7 +176,7 @@ public abstract class AbstractInMemoryBackend extends AbstractBackend implements
     public Optional<ClassBean> metaClassOf(Id id) {
         checkNotNull(id, "id");
 
-        return Optional.ofNullable(instances().get(id));
+        return Optional.ofNullable(instances().get(id)).flatMap(dictionary()::classOf);
     }
 
     @Override
@@ -159,14 +184,31 @@ public abstract class AbstractInMemoryBackend extends AbstractBackend implements
         checkNotNull(id, "id");
         checkNotNull(metaClass, "metaClass");
 
-        return isNull(instances().putIfAbsent(id, metaClass));
+        final int classId = dictionary().idOf(metaClass).orElseGet(() -> dictionary().register(metaClass));
+        final boolean notDefined = isNull(instances().putIfAbsent(id, classId));
+
+        if (notDefined) {
+            instancesIndex().ifPresent(i -> i.computeIfAbsent(metaClass, c -> ConcurrentHashMap.newKeySet()).add(id));
+        }
+
+        return notDefined;
     }
 
     @Nonnull
     @Override
     public Stream<Id> allInstancesOf(Set<ClassBean> metaClasses) {
+        Optional<Map<ClassBean, Set<Id>>> index = instancesIndex();
+        if (index.isPresent()) {
+            return metaClasses.stream()
+                    .map(index.get()::get)
+                    .filter(Objects::nonNull)
+                    .flatMap(Set::stream);
+        }
+
+        final Set<Integer> classIds = dictionary().idsOf(metaClasses);
+
         return instances().entrySet().stream()
-                .filter(e -> metaClasses.contains(e.getValue()))
+                .filter(e -> classIds.contains(e.getValue()))
                 .map(Map.Entry::getKey)
                 .distinct();
     }
@@ -218,11 +260,6 @@ public abstract class AbstractInMemoryBackend extends AbstractBackend implements
          */
         protected static final long ID = (long) Long.BYTES;
 
-        /**
-         * The estimated size of a {@link ClassBean}.
-         */
-        protected static final long CLASS = (long) Math.pow(2, 7);
-
         /**
          * The estimated size of a {@link FeatureBean}.
          */
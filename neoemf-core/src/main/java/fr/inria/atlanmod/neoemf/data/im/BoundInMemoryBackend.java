@@ -9,7 +9,7 @@
 package fr.inria.atlanmod.neoemf.data.im;
 
 import fr.inria.atlanmod.neoemf.core.Id;
-import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
+import fr.inria.atlanmod.neoemf.data.bean.ClassDictionary;
 import fr.inria.atlanmod.neoemf.data.bean.FeatureBean;
 import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
 import fr.inria.atlanmod.neoemf.data.mapping.DataMapper;
@@ -113,10 +113,16 @@ public final class BoundInMemoryBackend extends AbstractInMemoryBackend {
 
     @Nonnull
     @Override
-    protected Map<Id, ClassBean> instances() {
+    protected Map<Id, Integer> instances() {
         return dataHolder.instances;
     }
 
+    @Nonnull
+    @Override
+    protected ClassDictionary dictionary() {
+        return dataHolder.dictionary;
+    }
+
     @Nonnull
     @Override
     protected Map<SingleFeatureBean, Object> features() {
@@ -182,10 +188,15 @@ public final class BoundInMemoryBackend extends AbstractInMemoryBackend {
         private ChronicleMap<Id, SingleFeatureBean> containers;
 
         /**
-         * A shared in-memory map that stores the meta-class for {@link fr.inria.atlanmod.neoemf.core.PersistentEObject}s,
-         * identified by the object {@link Id}.
+         * A shared in-memory map that stores the identifier of the meta-class for {@link
+         * fr.inria.atlanmod.neoemf.core.PersistentEObject}s, identified by the object {@link Id}.
          */
-        private ChronicleMap<Id, ClassBean> instances;
+        private ChronicleMap<Id, Integer> instances;
+
+        /**
+         * A shared dictionary that associates each meta-class with its identifier.
+         */
+        private ClassDictionary dictionary;
 
         /**
          * An in-memory map that stores all feature values for {@link fr.inria.atlanmod.neoemf.core.PersistentEObject}s,
@@ -229,13 +240,11 @@ public final class BoundInMemoryBackend extends AbstractInMemoryBackend {
                     .valueMarshaller(new BeanMarshaller<>(SERIALIZER_FACTORY.forSingleFeature()))
                     .create();
 
-            instances = ChronicleMapBuilder.of(Id.class, ClassBean.class)
+            instances = ChronicleMapBuilder.of(Id.class, Integer.class)
                     .name(String.format("%s/%s", prefix, "instances"))
                     .entries(Sizes.ENTRIES)
                     .averageKeySize(Sizes.ID)
-                    .averageValueSize(Sizes.CLASS)
                     .keyMarshaller(new BeanMarshaller<>(SERIALIZER_FACTORY.forId()))
-                    .valueMarshaller(new BeanMarshaller<>(SERIALIZER_FACTORY.forClass()))
                     .create();
 
             features = ChronicleMapBuilder.of(SingleFeatureBean.class, Object.class)
@@ -246,6 +255,8 @@ public final class BoundInMemoryBackend extends AbstractInMemoryBackend {
                     .keyMarshaller(new BeanMarshaller<>(SERIALIZER_FACTORY.forSingleFeature()))
                     .create();
 
+            dictionary = new ClassDictionary();
+
             featuresById = new ConcurrentHashMap<>();
         }
 
@@ -282,6 +293,7 @@ public final class BoundInMemoryBackend extends AbstractInMemoryBackend {
                 instances.close();
                 features.close();
 
+                dictionary.clear();
                 featuresById.clear();
             }
         }
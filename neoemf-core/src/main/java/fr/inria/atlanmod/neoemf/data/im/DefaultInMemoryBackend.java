@@ -10,18 +10,25 @@ package fr.inria.atlanmod.neoemf.data.im;
 
 import fr.inria.atlanmod.neoemf.core.Id;
 import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
+import fr.inria.atlanmod.neoemf.data.bean.ClassDictionary;
 import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
 
 import net.openhft.chronicle.map.ChronicleMap;
 import net.openhft.chronicle.map.ChronicleMapBuilder;
 
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 
+import static java.util.Objects.nonNull;
+
 /**
  * A {@link InMemoryBackend} that stores all elements in {@link Map}s.
  * <p>
@@ -47,11 +54,19 @@ public class DefaultInMemoryBackend extends AbstractInMemoryBackend {
     private final ChronicleMap<Id, SingleFeatureBean> containers;
 
     /**
-     * An in-memory map that stores the meta-class for {@link fr.inria.atlanmod.neoemf.core.PersistentEObject}s,
-     * identified by the object {@link Id}.
+     * An in-memory map that stores the identifier of the meta-class for {@link
+     * fr.inria.atlanmod.neoemf.core.PersistentEObject}s, identified by the object {@link Id}.
+     *
+     * @see #dictionary
      */
     @Nonnull
-    private final ChronicleMap<Id, ClassBean> instances;
+    private final ChronicleMap<Id, Integer> instances;
+
+    /**
+     * The dictionary that associates each meta-class with its identifier.
+     */
+    @Nonnull
+    private final ClassDictionary dictionary = new ClassDictionary();
 
     /**
      * An in-memory map that stores all feature values for {@link fr.inria.atlanmod.neoemf.core.PersistentEObject}s,
@@ -60,10 +75,28 @@ public class DefaultInMemoryBackend extends AbstractInMemoryBackend {
     @Nonnull
     private final ChronicleMap<SingleFeatureBean, Object> features;
 
+    /**
+     * An in-memory map that indexes the {@link Id} of {@link fr.inria.atlanmod.neoemf.core.PersistentEObject}s by
+     * their meta-class. Only defined if the index is enabled.
+     */
+    @Nullable
+    private final Map<ClassBean, Set<Id>> instancesIndex;
+
     /**
      * Constructs a new {@code DefaultInMemoryBackend}.
      */
     public DefaultInMemoryBackend() {
+        this(false);
+    }
+
+    /**
+     * Constructs a new {@code DefaultInMemoryBackend}.
+     *
+     * @param indexMetaClasses {@code true} if the instances must be indexed by their meta-class
+     *
+     * @see fr.inria.atlanmod.neoemf.data.im.config.InMemoryConfig#indexMetaClasses()
+     */
+    public DefaultInMemoryBackend(boolean indexMetaClasses) {
         final int id = COUNTER.getAndIncrement();
         final String prefix = "default";
 
@@ -76,13 +109,11 @@ public class DefaultInMemoryBackend extends AbstractInMemoryBackend {
                 .valueMarshaller(new BeanMarshaller<>(SERIALIZER_FACTORY.forSingleFeature()))
                 .create();
 
-        instances = ChronicleMapBuilder.of(Id.class, ClassBean.class)
+        instances = ChronicleMapBuilder.of(Id.class, Integer.class)
                 .name(String.format("%s/%d/%s", prefix, id, "instances"))
                 .entries(Sizes.ENTRIES)
                 .averageKeySize(Sizes.ID)
-                .averageValueSize(Sizes.CLASS)
                 .keyMarshaller(new BeanMarshaller<>(SERIALIZER_FACTORY.forId()))
-                .valueMarshaller(new BeanMarshaller<>(SERIALIZER_FACTORY.forClass()))
                 .create();
 
         features = ChronicleMapBuilder.of(SingleFeatureBean.class, Object.class)
@@ -92,6 +123,8 @@ public class DefaultInMemoryBackend extends AbstractInMemoryBackend {
                 .averageValueSize(Sizes.FEATURE_VALUE)
                 .keyMarshaller(new BeanMarshaller<>(SERIALIZER_FACTORY.forSingleFeature()))
                 .create();
+
+        instancesIndex = indexMetaClasses ? new ConcurrentHashMap<>() : null;
     }
 
     @Override
@@ -102,8 +135,14 @@ public class DefaultInMemoryBackend extends AbstractInMemoryBackend {
         instances.clear();
         instances.close();
 
+        dictionary.clear();
+
         features.clear();
         features.close();
+
+        if (nonNull(instancesIndex)) {
+            instancesIndex.clear();
+        }
     }
 
     @Nonnull
@@ -114,13 +153,25 @@ public class DefaultInMemoryBackend extends AbstractInMemoryBackend {
 
     @Nonnull
     @Override
-    protected Map<Id, ClassBean> instances() {
+    protected Map<Id, Integer> instances() {
         return instances;
     }
 
+    @Nonnull
+    @Override
+    protected ClassDictionary dictionary() {
+        return dictionary;
+    }
+
     @Nonnull
     @Override
     protected Map<SingleFeatureBean, Object> features() {
         return features;
     }
+
+    @Nonnull
+    @Override
+    protected Optional<Map<ClassBean, Set<Id>>> instancesIndex() {
+        return Optional.ofNullable(instancesIndex);
+    }
 }
@@ -38,6 +38,11 @@ public class InMemoryBackendFactory extends AbstractBackendFactory<InMemoryConfi
     @Nonnull
     @Override
     public Backend createBackend(URI uri, ImmutableConfig baseConfig) {
-        return new DefaultInMemoryBackend();
+        final boolean indexMetaClasses = baseConfig.<Object>getOption(InMemoryConfig.IM_INDEX_METACLASSES)
+                .map(String::valueOf)
+                .map(Boolean::parseBoolean)
+                .orElse(false);
+
+        return new DefaultInMemoryBackend(indexMetaClasses);
     }
 }
@@ -18,6 +18,7 @@ import org.osgi.service.component.annotations.ServiceScope;
 
 import java.nio.file.Path;
 
+import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
 
 /**
@@ -31,6 +32,18 @@ import javax.annotation.ParametersAreNonnullByDefault;
 @ParametersAreNonnullByDefault
 public class InMemoryConfig extends BaseConfig<InMemoryConfig> {
 
+    /**
+     * The base prefix for all options related to in-memory back-ends.
+     */
+    public static final String IM_PREFIX = "im";
+
+    /**
+     * The key identifying the meta-class index option.
+     *
+     * @see #indexMetaClasses()
+     */
+    public static final String IM_INDEX_METACLASSES = createKey(IM_PREFIX, "index", "metaclasses");
+
     /**
      * Constructs a new {@code InMemoryConfig} with default settings.
      */
@@ -38,6 +51,18 @@ public class InMemoryConfig extends BaseConfig<InMemoryConfig> {
         // Don't set a default mapping for a multi-mapping configuration.
     }
 
+    /**
+     * Adds an index from each meta-class to its instances, maintained by {@link fr.inria.atlanmod.neoemf.data.mapping.ClassMapper#metaClassFor(fr.inria.atlanmod.neoemf.core.Id,
+     * fr.inria.atlanmod.neoemf.data.bean.ClassBean)}. The index makes {@link fr.inria.atlanmod.neoemf.data.mapping.ClassMapper#allInstancesOf(java.util.Set)}
+     * proportional to the number of matching instances, instead of the size of the model.
+     *
+     * @return this configuration (for chaining)
+     */
+    @Nonnull
+    public InMemoryConfig indexMetaClasses() {
+        return addOption(IM_INDEX_METACLASSES, true);
+    }
+
     @Override
     public void save(Path directory) {
         throw new UnsupportedOperationException("An in-memory backend cannot be stored locally");
@@ -10,10 +10,12 @@ package fr.inria.atlanmod.neoemf.data.mapping;
 
 import fr.inria.atlanmod.neoemf.core.Id;
 import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
+import fr.inria.atlanmod.neoemf.data.bean.FeatureBean;
 import fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean;
 import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
@@ -135,6 +137,12 @@ public abstract class AbstractDataMapperChain<M extends DataMapper> extends Abst
         return next.valueFor(feature, value);
     }
 
+    @Override
+    @OverridingMethodsMustInvokeSuper
+    public <V> void setValue(SingleFeatureBean feature, V value) {
+        next.setValue(feature, value);
+    }
+
     @Override
     @OverridingMethodsMustInvokeSuper
     public void removeValue(SingleFeatureBean feature) {
@@ -155,12 +163,25 @@ public abstract class AbstractDataMapperChain<M extends DataMapper> extends Abst
         return next.referenceFor(feature, reference);
     }
 
+    @Override
+    @OverridingMethodsMustInvokeSuper
+    public void setReference(SingleFeatureBean feature, Id reference) {
+        next.setReference(feature, reference);
+    }
+
     @Override
     @OverridingMethodsMustInvokeSuper
     public void removeReference(SingleFeatureBean feature) {
         next.removeReference(feature);
     }
 
+    @Nonnull
+    @Override
+    @OverridingMethodsMustInvokeSuper
+    public Optional<Id> referenceFrom(Object value) {
+        return next.referenceFrom(value);
+    }
+
     @Nonnull
     @Override
     @OverridingMethodsMustInvokeSuper
@@ -229,6 +250,13 @@ public abstract class AbstractDataMapperChain<M extends DataMapper> extends Abst
         return next.sizeOfValue(feature);
     }
 
+    @Nonnull
+    @Override
+    @OverridingMethodsMustInvokeSuper
+    public Map<FeatureBean, Object> prefetch(Id id) {
+        return next.prefetch(id);
+    }
+
     @Nonnull
     @Override
     @OverridingMethodsMustInvokeSuper
@@ -295,4 +323,11 @@ public abstract class AbstractDataMapperChain<M extends DataMapper> extends Abst
     public Optional<Integer> sizeOfReference(SingleFeatureBean feature) {
         return next.sizeOfReference(feature);
     }
+
+    @Nonnull
+    @Override
+    @OverridingMethodsMustInvokeSuper
+    public Optional<Id> manyReferenceFrom(Object value) {
+        return next.manyReferenceFrom(value);
+    }
 }
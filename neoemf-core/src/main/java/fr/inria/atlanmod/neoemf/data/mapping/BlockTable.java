@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2013 Atlanmod.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.mapping;
+
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * The ordered list of blocks of a multi-valued feature, used by {@link ManyValueWithBlocks}.
+ * <p>
+ * Each block is described by its identifier and its number of values. The table is persisted as a flat {@code int[]}
+ * of {@code (identifier, size)} pairs.
+ */
+@ParametersAreNonnullByDefault
+final class BlockTable {
+
+    /**
+     * The {@code (identifier, size)} pairs of the blocks, in order.
+     */
+    @Nonnull
+    private int[] entries;
+
+    /**
+     * The number of blocks in this table.
+     */
+    @Nonnegative
+    private int count;
+
+    /**
+     * Constructs a new {@code BlockTable} from its persisted form.
+     *
+     * @param entries the {@code (identifier, size)} pairs of the blocks
+     */
+    private BlockTable(int[] entries) {
+        this.entries = entries.clone();
+        this.count = entries.length / 2;
+    }
+
+    /**
+     * Retrieves the table of blocks of the specified {@code feature}.
+     *
+     * @param mapper  the mapper where the table is stored
+     * @param feature the bean identifying the multi-valued feature
+     *
+     * @return the table of blocks, empty if the feature has no value
+     */
+    @Nonnull
+    public static BlockTable of(ValueMapper mapper, SingleFeatureBean feature) {
+        return new BlockTable(mapper.<int[]>valueOf(feature).orElseGet(() -> new int[0]));
+    }
+
+    /**
+     * Stores this table as the table of blocks of the specified {@code feature}. If this table is empty, the feature is
+     * removed.
+     *
+     * @param mapper  the mapper where to store the table
+     * @param feature the bean identifying the multi-valued feature
+     */
+    public void saveTo(ValueMapper mapper, SingleFeatureBean feature) {
+        if (count > 0) {
+            mapper.setValue(feature, toArray());
+        }
+        else {
+            mapper.removeValue(feature);
+        }
+    }
+
+    /**
+     * Returns the number of blocks in this table.
+     *
+     * @return the number of blocks
+     */
+    @Nonnegative
+    public int blockCount() {
+        return count;
+    }
+
+    /**
+     * Returns the identifier of the block at the given {@code index}.
+     *
+     * @param index the index of the block
+     *
+     * @return the identifier
+     */
+    public int idOf(@Nonnegative int index) {
+        return entries[index * 2];
+    }
+
+    /**
+     * Returns the number of values of the block at the given {@code index}.
+     *
+     * @param index the index of the block
+     *
+     * @return the number of values
+     */
+    @Nonnegative
+    public int sizeOf(@Nonnegative int index) {
+        return entries[index * 2 + 1];
+    }
+
+    /**
+     * Returns the total number of values in all blocks.
+     *
+     * @return the number of values
+     */
+    @Nonnegative
+    public int totalSize() {
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            size += sizeOf(i);
+        }
+        return size;
+    }
+
+    /**
+     * Returns an identifier that is not used by any block of this table.
+     *
+     * @return a free identifier
+     */
+    @Nonnegative
+    public int nextId() {
+        int max = -1;
+        for (int i = 0; i < count; i++) {
+            max = Math.max(max, idOf(i));
+        }
+        return max + 1;
+    }
+
+    /**
+     * Returns the index of the block that contains the value at the given {@code position}. If {@code position} is
+     * equal to the total size, the index of the last block is returned.
+     *
+     * @param position the position of the value
+     *
+     * @return the index of the block, or {@code -1} if the table is empty or if the position is out of bounds
+     *
+     * @see #startOf(int)
+     */
+    public int indexOf(@Nonnegative int position) {
+        int start = 0;
+        for (int i = 0; i < count; i++) {
+            int end = start + sizeOf(i);
+            if (position < end || (position == end && i == count - 1)) {
+                return i;
+            }
+            start = end;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the position, in the whole feature, of the first value of the block at the given {@code index}.
+     *
+     * @param index the index of the block
+     *
+     * @return the position of the first value
+     */
+    @Nonnegative
+    public int startOf(@Nonnegative int index) {
+        int start = 0;
+        for (int i = 0; i < index; i++) {
+            start += sizeOf(i);
+        }
+        return start;
+    }
+
+    /**
+     * Defines the number of values of the block at the given {@code index}.
+     *
+     * @param index the index of the block
+     * @param size  the number of values
+     */
+    public void sizeFor(@Nonnegative int index, @Nonnegative int size) {
+        entries[index * 2 + 1] = size;
+    }
+
+    /**
+     * Inserts a new block at the given {@code index}.
+     *
+     * @param index the index of the new block
+     * @param id    the identifier of the new block
+     * @param size  the number of values of the new block
+     */
+    public void insert(@Nonnegative int index, int id, @Nonnegative int size) {
+        if (entries.length < (count + 1) * 2) {
+            entries = Arrays.copyOf(entries, Math.max(4, entries.length * 2));
+        }
+
+        System.arraycopy(entries, index * 2, entries, (index + 1) * 2, (count - index) * 2);
+        entries[index * 2] = id;
+        entries[index * 2 + 1] = size;
+        count++;
+    }
+
+    /**
+     * Removes the block at the given {@code index}.
+     *
+     * @param index the index of the block to remove
+     */
+    public void remove(@Nonnegative int index) {
+        System.arraycopy(entries, (index + 1) * 2, entries, index * 2, (count - index - 1) * 2);
+        count--;
+    }
+
+    /**
+     * Returns the persisted form of this table.
+     *
+     * @return the {@code (identifier, size)} pairs of the blocks
+     */
+    @Nonnull
+    public int[] toArray() {
+        return Arrays.copyOf(entries, count * 2);
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2013 Atlanmod.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.mapping;
+
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import static org.atlanmod.commons.Preconditions.checkNotContainsNull;
+import static org.atlanmod.commons.Preconditions.checkNotNull;
+
+/**
+ * The complete description of an element, written at once by a {@link BulkLoader}: its identifier, its meta-class, its
+ * container and the values of its features.
+ * <p>
+ * The values of a multi-valued feature are appended to the ones already stored in the {@link DataMapper}. The values
+ * appended several times to the same feature are merged, in order.
+ */
+@NotThreadSafe
+@ParametersAreNonnullByDefault
+public final class BulkElement {
+
+    /**
+     * The identifier of this element.
+     */
+    @Nonnull
+    private final Id id;
+
+    /**
+     * The meta-class of this element, or {@code null} if this element is already defined.
+     */
+    @Nullable
+    private ClassBean metaClass;
+
+    /**
+     * The container of this element, or {@code null} if it is not defined.
+     */
+    @Nullable
+    private SingleFeatureBean container;
+
+    /**
+     * The value of each single-valued attribute, identified by the identifier of the feature.
+     */
+    @Nonnull
+    private final Map<Integer, Object> values = new LinkedHashMap<>();
+
+    /**
+     * The values of each multi-valued attribute, identified by the identifier of the feature.
+     */
+    @Nonnull
+    private final Map<Integer, List<Object>> manyValues = new LinkedHashMap<>();
+
+    /**
+     * The value of each single-valued reference, identified by the identifier of the feature.
+     */
+    @Nonnull
+    private final Map<Integer, Id> references = new LinkedHashMap<>();
+
+    /**
+     * The values of each multi-valued reference, identified by the identifier of the feature.
+     */
+    @Nonnull
+    private final Map<Integer, List<Id>> manyReferences = new LinkedHashMap<>();
+
+    /**
+     * Constructs a new {@code BulkElement}.
+     *
+     * @param id the identifier of the element
+     *
+     * @throws NullPointerException if the {@code id} is {@code null}
+     */
+    public BulkElement(Id id) {
+        this.id = checkNotNull(id, "id");
+    }
+
+    /**
+     * Returns the identifier of this element.
+     *
+     * @return the identifier
+     */
+    @Nonnull
+    public Id id() {
+        return id;
+    }
+
+    /**
+     * Returns the meta-class of this element.
+     *
+     * @return the meta-class, or {@code null} if this element is already defined
+     */
+    @Nullable
+    public ClassBean metaClass() {
+        return metaClass;
+    }
+
+    /**
+     * Defines the meta-class of this element. The element must not be already defined.
+     *
+     * @param metaClass the meta-class
+     *
+     * @return this element (for chaining)
+     *
+     * @throws NullPointerException if the {@code metaClass} is {@code null}
+     */
+    @Nonnull
+    public BulkElement metaClass(ClassBean metaClass) {
+        this.metaClass = checkNotNull(metaClass, "metaClass");
+        return this;
+    }
+
+    /**
+     * Returns the container of this element.
+     *
+     * @return the container, or {@code null} if it is not defined
+     */
+    @Nullable
+    public SingleFeatureBean container() {
+        return container;
+    }
+
+    /**
+     * Defines the container of this element.
+     *
+     * @param container the container
+     *
+     * @return this element (for chaining)
+     *
+     * @throws NullPointerException if the {@code container} is {@code null}
+     */
+    @Nonnull
+    public BulkElement container(SingleFeatureBean container) {
+        this.container = checkNotNull(container, "container");
+        return this;
+    }
+
+    /**
+     * Defines the value of a single-valued attribute.
+     *
+     * @param featureId the identifier of the feature
+     * @param value     the value
+     *
+     * @return this element (for chaining)
+     *
+     * @throws NullPointerException if the {@code value} is {@code null}
+     */
+    @Nonnull
+    public BulkElement value(int featureId, Object value) {
+        values.put(featureId, checkNotNull(value, "value"));
+        return this;
+    }
+
+    /**
+     * Appends values to a multi-valued attribute.
+     *
+     * @param featureId  the identifier of the feature
+     * @param collection the values to append
+     *
+     * @return this element (for chaining)
+     *
+     * @throws NullPointerException if the {@code collection} is {@code null} or if it contains a {@code null} value
+     */
+    @Nonnull
+    public BulkElement appendValues(int featureId, List<?> collection) {
+        checkNotNull(collection, "collection");
+        checkNotContainsNull(collection, "collection");
+
+        manyValues.computeIfAbsent(featureId, i -> new ArrayList<>()).addAll(collection);
+        return this;
+    }
+
+    /**
+     * Defines the value of a single-valued reference.
+     *
+     * @param featureId the identifier of the feature
+     * @param reference the referenced identifier
+     *
+     * @return this element (for chaining)
+     *
+     * @throws NullPointerException if the {@code reference} is {@code null}
+     */
+    @Nonnull
+    public BulkElement reference(int featureId, Id reference) {
+        references.put(featureId, checkNotNull(reference, "reference"));
+        return this;
+    }
+
+    /**
+     * Appends values to a multi-valued reference.
+     *
+     * @param featureId  the identifier of the feature
+     * @param collection the referenced identifiers to append
+     *
+     * @return this element (for chaining)
+     *
+     * @throws NullPointerException if the {@code collection} is {@code null} or if it contains a {@code null} value
+     */
+    @Nonnull
+    public BulkElement appendReferences(int featureId, List<Id> collection) {
+        checkNotNull(collection, "collection");
+        checkNotContainsNull(collection, "collection");
+
+        manyReferences.computeIfAbsent(featureId, i -> new ArrayList<>()).addAll(collection);
+        return this;
+    }
+
+    /**
+     * Returns the value of each single-valued attribute, identified by the identifier of the feature.
+     *
+     * @return an immutable map
+     */
+    @Nonnull
+    public Map<Integer, Object> values() {
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * Returns the values to append to each multi-valued attribute, identified by the identifier of the feature.
+     *
+     * @return an immutable map
+     */
+    @Nonnull
+    public Map<Integer, List<Object>> manyValues() {
+        return Collections.unmodifiableMap(manyValues);
+    }
+
+    /**
+     * Returns the value of each single-valued reference, identified by the identifier of the feature.
+     *
+     * @return an immutable map
+     */
+    @Nonnull
+    public Map<Integer, Id> references() {
+        return Collections.unmodifiableMap(references);
+    }
+
+    /**
+     * Returns the values to append to each multi-valued reference, identified by the identifier of the feature.
+     *
+     * @return an immutable map
+     */
+    @Nonnull
+    public Map<Integer, List<Id>> manyReferences() {
+        return Collections.unmodifiableMap(manyReferences);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BulkElement {%s}", id.toHexString());
+    }
+}
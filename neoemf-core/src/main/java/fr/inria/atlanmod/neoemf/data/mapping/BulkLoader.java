@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2013 Atlanmod.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.mapping;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * A session that writes complete elements in a {@link DataMapper}, in a way optimized by the back-end.
+ * <p>
+ * A loader is intended to import new elements: the written elements may not be visible from the {@link DataMapper}
+ * until the loader is {@linkplain #flush() flushed}, and the {@link DataMapper} must not be modified by another way
+ * while the loader is open.
+ *
+ * @see DataMapper#newBulkLoader()
+ */
+@ParametersAreNonnullByDefault
+public interface BulkLoader extends AutoCloseable {
+
+    /**
+     * Writes the {@code element}, or keeps it to write it later. The {@code element} must not be modified afterwards.
+     *
+     * @param element the element to write
+     *
+     * @throws NullPointerException  if the {@code element} is {@code null}
+     * @throws IllegalStateException if the {@code element} defines a meta-class and an element with the same
+     *                               identifier is already defined; this failure may only be detected by a later call
+     *                               to this method, or to {@link #flush()}
+     */
+    void load(BulkElement element);
+
+    /**
+     * Writes all the elements kept by this loader.
+     *
+     * @throws IllegalStateException if an element with the same identifier as one of the written elements is already
+     *                               defined
+     */
+    void flush();
+
+    /**
+     * Writes all the elements kept by this loader, and releases its resources.
+     *
+     * @see #flush()
+     */
+    @Override
+    void close();
+}
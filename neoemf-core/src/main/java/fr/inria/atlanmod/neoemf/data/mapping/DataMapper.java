@@ -12,6 +12,7 @@ import fr.inria.atlanmod.neoemf.data.Saveable;
 
 import org.atlanmod.commons.Copiable;
 
+import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
 
 /**
@@ -23,7 +24,21 @@ import javax.annotation.ParametersAreNonnullByDefault;
  * @see ReferenceMapper
  * @see ManyValueMapper
  * @see ManyReferenceMapper
+ * @see BulkLoader
  */
 @ParametersAreNonnullByDefault
 public interface DataMapper extends Saveable, Copiable<DataMapper>, ContainerMapper, ClassMapper, ValueMapper, ManyValueMapper, ReferenceMapper, ManyReferenceMapper {
+
+    /**
+     * Creates a new session that writes complete elements in this mapper.
+     * <p>
+     * Back-ends can override this method to write the elements in a more efficient way than one call per feature. By
+     * default, each element is written immediately by a {@link DefaultBulkLoader}.
+     *
+     * @return a new loader
+     */
+    @Nonnull
+    default BulkLoader newBulkLoader() {
+        return new DefaultBulkLoader(this);
+    }
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2013 Atlanmod.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.mapping;
+
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import static java.util.Objects.nonNull;
+import static org.atlanmod.commons.Preconditions.checkNotNull;
+import static org.atlanmod.commons.Preconditions.checkState;
+
+/**
+ * A {@link BulkLoader} that immediately writes each element in a {@link DataMapper}, with one call per meta-class,
+ * container and feature.
+ */
+@NotThreadSafe
+@ParametersAreNonnullByDefault
+public class DefaultBulkLoader implements BulkLoader {
+
+    /**
+     * The mapper where to write the elements.
+     */
+    @Nonnull
+    protected final DataMapper mapper;
+
+    /**
+     * Constructs a new {@code DefaultBulkLoader}.
+     *
+     * @param mapper the mapper where to write the elements
+     *
+     * @throws NullPointerException if the {@code mapper} is {@code null}
+     */
+    public DefaultBulkLoader(DataMapper mapper) {
+        this.mapper = checkNotNull(mapper, "mapper");
+    }
+
+    @Override
+    public void load(BulkElement element) {
+        checkNotNull(element, "element");
+
+        write(element);
+    }
+
+    @Override
+    public void flush() {
+        // Do nothing: elements are written immediately
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+
+    /**
+     * Writes the {@code element} in the {@link #mapper}.
+     *
+     * @param element the element to write
+     *
+     * @throws IllegalStateException if the {@code element} defines a meta-class and an element with the same
+     *                               identifier is already defined
+     */
+    protected void write(BulkElement element) {
+        final Id id = element.id();
+
+        final ClassBean metaClass = element.metaClass();
+        if (nonNull(metaClass)) {
+            checkState(mapper.metaClassFor(id, metaClass), "An element with the same Id (%s) is already defined", id.toHexString());
+        }
+
+        final SingleFeatureBean container = element.container();
+        if (nonNull(container)) {
+            mapper.containerFor(id, container);
+        }
+
+        element.values().forEach((f, v) -> mapper.setValue(SingleFeatureBean.of(id, f), v));
+        element.manyValues().forEach((f, v) -> mapper.appendAllValues(SingleFeatureBean.of(id, f), v));
+        element.references().forEach((f, r) -> mapper.setReference(SingleFeatureBean.of(id, f), r));
+        element.manyReferences().forEach((f, r) -> mapper.appendAllReferences(SingleFeatureBean.of(id, f), r));
+    }
+}
@@ -10,10 +10,12 @@ package fr.inria.atlanmod.neoemf.data.mapping;
 
 import fr.inria.atlanmod.neoemf.core.Id;
 import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
+import fr.inria.atlanmod.neoemf.data.bean.FeatureBean;
 import fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean;
 import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Supplier;
@@ -55,6 +57,12 @@ public class InvalidDataMapper implements DataMapper {
         // Do nothing (see PersistentResource#unload())
     }
 
+    @Nonnull
+    @Override
+    public BulkLoader newBulkLoader() {
+        throw e.get();
+    }
+
     @Override
     public void save() {
         // Do nothing (see PersistentResource#save())
@@ -111,6 +119,11 @@ public class InvalidDataMapper implements DataMapper {
         throw e.get();
     }
 
+    @Override
+    public <V> void setValue(SingleFeatureBean feature, V value) {
+        throw e.get();
+    }
+
     @Override
     public void removeValue(SingleFeatureBean feature) {
         throw e.get();
@@ -128,6 +141,11 @@ public class InvalidDataMapper implements DataMapper {
         throw e.get();
     }
 
+    @Override
+    public void setReference(SingleFeatureBean feature, Id reference) {
+        throw e.get();
+    }
+
     @Override
     public void removeReference(SingleFeatureBean feature) {
         throw e.get();
@@ -188,6 +206,12 @@ public class InvalidDataMapper implements DataMapper {
         throw e.get();
     }
 
+    @Nonnull
+    @Override
+    public Map<FeatureBean, Object> prefetch(Id id) {
+        throw e.get();
+    }
+
     @Nonnull
     @Override
     public Optional<Id> referenceOf(ManyFeatureBean feature) {
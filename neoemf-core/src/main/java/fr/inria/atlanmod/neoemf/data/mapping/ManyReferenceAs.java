@@ -22,6 +22,8 @@ import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
 
+import static org.atlanmod.commons.Preconditions.checkNotNull;
+
 /**
  * A {@link ManyReferenceMapper} that provides a default behavior to use {@code M} instead of {@link Id} for
  * multi-valued references.
@@ -106,6 +108,17 @@ public interface ManyReferenceAs<M> extends ManyValueMapper, ManyReferenceMapper
         return this.sizeOfValue(feature);
     }
 
+    @Nonnull
+    @Override
+    @SuppressWarnings("unchecked")
+    default Optional<Id> manyReferenceFrom(Object value) {
+        checkNotNull(value, "value");
+
+        return value instanceof Id
+                ? Optional.of((Id) value)
+                : Optional.of(manyReferenceConverter().revert((M) value));
+    }
+
     /**
      * Returns the converter used to transform a multi-valued reference to the desired type.
      *
@@ -175,4 +175,26 @@ public interface ManyReferenceMapper extends ReferenceMapper {
     @Nonnull
     @Nonnegative
     Optional<Integer> sizeOfReference(SingleFeatureBean feature);
+
+    /**
+     * Returns the multi-valued reference represented by the {@code value}, as it is stored by this mapper. This
+     * converts the references returned by {@link ManyValueMapper#prefetch(Id)}.
+     * <p>
+     * By default, the {@code value} is returned if it is an instance of {@link Id}.
+     *
+     * @param value the stored value of a reference
+     *
+     * @return an {@link Optional} containing the reference, or {@link Optional#empty()} if the {@code value} does not
+     * represent a reference
+     *
+     * @throws NullPointerException if the {@code value} is {@code null}
+     */
+    @Nonnull
+    default Optional<Id> manyReferenceFrom(Object value) {
+        checkNotNull(value, "value");
+
+        return Optional.of(value)
+                .filter(Id.class::isInstance)
+                .map(Id.class::cast);
+    }
 }
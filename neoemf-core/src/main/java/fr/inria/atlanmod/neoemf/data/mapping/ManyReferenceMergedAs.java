@@ -79,7 +79,7 @@ public interface ManyReferenceMergedAs<M> extends ValueMapper, ManyReferenceMapp
 
         ids.set(feature.position(), reference);
 
-        valueFor(feature.withoutPosition(), converter.convert(ids));
+        setValue(feature.withoutPosition(), converter.convert(ids));
 
         return previousId;
     }
@@ -99,7 +99,7 @@ public interface ManyReferenceMergedAs<M> extends ValueMapper, ManyReferenceMapp
 
         ids.add(feature.position(), reference);
 
-        valueFor(feature.withoutPosition(), converter.convert(ids));
+        setValue(feature.withoutPosition(), converter.convert(ids));
     }
 
     @Override
@@ -123,7 +123,7 @@ public interface ManyReferenceMergedAs<M> extends ValueMapper, ManyReferenceMapp
 
         ids.addAll(firstPosition, collection);
 
-        valueFor(feature.withoutPosition(), converter.convert(ids));
+        setValue(feature.withoutPosition(), converter.convert(ids));
     }
 
     @Nonnull
@@ -150,7 +150,7 @@ public interface ManyReferenceMergedAs<M> extends ValueMapper, ManyReferenceMapp
                 removeAllReferences(feature.withoutPosition());
             }
             else {
-                valueFor(feature.withoutPosition(), converter.convert(ids));
+                setValue(feature.withoutPosition(), converter.convert(ids));
             }
         }
 
@@ -8,10 +8,14 @@
 
 package fr.inria.atlanmod.neoemf.data.mapping;
 
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.bean.FeatureBean;
 import fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean;
 import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -181,4 +185,30 @@ public interface ManyValueMapper extends ValueMapper {
     @Nonnull
     @Nonnegative
     Optional<Integer> sizeOfValue(SingleFeatureBean feature);
+
+    /**
+     * Retrieves, in a single operation, the stored values of all the features of the element identified by the
+     * {@code id}.
+     * <p>
+     * Each entry associates a {@link SingleFeatureBean} or a {@link ManyFeatureBean} with the value that {@link
+     * #valueOf(SingleFeatureBean)} or {@link #valueOf(ManyFeatureBean)} returns for it. References are returned as
+     * they are stored, so they may not be instances of {@link Id}: {@link ReferenceMapper#referenceFrom(Object)} and
+     * {@link ManyReferenceMapper#manyReferenceFrom(Object)} convert them. The result may not contain all the features: the
+     * missing ones must be retrieved individually.
+     * <p>
+     * This method is intended to warm a cache. Back-ends that store the features of an element next to each other can
+     * read them with a single range scan, instead of one lookup per feature. By default, an empty map is returned.
+     *
+     * @param id the identifier of the element
+     *
+     * @return a map of the values, identified by their feature
+     *
+     * @throws NullPointerException if the {@code id} is {@code null}
+     */
+    @Nonnull
+    default Map<FeatureBean, Object> prefetch(Id id) {
+        checkNotNull(id, "id");
+
+        return Collections.emptyMap();
+    }
 }
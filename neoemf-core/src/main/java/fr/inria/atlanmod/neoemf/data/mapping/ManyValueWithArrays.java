@@ -70,7 +70,7 @@ public interface ManyValueWithArrays extends ManyValueMapper {
 
         values[feature.position()] = value;
 
-        valueFor(feature.withoutPosition(), values);
+        setValue(feature.withoutPosition(), values);
 
         return previousValue;
     }
@@ -87,7 +87,7 @@ public interface ManyValueWithArrays extends ManyValueMapper {
 
         values = MoreArrays.add(values, feature.position(), value);
 
-        valueFor(feature.withoutPosition(), values);
+        setValue(feature.withoutPosition(), values);
     }
 
     @Override
@@ -108,7 +108,7 @@ public interface ManyValueWithArrays extends ManyValueMapper {
 
         valuesArray = MoreArrays.addAll(valuesArray, firstPosition, collection);
 
-        valueFor(feature.withoutPosition(), valuesArray);
+        setValue(feature.withoutPosition(), valuesArray);
     }
 
     @Nonnull
@@ -134,7 +134,7 @@ public interface ManyValueWithArrays extends ManyValueMapper {
                 removeAllValues(feature.withoutPosition());
             }
             else {
-                valueFor(feature.withoutPosition(), values);
+                setValue(feature.withoutPosition(), values);
             }
         }
 
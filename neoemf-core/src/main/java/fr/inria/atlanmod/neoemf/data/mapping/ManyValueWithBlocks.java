@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2013 Atlanmod.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.mapping;
+
+import fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+
+import org.atlanmod.commons.collect.MoreArrays;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static org.atlanmod.commons.Preconditions.checkNotContainsNull;
+import static org.atlanmod.commons.Preconditions.checkNotNull;
+import static org.atlanmod.commons.Preconditions.checkPositionIndex;
+
+/**
+ * A {@link ManyValueMapper} that provides a default behavior to represent the "multi-valued" characteristic as an
+ * ordered list of blocks of bounded size.
+ * <p>
+ * Each block is an {@link Object}[] of at most {@link #blockCapacity()} values, persisted with a dedicated {@link
+ * ManyFeatureBean} whose position is the identifier of the block. The ordered list of blocks, with their size, is
+ * persisted under the {@link SingleFeatureBean} of the feature.
+ * <p>
+ * Inserting or removing a value only rewrites the block that contains it and the list of blocks, whereas {@link
+ * ManyValueWithIndices} shifts every following value and {@link ManyValueWithArrays} rewrites the whole collection.
+ * <p>
+ * A block that exceeds its capacity is split in blocks of the same size, except when values are appended at the end of
+ * the feature, where the blocks are filled. A block that becomes less than half-full is merged with one of its
+ * neighbours, or shares their values when they do not fit in a single block. Every block but the last appended one is
+ * then at least half-full, so the number of blocks remains proportional to the number of values.
+ */
+@ParametersAreNonnullByDefault
+public interface ManyValueWithBlocks extends ManyValueMapper {
+
+    /**
+     * The default maximum number of values in a block.
+     */
+    @Nonnegative
+    int DEFAULT_BLOCK_CAPACITY = 256;
+
+    @Nonnull
+    @Override
+    @SuppressWarnings("unchecked")
+    default <V> Optional<V> valueOf(ManyFeatureBean feature) {
+        checkNotNull(feature, "feature");
+
+        BlockTable table = BlockTable.of(this, feature.withoutPosition());
+
+        if (feature.position() >= table.totalSize()) {
+            return Optional.empty();
+        }
+
+        int index = table.indexOf(feature.position());
+        int offset = feature.position() - table.startOf(index);
+
+        return blockOf(feature.withPosition(table.idOf(index)))
+                .map(values -> (V) values[offset]);
+    }
+
+    @Nonnull
+    @Override
+    @SuppressWarnings("unchecked")
+    default <V> Stream<V> allValuesOf(SingleFeatureBean feature) {
+        checkNotNull(feature, "feature");
+
+        BlockTable table = BlockTable.of(this, feature);
+
+        return IntStream.range(0, table.blockCount())
+                .mapToObj(i -> blockOf(feature.withPosition(table.idOf(i))).orElseThrow(IllegalStateException::new))
+                .flatMap(Arrays::stream)
+                .map(v -> (V) v);
+    }
+
+    @Nonnull
+    @Override
+    @SuppressWarnings("unchecked")
+    default <V> Optional<V> valueFor(ManyFeatureBean feature, V value) {
+        checkNotNull(feature, "feature");
+        checkNotNull(value, "value");
+
+        BlockTable table = BlockTable.of(this, feature.withoutPosition());
+
+        if (feature.position() >= table.totalSize()) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        int index = table.indexOf(feature.position());
+        int offset = feature.position() - table.startOf(index);
+        ManyFeatureBean block = feature.withPosition(table.idOf(index));
+
+        Object[] values = blockOf(block).orElseThrow(IllegalStateException::new).clone();
+
+        Optional<V> previousValue = Optional.of((V) values[offset]);
+
+        values[offset] = value;
+        blockFor(block, values);
+
+        return previousValue;
+    }
+
+    @Override
+    default <V> void addValue(ManyFeatureBean feature, V value) {
+        checkNotNull(value, "value");
+
+        addAllValues(feature, Collections.singletonList(value));
+    }
+
+    @Override
+    default <V> void addAllValues(ManyFeatureBean feature, List<? extends V> collection) {
+        checkNotNull(feature, "feature");
+        checkNotNull(collection, "collection");
+        checkNotContainsNull(collection, "collection");
+
+        BlockTable table = BlockTable.of(this, feature.withoutPosition());
+        int size = table.totalSize();
+        checkPositionIndex(feature.position(), size);
+
+        if (collection.isEmpty()) {
+            return;
+        }
+
+        // Merge the new values with the content of the block where they are inserted, and replace this block
+        int index = table.indexOf(feature.position());
+        int id;
+        Object[] values;
+
+        if (index == -1) {
+            index = 0;
+            id = 0;
+            values = collection.toArray();
+        }
+        else {
+            id = table.idOf(index);
+            int offset = feature.position() - table.startOf(index);
+
+            Object[] current = blockOf(feature.withPosition(id)).orElseThrow(IllegalStateException::new);
+            values = MoreArrays.addAll(current, offset, collection);
+
+            table.remove(index);
+        }
+
+        // Split the merged values in blocks: the first one keeps the identifier of the replaced block
+        int capacity = blockCapacity();
+        int count = (values.length + capacity - 1) / capacity;
+        boolean append = feature.position() == size;
+
+        for (int i = 0, start = 0; i < count; i++, index++) {
+            // Appended values fill the blocks, whereas other values are shared evenly, so each block is half-full
+            int length = append
+                    ? Math.min(capacity, values.length - start)
+                    : values.length / count + (i < values.length % count ? 1 : 0);
+
+            Object[] block = Arrays.copyOfRange(values, start, start + length);
+
+            blockFor(feature.withPosition(id), block);
+            table.insert(index, id, block.length);
+
+            id = table.nextId();
+            start += length;
+        }
+
+        table.saveTo(this, feature.withoutPosition());
+    }
+
+    @Nonnull
+    @Override
+    @SuppressWarnings("unchecked")
+    default <V> Optional<V> removeValue(ManyFeatureBean feature) {
+        checkNotNull(feature, "feature");
+
+        BlockTable table = BlockTable.of(this, feature.withoutPosition());
+
+        if (feature.position() >= table.totalSize()) {
+            return Optional.empty();
+        }
+
+        int index = table.indexOf(feature.position());
+        int offset = feature.position() - table.startOf(index);
+        ManyFeatureBean block = feature.withPosition(table.idOf(index));
+
+        Object[] values = blockOf(block).orElseThrow(IllegalStateException::new);
+
+        Optional<V> previousValue = Optional.of((V) values[offset]);
+
+        int capacity = blockCapacity();
+
+        if (values.length == 1) {
+            blockFor(block, null);
+            table.remove(index);
+        }
+        else if (values.length - 1 < capacity / 2 && table.blockCount() > 1) {
+            // Merge the block with its previous neighbour, or with the next one if it is the first block
+            int first = index > 0 ? index - 1 : index;
+            ManyFeatureBean left = feature.withPosition(table.idOf(first));
+            ManyFeatureBean right = feature.withPosition(table.idOf(first + 1));
+
+            Object[] leftValues = first == index
+                    ? MoreArrays.remove(values, offset)
+                    : blockOf(left).orElseThrow(IllegalStateException::new);
+
+            Object[] rightValues = first == index
+                    ? blockOf(right).orElseThrow(IllegalStateException::new)
+                    : MoreArrays.remove(values, offset);
+
+            Object[] merged = MoreArrays.addAll(leftValues, leftValues.length, Arrays.asList(rightValues));
+
+            if (merged.length <= capacity) {
+                blockFor(left, merged);
+                table.sizeFor(first, merged.length);
+
+                blockFor(right, null);
+                table.remove(first + 1);
+            }
+            else {
+                // The values do not fit in a single block: share them evenly
+                int half = merged.length / 2;
+
+                blockFor(left, Arrays.copyOfRange(merged, 0, half));
+                table.sizeFor(first, half);
+
+                blockFor(right, Arrays.copyOfRange(merged, half, merged.length));
+                table.sizeFor(first + 1, merged.length - half);
+            }
+        }
+        else {
+            blockFor(block, MoreArrays.remove(values, offset));
+            table.sizeFor(index, values.length - 1);
+        }
+
+        table.saveTo(this, feature.withoutPosition());
+
+        return previousValue;
+    }
+
+    @Override
+    default void removeAllValues(SingleFeatureBean feature) {
+        checkNotNull(feature, "feature");
+
+        BlockTable table = BlockTable.of(this, feature);
+
+        IntStream.range(0, table.blockCount())
+                .forEachOrdered(i -> blockFor(feature.withPosition(table.idOf(i)), null));
+
+        removeValue(feature);
+    }
+
+    @Nonnull
+    @Nonnegative
+    @Override
+    default Optional<Integer> sizeOfValue(SingleFeatureBean feature) {
+        checkNotNull(feature, "feature");
+
+        return Optional.of(BlockTable.of(this, feature).totalSize())
+                .filter(s -> s > 0);
+    }
+
+    /**
+     * Returns the maximum number of values in a block. A block that exceeds this capacity is split.
+     *
+     * @return the capacity of a block
+     */
+    @Nonnegative
+    default int blockCapacity() {
+        return DEFAULT_BLOCK_CAPACITY;
+    }
+
+    /**
+     * Retrieves the values of the block identified by the {@code block}, where {@link ManyFeatureBean#position()} is
+     * the identifier of the block.
+     *
+     * @param block the bean identifying the block
+     *
+     * @return an {@link Optional} containing the values of the block, or {@link Optional#empty()} if the block doesn't
+     * exist
+     *
+     * @throws NullPointerException if the {@code block} is {@code null}
+     */
+    @Nonnull
+    Optional<Object[]> blockOf(ManyFeatureBean block);
+
+    /**
+     * Defines the values of the block identified by the {@code block}, where {@link ManyFeatureBean#position()} is the
+     * identifier of the block. If {@code values == null}, the block is removed.
+     *
+     * @param block  the bean identifying the block
+     * @param values the values of the block
+     *
+     * @throws NullPointerException if the {@code block} is {@code null}
+     */
+    void blockFor(ManyFeatureBean block, @Nullable Object[] values);
+}
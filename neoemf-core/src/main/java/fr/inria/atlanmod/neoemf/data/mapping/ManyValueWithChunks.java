@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2013 Atlanmod.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.mapping;
+
+import fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+
+import org.atlanmod.commons.collect.MoreArrays;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static org.atlanmod.commons.Preconditions.checkGreaterThanOrEqualTo;
+import static org.atlanmod.commons.Preconditions.checkNotContainsNull;
+import static org.atlanmod.commons.Preconditions.checkNotNull;
+import static org.atlanmod.commons.Preconditions.checkPositionIndex;
+
+/**
+ * A {@link ManyValueMapper} that provides a default behavior to represent the "multi-valued" characteristic as {@link
+ * Object}[] split in chunks of fixed size.
+ * <p>
+ * The value at position {@code i} is stored in the chunk {@code i / chunkSize()}, persisted with a dedicated {@link
+ * ManyFeatureBean} whose position is the index of the chunk. The number of values is persisted under the {@link
+ * SingleFeatureBean} of the feature. Unlike {@link ManyValueWithArrays}, appending a value or accessing a value by its
+ * position only deserializes a single chunk, instead of the entire {@link java.util.Collection}.
+ */
+@ParametersAreNonnullByDefault
+public interface ManyValueWithChunks extends ManyValueMapper {
+
+    /**
+     * The default number of values in a chunk.
+     */
+    @Nonnegative
+    int DEFAULT_CHUNK_SIZE = 128;
+
+    @Nonnull
+    @Override
+    @SuppressWarnings("unchecked")
+    default <V> Optional<V> valueOf(ManyFeatureBean feature) {
+        checkNotNull(feature, "feature");
+
+        int size = sizeOfValue(feature.withoutPosition()).orElse(0);
+
+        if (feature.position() >= size) {
+            return Optional.empty();
+        }
+
+        int chunkSize = chunkSize();
+
+        return chunkOf(feature.withPosition(feature.position() / chunkSize))
+                .map(values -> (V) values[feature.position() % chunkSize]);
+    }
+
+    @Nonnull
+    @Override
+    @SuppressWarnings("unchecked")
+    default <V> Stream<V> allValuesOf(SingleFeatureBean feature) {
+        checkNotNull(feature, "feature");
+
+        int size = sizeOfValue(feature).orElse(0);
+
+        return IntStream.range(0, chunkCount(size))
+                .mapToObj(i -> chunkOf(feature.withPosition(i)).orElseThrow(IllegalStateException::new))
+                .flatMap(Arrays::stream)
+                .map(v -> (V) v);
+    }
+
+    @Nonnull
+    @Override
+    @SuppressWarnings("unchecked")
+    default <V> Optional<V> valueFor(ManyFeatureBean feature, V value) {
+        checkNotNull(feature, "feature");
+        checkNotNull(value, "value");
+
+        int size = sizeOfValue(feature.withoutPosition()).orElse(0);
+
+        if (feature.position() >= size) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        int chunkSize = chunkSize();
+        int offset = feature.position() % chunkSize;
+        ManyFeatureBean chunk = feature.withPosition(feature.position() / chunkSize);
+
+        Object[] values = chunkOf(chunk).orElseThrow(IllegalStateException::new).clone();
+
+        Optional<V> previousValue = Optional.of((V) values[offset]);
+
+        values[offset] = value;
+        chunkFor(chunk, values);
+
+        return previousValue;
+    }
+
+    @Override
+    default <V> void addValue(ManyFeatureBean feature, V value) {
+        checkNotNull(value, "value");
+
+        addAllValues(feature, Collections.singletonList(value));
+    }
+
+    @Override
+    default <V> void addAllValues(ManyFeatureBean feature, List<? extends V> collection) {
+        checkNotNull(feature, "feature");
+        checkNotNull(collection, "collection");
+        checkNotContainsNull(collection, "collection");
+
+        int size = sizeOfValue(feature.withoutPosition()).orElse(0);
+        checkPositionIndex(feature.position(), size);
+
+        if (collection.isEmpty()) {
+            return;
+        }
+
+        // Only the chunks from the insertion point are rewritten: an append only touches the last chunk
+        int chunkSize = chunkSize();
+        int firstChunk = feature.position() / chunkSize;
+
+        Object[] values = IntStream.range(firstChunk, chunkCount(size))
+                .mapToObj(i -> chunkOf(feature.withPosition(i)).orElseThrow(IllegalStateException::new))
+                .flatMap(Arrays::stream)
+                .toArray();
+
+        values = MoreArrays.addAll(values, feature.position() - firstChunk * chunkSize, collection);
+
+        for (int i = firstChunk, start = 0; start < values.length; i++, start += chunkSize) {
+            chunkFor(feature.withPosition(i), Arrays.copyOfRange(values, start, Math.min(start + chunkSize, values.length)));
+        }
+
+        sizeForValue(feature.withoutPosition(), size + collection.size());
+    }
+
+    @Nonnull
+    @Override
+    @SuppressWarnings("unchecked")
+    default <V> Optional<V> removeValue(ManyFeatureBean feature) {
+        checkNotNull(feature, "feature");
+
+        int size = sizeOfValue(feature.withoutPosition()).orElse(0);
+
+        if (feature.position() >= size) {
+            return Optional.empty();
+        }
+
+        // Only the chunks from the removal point are rewritten
+        int chunkSize = chunkSize();
+        int firstChunk = feature.position() / chunkSize;
+        int lastChunk = chunkCount(size) - 1;
+
+        Object[] values = IntStream.rangeClosed(firstChunk, lastChunk)
+                .mapToObj(i -> chunkOf(feature.withPosition(i)).orElseThrow(IllegalStateException::new))
+                .flatMap(Arrays::stream)
+                .toArray();
+
+        int offset = feature.position() - firstChunk * chunkSize;
+        Optional<V> previousValue = Optional.of((V) values[offset]);
+
+        values = MoreArrays.remove(values, offset);
+
+        for (int i = firstChunk, start = 0; start < values.length; i++, start += chunkSize) {
+            chunkFor(feature.withPosition(i), Arrays.copyOfRange(values, start, Math.min(start + chunkSize, values.length)));
+        }
+
+        if (chunkCount(size - 1) <= lastChunk) {
+            chunkFor(feature.withPosition(lastChunk), null);
+        }
+
+        sizeForValue(feature.withoutPosition(), size - 1);
+
+        return previousValue;
+    }
+
+    @Override
+    default void removeAllValues(SingleFeatureBean feature) {
+        checkNotNull(feature, "feature");
+
+        IntStream.range(0, chunkCount(sizeOfValue(feature).orElse(0)))
+                .forEachOrdered(i -> chunkFor(feature.withPosition(i), null));
+
+        removeValue(feature);
+    }
+
+    @Nonnull
+    @Nonnegative
+    @Override
+    default Optional<Integer> sizeOfValue(SingleFeatureBean feature) {
+        checkNotNull(feature, "feature");
+
+        return this.<Integer>valueOf(feature)
+                .filter(s -> s > 0);
+    }
+
+    /**
+     * Defines the number of values of the specified {@code feature}.
+     *
+     * @param feature the bean identifying the multi-valued attribute
+     * @param size    the number of values
+     *
+     * @throws NullPointerException     if the {@code feature} is {@code null}
+     * @throws IllegalArgumentException if {@code size < 0}
+     */
+    default void sizeForValue(SingleFeatureBean feature, @Nonnegative int size) {
+        checkNotNull(feature, "feature");
+        checkGreaterThanOrEqualTo(size, 0, "size (%d) must not be negative", size);
+
+        if (size > 0) {
+            setValue(feature, size);
+        }
+        else {
+            removeValue(feature);
+        }
+    }
+
+    /**
+     * Returns the number of values in a chunk. Only the last chunk of a feature can contain fewer values.
+     * <p>
+     * <b>NOTE:</b> This size must not change during the lifetime of a database.
+     *
+     * @return the size of a chunk
+     */
+    @Nonnegative
+    default int chunkSize() {
+        return DEFAULT_CHUNK_SIZE;
+    }
+
+    /**
+     * Returns the number of chunks needed to store {@code size} values.
+     *
+     * @param size the number of values
+     *
+     * @return the number of chunks
+     */
+    @Nonnegative
+    default int chunkCount(@Nonnegative int size) {
+        return (size + chunkSize() - 1) / chunkSize();
+    }
+
+    /**
+     * Retrieves the values of the chunk identified by the {@code chunk}, where {@link ManyFeatureBean#position()} is
+     * the index of the chunk.
+     *
+     * @param chunk the bean identifying the chunk
+     *
+     * @return an {@link Optional} containing the values of the chunk, or {@link Optional#empty()} if the chunk doesn't
+     * exist
+     *
+     * @throws NullPointerException if the {@code chunk} is {@code null}
+     */
+    @Nonnull
+    Optional<Object[]> chunkOf(ManyFeatureBean chunk);
+
+    /**
+     * Defines the values of the chunk identified by the {@code chunk}, where {@link ManyFeatureBean#position()} is the
+     * index of the chunk. If {@code values == null}, the chunk is removed.
+     *
+     * @param chunk  the bean identifying the chunk
+     * @param values the values of the chunk
+     *
+     * @throws NullPointerException if the {@code chunk} is {@code null}
+     */
+    void chunkFor(ManyFeatureBean chunk, @Nullable Object[] values);
+}
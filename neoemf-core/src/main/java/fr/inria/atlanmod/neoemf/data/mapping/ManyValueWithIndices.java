@@ -152,7 +152,7 @@ public interface ManyValueWithIndices extends ManyValueMapper {
         checkGreaterThanOrEqualTo(size, 0, "size (%d) must not be negative", size);
 
         if (size > 0) {
-            valueFor(feature, size);
+            setValue(feature, size);
         }
         else {
             removeValue(feature);
@@ -66,7 +66,7 @@ public interface ManyValueWithLists extends ManyValueMapper {
 
         Optional<V> previousValue = Optional.of(values.set(feature.position(), value));
 
-        valueFor(feature.withoutPosition(), values);
+        setValue(feature.withoutPosition(), values);
 
         return previousValue;
     }
@@ -83,7 +83,7 @@ public interface ManyValueWithLists extends ManyValueMapper {
 
         values.add(feature.position(), value);
 
-        valueFor(feature.withoutPosition(), values);
+        setValue(feature.withoutPosition(), values);
     }
 
     @Override
@@ -104,7 +104,7 @@ public interface ManyValueWithLists extends ManyValueMapper {
 
         valuesList.addAll(firstPosition, collection);
 
-        valueFor(feature.withoutPosition(), valuesList);
+        setValue(feature.withoutPosition(), valuesList);
     }
 
     @Nonnull
@@ -128,7 +128,7 @@ public interface ManyValueWithLists extends ManyValueMapper {
                 removeAllValues(feature.withoutPosition());
             }
             else {
-                valueFor(feature.withoutPosition(), values);
+                setValue(feature.withoutPosition(), values);
             }
         }
 
@@ -18,6 +18,8 @@ import java.util.Optional;
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
 
+import static org.atlanmod.commons.Preconditions.checkNotNull;
+
 /**
  * A {@link ReferenceMapper} that provides a default behavior to use {@code M} instead of {@link Id} for references.
  *
@@ -44,11 +46,27 @@ public interface ReferenceAs<M> extends ValueMapper, ReferenceMapper {
                 .map(converter::revert);
     }
 
+    @Override
+    default void setReference(SingleFeatureBean feature, Id reference) {
+        this.setValue(feature, referenceConverter().convert(reference));
+    }
+
     @Override
     default void removeReference(SingleFeatureBean feature) {
         this.removeValue(feature);
     }
 
+    @Nonnull
+    @Override
+    @SuppressWarnings("unchecked")
+    default Optional<Id> referenceFrom(Object value) {
+        checkNotNull(value, "value");
+
+        return value instanceof Id
+                ? Optional.of((Id) value)
+                : Optional.of(referenceConverter().revert((M) value));
+    }
+
     /**
      * Returns the converter used to transform a reference to the desired type.
      *
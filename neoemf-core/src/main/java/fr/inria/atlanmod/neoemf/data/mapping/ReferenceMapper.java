@@ -16,6 +16,8 @@ import java.util.Optional;
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
 
+import static org.atlanmod.commons.Preconditions.checkNotNull;
+
 /**
  * An object capable of mapping single-valued references represented as a set of key/value pair.
  */
@@ -49,6 +51,21 @@ public interface ReferenceMapper {
     @Nonnull
     Optional<Id> referenceFor(SingleFeatureBean feature, Id reference);
 
+    /**
+     * Defines the reference of the specified {@code feature}, without retrieving its previous reference.
+     * <p>
+     * This method should be preferred to {@link #referenceFor(SingleFeatureBean, Id)} when the previous reference is
+     * not needed: back-ends that must read a reference before overwriting it can then avoid this additional read.
+     *
+     * @param feature   the bean identifying the reference
+     * @param reference the reference to set
+     *
+     * @throws NullPointerException if any parameter is {@code null}
+     */
+    default void setReference(SingleFeatureBean feature, Id reference) {
+        referenceFor(feature, reference);
+    }
+
     /**
      * Removes the reference of the specified {@code feature}.
      *
@@ -57,4 +74,26 @@ public interface ReferenceMapper {
      * @throws NullPointerException if any parameter is {@code null}
      */
     void removeReference(SingleFeatureBean feature);
+
+    /**
+     * Returns the single-valued reference represented by the {@code value}, as it is stored by this mapper. This
+     * converts the references returned by {@link ManyValueMapper#prefetch(Id)}.
+     * <p>
+     * By default, the {@code value} is returned if it is an instance of {@link Id}.
+     *
+     * @param value the stored value of a reference
+     *
+     * @return an {@link Optional} containing the reference, or {@link Optional#empty()} if the {@code value} does not
+     * represent a reference
+     *
+     * @throws NullPointerException if the {@code value} is {@code null}
+     */
+    @Nonnull
+    default Optional<Id> referenceFrom(Object value) {
+        checkNotNull(value, "value");
+
+        return Optional.of(value)
+                .filter(Id.class::isInstance)
+                .map(Id.class::cast);
+    }
 }
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2013 Atlanmod.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.mapping;
+
+import fr.inria.atlanmod.neoemf.core.Id;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import static org.atlanmod.commons.Preconditions.checkGreaterThan;
+import static org.atlanmod.commons.Preconditions.checkNotNull;
+
+/**
+ * A {@link BulkLoader} that keeps the elements in a buffer, and writes them ordered by identifier when the buffer is
+ * full.
+ * <p>
+ * Back-ends that store their keys in a sorted structure, such as a B-tree, then insert their keys in order instead of
+ * at random places: each page is loaded once for several consecutive keys.
+ */
+@NotThreadSafe
+@ParametersAreNonnullByDefault
+public class SortedBulkLoader extends DefaultBulkLoader {
+
+    /**
+     * The default number of elements kept before writing them.
+     */
+    @Nonnegative
+    public static final int DEFAULT_CAPACITY = 10_000;
+
+    /**
+     * The elements waiting to be written.
+     */
+    @Nonnull
+    private final List<BulkElement> elements;
+
+    /**
+     * The number of elements kept before writing them.
+     */
+    @Nonnegative
+    private final int capacity;
+
+    /**
+     * The order in which the elements are written.
+     */
+    @Nonnull
+    private final Comparator<BulkElement> order;
+
+    /**
+     * Constructs a new {@code SortedBulkLoader} with the default capacity.
+     *
+     * @param mapper the mapper where to write the elements
+     *
+     * @throws NullPointerException if the {@code mapper} is {@code null}
+     */
+    public SortedBulkLoader(DataMapper mapper) {
+        this(mapper, DEFAULT_CAPACITY, Comparator.naturalOrder());
+    }
+
+    /**
+     * Constructs a new {@code SortedBulkLoader}.
+     *
+     * @param mapper     the mapper where to write the elements
+     * @param capacity   the number of elements kept before writing them
+     * @param comparator the order of the keys in the back-end
+     *
+     * @throws NullPointerException     if the {@code mapper} or the {@code comparator} is {@code null}
+     * @throws IllegalArgumentException if {@code capacity <= 0}
+     */
+    public SortedBulkLoader(DataMapper mapper, @Nonnegative int capacity, Comparator<Id> comparator) {
+        super(mapper);
+
+        checkGreaterThan(capacity, 0, "capacity (%d) must be greater than 0", capacity);
+        checkNotNull(comparator, "comparator");
+
+        this.capacity = capacity;
+        this.order = Comparator.comparing(BulkElement::id, comparator);
+        this.elements = new ArrayList<>(Math.min(capacity, DEFAULT_CAPACITY));
+    }
+
+    @Override
+    public void load(BulkElement element) {
+        checkNotNull(element, "element");
+
+        elements.add(element);
+
+        if (elements.size() >= capacity) {
+            flush();
+        }
+    }
+
+    @Override
+    public void flush() {
+        if (elements.isEmpty()) {
+            return;
+        }
+
+        elements.sort(order);
+
+        try {
+            elements.forEach(this::write);
+        }
+        finally {
+            elements.clear();
+        }
+    }
+}
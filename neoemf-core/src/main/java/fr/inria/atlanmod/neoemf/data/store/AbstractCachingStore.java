@@ -10,11 +10,24 @@ package fr.inria.atlanmod.neoemf.data.store;
 
 import org.atlanmod.commons.cache.Cache;
 import org.atlanmod.commons.cache.CacheBuilder;
+import org.atlanmod.commons.cache.CacheStats;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
 
+import static org.atlanmod.commons.Preconditions.checkGreaterThan;
+
 /**
  * An abstract {@link Store} that provides a pre-loaded {@link org.atlanmod.commons.cache.Cache}.
+ * <p>
+ * By default, cached values are softly referenced, and are only evicted by the garbage collector when the memory is
+ * low. When a maximum size is defined, the cache evicts the entries that are unlikely to be used again as soon as the
+ * size is exceeded (Window TinyLFU policy), which keeps the memory usage predictable.
  *
  * @param <K> the type of keys maintained by the cache
  * @param <V> the type of cached values
@@ -25,15 +38,43 @@ public abstract class AbstractCachingStore<K, V> extends AbstractStore {
     /**
      * In-memory cache that holds loaded values, identified by their key.
      */
-    protected final Cache<K, V> cache = CacheBuilder.builder()
-            .softValues()
-            .build();
+    protected final Cache<K, V> cache;
 
     /**
-     * Constructs a new {@code AbstractCachingStore}.
+     * Constructs a new {@code AbstractCachingStore} with softly referenced values.
      */
     protected AbstractCachingStore() {
         super(100);
+
+        this.cache = CacheBuilder.builder()
+                .softValues()
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Constructs a new {@code AbstractCachingStore} that holds at most {@code maximumSize} entries.
+     *
+     * @param maximumSize the maximum number of entries in the cache
+     *
+     * @throws IllegalArgumentException if {@code maximumSize <= 0}
+     */
+    protected AbstractCachingStore(@Nonnegative long maximumSize) {
+        super(100);
+        checkGreaterThan(maximumSize, 0L, "maximumSize (%d) must be greater than 0", maximumSize);
+
+        this.cache = CacheBuilder.builder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    @Nonnull
+    @Override
+    public Map<String, CacheStats> cacheStats() {
+        Map<String, CacheStats> stats = new HashMap<>(super.cacheStats());
+        stats.put(getClass().getSimpleName(), cache.stats());
+        return Collections.unmodifiableMap(stats);
     }
 
     @Override
@@ -11,6 +11,9 @@ package fr.inria.atlanmod.neoemf.data.store;
 import fr.inria.atlanmod.neoemf.data.Backend;
 import fr.inria.atlanmod.neoemf.data.mapping.AbstractDataMapperChain;
 
+import org.atlanmod.commons.cache.CacheStats;
+
+import java.util.Map;
 import java.util.Objects;
 
 import javax.annotation.Nonnull;
@@ -51,6 +54,12 @@ public abstract class AbstractStore extends AbstractDataMapperChain<Store> imple
         return next().backend();
     }
 
+    @Nonnull
+    @Override
+    public Map<String, CacheStats> cacheStats() {
+        return next().cacheStats();
+    }
+
     @Override
     public int compareTo(AbstractStore o) {
         return order - o.order;
@@ -102,6 +102,11 @@ public class AutoSavingStore extends AbstractStore {
         return thenIncrementAndSave(() -> super.valueFor(feature, value), 1);
     }
 
+    @Override
+    public <V> void setValue(SingleFeatureBean feature, V value) {
+        thenIncrementAndSave(() -> super.setValue(feature, value), 1);
+    }
+
     @Override
     public void removeValue(SingleFeatureBean feature) {
         thenIncrementAndSave(() -> super.removeValue(feature), 1);
@@ -113,6 +118,11 @@ public class AutoSavingStore extends AbstractStore {
         return thenIncrementAndSave(() -> super.referenceFor(feature, reference), 1);
     }
 
+    @Override
+    public void setReference(SingleFeatureBean feature, Id reference) {
+        thenIncrementAndSave(() -> super.setReference(feature, reference), 1);
+    }
+
     @Override
     public void removeReference(SingleFeatureBean feature) {
         thenIncrementAndSave(() -> super.removeReference(feature), 1);
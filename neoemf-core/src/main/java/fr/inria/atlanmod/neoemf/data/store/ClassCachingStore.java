@@ -13,15 +13,34 @@ import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
 
 import java.util.Optional;
 
+import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
 
+import static java.util.Objects.nonNull;
+
 /**
  * A {@link Store} wrapper that caches {@link fr.inria.atlanmod.neoemf.data.bean.ClassBean}s.
  */
 @ParametersAreNonnullByDefault
 public class ClassCachingStore extends AbstractCachingStore<Id, Optional<ClassBean>> {
 
+    /**
+     * Constructs a new {@code ClassCachingStore} with softly referenced meta-classes.
+     */
+    public ClassCachingStore() {
+        super();
+    }
+
+    /**
+     * Constructs a new {@code ClassCachingStore} that caches at most {@code maximumSize} meta-classes.
+     *
+     * @param maximumSize the maximum number of cached meta-classes
+     */
+    public ClassCachingStore(@Nonnegative long maximumSize) {
+        super(maximumSize);
+    }
+
     @Nonnull
     @Override
     public Optional<ClassBean> metaClassOf(Id id) {
@@ -30,7 +49,9 @@ public class ClassCachingStore extends AbstractCachingStore<Id, Optional<ClassBe
 
     @Override
     public boolean metaClassFor(Id id, ClassBean metaClass) {
-        if (cache.contains(id)) {
+        // The absence of meta-class may be cached: only a cached meta-class can be trusted
+        Optional<ClassBean> currentMetaClass = cache.get(id);
+        if (nonNull(currentMetaClass) && currentMetaClass.isPresent()) {
             return false;
         }
 
@@ -0,0 +1,368 @@
+/*
+ * Copyright (c) 2013 Atlanmod.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.store;
+
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
+import fr.inria.atlanmod.neoemf.data.bean.FeatureBean;
+import fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+import fr.inria.atlanmod.neoemf.data.mapping.DataMapper;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A {@link Store} wrapper that allows several threads to query the same store chain in parallel.
+ * <p>
+ * Read operations share a read lock and are processed concurrently, while mutators take an exclusive write lock and
+ * wait for all pending reads. The stores behind this one, such as the caching stores, can therefore be read by
+ * several threads at once, but are never read while they are modified.
+ * <p>
+ * A read can still update the internal state of the stores and the back-end behind this one: the caches are filled
+ * on a miss, and a buffered back-end sends its pending modifications before reading an element that has some. These
+ * components must therefore support concurrent reads. {@link #copyTo(DataMapper)} flushes the buffered stores, and
+ * is processed as a mutator.
+ * <p>
+ * <b>NOTE:</b> Streams are lazy and would be consumed outside the lock: the streaming methods collect their values
+ * while holding the lock, and return a stream over a snapshot. This store only protects the store chain: the
+ * {@link fr.inria.atlanmod.neoemf.core.PersistentEObject}s and the {@link java.util.Iterator}s created from the
+ * resource must still be confined to a single thread when they are modified.
+ */
+@ThreadSafe
+@ParametersAreNonnullByDefault
+public class ConcurrentStore extends AbstractStore {
+
+    /**
+     * The lock that guards the underlying store chain.
+     */
+    @Nonnull
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Constructs a new {@code ConcurrentStore}.
+     */
+    public ConcurrentStore() {
+        super(-10);
+    }
+
+    @Override
+    public void close() {
+        write(super::close);
+    }
+
+    @Override
+    public void save() {
+        write(super::save);
+    }
+
+    @Override
+    public void copyTo(DataMapper target) {
+        write(() -> super.copyTo(target));
+    }
+
+    @Nonnull
+    @Override
+    public Optional<SingleFeatureBean> containerOf(Id id) {
+        return read(() -> super.containerOf(id));
+    }
+
+    @Override
+    public void containerFor(Id id, SingleFeatureBean container) {
+        write(() -> super.containerFor(id, container));
+    }
+
+    @Override
+    public void removeContainer(Id id) {
+        write(() -> super.removeContainer(id));
+    }
+
+    @Nonnull
+    @Override
+    public Optional<ClassBean> metaClassOf(Id id) {
+        return read(() -> super.metaClassOf(id));
+    }
+
+    @Override
+    public boolean metaClassFor(Id id, ClassBean metaClass) {
+        return write(() -> super.metaClassFor(id, metaClass));
+    }
+
+    @Nonnull
+    @Override
+    public Stream<Id> allInstancesOf(ClassBean metaClass, boolean strict) {
+        return readAll(() -> super.allInstancesOf(metaClass, strict));
+    }
+
+    @Nonnull
+    @Override
+    public Stream<Id> allInstancesOf(Set<ClassBean> metaClasses) {
+        return readAll(() -> super.allInstancesOf(metaClasses));
+    }
+
+    @Nonnull
+    @Override
+    public <V> Optional<V> valueOf(SingleFeatureBean feature) {
+        return read(() -> super.valueOf(feature));
+    }
+
+    @Nonnull
+    @Override
+    public <V> Optional<V> valueFor(SingleFeatureBean feature, V value) {
+        return write(() -> super.valueFor(feature, value));
+    }
+
+    @Override
+    public <V> void setValue(SingleFeatureBean feature, V value) {
+        write(() -> super.setValue(feature, value));
+    }
+
+    @Override
+    public void removeValue(SingleFeatureBean feature) {
+        write(() -> super.removeValue(feature));
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Id> referenceOf(SingleFeatureBean feature) {
+        return read(() -> super.referenceOf(feature));
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Id> referenceFor(SingleFeatureBean feature, Id reference) {
+        return write(() -> super.referenceFor(feature, reference));
+    }
+
+    @Override
+    public void setReference(SingleFeatureBean feature, Id reference) {
+        write(() -> super.setReference(feature, reference));
+    }
+
+    @Override
+    public void removeReference(SingleFeatureBean feature) {
+        write(() -> super.removeReference(feature));
+    }
+
+    @Nonnull
+    @Override
+    public <V> Optional<V> valueOf(ManyFeatureBean feature) {
+        return read(() -> super.valueOf(feature));
+    }
+
+    @Nonnull
+    @Override
+    public <V> Stream<V> allValuesOf(SingleFeatureBean feature) {
+        return readAll(() -> super.allValuesOf(feature));
+    }
+
+    @Nonnull
+    @Override
+    public <V> Optional<V> valueFor(ManyFeatureBean feature, V value) {
+        return write(() -> super.valueFor(feature, value));
+    }
+
+    @Override
+    public <V> void addValue(ManyFeatureBean feature, V value) {
+        write(() -> super.addValue(feature, value));
+    }
+
+    @Override
+    public <V> void addAllValues(ManyFeatureBean feature, List<? extends V> collection) {
+        write(() -> super.addAllValues(feature, collection));
+    }
+
+    @Nonnegative
+    @Override
+    public <V> int appendValue(SingleFeatureBean feature, V value) {
+        return write(() -> super.appendValue(feature, value));
+    }
+
+    @Nonnegative
+    @Override
+    public <V> int appendAllValues(SingleFeatureBean feature, List<? extends V> collection) {
+        return write(() -> super.appendAllValues(feature, collection));
+    }
+
+    @Nonnull
+    @Override
+    public <V> Optional<V> removeValue(ManyFeatureBean feature) {
+        return write(() -> super.removeValue(feature));
+    }
+
+    @Override
+    public void removeAllValues(SingleFeatureBean feature) {
+        write(() -> super.removeAllValues(feature));
+    }
+
+    @Nonnull
+    @Nonnegative
+    @Override
+    public Optional<Integer> sizeOfValue(SingleFeatureBean feature) {
+        return read(() -> super.sizeOfValue(feature));
+    }
+
+    @Nonnull
+    @Override
+    public Map<FeatureBean, Object> prefetch(Id id) {
+        return read(() -> super.prefetch(id));
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Id> referenceOf(ManyFeatureBean feature) {
+        return read(() -> super.referenceOf(feature));
+    }
+
+    @Nonnull
+    @Override
+    public Stream<Id> allReferencesOf(SingleFeatureBean feature) {
+        return readAll(() -> super.allReferencesOf(feature));
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Id> referenceFor(ManyFeatureBean feature, Id reference) {
+        return write(() -> super.referenceFor(feature, reference));
+    }
+
+    @Override
+    public void addReference(ManyFeatureBean feature, Id reference) {
+        write(() -> super.addReference(feature, reference));
+    }
+
+    @Override
+    public void addAllReferences(ManyFeatureBean feature, List<Id> collection) {
+        write(() -> super.addAllReferences(feature, collection));
+    }
+
+    @Nonnegative
+    @Override
+    public int appendReference(SingleFeatureBean feature, Id reference) {
+        return write(() -> super.appendReference(feature, reference));
+    }
+
+    @Nonnegative
+    @Override
+    public int appendAllReferences(SingleFeatureBean feature, List<Id> collection) {
+        return write(() -> super.appendAllReferences(feature, collection));
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Id> removeReference(ManyFeatureBean feature) {
+        return write(() -> super.removeReference(feature));
+    }
+
+    @Override
+    public void removeAllReferences(SingleFeatureBean feature) {
+        write(() -> super.removeAllReferences(feature));
+    }
+
+    @Nonnull
+    @Nonnegative
+    @Override
+    public Optional<Integer> sizeOfReference(SingleFeatureBean feature) {
+        return read(() -> super.sizeOfReference(feature));
+    }
+
+    /**
+     * Calls the {@code runnable} while holding the read lock.
+     *
+     * @param runnable the method to call
+     */
+    private void read(Runnable runnable) {
+        read(() -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    /**
+     * Calls the {@code supplier} while holding the read lock.
+     *
+     * @param supplier the method to call
+     * @param <R>      the type of the result
+     *
+     * @return the result of the call
+     */
+    private <R> R read(Supplier<R> supplier) {
+        return withLock(lock.readLock(), supplier);
+    }
+
+    /**
+     * Calls the {@code supplier} while holding the read lock, and collects all the values of the returned stream
+     * before releasing the lock.
+     *
+     * @param supplier the method to call
+     * @param <V>      the type of the values
+     *
+     * @return a stream over all collected values
+     */
+    @Nonnull
+    private <V> Stream<V> readAll(Supplier<Stream<V>> supplier) {
+        return read(() -> supplier.get().collect(Collectors.toList())).stream();
+    }
+
+    /**
+     * Calls the {@code runnable} while holding the write lock.
+     *
+     * @param runnable the method to call
+     */
+    private void write(Runnable runnable) {
+        write(() -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    /**
+     * Calls the {@code supplier} while holding the write lock.
+     *
+     * @param supplier the method to call
+     * @param <R>      the type of the result
+     *
+     * @return the result of the call
+     */
+    private <R> R write(Supplier<R> supplier) {
+        return withLock(lock.writeLock(), supplier);
+    }
+
+    /**
+     * Calls the {@code supplier} while holding the given {@code lock}.
+     *
+     * @param lock     the lock to hold during the call
+     * @param supplier the method to call
+     * @param <R>      the type of the result
+     *
+     * @return the result of the call
+     */
+    private <R> R withLock(Lock lock, Supplier<R> supplier) {
+        lock.lock();
+        try {
+            return supplier.get();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+}
@@ -13,6 +13,7 @@ import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
 
 import java.util.Optional;
 
+import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
 
@@ -24,6 +25,22 @@ import static java.util.Objects.nonNull;
 @ParametersAreNonnullByDefault
 public class ContainerCachingStore extends AbstractCachingStore<Id, Optional<SingleFeatureBean>> {
 
+    /**
+     * Constructs a new {@code ContainerCachingStore} with softly referenced containers.
+     */
+    public ContainerCachingStore() {
+        super();
+    }
+
+    /**
+     * Constructs a new {@code ContainerCachingStore} that caches at most {@code maximumSize} containers.
+     *
+     * @param maximumSize the maximum number of cached containers
+     */
+    public ContainerCachingStore(@Nonnegative long maximumSize) {
+        super(maximumSize);
+    }
+
     @Nonnull
     @Override
     public Optional<SingleFeatureBean> containerOf(Id id) {
@@ -0,0 +1,366 @@
+/*
+ * Copyright (c) 2013 Atlanmod.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.store;
+
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.bean.FeatureBean;
+import fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A {@link Store} wrapper that caches {@link org.eclipse.emf.ecore.EStructuralFeature} values, grouped by element.
+ * <p>
+ * Unlike {@link FeatureCachingStore}, that caches each feature as its own entry, this store keeps a single compact
+ * record per element, where values are indexed by the identifier of their feature. An element is loaded at once, by
+ * {@linkplain #prefetch(Id) prefetching} all its features when it is first accessed, and is evicted at once. This
+ * reduces the memory overhead of the cache, and benefits to the clients that read several features of the same
+ * element. As in {@link FeatureCachingStore}, the absence of value is cached as well.
+ * <p>
+ * When the cache is bounded, its maximum size is expressed as a number of elements.
+ */
+@ParametersAreNonnullByDefault
+public class ElementCachingStore extends AbstractCachingStore<Id, ElementRecord> {
+
+    /**
+     * Constructs a new {@code ElementCachingStore} with softly referenced elements.
+     */
+    public ElementCachingStore() {
+        super();
+    }
+
+    /**
+     * Constructs a new {@code ElementCachingStore} that caches the values of at most {@code maximumSize} elements.
+     *
+     * @param maximumSize the maximum number of cached elements
+     */
+    public ElementCachingStore(@Nonnegative long maximumSize) {
+        super(maximumSize);
+    }
+
+    @Nonnull
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> Optional<V> valueOf(SingleFeatureBean feature) {
+        return Optional.ofNullable((V) get(feature, Function.identity(), k -> super.valueOf((SingleFeatureBean) k).orElse(null)));
+    }
+
+    @Nonnull
+    @Override
+    public <V> Optional<V> valueFor(SingleFeatureBean feature, V value) {
+        put(feature, value);
+
+        return super.valueFor(feature, value);
+    }
+
+    @Override
+    public <V> void setValue(SingleFeatureBean feature, V value) {
+        put(feature, value);
+
+        super.setValue(feature, value);
+    }
+
+    @Override
+    public void removeValue(SingleFeatureBean feature) {
+        putAbsent(feature);
+
+        super.removeValue(feature);
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Id> referenceOf(SingleFeatureBean feature) {
+        return Optional.ofNullable((Id) get(feature,
+                v -> v instanceof Id ? v : super.referenceFrom(v).orElse(null),
+                k -> super.referenceOf((SingleFeatureBean) k).orElse(null)));
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Id> referenceFor(SingleFeatureBean feature, Id reference) {
+        put(feature, reference);
+
+        return super.referenceFor(feature, reference);
+    }
+
+    @Override
+    public void setReference(SingleFeatureBean feature, Id reference) {
+        put(feature, reference);
+
+        super.setReference(feature, reference);
+    }
+
+    @Override
+    public void removeReference(SingleFeatureBean feature) {
+        putAbsent(feature);
+
+        super.removeReference(feature);
+    }
+
+    @Nonnull
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> Optional<V> valueOf(ManyFeatureBean feature) {
+        return Optional.ofNullable((V) get(feature, Function.identity(), k -> super.valueOf((ManyFeatureBean) k).orElse(null)));
+    }
+
+    @Nonnull
+    @Override
+    public <V> Optional<V> valueFor(ManyFeatureBean feature, V value) {
+        put(feature, value);
+
+        return super.valueFor(feature, value);
+    }
+
+    @Override
+    public <V> void addValue(ManyFeatureBean feature, V value) {
+        truncate(feature, feature.position());
+        put(feature, value);
+
+        super.addValue(feature, value);
+    }
+
+    @Override
+    public <V> void addAllValues(ManyFeatureBean feature, List<? extends V> collection) {
+        int firstPosition = feature.position();
+
+        truncate(feature, firstPosition);
+        IntStream.range(0, collection.size())
+                .forEachOrdered(i -> put(feature.withPosition(firstPosition + i), collection.get(i)));
+
+        super.addAllValues(feature, collection);
+    }
+
+    @Nonnegative
+    @Override
+    public <V> int appendValue(SingleFeatureBean feature, V value) {
+        int position = super.appendValue(feature, value);
+
+        put(feature.withPosition(position), value);
+
+        return position;
+    }
+
+    @Nonnegative
+    @Override
+    public <V> int appendAllValues(SingleFeatureBean feature, List<? extends V> collection) {
+        int firstPosition = super.appendAllValues(feature, collection);
+
+        IntStream.range(0, collection.size())
+                .forEachOrdered(i -> put(feature.withPosition(firstPosition + i), collection.get(i)));
+
+        return firstPosition;
+    }
+
+    @Nonnull
+    @Override
+    public <V> Optional<V> removeValue(ManyFeatureBean feature) {
+        truncate(feature, feature.position());
+
+        return super.removeValue(feature);
+    }
+
+    @Override
+    public void removeAllValues(SingleFeatureBean feature) {
+        truncate(feature, 0);
+
+        super.removeAllValues(feature);
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Id> referenceOf(ManyFeatureBean feature) {
+        return Optional.ofNullable((Id) get(feature,
+                v -> v instanceof Id ? v : super.manyReferenceFrom(v).orElse(null),
+                k -> super.referenceOf((ManyFeatureBean) k).orElse(null)));
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Id> referenceFor(ManyFeatureBean feature, Id reference) {
+        put(feature, reference);
+
+        return super.referenceFor(feature, reference);
+    }
+
+    @Override
+    public void addReference(ManyFeatureBean feature, Id reference) {
+        truncate(feature, feature.position());
+        put(feature, reference);
+
+        super.addReference(feature, reference);
+    }
+
+    @Override
+    public void addAllReferences(ManyFeatureBean feature, List<Id> collection) {
+        int firstPosition = feature.position();
+
+        truncate(feature, firstPosition);
+        IntStream.range(0, collection.size())
+                .forEachOrdered(i -> put(feature.withPosition(firstPosition + i), collection.get(i)));
+
+        super.addAllReferences(feature, collection);
+    }
+
+    @Nonnegative
+    @Override
+    public int appendReference(SingleFeatureBean feature, Id reference) {
+        int position = super.appendReference(feature, reference);
+
+        put(feature.withPosition(position), reference);
+
+        return position;
+    }
+
+    @Nonnegative
+    @Override
+    public int appendAllReferences(SingleFeatureBean feature, List<Id> collection) {
+        int firstPosition = super.appendAllReferences(feature, collection);
+
+        IntStream.range(0, collection.size())
+                .forEachOrdered(i -> put(feature.withPosition(firstPosition + i), collection.get(i)));
+
+        return firstPosition;
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Id> removeReference(ManyFeatureBean feature) {
+        truncate(feature, feature.position());
+
+        return super.removeReference(feature);
+    }
+
+    @Override
+    public void removeAllReferences(SingleFeatureBean feature) {
+        truncate(feature, 0);
+
+        super.removeAllReferences(feature);
+    }
+
+    @Nonnull
+    @Override
+    public Map<FeatureBean, Object> prefetch(Id id) {
+        Map<FeatureBean, Object> values = super.prefetch(id);
+
+        // Cached values are never older than the stored values
+        cache.get(id, k -> new ElementRecord()).putAllIfAbsent(values);
+
+        return values;
+    }
+
+    /**
+     * Retrieves the cached value of the {@code feature}, or loads it on a cache miss. All the features of its owner are
+     * prefetched when the owner is not cached yet. The absence of value is cached as well.
+     * <p>
+     * Prefetched references are cached as they are stored by the back-end: the {@code reader} converts them on their
+     * first read, and the converted value replaces the stored one in the cache.
+     *
+     * @param feature the bean identifying the feature
+     * @param reader  the function to convert a cached value to the returned value, or to {@code null} if it must be
+     *                loaded again
+     * @param loader  the function to load the value from the next mapper
+     *
+     * @return the value, or {@code null} if the feature has no value
+     */
+    @Nullable
+    private Object get(FeatureBean feature, Function<Object, Object> reader, Function<FeatureBean, Object> loader) {
+        ElementRecord element = cache.get(feature.owner(), this::load);
+        Optional<Object> value = element.get(feature);
+
+        if (nonNull(value) && value.isPresent()) {
+            Object storedValue = value.get();
+            Object readValue = reader.apply(storedValue);
+
+            if (isNull(readValue)) {
+                value = null;
+            }
+            else if (readValue != storedValue) {
+                value = Optional.of(readValue);
+                element.put(feature, value);
+            }
+        }
+
+        if (isNull(value)) {
+            value = Optional.ofNullable(loader.apply(feature));
+            element.put(feature, value);
+        }
+
+        return value.orElse(null);
+    }
+
+    /**
+     * Creates the record of the element identified by the {@code id}, filled with all its prefetched features.
+     *
+     * @param id the identifier of the element
+     *
+     * @return a new record
+     */
+    @Nonnull
+    private ElementRecord load(Id id) {
+        ElementRecord element = new ElementRecord();
+        element.putAllIfAbsent(super.prefetch(id));
+        return element;
+    }
+
+    /**
+     * Caches the {@code value} of the {@code feature}, if its owner is already cached.
+     *
+     * @param feature the bean identifying the feature
+     * @param value   the value to cache
+     */
+    private void put(FeatureBean feature, Object value) {
+        ElementRecord element = cache.get(feature.owner());
+
+        if (nonNull(element)) {
+            element.put(feature, Optional.of(value));
+        }
+    }
+
+    /**
+     * Caches the absence of value of the {@code feature}, if its owner is already cached.
+     *
+     * @param feature the bean identifying the feature
+     */
+    private void putAbsent(FeatureBean feature) {
+        ElementRecord element = cache.get(feature.owner());
+
+        if (nonNull(element)) {
+            element.put(feature, Optional.empty());
+        }
+    }
+
+    /**
+     * Removes the cached values of the multi-valued {@code feature} from the {@code position}, if its owner is already
+     * cached, since their positions may change.
+     *
+     * @param feature  the bean identifying the multi-valued feature
+     * @param position the position of the first value to remove
+     */
+    private void truncate(FeatureBean feature, @Nonnegative int position) {
+        ElementRecord element = cache.get(feature.owner());
+
+        if (nonNull(element)) {
+            element.truncate(feature, position);
+        }
+    }
+}
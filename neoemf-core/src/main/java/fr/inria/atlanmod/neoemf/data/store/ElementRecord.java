@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2013 Atlanmod.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.store;
+
+import fr.inria.atlanmod.neoemf.data.bean.FeatureBean;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.annotation.concurrent.ThreadSafe;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * The cached values of all the features of a single element, used by {@link ElementCachingStore}.
+ * <p>
+ * Values are stored in slots indexed by the identifier of their feature, so an element costs a single cache entry
+ * whatever its number of features. A single-valued feature occupies one slot; a multi-valued feature occupies an array
+ * of slots indexed by position. A {@code null} slot means that the value is not cached, whereas the absence of value is
+ * cached as a dedicated marker.
+ */
+@ThreadSafe
+@ParametersAreNonnullByDefault
+final class ElementRecord {
+
+    /**
+     * An empty array of slots.
+     */
+    @Nonnull
+    private static final Object[] NO_SLOTS = new Object[0];
+
+    /**
+     * The marker of a feature that has no value.
+     */
+    @Nonnull
+    private static final Object ABSENT = new Object();
+
+    /**
+     * The values of the single-valued features, indexed by feature identifier.
+     */
+    @Nonnull
+    private Object[] singleValues = NO_SLOTS;
+
+    /**
+     * The values of the multi-valued features, indexed by feature identifier then by position.
+     */
+    @Nonnull
+    private Object[][] manyValues = new Object[0][];
+
+    /**
+     * Retrieves the cached value of the {@code feature}.
+     *
+     * @param feature the bean identifying the feature
+     *
+     * @return an {@link Optional} containing the value, {@link Optional#empty()} if the feature is known to have no
+     * value, or {@code null} if it is not cached
+     */
+    @Nullable
+    public synchronized Optional<Object> get(FeatureBean feature) {
+        Object value;
+        if (!feature.isMany()) {
+            value = feature.id() < singleValues.length ? singleValues[feature.id()] : null;
+        }
+        else {
+            Object[] values = feature.id() < manyValues.length ? manyValues[feature.id()] : null;
+            value = nonNull(values) && feature.position() < values.length ? values[feature.position()] : null;
+        }
+
+        return isNull(value) ? null : Optional.of(value).filter(v -> v != ABSENT);
+    }
+
+    /**
+     * Caches the {@code value} of the {@code feature}.
+     *
+     * @param feature the bean identifying the feature
+     * @param value   the value to cache, or {@link Optional#empty()} if the feature has no value
+     */
+    public synchronized void put(FeatureBean feature, Optional<Object> value) {
+        set(feature, value.orElse(ABSENT));
+    }
+
+    /**
+     * Caches all the {@code values}, unless a value is already cached for their feature.
+     *
+     * @param values the values to cache, identified by their feature
+     */
+    public synchronized void putAllIfAbsent(Map<FeatureBean, Object> values) {
+        values.forEach((f, v) -> {
+            if (isNull(get(f))) {
+                set(f, v);
+            }
+        });
+    }
+
+    /**
+     * Removes the cached values of the multi-valued {@code feature}, from the given {@code position}.
+     *
+     * @param feature  the bean identifying the multi-valued feature
+     * @param position the position of the first value to remove
+     */
+    public synchronized void truncate(FeatureBean feature, @Nonnegative int position) {
+        if (feature.id() >= manyValues.length) {
+            return;
+        }
+
+        Object[] values = manyValues[feature.id()];
+        if (nonNull(values) && position < values.length) {
+            manyValues[feature.id()] = position > 0 ? Arrays.copyOf(values, position) : null;
+        }
+    }
+
+    /**
+     * Defines the slot of the {@code feature}.
+     *
+     * @param feature the bean identifying the feature
+     * @param value   the content of the slot
+     */
+    private void set(FeatureBean feature, Object value) {
+        if (!feature.isMany()) {
+            singleValues = ensureCapacity(singleValues, feature.id() + 1);
+            singleValues[feature.id()] = value;
+        }
+        else {
+            manyValues = ensureCapacity(manyValues, feature.id() + 1);
+
+            Object[] values = manyValues[feature.id()];
+            values = ensureCapacity(isNull(values) ? NO_SLOTS : values, feature.position() + 1);
+            values[feature.position()] = value;
+            manyValues[feature.id()] = values;
+        }
+    }
+
+    /**
+     * Returns an array that contains the {@code array} and can hold at least {@code minCapacity} slots.
+     *
+     * @param array       the array to grow
+     * @param minCapacity the minimum number of slots
+     * @param <T>         the type of slots
+     *
+     * @return the {@code array} if it is large enough, or a larger copy
+     */
+    @Nonnull
+    private static <T> T[] ensureCapacity(T[] array, @Nonnegative int minCapacity) {
+        return array.length >= minCapacity ? array : Arrays.copyOf(array, Math.max(minCapacity, array.length * 2));
+    }
+}
@@ -13,38 +13,97 @@ import fr.inria.atlanmod.neoemf.data.bean.FeatureBean;
 import fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean;
 import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
 
+import org.atlanmod.commons.cache.Cache;
+import org.atlanmod.commons.cache.CacheBuilder;
+
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.IntStream;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
 /**
  * A {@link Store} wrapper that caches {@link org.eclipse.emf.ecore.EStructuralFeature} values.
+ * <p>
+ * On the first cache miss for an element, all its features are {@linkplain #prefetch(Id) prefetched} in a single
+ * operation, if the back-end supports it.
+ * <p>
+ * The absence of value is cached as {@link Optional#empty()}, so checking an unset feature several times only
+ * queries the back-end once.
  */
 @ParametersAreNonnullByDefault
-public class FeatureCachingStore extends AbstractCachingStore<FeatureBean, Object> {
+public class FeatureCachingStore extends AbstractCachingStore<FeatureBean, Optional<Object>> {
+
+    /**
+     * The maximum number of elements to remember as prefetched.
+     */
+    @Nonnegative
+    private static final long PREFETCHED_ELEMENTS_SIZE = 10_000;
+
+    /**
+     * The identifiers of the elements whose features have already been prefetched.
+     */
+    @Nonnull
+    private final Cache<Id, Boolean> prefetchedElements = CacheBuilder.builder()
+            .maximumSize(PREFETCHED_ELEMENTS_SIZE)
+            .build();
+
+    /**
+     * Constructs a new {@code FeatureCachingStore} with softly referenced values.
+     */
+    public FeatureCachingStore() {
+        super();
+    }
+
+    /**
+     * Constructs a new {@code FeatureCachingStore} that caches at most {@code maximumSize} values.
+     *
+     * @param maximumSize the maximum number of cached values
+     */
+    public FeatureCachingStore(@Nonnegative long maximumSize) {
+        super(maximumSize);
+    }
+
+    @Override
+    public void close() {
+        prefetchedElements.invalidateAll();
+
+        super.close();
+    }
 
     @Nonnull
     @Override
     @SuppressWarnings("unchecked")
     public <V> Optional<V> valueOf(SingleFeatureBean feature) {
-        return Optional.ofNullable((V) cache.get(feature, k -> super.valueOf((SingleFeatureBean) k).orElse(null)));
+        return Optional.ofNullable((V) get(feature, Function.identity(), k -> super.valueOf((SingleFeatureBean) k).orElse(null)));
     }
 
     @Nonnull
     @Override
     public <V> Optional<V> valueFor(SingleFeatureBean feature, V value) {
-        cache.put(feature, value);
+        cache.put(feature, Optional.of(value));
 
         return super.valueFor(feature, value);
     }
 
+    @Override
+    public <V> void setValue(SingleFeatureBean feature, V value) {
+        cache.put(feature, Optional.of(value));
+
+        super.setValue(feature, value);
+    }
+
     @Override
     public void removeValue(SingleFeatureBean feature) {
-        cache.invalidate(feature);
+        cache.put(feature, Optional.empty());
 
         super.removeValue(feature);
     }
@@ -52,20 +111,29 @@ public class FeatureCachingStore extends AbstractCachingStore<FeatureBean, Objec
     @Nonnull
     @Override
     public Optional<Id> referenceOf(SingleFeatureBean feature) {
-        return Optional.ofNullable((Id) cache.get(feature, k -> super.referenceOf((SingleFeatureBean) k).orElse(null)));
+        return Optional.ofNullable((Id) get(feature,
+                v -> v instanceof Id ? v : super.referenceFrom(v).orElse(null),
+                k -> super.referenceOf((SingleFeatureBean) k).orElse(null)));
     }
 
     @Nonnull
     @Override
     public Optional<Id> referenceFor(SingleFeatureBean feature, Id reference) {
-        cache.put(feature, reference);
+        cache.put(feature, Optional.of(reference));
 
         return super.referenceFor(feature, reference);
     }
 
+    @Override
+    public void setReference(SingleFeatureBean feature, Id reference) {
+        cache.put(feature, Optional.of(reference));
+
+        super.setReference(feature, reference);
+    }
+
     @Override
     public void removeReference(SingleFeatureBean feature) {
-        cache.invalidate(feature);
+        cache.put(feature, Optional.empty());
 
         super.removeReference(feature);
     }
@@ -74,22 +142,22 @@ public class FeatureCachingStore extends AbstractCachingStore<FeatureBean, Objec
     @Override
     @SuppressWarnings("unchecked")
     public <V> Optional<V> valueOf(ManyFeatureBean feature) {
-        return Optional.ofNullable((V) cache.get(feature, k -> super.valueOf((ManyFeatureBean) k).orElse(null)));
+        return Optional.ofNullable((V) get(feature, Function.identity(), k -> super.valueOf((ManyFeatureBean) k).orElse(null)));
     }
 
     @Nonnull
     @Override
     public <V> Optional<V> valueFor(ManyFeatureBean feature, V value) {
-        cache.put(feature, value);
+        cache.put(feature, Optional.of(value));
 
         return super.valueFor(feature, value);
     }
 
     @Override
     public <V> void addValue(ManyFeatureBean feature, V value) {
-        cache.put(feature, value);
+        cache.put(feature, Optional.of(value));
 
-        IntStream.range(feature.position() + 1, sizeOfValue(feature.withoutPosition()).orElseGet(() -> feature.position() + 1))
+        IntStream.rangeClosed(feature.position() + 1, sizeOfValue(feature.withoutPosition()).orElse(0))
                 .forEachOrdered(i -> cache.invalidate(feature.withPosition(i)));
 
         super.addValue(feature, value);
@@ -100,9 +168,9 @@ public class FeatureCachingStore extends AbstractCachingStore<FeatureBean, Objec
         int firstPosition = feature.position();
 
         IntStream.range(0, collection.size())
-                .forEachOrdered(i -> cache.put(feature.withPosition(firstPosition + i), collection.get(i)));
+                .forEachOrdered(i -> cache.put(feature.withPosition(firstPosition + i), Optional.of(collection.get(i))));
 
-        IntStream.range(firstPosition + collection.size(), sizeOfValue(feature.withoutPosition()).orElseGet(() -> firstPosition + collection.size()))
+        IntStream.range(firstPosition + collection.size(), sizeOfValue(feature.withoutPosition()).orElse(0) + collection.size())
                 .forEachOrdered(i -> cache.invalidate(feature.withPosition(i)));
 
         super.addAllValues(feature, collection);
@@ -113,7 +181,7 @@ public class FeatureCachingStore extends AbstractCachingStore<FeatureBean, Objec
     public <V> int appendValue(SingleFeatureBean feature, V value) {
         int position = super.appendValue(feature, value);
 
-        cache.put(feature.withPosition(position), value);
+        cache.put(feature.withPosition(position), Optional.of(value));
 
         return position;
     }
@@ -124,7 +192,7 @@ public class FeatureCachingStore extends AbstractCachingStore<FeatureBean, Objec
         int firstPosition = super.appendAllValues(feature, collection);
 
         IntStream.range(0, collection.size())
-                .forEachOrdered(i -> cache.put(feature.withPosition(firstPosition + i), collection.get(i)));
+                .forEachOrdered(i -> cache.put(feature.withPosition(firstPosition + i), Optional.of(collection.get(i))));
 
         return firstPosition;
     }
@@ -149,22 +217,24 @@ public class FeatureCachingStore extends AbstractCachingStore<FeatureBean, Objec
     @Nonnull
     @Override
     public Optional<Id> referenceOf(ManyFeatureBean feature) {
-        return Optional.ofNullable((Id) cache.get(feature, k -> super.referenceOf((ManyFeatureBean) k).orElse(null)));
+        return Optional.ofNullable((Id) get(feature,
+                v -> v instanceof Id ? v : super.manyReferenceFrom(v).orElse(null),
+                k -> super.referenceOf((ManyFeatureBean) k).orElse(null)));
     }
 
     @Nonnull
     @Override
     public Optional<Id> referenceFor(ManyFeatureBean feature, Id reference) {
-        cache.put(feature, reference);
+        cache.put(feature, Optional.of(reference));
 
         return super.referenceFor(feature, reference);
     }
 
     @Override
     public void addReference(ManyFeatureBean feature, Id reference) {
-        cache.put(feature, reference);
+        cache.put(feature, Optional.of(reference));
 
-        IntStream.range(feature.position() + 1, sizeOfReference(feature.withoutPosition()).orElseGet(() -> feature.position() + 1))
+        IntStream.rangeClosed(feature.position() + 1, sizeOfReference(feature.withoutPosition()).orElse(0))
                 .forEachOrdered(i -> cache.invalidate(feature.withPosition(i)));
 
         super.addReference(feature, reference);
@@ -175,9 +245,9 @@ public class FeatureCachingStore extends AbstractCachingStore<FeatureBean, Objec
         int firstPosition = feature.position();
 
         IntStream.range(0, collection.size())
-                .forEachOrdered(i -> cache.put(feature.withPosition(firstPosition + i), collection.get(i)));
+                .forEachOrdered(i -> cache.put(feature.withPosition(firstPosition + i), Optional.of(collection.get(i))));
 
-        IntStream.range(firstPosition + collection.size(), sizeOfReference(feature.withoutPosition()).orElseGet(() -> firstPosition + collection.size()))
+        IntStream.range(firstPosition + collection.size(), sizeOfReference(feature.withoutPosition()).orElse(0) + collection.size())
                 .forEachOrdered(i -> cache.invalidate(feature.withPosition(i)));
 
         super.addAllReferences(feature, collection);
@@ -188,7 +258,7 @@ public class FeatureCachingStore extends AbstractCachingStore<FeatureBean, Objec
     public int appendReference(SingleFeatureBean feature, Id reference) {
         int position = super.appendReference(feature, reference);
 
-        cache.put(feature.withPosition(position), reference);
+        cache.put(feature.withPosition(position), Optional.of(reference));
 
         return position;
     }
@@ -199,7 +269,7 @@ public class FeatureCachingStore extends AbstractCachingStore<FeatureBean, Objec
         int firstPosition = super.appendAllReferences(feature, collection);
 
         IntStream.range(0, collection.size())
-                .forEachOrdered(i -> cache.put(feature.withPosition(firstPosition + i), collection.get(i)));
+                .forEachOrdered(i -> cache.put(feature.withPosition(firstPosition + i), Optional.of(collection.get(i))));
 
         return firstPosition;
     }
@@ -220,4 +290,60 @@ public class FeatureCachingStore extends AbstractCachingStore<FeatureBean, Objec
 
         super.removeAllReferences(feature);
     }
+
+    @Nonnull
+    @Override
+    public Map<FeatureBean, Object> prefetch(Id id) {
+        Map<FeatureBean, Object> values = super.prefetch(id);
+
+        // Cached values are never older than the stored values
+        values.forEach((f, v) -> cache.putIfAbsent(f, Optional.of(v)));
+        prefetchedElements.put(id, Boolean.TRUE);
+
+        return values;
+    }
+
+    /**
+     * Retrieves the cached value of the {@code feature}, or loads it on a cache miss. All the features of its owner are
+     * prefetched at the first cache miss. The absence of value is cached as well.
+     * <p>
+     * Prefetched references are cached as they are stored by the back-end: the {@code reader} converts them on their
+     * first read, and the converted value replaces the stored one in the cache.
+     *
+     * @param feature the bean identifying the feature
+     * @param reader  the function to convert a cached value to the returned value, or to {@code null} if it must be
+     *                loaded again
+     * @param loader  the function to load the value from the next mapper
+     *
+     * @return the value, or {@code null} if the feature has no value
+     */
+    @Nullable
+    private Object get(FeatureBean feature, Function<Object, Object> reader, Function<FeatureBean, Object> loader) {
+        Optional<Object> value = cache.get(feature);
+
+        if (isNull(value) && !prefetchedElements.contains(feature.owner())) {
+            prefetch(feature.owner());
+            value = cache.get(feature);
+        }
+
+        if (nonNull(value) && value.isPresent()) {
+            Object storedValue = value.get();
+            Object readValue = reader.apply(storedValue);
+
+            if (isNull(readValue)) {
+                value = null;
+            }
+            else if (readValue != storedValue) {
+                value = Optional.of(readValue);
+                cache.put(feature, value);
+            }
+        }
+
+        if (isNull(value)) {
+            value = Optional.ofNullable(loader.apply(feature));
+            cache.put(feature, value);
+        }
+
+        return value.orElse(null);
+    }
 }
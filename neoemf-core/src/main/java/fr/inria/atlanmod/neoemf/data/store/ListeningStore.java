@@ -10,6 +10,7 @@ package fr.inria.atlanmod.neoemf.data.store;
 
 import fr.inria.atlanmod.neoemf.core.Id;
 import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
+import fr.inria.atlanmod.neoemf.data.bean.FeatureBean;
 import fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean;
 import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
 import fr.inria.atlanmod.neoemf.data.mapping.DataMapper;
@@ -23,6 +24,7 @@ import org.atlanmod.commons.Lazy;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
@@ -133,6 +135,11 @@ public class ListeningStore extends AbstractStore {
         return onCallResult(super::valueFor, feature, value);
     }
 
+    @Override
+    public <V> void setValue(SingleFeatureBean feature, V value) {
+        onCall(super::setValue, feature, value);
+    }
+
     @Override
     public void removeValue(SingleFeatureBean feature) {
         onCall(super::removeValue, feature);
@@ -150,6 +157,11 @@ public class ListeningStore extends AbstractStore {
         return onCallResult(super::referenceFor, feature, reference);
     }
 
+    @Override
+    public void setReference(SingleFeatureBean feature, Id reference) {
+        onCall(super::setReference, feature, reference);
+    }
+
     @Override
     public void removeReference(SingleFeatureBean feature) {
         onCall(super::removeReference, feature);
@@ -213,6 +225,12 @@ public class ListeningStore extends AbstractStore {
         return onCallResult(super::sizeOfValue, feature);
     }
 
+    @Nonnull
+    @Override
+    public Map<FeatureBean, Object> prefetch(Id id) {
+        return onCallResult(super::prefetch, id);
+    }
+
     @Nonnull
     @Override
     public Optional<Id> referenceOf(ManyFeatureBean feature) {
@@ -70,6 +70,11 @@ public class ReadOnlyStore extends AbstractStore {
         throw e.get();
     }
 
+    @Override
+    public <V> void setValue(SingleFeatureBean feature, V value) {
+        throw e.get();
+    }
+
     @Override
     public void removeValue(SingleFeatureBean feature) {
         throw e.get();
@@ -81,6 +86,11 @@ public class ReadOnlyStore extends AbstractStore {
         throw e.get();
     }
 
+    @Override
+    public void setReference(SingleFeatureBean feature, Id reference) {
+        throw e.get();
+    }
+
     @Override
     public void removeReference(SingleFeatureBean feature) {
         throw e.get();
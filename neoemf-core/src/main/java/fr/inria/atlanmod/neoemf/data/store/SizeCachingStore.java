@@ -25,6 +25,22 @@ import javax.annotation.ParametersAreNonnullByDefault;
 @ParametersAreNonnullByDefault
 public class SizeCachingStore extends AbstractCachingStore<SingleFeatureBean, Optional<Integer>> {
 
+    /**
+     * Constructs a new {@code SizeCachingStore} with softly referenced sizes.
+     */
+    public SizeCachingStore() {
+        super();
+    }
+
+    /**
+     * Constructs a new {@code SizeCachingStore} that caches at most {@code maximumSize} sizes.
+     *
+     * @param maximumSize the maximum number of cached sizes
+     */
+    public SizeCachingStore(@Nonnegative long maximumSize) {
+        super(maximumSize);
+    }
+
     @Override
     public void removeValue(SingleFeatureBean feature) {
         cacheSize(feature, 0);
@@ -68,7 +84,9 @@ public class SizeCachingStore extends AbstractCachingStore<SingleFeatureBean, Op
     @Nonnull
     @Override
     public <V> Optional<V> removeValue(ManyFeatureBean feature) {
-        sizeOfValue(feature.withoutPosition()).ifPresent(s -> cacheSize(feature.withoutPosition(), s - 1));
+        sizeOfValue(feature.withoutPosition())
+                .filter(s -> feature.position() < s)
+                .ifPresent(s -> cacheSize(feature.withoutPosition(), s - 1));
         return super.removeValue(feature);
     }
 
@@ -116,7 +134,9 @@ public class SizeCachingStore extends AbstractCachingStore<SingleFeatureBean, Op
     @Nonnull
     @Override
     public Optional<Id> removeReference(ManyFeatureBean feature) {
-        sizeOfReference(feature.withoutPosition()).ifPresent(s -> cacheSize(feature.withoutPosition(), s - 1));
+        sizeOfReference(feature.withoutPosition())
+                .filter(s -> feature.position() < s)
+                .ifPresent(s -> cacheSize(feature.withoutPosition(), s - 1));
         return super.removeReference(feature);
     }
 
@@ -11,6 +11,11 @@ package fr.inria.atlanmod.neoemf.data.store;
 import fr.inria.atlanmod.neoemf.data.Backend;
 import fr.inria.atlanmod.neoemf.data.mapping.DataMapper;
 
+import org.atlanmod.commons.cache.CacheStats;
+
+import java.util.Collections;
+import java.util.Map;
+
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
 
@@ -28,4 +33,16 @@ public interface Store extends DataMapper {
      */
     @Nonnull
     Backend backend();
+
+    /**
+     * Returns the statistics of the caches of this store chain, identified by the name of their store.
+     *
+     * @return an immutable map of the statistics
+     *
+     * @see fr.inria.atlanmod.neoemf.config.Config#cacheFeatures(long)
+     */
+    @Nonnull
+    default Map<String, CacheStats> cacheStats() {
+        return Collections.emptyMap();
+    }
 }
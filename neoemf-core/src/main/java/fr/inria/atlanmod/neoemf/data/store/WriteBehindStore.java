@@ -0,0 +1,692 @@
+/*
+ * Copyright (c) 2013 Atlanmod.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.store;
+
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.bean.FeatureBean;
+import fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+import fr.inria.atlanmod.neoemf.data.mapping.DataMapper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.atlanmod.commons.Preconditions.checkGreaterThan;
+
+/**
+ * A {@link Store} wrapper that buffers the modifications in memory, and writes their net result to the back-end in
+ * batches.
+ * <p>
+ * Unlike {@link AutoSavingStore}, that writes each modification immediately, this store coalesces the modifications
+ * made between two flushes:
+ * <ul>
+ * <li>a single-valued feature or a container that is modified several times is written once, with its last value,
+ * or removed once;</li>
+ * <li>the values appended to a multi-valued feature are kept in a pending tail, that can be modified, inserted into
+ * or shrunk freely, and is written with a single {@code appendAll} call. A value added then removed is never written.
+ * </li>
+ * </ul>
+ * Reads are served from the buffer when it contains the requested data. The modifications that cannot be buffered,
+ * such as the definition of a meta-class, or an insertion before the pending tail of a multi-valued feature, are
+ * written immediately, after the pending modifications they depend on.
+ * <p>
+ * The buffer is flushed on {@link #save()}, on {@link #close()}, before {@link #copyTo(DataMapper)}, and as soon as
+ * it contains {@code threshold} modifications, to bound its memory usage.
+ */
+@NotThreadSafe
+@ParametersAreNonnullByDefault
+public class WriteBehindStore extends AbstractStore {
+
+    /**
+     * The default number of buffered modifications that triggers a flush.
+     */
+    @Nonnegative
+    public static final long DEFAULT_THRESHOLD = Runtime.getRuntime().maxMemory() / (long) Math.pow(2, 15);
+
+    /**
+     * The number of buffered modifications that triggers a flush.
+     */
+    @Nonnegative
+    private final long threshold;
+
+    /**
+     * The pending containers, or {@link Optional#empty()} for a removed container.
+     */
+    @Nonnull
+    private final Map<Id, Optional<SingleFeatureBean>> containers = new LinkedHashMap<>();
+
+    /**
+     * The pending values of single-valued attributes, or {@link Optional#empty()} for a removed value.
+     */
+    @Nonnull
+    private final Map<SingleFeatureBean, Optional<Object>> values = new LinkedHashMap<>();
+
+    /**
+     * The pending values of single-valued references, or {@link Optional#empty()} for a removed reference.
+     */
+    @Nonnull
+    private final Map<SingleFeatureBean, Optional<Id>> references = new LinkedHashMap<>();
+
+    /**
+     * The values appended to multi-valued attributes, that are not written yet.
+     */
+    @Nonnull
+    private final Map<SingleFeatureBean, Tail<Object>> valueTails = new LinkedHashMap<>();
+
+    /**
+     * The references appended to multi-valued references, that are not written yet.
+     */
+    @Nonnull
+    private final Map<SingleFeatureBean, Tail<Id>> referenceTails = new LinkedHashMap<>();
+
+    /**
+     * The number of modifications buffered since the last flush.
+     */
+    @Nonnegative
+    private long pendingCount;
+
+    /**
+     * Constructs a new {@code WriteBehindStore} that flushes its buffer every {@code threshold} modifications.
+     *
+     * @param threshold the number of buffered modifications that triggers a flush
+     *
+     * @throws IllegalArgumentException if {@code threshold <= 0}
+     */
+    public WriteBehindStore(@Nonnegative long threshold) {
+        super(200);
+        checkGreaterThan(threshold, 0L, "threshold (%d) must be greater than 0", threshold);
+
+        this.threshold = threshold;
+    }
+
+    /**
+     * Constructs a new {@code WriteBehindStore} with the default number of modifications between flushes.
+     */
+    public WriteBehindStore() {
+        this(DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Writes all the pending modifications to the next mapper, and clears the buffer.
+     */
+    public void flush() {
+        containers.forEach((id, c) -> {
+            if (c.isPresent()) {
+                super.containerFor(id, c.get());
+            }
+            else {
+                super.removeContainer(id);
+            }
+        });
+        containers.clear();
+
+        values.forEach((f, v) -> {
+            if (v.isPresent()) {
+                super.setValue(f, v.get());
+            }
+            else {
+                super.removeValue(f);
+            }
+        });
+        values.clear();
+
+        references.forEach((f, r) -> {
+            if (r.isPresent()) {
+                super.setReference(f, r.get());
+            }
+            else {
+                super.removeReference(f);
+            }
+        });
+        references.clear();
+
+        valueTails.forEach((f, t) -> t.writeTo(f, super::appendAllValues));
+        valueTails.clear();
+
+        referenceTails.forEach((f, t) -> t.writeTo(f, super::appendAllReferences));
+        referenceTails.clear();
+
+        pendingCount = 0;
+    }
+
+    @Override
+    public void close() {
+        flush();
+        super.close();
+    }
+
+    @Override
+    public void save() {
+        flush();
+        super.save();
+    }
+
+    @Override
+    public void copyTo(DataMapper target) {
+        flush();
+        super.copyTo(target);
+    }
+
+    @Nonnull
+    @Override
+    public Optional<SingleFeatureBean> containerOf(Id id) {
+        Optional<SingleFeatureBean> container = containers.get(id);
+        return nonNull(container) ? container : super.containerOf(id);
+    }
+
+    @Override
+    public void containerFor(Id id, SingleFeatureBean container) {
+        containers.put(id, Optional.of(container));
+        incrementAndFlush(1);
+    }
+
+    @Override
+    public void removeContainer(Id id) {
+        containers.put(id, Optional.empty());
+        incrementAndFlush(1);
+    }
+
+    @Nonnull
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> Optional<V> valueOf(SingleFeatureBean feature) {
+        Optional<Object> value = values.get(feature);
+        return nonNull(value) ? (Optional<V>) value : super.valueOf(feature);
+    }
+
+    @Nonnull
+    @Override
+    public <V> Optional<V> valueFor(SingleFeatureBean feature, V value) {
+        Optional<V> previousValue = valueOf(feature);
+        setValue(feature, value);
+        return previousValue;
+    }
+
+    @Override
+    public <V> void setValue(SingleFeatureBean feature, V value) {
+        values.put(feature, Optional.of(value));
+        incrementAndFlush(1);
+    }
+
+    @Override
+    public void removeValue(SingleFeatureBean feature) {
+        values.put(feature, Optional.empty());
+        incrementAndFlush(1);
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Id> referenceOf(SingleFeatureBean feature) {
+        Optional<Id> reference = references.get(feature);
+        return nonNull(reference) ? reference : super.referenceOf(feature);
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Id> referenceFor(SingleFeatureBean feature, Id reference) {
+        Optional<Id> previousReference = referenceOf(feature);
+        setReference(feature, reference);
+        return previousReference;
+    }
+
+    @Override
+    public void setReference(SingleFeatureBean feature, Id reference) {
+        references.put(feature, Optional.of(reference));
+        incrementAndFlush(1);
+    }
+
+    @Override
+    public void removeReference(SingleFeatureBean feature) {
+        references.put(feature, Optional.empty());
+        incrementAndFlush(1);
+    }
+
+    @Nonnull
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> Optional<V> valueOf(ManyFeatureBean feature) {
+        Tail<Object> tail = valueTails.get(feature.withoutPosition());
+        return nonNull(tail) && tail.covers(feature.position())
+                ? Optional.ofNullable((V) tail.get(feature.position()))
+                : super.valueOf(feature);
+    }
+
+    @Nonnull
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> Stream<V> allValuesOf(SingleFeatureBean feature) {
+        Tail<Object> tail = valueTails.get(feature);
+        return nonNull(tail)
+                ? Stream.concat(super.<V>allValuesOf(feature), tail.snapshot().stream().map(v -> (V) v))
+                : super.allValuesOf(feature);
+    }
+
+    @Nonnull
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> Optional<V> valueFor(ManyFeatureBean feature, V value) {
+        Tail<Object> tail = valueTails.get(feature.withoutPosition());
+        if (nonNull(tail) && tail.contains(feature.position())) {
+            return Optional.of((V) tail.set(feature.position(), value));
+        }
+
+        flushValues(feature.withoutPosition());
+        return super.valueFor(feature, value);
+    }
+
+    @Override
+    public <V> void addValue(ManyFeatureBean feature, V value) {
+        addAllValues(feature, Collections.singletonList(value));
+    }
+
+    @Override
+    public <V> void addAllValues(ManyFeatureBean feature, List<? extends V> collection) {
+        Tail<Object> tail = tailOf(valueTails, feature, super::sizeOfValue);
+        if (nonNull(tail)) {
+            tail.addAll(feature.position(), collection);
+            incrementAndFlush(collection.size());
+            return;
+        }
+
+        flushValues(feature.withoutPosition());
+        super.addAllValues(feature, collection);
+    }
+
+    @Nonnegative
+    @Override
+    public <V> int appendValue(SingleFeatureBean feature, V value) {
+        return appendAllValues(feature, Collections.singletonList(value));
+    }
+
+    @Nonnegative
+    @Override
+    public <V> int appendAllValues(SingleFeatureBean feature, List<? extends V> collection) {
+        Tail<Object> tail = valueTails.computeIfAbsent(feature, f -> new Tail<>(super.sizeOfValue(f).orElse(0)));
+
+        int firstPosition = tail.end();
+        tail.addAll(firstPosition, collection);
+        incrementAndFlush(collection.size());
+
+        return firstPosition;
+    }
+
+    @Nonnull
+    @Override
+    @SuppressWarnings("unchecked")
+    public <V> Optional<V> removeValue(ManyFeatureBean feature) {
+        Tail<Object> tail = valueTails.get(feature.withoutPosition());
+        if (nonNull(tail) && tail.covers(feature.position())) {
+            return Optional.ofNullable((V) tail.remove(feature.position()));
+        }
+
+        flushValues(feature.withoutPosition());
+        return super.removeValue(feature);
+    }
+
+    @Override
+    public void removeAllValues(SingleFeatureBean feature) {
+        Tail<Object> tail = valueTails.remove(feature);
+
+        // The values that have never been written don't need to be removed
+        if (isNull(tail) || tail.start() > 0) {
+            super.removeAllValues(feature);
+        }
+    }
+
+    @Nonnull
+    @Nonnegative
+    @Override
+    public Optional<Integer> sizeOfValue(SingleFeatureBean feature) {
+        Tail<Object> tail = valueTails.get(feature);
+        return nonNull(tail) ? tail.size() : super.sizeOfValue(feature);
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Id> referenceOf(ManyFeatureBean feature) {
+        Tail<Id> tail = referenceTails.get(feature.withoutPosition());
+        return nonNull(tail) && tail.covers(feature.position())
+                ? Optional.ofNullable(tail.get(feature.position()))
+                : super.referenceOf(feature);
+    }
+
+    @Nonnull
+    @Override
+    public Stream<Id> allReferencesOf(SingleFeatureBean feature) {
+        Tail<Id> tail = referenceTails.get(feature);
+        return nonNull(tail)
+                ? Stream.concat(super.allReferencesOf(feature), tail.snapshot().stream())
+                : super.allReferencesOf(feature);
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Id> referenceFor(ManyFeatureBean feature, Id reference) {
+        Tail<Id> tail = referenceTails.get(feature.withoutPosition());
+        if (nonNull(tail) && tail.contains(feature.position())) {
+            return Optional.of(tail.set(feature.position(), reference));
+        }
+
+        flushReferences(feature.withoutPosition());
+        return super.referenceFor(feature, reference);
+    }
+
+    @Override
+    public void addReference(ManyFeatureBean feature, Id reference) {
+        addAllReferences(feature, Collections.singletonList(reference));
+    }
+
+    @Override
+    public void addAllReferences(ManyFeatureBean feature, List<Id> collection) {
+        Tail<Id> tail = tailOf(referenceTails, feature, super::sizeOfReference);
+        if (nonNull(tail)) {
+            tail.addAll(feature.position(), collection);
+            incrementAndFlush(collection.size());
+            return;
+        }
+
+        flushReferences(feature.withoutPosition());
+        super.addAllReferences(feature, collection);
+    }
+
+    @Nonnegative
+    @Override
+    public int appendReference(SingleFeatureBean feature, Id reference) {
+        return appendAllReferences(feature, Collections.singletonList(reference));
+    }
+
+    @Nonnegative
+    @Override
+    public int appendAllReferences(SingleFeatureBean feature, List<Id> collection) {
+        Tail<Id> tail = referenceTails.computeIfAbsent(feature, f -> new Tail<>(super.sizeOfReference(f).orElse(0)));
+
+        int firstPosition = tail.end();
+        tail.addAll(firstPosition, collection);
+        incrementAndFlush(collection.size());
+
+        return firstPosition;
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Id> removeReference(ManyFeatureBean feature) {
+        Tail<Id> tail = referenceTails.get(feature.withoutPosition());
+        if (nonNull(tail) && tail.covers(feature.position())) {
+            return Optional.ofNullable(tail.remove(feature.position()));
+        }
+
+        flushReferences(feature.withoutPosition());
+        return super.removeReference(feature);
+    }
+
+    @Override
+    public void removeAllReferences(SingleFeatureBean feature) {
+        Tail<Id> tail = referenceTails.remove(feature);
+
+        // The references that have never been written don't need to be removed
+        if (isNull(tail) || tail.start() > 0) {
+            super.removeAllReferences(feature);
+        }
+    }
+
+    @Nonnull
+    @Nonnegative
+    @Override
+    public Optional<Integer> sizeOfReference(SingleFeatureBean feature) {
+        Tail<Id> tail = referenceTails.get(feature);
+        return nonNull(tail) ? tail.size() : super.sizeOfReference(feature);
+    }
+
+    @Nonnull
+    @Override
+    public Map<FeatureBean, Object> prefetch(Id id) {
+        Map<FeatureBean, Object> prefetchedValues = new HashMap<>(super.prefetch(id));
+
+        // The pending values will be retrieved individually
+        prefetchedValues.keySet().removeIf(f -> values.containsKey(f) || references.containsKey(f));
+
+        return prefetchedValues;
+    }
+
+    /**
+     * Retrieves the pending tail of the multi-valued {@code feature}, if the values can be added to it. A new tail is
+     * created if the values are added at the end of the {@code feature}.
+     *
+     * @param tails   the pending tails
+     * @param feature the bean identifying the position where to add the values
+     * @param sizeOf  the function to retrieve the current size of the feature
+     * @param <T>     the type of values
+     *
+     * @return the tail, or {@code null} if the values must be added directly to the next mapper
+     */
+    @Nullable
+    private <T> Tail<T> tailOf(Map<SingleFeatureBean, Tail<T>> tails, ManyFeatureBean feature, Function<SingleFeatureBean, Optional<Integer>> sizeOf) {
+        Tail<T> tail = tails.get(feature.withoutPosition());
+
+        if (isNull(tail)) {
+            int size = sizeOf.apply(feature.withoutPosition()).orElse(0);
+            if (feature.position() != size) {
+                return null;
+            }
+
+            tail = new Tail<>(size);
+            tails.put(feature.withoutPosition(), tail);
+        }
+
+        return tail.contains(feature.position()) || feature.position() == tail.end() ? tail : null;
+    }
+
+    /**
+     * Writes the pending tail of the multi-valued attribute {@code feature}, before modifying the written values.
+     *
+     * @param feature the bean identifying the multi-valued attribute
+     */
+    private void flushValues(SingleFeatureBean feature) {
+        Tail<Object> tail = valueTails.remove(feature);
+        if (nonNull(tail)) {
+            tail.writeTo(feature, super::appendAllValues);
+        }
+    }
+
+    /**
+     * Writes the pending tail of the multi-valued reference {@code feature}, before modifying the written references.
+     *
+     * @param feature the bean identifying the multi-valued reference
+     */
+    private void flushReferences(SingleFeatureBean feature) {
+        Tail<Id> tail = referenceTails.remove(feature);
+        if (nonNull(tail)) {
+            tail.writeTo(feature, super::appendAllReferences);
+        }
+    }
+
+    /**
+     * Increments the number of buffered modifications, and flushes the buffer if necessary, i.e when {@code
+     * pendingCount >= threshold}.
+     *
+     * @param count the number of modifications made
+     *
+     * @see #flush()
+     */
+    private void incrementAndFlush(@Nonnegative int count) {
+        pendingCount += count;
+
+        if (pendingCount >= threshold) {
+            flush();
+        }
+    }
+
+    /**
+     * The values appended to a multi-valued feature, from the position {@link #start()}, that are not written yet.
+     *
+     * @param <T> the type of values
+     */
+    @ParametersAreNonnullByDefault
+    private static final class Tail<T> {
+
+        /**
+         * The position of the first pending value, i.e the number of written values.
+         */
+        @Nonnegative
+        private final int start;
+
+        /**
+         * The pending values.
+         */
+        @Nonnull
+        private final List<T> values = new ArrayList<>();
+
+        /**
+         * Constructs a new {@code Tail}.
+         *
+         * @param start the number of written values
+         */
+        Tail(@Nonnegative int start) {
+            this.start = start;
+        }
+
+        /**
+         * Returns the position of the first pending value.
+         *
+         * @return the position
+         */
+        @Nonnegative
+        public int start() {
+            return start;
+        }
+
+        /**
+         * Returns the position after the last pending value.
+         *
+         * @return the position
+         */
+        @Nonnegative
+        public int end() {
+            return start + values.size();
+        }
+
+        /**
+         * Returns the size of the whole feature, including the pending values.
+         *
+         * @return an {@link Optional} containing the size, or {@link Optional#empty()} if the feature has no value
+         */
+        @Nonnull
+        public Optional<Integer> size() {
+            return Optional.of(end()).filter(s -> s > 0);
+        }
+
+        /**
+         * Checks whether the value at the {@code position} is pending.
+         *
+         * @param position the position of the value
+         *
+         * @return {@code true} if the value is pending
+         */
+        public boolean contains(@Nonnegative int position) {
+            return position >= start && position < end();
+        }
+
+        /**
+         * Checks whether the value at the {@code position} is pending or doesn't exist, i.e whether it doesn't need to
+         * be read from the next mapper.
+         *
+         * @param position the position of the value
+         *
+         * @return {@code true} if the value is not written
+         */
+        public boolean covers(@Nonnegative int position) {
+            return position >= start;
+        }
+
+        /**
+         * Returns the pending value at the {@code position}.
+         *
+         * @param position the position of the value
+         *
+         * @return the value, or {@code null} if it doesn't exist
+         */
+        @Nullable
+        public T get(@Nonnegative int position) {
+            return contains(position) ? values.get(position - start) : null;
+        }
+
+        /**
+         * Replaces the pending value at the {@code position}.
+         *
+         * @param position the position of the value
+         * @param value    the new value
+         *
+         * @return the previous value
+         */
+        @Nonnull
+        public T set(@Nonnegative int position, T value) {
+            return values.set(position - start, value);
+        }
+
+        /**
+         * Inserts the {@code collection} at the {@code position}.
+         *
+         * @param position   the position of the first value
+         * @param collection the values to insert
+         */
+        public void addAll(@Nonnegative int position, List<? extends T> collection) {
+            values.addAll(position - start, collection);
+        }
+
+        /**
+         * Removes the pending value at the {@code position}.
+         *
+         * @param position the position of the value
+         *
+         * @return the removed value, or {@code null} if it doesn't exist
+         */
+        @Nullable
+        public T remove(@Nonnegative int position) {
+            return contains(position) ? values.remove(position - start) : null;
+        }
+
+        /**
+         * Returns a copy of the pending values.
+         *
+         * @return a list of values
+         */
+        @Nonnull
+        public List<T> snapshot() {
+            return new ArrayList<>(values);
+        }
+
+        /**
+         * Writes the pending values, at the end of the {@code feature}.
+         *
+         * @param feature   the bean identifying the multi-valued feature
+         * @param appendAll the method to append the values
+         */
+        public void writeTo(SingleFeatureBean feature, BiConsumer<SingleFeatureBean, List<T>> appendAll) {
+            if (!values.isEmpty()) {
+                appendAll.accept(feature, values);
+            }
+        }
+    }
+}
@@ -44,6 +44,8 @@ import javax.annotation.ParametersAreNonnullByDefault;
 import javax.annotation.concurrent.Immutable;
 
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.atlanmod.commons.Preconditions.checkGreaterThanOrEqualTo;
 import static org.atlanmod.commons.Preconditions.checkNotNull;
 import static org.atlanmod.commons.Preconditions.checkState;
 
@@ -156,8 +158,10 @@ public abstract class AbstractStoreAdapter implements StoreAdapter {
 
         PersistentEObject object = getCache().get(id, this::rebuild);
 
-        // Define the resource of the object
-        Optional.ofNullable(resource).ifPresent(object::resource);
+        // Define the resource of the object, if it has been cached with another one
+        if (nonNull(resource) && object.resource() != resource) {
+            object.resource(resource);
+        }
 
         return object;
     }
@@ -555,8 +559,15 @@ public abstract class AbstractStoreAdapter implements StoreAdapter {
     @Nonnull
     @Override
     public List<Object> getAll(InternalEObject internalObject, EStructuralFeature feature) {
+        return streamAll(internalObject, feature, 0).collect(Collectors.toList());
+    }
+
+    @Nonnull
+    @Override
+    public Stream<Object> streamAll(InternalEObject internalObject, EStructuralFeature feature, @Nonnegative int fromIndex) {
         checkNotNull(internalObject, "internalObject");
         checkNotNull(feature, "feature");
+        checkGreaterThanOrEqualTo(fromIndex, 0, "fromIndex (%d) must not be negative", fromIndex);
 
         PersistentEObject object = PersistentEObject.from(internalObject);
         refresh(object);
@@ -576,9 +587,10 @@ public abstract class AbstractStoreAdapter implements StoreAdapter {
 
             EAttribute attribute = EFeatures.asAttribute(feature);
 
+            // Skip before converting, to only convert the requested values
             return stream
-                    .map(v -> attrConverter.revert(v, attribute))
-                    .collect(Collectors.toList());
+                    .skip(fromIndex)
+                    .map(v -> attrConverter.revert(v, attribute));
         }
         else {
             Stream<Id> stream;
@@ -592,8 +604,8 @@ public abstract class AbstractStoreAdapter implements StoreAdapter {
             }
 
             return stream
-                    .map(refConverter::revert)
-                    .collect(Collectors.toList());
+                    .skip(fromIndex)
+                    .map(refConverter::revert);
         }
     }
 
@@ -698,6 +710,9 @@ public abstract class AbstractStoreAdapter implements StoreAdapter {
 
     /**
      * Rebuilds the {@link PersistentEObject} from the specified {@code id}.
+     * <p>
+     * The resource of the object is defined before it is cached, so that threads resolving the same object at the
+     * same time never attach it concurrently.
      *
      * @param id the identifier of the object to rebuild
      *
@@ -705,6 +720,8 @@ public abstract class AbstractStoreAdapter implements StoreAdapter {
      */
     @Nonnull
     private PersistentEObject rebuild(Id id) {
-        return PersistenceFactory.newInstance(resolveInstanceOf(id), id);
+        PersistentEObject object = PersistenceFactory.newInstance(resolveInstanceOf(id), id);
+        Optional.ofNullable(resource).ifPresent(object::resource);
+        return object;
     }
 }
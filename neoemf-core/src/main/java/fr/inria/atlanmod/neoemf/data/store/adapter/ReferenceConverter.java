@@ -10,6 +10,7 @@ package fr.inria.atlanmod.neoemf.data.store.adapter;
 
 import fr.inria.atlanmod.neoemf.core.Id;
 import fr.inria.atlanmod.neoemf.core.PersistentEObject;
+import fr.inria.atlanmod.neoemf.resource.PersistentResource;
 
 import org.atlanmod.commons.function.Converter;
 
@@ -47,7 +48,10 @@ public class ReferenceConverter implements Converter<PersistentEObject, Id> {
             return null;
         }
 
-        return object.id();
+        // Generate the identifier of a new object with the provider of the resource it is attached to
+        return PersistentResource.isPersistent(store.resource())
+                ? object.idFrom(((PersistentResource) store.resource()).idProvider())
+                : object.id();
     }
 
     @Override
@@ -25,6 +25,7 @@ import org.eclipse.emf.ecore.resource.Resource;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
@@ -156,6 +157,24 @@ public interface StoreAdapter extends Saveable, Copiable<StoreAdapter>, Internal
     @Nonnull
     List<Object> getAll(InternalEObject internalObject, EStructuralFeature feature);
 
+    /**
+     * Returns a sequential stream over the values in the {@link org.eclipse.emf.ecore.EObject#eGet(EStructuralFeature,
+     * boolean) content} of the object's feature, starting at the specified {@code fromIndex}.
+     * <p>
+     * Unlike successive calls to {@link #get(InternalEObject, EStructuralFeature, int)}, the values are retrieved from
+     * the underlying store in a single pass, and are only converted, and resolved, when they are consumed.
+     *
+     * @param internalObject the object in question
+     * @param feature        a feature of the object
+     * @param fromIndex      the index of the first value to return
+     *
+     * @return a stream over the values in the content of the object's feature
+     *
+     * @throws IllegalArgumentException if {@code fromIndex < 0}
+     */
+    @Nonnull
+    Stream<Object> streamAll(InternalEObject internalObject, EStructuralFeature feature, @Nonnegative int fromIndex);
+
     /**
      * Sets the {@code values} in the {@link org.eclipse.emf.ecore.EObject#eGet(EStructuralFeature, boolean) content} of
      * the object's feature.
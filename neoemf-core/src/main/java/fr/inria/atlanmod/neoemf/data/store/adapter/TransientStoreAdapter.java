@@ -94,6 +94,8 @@ public class TransientStoreAdapter extends AbstractStoreAdapter {
 
         /**
          * A map that holds all created instances of {@link SharedHolder}, identified by their associated resource.
+         * <p>
+         * The resource can be {@code null}, so all accesses are synchronized on this map.
          */
         @Nonnull
         private static final Map<Resource.Internal, SharedHolder> REGISTRY = new HashMap<>();
@@ -132,19 +134,25 @@ public class TransientStoreAdapter extends AbstractStoreAdapter {
          */
         @Nonnull
         public static SharedHolder forResource(@Nullable Resource.Internal resource) {
-            SharedHolder holder = REGISTRY.computeIfAbsent(resource, SharedHolder::new);
-            holder.dependencies.incrementAndGet();
-            return holder;
+            synchronized (REGISTRY) {
+                SharedHolder holder = REGISTRY.computeIfAbsent(resource, SharedHolder::new);
+                holder.dependencies.incrementAndGet();
+                return holder;
+            }
         }
 
         @Override
         public void close() {
-            if (dependencies.decrementAndGet() == 0L) {
-                REGISTRY.remove(resource);
+            synchronized (REGISTRY) {
+                if (dependencies.decrementAndGet() > 0L) {
+                    return;
+                }
 
-                cache.invalidateAll();
-                cache.cleanUp();
+                REGISTRY.remove(resource);
             }
+
+            cache.invalidateAll();
+            cache.cleanUp();
         }
     }
 }
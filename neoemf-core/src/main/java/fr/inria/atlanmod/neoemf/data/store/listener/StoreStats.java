@@ -13,18 +13,20 @@ import fr.inria.atlanmod.neoemf.data.store.Store;
 import org.atlanmod.commons.primitive.Strings;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
+import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * Statistics about the usage of a {@link Store} chain.
  */
+@ThreadSafe
 @ParametersAreNonnullByDefault
 public final class StoreStats {
 
@@ -32,7 +34,7 @@ public final class StoreStats {
      * A map of the method calls made in a {@link Store} chain with their number of invocation.
      */
     @Nonnull
-    private final Map<String, AtomicLong> methodInvocations = new HashMap<>();
+    private final Map<String, AtomicLong> methodInvocations = new ConcurrentHashMap<>();
 
     /**
      * TODO
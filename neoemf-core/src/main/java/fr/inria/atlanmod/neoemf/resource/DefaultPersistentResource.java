@@ -11,6 +11,7 @@ package fr.inria.atlanmod.neoemf.resource;
 import fr.inria.atlanmod.neoemf.config.BaseConfig;
 import fr.inria.atlanmod.neoemf.config.ImmutableConfig;
 import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.core.IdProvider;
 import fr.inria.atlanmod.neoemf.core.PersistentEObject;
 import fr.inria.atlanmod.neoemf.core.internal.collect.AllContentsIterator;
 import fr.inria.atlanmod.neoemf.data.Backend;
@@ -26,7 +27,6 @@ import fr.inria.atlanmod.neoemf.data.store.adapter.PersistentStoreAdapter;
 import fr.inria.atlanmod.neoemf.data.store.adapter.StoreAdapter;
 import fr.inria.atlanmod.neoemf.resource.internal.RootContentsList;
 
-import org.atlanmod.commons.collect.MoreIterables;
 import org.atlanmod.commons.log.Log;
 import org.eclipse.emf.common.notify.Notification;
 import org.eclipse.emf.common.util.EList;
@@ -74,6 +74,13 @@ public class DefaultPersistentResource extends ResourceImpl implements Persisten
     @Nonnull
     private StoreAdapter eStore;
 
+    /**
+     * The provider used to generate the identifiers of the new objects, defined by the configuration of the current
+     * {@link #eStore}.
+     */
+    @Nonnull
+    private IdProvider idProvider = Id.getProvider();
+
     /**
      * Constructs a new {@code DefaultPersistentResource} with the given {@code uri}.
      *
@@ -193,14 +200,22 @@ public class DefaultPersistentResource extends ResourceImpl implements Persisten
 
     @Nonnull
     @Override
-    @SuppressWarnings("unchecked")
     public <T extends EObject> Iterable<T> allInstancesOf(EClass eClass, boolean strict) {
+        try (Stream<T> instances = streamInstancesOf(eClass, strict)) {
+            return instances.collect(Collectors.toSet());
+        }
+    }
+
+    @Nonnull
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends EObject> Stream<T> streamInstancesOf(EClass eClass, boolean strict) {
         // There is no strict instance of an abstract class
         if ((eClass.isAbstract() || eClass.isInterface()) && strict) {
-            return Collections.emptyList();
+            return Stream.empty();
         }
 
-        Stream<EObject> allInstancesOf;
+        Stream<? extends EObject> allInstancesOf;
 
         try {
             allInstancesOf = eStore.store().allInstancesOf(ClassBean.from(eClass), strict).map(id -> eStore.resolve(id));
@@ -208,14 +223,18 @@ public class DefaultPersistentResource extends ResourceImpl implements Persisten
         catch (UnsupportedOperationException e) {
             Log.debug("This mapper doesn't support the lookup of all instances: using standard EMF API instead");
 
-            allInstancesOf = MoreIterables.stream(this::getAllContents)
+            allInstancesOf = streamAllContents()
                     .filter(eClass::isInstance)
                     .filter(o -> !strict || Objects.equals(o.eClass(), eClass));
         }
 
-        return allInstancesOf
-                .map(o -> (T) o)
-                .collect(Collectors.toSet());
+        return allInstancesOf.map(o -> (T) o);
+    }
+
+    @Nonnull
+    @Override
+    public IdProvider idProvider() {
+        return idProvider;
     }
 
     @Nonnull
@@ -295,6 +314,7 @@ public class DefaultPersistentResource extends ResourceImpl implements Persisten
     @Nonnull
     private StoreAdapter createStore(Backend backend, ImmutableConfig config) {
         Store baseStore = StoreFactory.getInstance().createStore(backend, config);
+        idProvider = config.getIdProvider();
         return new PersistentStoreAdapter(baseStore, this);
     }
 
@@ -10,7 +10,9 @@ package fr.inria.atlanmod.neoemf.resource;
 
 import fr.inria.atlanmod.neoemf.config.ImmutableConfig;
 import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.core.IdProvider;
 import fr.inria.atlanmod.neoemf.core.PersistentEObject;
+import fr.inria.atlanmod.neoemf.core.internal.collect.AllContentsSpliterator;
 import fr.inria.atlanmod.neoemf.data.store.Storable;
 
 import org.eclipse.emf.ecore.EClass;
@@ -20,6 +22,8 @@ import org.eclipse.emf.ecore.resource.Resource;
 import java.io.Closeable;
 import java.io.IOException;
 import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
@@ -89,6 +93,18 @@ public interface PersistentResource extends Resource, Resource.Internal, Storabl
      */
     void load(ImmutableConfig config) throws IOException;
 
+    /**
+     * Returns the provider used to generate the identifiers of the new objects of this resource, as defined by the
+     * configuration of its last save/load. Before the first save/load, the {@linkplain Id#getProvider() default
+     * provider} is used.
+     *
+     * @return the provider
+     *
+     * @see ImmutableConfig#getIdProvider()
+     */
+    @Nonnull
+    IdProvider idProvider();
+
     /**
      * Computes the set of instances of the given {@link EClass} (including its sub-types).
      * <p>
@@ -117,6 +133,56 @@ public interface PersistentResource extends Resource, Resource.Internal, Storabl
     @Nonnull
     <T extends EObject> Iterable<T> allInstancesOf(EClass eClass, boolean strict);
 
+    /**
+     * Returns a stream on the instances of the given {@link EClass} (including its sub-types).
+     * <p>
+     * This method behaves like: {@code streamInstancesOf(EClass, false)}.
+     *
+     * @param eClass the {@link EClass} for which look for instances
+     *
+     * @return a new stream
+     *
+     * @see #streamInstancesOf(EClass, boolean)
+     */
+    @Nonnull
+    default <T extends EObject> Stream<T> streamInstancesOf(EClass eClass) {
+        return streamInstancesOf(eClass, false);
+    }
+
+    /**
+     * Returns a stream on the instances of the given {@link EClass}.
+     * <p>
+     * Unlike {@link #allInstancesOf(EClass, boolean)}, the instances are looked up and resolved as the stream is
+     * consumed. The returned stream can be processed in {@link Stream#parallel() parallel}, provided that the store
+     * chain of this resource supports concurrent reads.
+     *
+     * @param eClass the {@link EClass} for which look for instances
+     * @param strict {@code true} if the lookup searches for strict instances
+     *
+     * @return a new stream
+     *
+     * @see fr.inria.atlanmod.neoemf.config.Config#concurrent()
+     */
+    @Nonnull
+    <T extends EObject> Stream<T> streamInstancesOf(EClass eClass, boolean strict);
+
+    /**
+     * Returns a stream on all the direct and indirect contents of this resource, in the same order as {@link
+     * #getAllContents()}.
+     * <p>
+     * The returned stream can be processed in {@link Stream#parallel() parallel}, each thread visiting disjoint
+     * subtrees, provided that the store chain of this resource supports concurrent reads.
+     *
+     * @return a new stream
+     *
+     * @see #getAllContents()
+     * @see fr.inria.atlanmod.neoemf.config.Config#concurrent()
+     */
+    @Nonnull
+    default Stream<PersistentEObject> streamAllContents() {
+        return StreamSupport.stream(new AllContentsSpliterator<>(this), false);
+    }
+
     /**
      * Returns an iterator on the direct content of this resource.
      *
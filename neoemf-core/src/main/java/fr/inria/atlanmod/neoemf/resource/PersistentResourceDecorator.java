@@ -9,6 +9,8 @@
 package fr.inria.atlanmod.neoemf.resource;
 
 import fr.inria.atlanmod.neoemf.config.ImmutableConfig;
+import fr.inria.atlanmod.neoemf.core.IdProvider;
+import fr.inria.atlanmod.neoemf.core.PersistentEObject;
 import fr.inria.atlanmod.neoemf.data.store.adapter.StoreAdapter;
 
 import org.eclipse.emf.common.notify.Adapter;
@@ -25,6 +27,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import javax.annotation.Nonnull;
 import javax.annotation.OverridingMethodsMustInvokeSuper;
@@ -203,6 +206,13 @@ public class PersistentResourceDecorator implements PersistentResource {
         resource.load(config);
     }
 
+    @Nonnull
+    @Override
+    @OverridingMethodsMustInvokeSuper
+    public IdProvider idProvider() {
+        return resource.idProvider();
+    }
+
     @Nonnull
     @Override
     @OverridingMethodsMustInvokeSuper
@@ -217,6 +227,27 @@ public class PersistentResourceDecorator implements PersistentResource {
         return resource.allInstancesOf(eClass, strict);
     }
 
+    @Nonnull
+    @Override
+    @OverridingMethodsMustInvokeSuper
+    public <T extends EObject> Stream<T> streamInstancesOf(EClass eClass) {
+        return resource.streamInstancesOf(eClass);
+    }
+
+    @Nonnull
+    @Override
+    @OverridingMethodsMustInvokeSuper
+    public <T extends EObject> Stream<T> streamInstancesOf(EClass eClass, boolean strict) {
+        return resource.streamInstancesOf(eClass, strict);
+    }
+
+    @Nonnull
+    @Override
+    @OverridingMethodsMustInvokeSuper
+    public Stream<PersistentEObject> streamAllContents() {
+        return resource.streamAllContents();
+    }
+
     @Nonnull
     @Override
     @OverridingMethodsMustInvokeSuper
@@ -8,7 +8,10 @@
 
 package fr.inria.atlanmod.neoemf.core;
 
+import fr.inria.atlanmod.neoemf.core.internal.SequentialIdProvider;
+import fr.inria.atlanmod.neoemf.data.store.adapter.StoreAdapter;
 import fr.inria.atlanmod.neoemf.data.store.adapter.TransientStoreAdapter;
+import fr.inria.atlanmod.neoemf.resource.PersistentResource;
 
 import org.atlanmod.commons.AbstractTest;
 import org.junit.jupiter.api.Test;
@@ -19,6 +22,7 @@ import javax.annotation.ParametersAreNonnullByDefault;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
  * A test-case about {@link DefaultPersistentEObject}.
@@ -35,6 +39,33 @@ class DefaultPersistentEObjectTest extends AbstractTest {
         assertThat(object.id()).isNotSameAs(Id.UNDEFINED);
     }
 
+    @Test
+    void testIdGenerationWhileAttached() {
+        IdProvider provider = SequentialIdProvider.forNode(0);
+
+        // Attached before the first call
+        PersistentEObject object = new DefaultPersistentEObject();
+        object.resource(mockResource(provider));
+
+        // Id generated by the provider of the resource
+        Id before = provider.generate();
+        Id id = object.id();
+        assertThat(id).isGreaterThan(before).isLessThan(provider.generate());
+    }
+
+    @Test
+    void testIdGenerationWhileDetached() {
+        IdProvider provider = SequentialIdProvider.forNode(0);
+
+        // Id generated on first call, before being attached
+        PersistentEObject object = new DefaultPersistentEObject();
+        Id id = object.id();
+
+        // Id kept when attached
+        object.resource(mockResource(provider));
+        assertThat(object.id()).isSameAs(id);
+    }
+
     @Test
     void testStoreGeneration() {
         // Created without any store
@@ -75,4 +106,18 @@ class DefaultPersistentEObjectTest extends AbstractTest {
         assertThat(o0).isNotEqualTo(null);
         assertThat(o0).isNotEqualTo(mock(Object.class));
     }
+
+    /**
+     * Creates a mock of a {@link PersistentResource} that generates identifiers with the given {@code provider}.
+     *
+     * @param provider the provider of the resource
+     *
+     * @return a new mock
+     */
+    private static PersistentResource mockResource(IdProvider provider) {
+        PersistentResource resource = mock(PersistentResource.class);
+        when(resource.idProvider()).thenReturn(provider);
+        when(resource.eStore()).thenReturn(mock(StoreAdapter.class));
+        return resource;
+    }
 }
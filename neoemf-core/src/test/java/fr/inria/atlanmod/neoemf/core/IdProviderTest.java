@@ -8,12 +8,19 @@
 
 package fr.inria.atlanmod.neoemf.core;
 
+import fr.inria.atlanmod.neoemf.core.internal.SequentialIdProvider;
+
 import org.atlanmod.commons.AbstractTest;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import javax.annotation.ParametersAreNonnullByDefault;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
 
 /**
  * A test-case about {@link IdProvider} and {@link Id} implementations.
@@ -45,6 +52,62 @@ class IdProviderTest extends AbstractTest {
         assertThat(id0).isNotEqualTo(id1);
     }
 
+    @Test
+    void testGenerateSequential() {
+        IdProvider provider = SequentialIdProvider.getInstance();
+
+        Id previous = provider.generate();
+        for (int i = 0; i < 10_000; i++) {
+            Id current = provider.generate();
+            assertThat(current).isGreaterThan(previous);
+            previous = current;
+        }
+
+        assertThat(previous.toLong()).isPositive();
+    }
+
+    @Test
+    void testGenerateSequentialWithNodes() {
+        IdProvider provider0 = SequentialIdProvider.forNode(0);
+        IdProvider provider1 = SequentialIdProvider.forNode(1);
+
+        assertThat(SequentialIdProvider.forNode(0)).isSameAs(provider0);
+
+        Set<Id> ids = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(ids.add(provider0.generate())).isTrue();
+            assertThat(ids.add(provider1.generate())).isTrue();
+        }
+    }
+
+    @Test
+    void testGenerateSequentialWithInvalidNode() {
+        assertThat(catchThrowable(() -> SequentialIdProvider.forNode(-1)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(catchThrowable(() -> SequentialIdProvider.forNode(SequentialIdProvider.MAX_NODE + 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testGenerateSequentialOverflow() {
+        final int node = SequentialIdProvider.MAX_NODE;
+        final long time = System.currentTimeMillis();
+
+        // The clock is frozen during more calls than the number of identifiers in a millisecond
+        AtomicInteger calls = new AtomicInteger();
+        IdProvider provider = new SequentialIdProvider(node, () -> calls.incrementAndGet() <= 10_000 ? time : time + 1) {
+        };
+
+        Id previous = provider.generate();
+        for (int i = 0; i < 5_000; i++) {
+            Id current = provider.generate();
+            assertThat(current).isGreaterThan(previous);
+            assertThat((current.toLong() >>> 12) & SequentialIdProvider.MAX_NODE).isEqualTo(node);
+            previous = current;
+        }
+    }
+
     @Test
     void testCompareTo() {
         Id id0 = Id.getProvider().fromLong(42);
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2013 Atlanmod.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.core.internal.collect;
+
+import org.atlanmod.commons.AbstractTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A test-case about {@link AllContentsSpliterator}.
+ */
+@ParametersAreNonnullByDefault
+class AllContentsSpliteratorTest extends AbstractTest {
+
+    /**
+     * The root of the tree.
+     */
+    private Node root;
+
+    /**
+     * All the contents of the {@link #root}, in the order of {@link AllContentsIterator}.
+     */
+    private List<Node> expected;
+
+    @BeforeEach
+    void setUp() {
+        root = new Node("root");
+        for (int i = 0; i < 3; i++) {
+            Node child = root.add("" + i);
+            for (int j = 0; j < 4; j++) {
+                Node grandChild = child.add(i + "-" + j);
+                for (int k = 0; k < 5; k++) {
+                    grandChild.add(i + "-" + j + "-" + k);
+                }
+            }
+        }
+
+        expected = new ArrayList<>();
+        new AllContentsIterator<>(root).forEachRemaining(expected::add);
+    }
+
+    /**
+     * Checks that a sequential stream returns the same elements, in the same order, as {@link AllContentsIterator}.
+     */
+    @Test
+    void testSequential() {
+        List<Node> actual = StreamSupport.stream(new AllContentsSpliterator<>(root), false)
+                .collect(Collectors.toList());
+
+        assertThat(actual).hasSize(3 + 3 * 4 + 3 * 4 * 5).isEqualTo(expected);
+    }
+
+    /**
+     * Checks that a parallel stream returns the same elements, in the same order, as {@link AllContentsIterator}.
+     */
+    @Test
+    void testParallel() {
+        List<Node> actual = StreamSupport.stream(new AllContentsSpliterator<>(root), true)
+                .collect(Collectors.toList());
+
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    /**
+     * Checks that splitting returns disjoint prefixes, until a single element remains.
+     */
+    @Test
+    void testSplit() {
+        List<Node> actual = new ArrayList<>();
+
+        Spliterator<Node> spliterator = new AllContentsSpliterator<>(root);
+
+        Spliterator<Node> prefix;
+        while ((prefix = spliterator.trySplit()) != null) {
+            prefix.forEachRemaining(actual::add);
+        }
+
+        assertThat(spliterator.estimateSize()).isZero();
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    /**
+     * A simple tree element.
+     */
+    private static final class Node implements Iterable<Node> {
+
+        /**
+         * The name of this node.
+         */
+        @Nonnull
+        private final String name;
+
+        /**
+         * The children of this node.
+         */
+        @Nonnull
+        private final List<Node> children = new ArrayList<>();
+
+        /**
+         * Constructs a new {@code Node}.
+         *
+         * @param name the name of this node
+         */
+        Node(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Creates a new child of this node.
+         *
+         * @param name the name of the child
+         *
+         * @return the child
+         */
+        @Nonnull
+        Node add(String name) {
+            Node child = new Node(name);
+            children.add(child);
+            return child;
+        }
+
+        @Nonnull
+        @Override
+        public Iterator<Node> iterator() {
+            return children.iterator();
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2013 Atlanmod.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.core.internal.collect;
+
+import org.atlanmod.commons.AbstractTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A test-case about {@link LazyIterator} and {@link LazyListIterator}, when the elements are read in chunks.
+ */
+@ParametersAreNonnullByDefault
+class LazyIteratorTest extends AbstractTest {
+
+    /**
+     * The number of elements in the containing list.
+     */
+    private static final int SIZE = 10;
+
+    /**
+     * The number of elements read at once.
+     */
+    private static final int CHUNK_SIZE = 4;
+
+    /**
+     * The containing list.
+     */
+    private CountingList list;
+
+    /**
+     * The number of sources created by the iterators.
+     */
+    private AtomicInteger sourceCount;
+
+    @BeforeEach
+    void setUp() {
+        list = new CountingList();
+        list.addAll(IntStream.range(0, SIZE).boxed().collect(Collectors.toList()));
+
+        sourceCount = new AtomicInteger();
+    }
+
+    /**
+     * Checks that all elements are returned in order, by creating a single source.
+     */
+    @Test
+    void testNext() {
+        Iterator<Integer> iterator = newListIterator(0);
+
+        List<Integer> values = new ArrayList<>();
+        iterator.forEachRemaining(values::add);
+
+        assertThat(values).isEqualTo(list);
+        assertThat(sourceCount).hasValue(1);
+
+        assertThatThrownBy(iterator::next).isInstanceOf(NoSuchElementException.class);
+    }
+
+    /**
+     * Checks that all elements are returned in reverse order, when iterating backward.
+     */
+    @Test
+    void testPrevious() {
+        ListIterator<Integer> iterator = newListIterator(SIZE);
+
+        List<Integer> values = new ArrayList<>();
+        while (iterator.hasPrevious()) {
+            values.add(0, iterator.previous());
+        }
+
+        assertThat(values).isEqualTo(list);
+
+        assertThatThrownBy(iterator::previous).isInstanceOf(NoSuchElementException.class);
+    }
+
+    /**
+     * Checks that the current chunk remains valid after removing elements with the iterator.
+     */
+    @Test
+    void testRemove() {
+        Iterator<Integer> iterator = newListIterator(0);
+
+        List<Integer> values = new ArrayList<>();
+        while (iterator.hasNext()) {
+            Integer value = iterator.next();
+            values.add(value);
+            if (value % 2 == 0) {
+                iterator.remove();
+            }
+        }
+
+        assertThat(values).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertThat(list).containsExactly(1, 3, 5, 7, 9);
+    }
+
+    /**
+     * Checks that the iterator fails if the containing list is modified by another way.
+     */
+    @Test
+    void testConcurrentModification() {
+        Iterator<Integer> iterator = newListIterator(0);
+        iterator.next();
+
+        list.add(SIZE);
+
+        assertThatThrownBy(iterator::next).isInstanceOf(ConcurrentModificationException.class);
+    }
+
+    /**
+     * Creates a new list iterator over the {@link #list}, that reads the elements in chunks.
+     *
+     * @param index the starting index
+     *
+     * @return a new list iterator
+     */
+    @Nonnull
+    private ListIterator<Integer> newListIterator(@Nonnegative int index) {
+        return new LazyListIterator<>(list, list::modCount, index, i -> {
+            sourceCount.incrementAndGet();
+            return new ArrayList<>(list.subList(i, list.size())).iterator();
+        }, CHUNK_SIZE);
+    }
+
+    /**
+     * An {@link ArrayList} that exposes its modification count.
+     */
+    private static final class CountingList extends ArrayList<Integer> {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Returns the modification count of this list.
+         *
+         * @return the modification count
+         */
+        int modCount() {
+            return modCount;
+        }
+    }
+}
@@ -9,6 +9,7 @@
 package fr.inria.atlanmod.neoemf.data;
 
 import fr.inria.atlanmod.neoemf.AbstractUnitTest;
+import fr.inria.atlanmod.neoemf.config.Config;
 import fr.inria.atlanmod.neoemf.config.ImmutableConfig;
 import fr.inria.atlanmod.neoemf.data.im.InMemoryBackend;
 import fr.inria.atlanmod.neoemf.data.im.InMemoryBackendFactory;
@@ -18,6 +19,7 @@ import fr.inria.atlanmod.neoemf.data.store.NoopStore;
 import fr.inria.atlanmod.neoemf.data.store.Store;
 import fr.inria.atlanmod.neoemf.data.store.StoreFactory;
 
+import org.eclipse.emf.common.util.URI;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -26,12 +28,19 @@ import org.junit.jupiter.params.provider.MethodSource;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
 import java.util.stream.Stream;
 
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 /**
  * An abstract test-cases about {@link BackendFactory} and its implementations.
@@ -94,6 +103,37 @@ public abstract class AbstractBackendFactoryTest extends AbstractUnitTest {
         }
     }
 
+    /**
+     * Checks that a file-based database is refused when opened, if it has been created with another layout version.
+     */
+    @Test
+    public void testOpenWithOtherLayoutVersion() throws IOException {
+        File file = currentTempFile();
+        URI uri = context().createUri(file);
+        assumeTrue(uri.isFile(), "The database is not file-based");
+
+        context().factory().createBackend(uri, context().config()).close();
+        assumeTrue(Config.exists(file.toPath()), "The configuration is not saved");
+
+        Path configFile = file.toPath().resolve("neoemf.conf");
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(configFile)) {
+            properties.load(reader);
+        }
+
+        int version = Integer.parseInt(properties.getProperty("neoemf.backend.layout", "0"));
+
+        properties.setProperty("neoemf.backend.layout", String.valueOf(version + 1));
+        try (Writer writer = Files.newBufferedWriter(configFile)) {
+            properties.store(writer, null);
+        }
+
+        assertThatThrownBy(() -> context().factory().createBackend(uri, context().config()))
+                .isInstanceOf(InvalidBackendException.class)
+                .hasCauseInstanceOf(InvalidBackendException.class)
+                .hasStackTraceContaining("layout version " + (version + 1));
+    }
+
     /**
      * Returns a stream of arguments of an {@link ImmutableConfig} and the corresponding {@link Backend} class.
      */
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2013 Atlanmod.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.bean;
+
+import org.atlanmod.commons.AbstractTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A test-case about {@link ClassDictionary}.
+ */
+@ParametersAreNonnullByDefault
+class ClassDictionaryTest extends AbstractTest {
+
+    /**
+     * Checks that meta-classes are registered with sequential identifiers.
+     */
+    @Test
+    void testRegister() {
+        ClassDictionary dictionary = new ClassDictionary();
+
+        ClassBean metaClass0 = ClassBean.of("Class0", "Uri0");
+        ClassBean metaClass1 = ClassBean.of("Class1", "Uri0");
+
+        assertThat(dictionary.register(metaClass0)).isEqualTo(0);
+        assertThat(dictionary.register(metaClass1)).isEqualTo(1);
+        assertThat(dictionary.register(ClassBean.of("Class0", "Uri0"))).isEqualTo(0);
+
+        assertThat(dictionary.nextId()).isEqualTo(2);
+        assertThat(dictionary.idOf(metaClass1)).contains(1);
+        assertThat(dictionary.classOf(0)).contains(metaClass0);
+        assertThat(dictionary.classOf(2)).isNotPresent();
+    }
+
+    /**
+     * Checks the retrieval of the identifiers of several meta-classes, when some of them are not registered.
+     */
+    @Test
+    void testIdsOf() {
+        ClassDictionary dictionary = new ClassDictionary();
+
+        ClassBean metaClass0 = ClassBean.of("Class0", "Uri0");
+        ClassBean metaClass1 = ClassBean.of("Class1", "Uri0");
+
+        dictionary.register(4, metaClass0);
+
+        assertThat(dictionary.idsOf(new HashSet<>(Arrays.asList(metaClass0, metaClass1)))).containsExactly(4);
+    }
+
+    /**
+     * Checks that an identifier cannot be associated with 2 different meta-classes.
+     */
+    @Test
+    void testRegisterConflict() {
+        ClassDictionary dictionary = new ClassDictionary();
+
+        dictionary.register(0, ClassBean.of("Class0", "Uri0"));
+
+        assertThatThrownBy(() -> dictionary.register(0, ClassBean.of("Class1", "Uri0")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
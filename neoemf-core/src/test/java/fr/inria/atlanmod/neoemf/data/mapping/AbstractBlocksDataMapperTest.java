@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2013 Atlanmod.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.mapping;
+
+import fr.inria.atlanmod.neoemf.data.store.Store;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * An abstract test-case about {@link DataMapper}s that store multi-valued features in blocks, with {@link
+ * ManyValueWithBlocks}.
+ */
+@ParametersAreNonnullByDefault
+public abstract class AbstractBlocksDataMapperTest extends AbstractSegmentedDataMapperTest {
+
+    @Override
+    protected int segmentSize() {
+        return ManyValueWithBlocks.DEFAULT_BLOCK_CAPACITY;
+    }
+
+    /**
+     * Checks that the number of blocks remains proportional to the number of values, when the values are inserted and
+     * removed at the start of the feature.
+     */
+    @Test
+    public void testBlockCountAfterInsertionsAtStart() {
+        final int size = segmentSize();
+        final int count = size * 8;
+        List<String> expected = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            add(expected, 0, "value" + i);
+
+            if (i % size == 0) {
+                assertBlockCount(expected.size());
+            }
+        }
+        assertContains(expected);
+
+        while (!expected.isEmpty()) {
+            remove(expected, 0);
+
+            if (expected.size() % size == 0) {
+                assertBlockCount(expected.size());
+            }
+        }
+        assertThat(blockCount()).isZero();
+    }
+
+    /**
+     * Checks that the {@link #FEATURE} is stored in at most one block more than twice the minimum number of blocks to
+     * store {@code size} values.
+     *
+     * @param size the number of values
+     */
+    private void assertBlockCount(@Nonnegative int size) {
+        assertThat(blockCount()).isLessThanOrEqualTo(size * 2 / segmentSize() + 1);
+    }
+
+    /**
+     * Returns the number of blocks of the {@link #FEATURE}, read from the back-end to bypass the caches of the stores.
+     *
+     * @return the number of blocks
+     */
+    @Nonnegative
+    private int blockCount() {
+        DataMapper backend = mapper instanceof Store ? ((Store) mapper).backend() : mapper;
+        return BlockTable.of(backend, FEATURE).blockCount();
+    }
+}
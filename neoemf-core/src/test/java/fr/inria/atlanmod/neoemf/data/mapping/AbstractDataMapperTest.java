@@ -27,8 +27,11 @@ import org.junit.jupiter.params.provider.ArgumentsSource;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import javax.annotation.Nonnull;
@@ -282,6 +285,49 @@ public abstract class AbstractDataMapperTest extends AbstractUnitTest {
         )).isInstanceOf(NullPointerException.class);
     }
 
+    /**
+     * Checks the behavior of {@link ClassMapper#allInstancesOf(Set)}.
+     */
+    @Test
+    public void testAllInstancesOf() {
+        Id id0 = Id.getProvider().fromLong(40);
+        Id id1 = Id.getProvider().fromLong(41);
+        Id id2 = Id.getProvider().fromLong(43);
+
+        ClassBean metaClass0 = ClassBean.of("Metaclass1", "Uri1");
+        ClassBean metaClass1 = ClassBean.of("Metaclass2", "Uri2");
+
+        mapper.metaClassFor(id0, metaClass0);
+        mapper.metaClassFor(id1, metaClass1);
+        mapper.metaClassFor(id2, metaClass0);
+
+        // Already defined: must not be indexed twice
+        mapper.metaClassFor(id0, metaClass1);
+
+        assertThat(mapper.allInstancesOf(Collections.singleton(metaClass0))).containsExactlyInAnyOrder(id0, id2);
+        assertThat(mapper.allInstancesOf(Collections.singleton(metaClass1))).containsExactlyInAnyOrder(id1);
+        assertThat(mapper.allInstancesOf(new HashSet<>(Arrays.asList(metaClass0, metaClass1)))).containsExactlyInAnyOrder(id0, id1, id2);
+    }
+
+    /**
+     * Checks the behavior of {@link ClassMapper#allInstancesOf(Set)} when the returned stream is not entirely consumed:
+     * the mapper must still be closed normally.
+     */
+    @Test
+    public void testAllInstancesOf_PartiallyConsumed() {
+        ClassBean metaClass0 = ClassBean.of("Metaclass1", "Uri1");
+
+        IntStream.range(0, 10).forEach(i -> mapper.metaClassFor(Id.getProvider().fromLong(40 + i), metaClass0));
+
+        assertThat(mapper.allInstancesOf(Collections.singleton(metaClass0)).findFirst()).isPresent();
+
+        try (Stream<Id> instances = mapper.allInstancesOf(Collections.singleton(metaClass0))) {
+            assertThat(instances.limit(2)).hasSize(2);
+        }
+
+        assertThat(catchThrowable(() -> mapper.close())).isNull();
+    }
+
     //endregion
 
     //region Single-value features
@@ -302,6 +348,22 @@ public abstract class AbstractDataMapperTest extends AbstractUnitTest {
         assertThat(m.get(sfBase)).contains(value1);
     }
 
+    /**
+     * Checks the behavior of {@link ValueMapper#valueOf(SingleFeatureBean)} and {@link
+     * ValueMapper#setValue(SingleFeatureBean, Object)}.
+     */
+    @ParameterizedTest(name = TEST_NAME_PATTERN)
+    @ArgumentsSource(ParametersProvider.class)
+    public void testGetSetBlind_Single(RedirectionType type, Object value0, Object value1) {
+        DataMapperRedirector m = new DataMapperRedirector(mapper, type);
+
+        m.setBlind(sfBase, value0);
+        assertThat(m.get(sfBase)).contains(value0);
+
+        m.setBlind(sfBase, value1);
+        assertThat(m.get(sfBase)).contains(value1);
+    }
+
     /**
      * Checks the behavior of {@link ValueMapper#valueOf(SingleFeatureBean)}.
      */
@@ -883,6 +945,59 @@ public abstract class AbstractDataMapperTest extends AbstractUnitTest {
 
     //endregion
 
+    //region Bulk loading
+
+    /**
+     * Checks the behavior of {@link DataMapper#newBulkLoader()}.
+     */
+    @Test
+    public void testBulkLoad() {
+        final int count = 50;
+
+        List<Id> children = IntStream.rangeClosed(1, count)
+                .mapToObj(i -> Id.getProvider().fromLong(idBase.toLong() + i))
+                .collect(Collectors.toList());
+
+        try (BulkLoader loader = mapper.newBulkLoader()) {
+            // Load the elements in the reverse order of their identifier
+            for (int i = count - 1; i >= 0; i--) {
+                loader.load(new BulkElement(children.get(i)).metaClass(cBase).container(sfBase));
+            }
+
+            // The base element is already defined: only its features are loaded
+            loader.load(new BulkElement(idBase)
+                    .value(0, "value0")
+                    .appendValues(1, Arrays.asList("value1", "value2"))
+                    .appendValues(1, Collections.singletonList("value3"))
+                    .reference(2, id0)
+                    .appendReferences(sfBase.id(), children));
+        }
+
+        for (Id id : children) {
+            assertThat(mapper.metaClassOf(id)).contains(cBase);
+            assertThat(mapper.containerOf(id)).contains(sfBase);
+        }
+
+        assertThat(mapper.<String>valueOf(SingleFeatureBean.of(idBase, 0))).contains("value0");
+        assertThat(mapper.<String>allValuesOf(SingleFeatureBean.of(idBase, 1))).containsExactly("value1", "value2", "value3");
+        assertThat(mapper.referenceOf(SingleFeatureBean.of(idBase, 2))).contains(id0);
+        assertThat(mapper.allReferencesOf(sfBase)).containsExactlyElementsOf(children);
+    }
+
+    /**
+     * Checks the behavior of {@link DataMapper#newBulkLoader()} when an element is already defined.
+     */
+    @Test
+    public void testBulkLoad_AlreadyDefined() {
+        assertThat(catchThrowable(() -> {
+            try (BulkLoader loader = mapper.newBulkLoader()) {
+                loader.load(new BulkElement(idBase).metaClass(cBase));
+            }
+        })).isInstanceOf(IllegalStateException.class);
+    }
+
+    //endregion
+
     /**
      * An {@link ArgumentsProvider} that with values defined by {@link RedirectionType type}.
      */
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2013 Atlanmod.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.mapping;
+
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * An abstract test-case about {@link DataMapper}s that store multi-valued features in segments of bounded size, such as
+ * {@link ManyValueWithBlocks} and {@link ManyValueWithChunks}. It checks the operations around the bounds of a
+ * segment.
+ */
+@ParametersAreNonnullByDefault
+public abstract class AbstractSegmentedDataMapperTest extends AbstractDataMapperTest {
+
+    /**
+     * The multi-valued feature used by the boundary tests.
+     */
+    protected static final SingleFeatureBean FEATURE = SingleFeatureBean.of(idBase, 7);
+
+    /**
+     * Returns the maximum number of values in a segment of the tested mapper.
+     *
+     * @return the size of a segment
+     */
+    @Nonnegative
+    protected abstract int segmentSize();
+
+    /**
+     * Checks the behavior of {@link DataMapper#addValue(fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean, Object)}
+     * when the number of values crosses the size of a segment.
+     */
+    @Test
+    public void testAddValueAroundSegmentSize() {
+        final int size = segmentSize();
+        List<String> expected = new ArrayList<>();
+
+        // Append until one value after the second segment is full
+        for (int i = 0; i <= size * 2; i++) {
+            add(expected, i, "value" + i);
+
+            // Check around the bounds of the segments
+            if (i % size <= 1 || i % size == size - 1) {
+                assertContains(expected);
+            }
+        }
+
+        // Insert at the start, at the end of the first segment, and at the start of the second one
+        add(expected, 0, "first");
+        add(expected, size - 1, "last0");
+        add(expected, size, "first1");
+        add(expected, expected.size(), "last");
+
+        assertContains(expected);
+    }
+
+    /**
+     * Checks the behavior of {@link DataMapper#removeValue(fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean)} when
+     * the number of values crosses the size of a segment.
+     */
+    @Test
+    public void testRemoveValueAroundSegmentSize() {
+        final int size = segmentSize();
+        List<String> expected = fill(size * 2 + 1);
+
+        // Remove at the bounds of the segments
+        remove(expected, size);
+        remove(expected, size - 1);
+        remove(expected, 0);
+        remove(expected, expected.size() - 1);
+
+        assertContains(expected);
+
+        // Remove until a single segment remains
+        while (expected.size() > size - 1) {
+            remove(expected, expected.size() / 2);
+        }
+
+        assertContains(expected);
+    }
+
+    /**
+     * Checks the behavior of {@link DataMapper#addAllValues(fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean,
+     * List)} when the inserted values do not fit in the current segment.
+     */
+    @Test
+    public void testAddAllValuesAcrossSegments() {
+        final int size = segmentSize();
+        List<String> expected = fill(size - 1);
+
+        List<String> collection0 = values("inserted", size + 2);
+        mapper.addAllValues(FEATURE.withPosition(size / 2), collection0);
+        expected.addAll(size / 2, collection0);
+
+        assertContains(expected);
+
+        List<String> collection1 = values("appended", size * 2);
+        mapper.addAllValues(FEATURE.withPosition(expected.size()), collection1);
+        expected.addAll(collection1);
+
+        assertContains(expected);
+    }
+
+    /**
+     * Checks the behavior of {@link DataMapper#removeValue(fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean)} until
+     * all values are removed.
+     */
+    @Test
+    public void testRemoveValueUntilEmpty() {
+        final int size = segmentSize();
+        List<String> expected = fill(size * 2 + 1);
+
+        while (!expected.isEmpty()) {
+            remove(expected, 0);
+        }
+
+        assertThat(mapper.sizeOfValue(FEATURE)).isNotPresent();
+        assertThat(mapper.<String>allValuesOf(FEATURE)).isEmpty();
+        assertThat(mapper.<String>valueOf(FEATURE.withPosition(0))).isNotPresent();
+
+        // The feature can be used again
+        add(expected, 0, "value0");
+        assertContains(expected);
+    }
+
+    /**
+     * Creates a list of {@code count} values, starting with the given {@code prefix}.
+     *
+     * @param prefix the prefix of the values
+     * @param count  the number of values
+     *
+     * @return a new list
+     */
+    private static List<String> values(String prefix, @Nonnegative int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> prefix + i)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Appends {@code count} values to the {@link #FEATURE}.
+     *
+     * @param count the number of values
+     *
+     * @return the list of the appended values
+     */
+    private List<String> fill(@Nonnegative int count) {
+        List<String> expected = values("value", count);
+        mapper.appendAllValues(FEATURE, expected);
+        return new ArrayList<>(expected);
+    }
+
+    /**
+     * Adds the {@code value} at the given {@code position}, in the {@link #FEATURE} and in the {@code expected} list.
+     *
+     * @param expected the expected values
+     * @param position the position of the value
+     * @param value    the value to add
+     */
+    protected void add(List<String> expected, @Nonnegative int position, String value) {
+        mapper.addValue(FEATURE.withPosition(position), value);
+        expected.add(position, value);
+    }
+
+    /**
+     * Removes the value at the given {@code position}, in the {@link #FEATURE} and in the {@code expected} list.
+     *
+     * @param expected the expected values
+     * @param position the position of the value
+     */
+    protected void remove(List<String> expected, @Nonnegative int position) {
+        assertThat(mapper.<String>removeValue(FEATURE.withPosition(position))).contains(expected.remove(position));
+    }
+
+    /**
+     * Checks that the {@link #FEATURE} contains the {@code expected} values, in order.
+     *
+     * @param expected the expected values
+     */
+    protected void assertContains(List<String> expected) {
+        assertThat(mapper.sizeOfValue(FEATURE)).contains(expected.size());
+        assertThat(mapper.<String>allValuesOf(FEATURE)).containsExactlyElementsOf(expected);
+
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(mapper.<String>valueOf(FEATURE.withPosition(i))).contains(expected.get(i));
+        }
+        assertThat(mapper.<String>valueOf(FEATURE.withPosition(expected.size()))).isNotPresent();
+    }
+}
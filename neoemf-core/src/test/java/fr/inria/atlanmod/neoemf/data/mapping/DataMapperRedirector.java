@@ -82,6 +82,19 @@ class DataMapperRedirector {
         }
     }
 
+    /**
+     * Redirects the call to {@link DataMapper#setValue(SingleFeatureBean, Object)} ou {@link
+     * DataMapper#setReference(SingleFeatureBean, Id)} according to the redirection type.
+     */
+    public <V> void setBlind(SingleFeatureBean feature, V value) {
+        if (type == RedirectionType.ATTRIBUTE) {
+            delegate.setValue(feature, value);
+        }
+        else {
+            delegate.setReference(feature, (Id) value);
+        }
+    }
+
     /**
      * Redirects the call to {@link DataMapper#removeValue(SingleFeatureBean)} ou {@link
      * DataMapper#removeReference(SingleFeatureBean)} according to the redirection type.
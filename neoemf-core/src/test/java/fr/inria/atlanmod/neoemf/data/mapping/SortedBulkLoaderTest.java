@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2013 Atlanmod.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.mapping;
+
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+import fr.inria.atlanmod.neoemf.data.im.DefaultInMemoryBackend;
+
+import org.atlanmod.commons.AbstractTest;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A test-case about {@link SortedBulkLoader}.
+ */
+@ParametersAreNonnullByDefault
+class SortedBulkLoaderTest extends AbstractTest {
+
+    /**
+     * The meta-class of the loaded elements.
+     */
+    private static final ClassBean META_CLASS = ClassBean.of("Metaclass0", EcorePackage.eNS_URI);
+
+    /**
+     * Checks that the elements are written in order, when the loader is full or closed.
+     */
+    @Test
+    void testOrder() {
+        try (RecordingBackend backend = new RecordingBackend()) {
+            try (BulkLoader loader = new SortedBulkLoader(backend, 3, Comparator.naturalOrder())) {
+                for (long i : new long[]{5, 2, 4, 1, 3}) {
+                    loader.load(new BulkElement(Id.getProvider().fromLong(i)).metaClass(META_CLASS));
+                }
+
+                // The first 3 elements have been written when the loader was full
+                assertThat(backend.created).containsExactly(2L, 4L, 5L);
+            }
+
+            assertThat(backend.created).containsExactly(2L, 4L, 5L, 1L, 3L);
+        }
+    }
+
+    /**
+     * Checks that the content loaded by a {@link SortedBulkLoader} is the same as the content loaded in the original
+     * order by a {@link DefaultBulkLoader}.
+     */
+    @Test
+    void testEquivalence() {
+        final int count = 20;
+
+        List<BulkElement> elements = IntStream.range(0, count)
+                .map(i -> (i * 7) % count) // Shuffled order
+                .mapToObj(i -> {
+                    Id id = Id.getProvider().fromLong(i + 1);
+                    BulkElement element = new BulkElement(id).metaClass(META_CLASS).value(0, "value" + i);
+                    if (i > 0) {
+                        element.container(SingleFeatureBean.of(Id.getProvider().fromLong(1), 1));
+                    }
+                    return element;
+                })
+                .collect(Collectors.toList());
+
+        List<Id> children = LongStream.rangeClosed(2, count)
+                .mapToObj(Id.getProvider()::fromLong)
+                .collect(Collectors.toList());
+
+        try (DataMapper expected = new DefaultInMemoryBackend(); DataMapper actual = new DefaultInMemoryBackend()) {
+            try (BulkLoader loader = new DefaultBulkLoader(expected)) {
+                elements.forEach(loader::load);
+                loader.load(new BulkElement(Id.getProvider().fromLong(1)).appendReferences(1, children));
+            }
+
+            try (BulkLoader loader = new SortedBulkLoader(actual, 3, Comparator.naturalOrder())) {
+                elements.forEach(loader::load);
+                loader.load(new BulkElement(Id.getProvider().fromLong(1)).appendReferences(1, children));
+            }
+
+            assertThat(actual.allInstancesOf(Collections.singleton(META_CLASS)).map(Id::toLong).sorted())
+                    .containsExactlyElementsOf(expected.allInstancesOf(Collections.singleton(META_CLASS)).map(Id::toLong).sorted().collect(Collectors.toList()));
+
+            for (BulkElement element : elements) {
+                Id id = element.id();
+                assertThat(actual.metaClassOf(id)).isEqualTo(expected.metaClassOf(id));
+                assertThat(actual.containerOf(id)).isEqualTo(expected.containerOf(id));
+                assertThat(actual.<String>valueOf(SingleFeatureBean.of(id, 0))).isEqualTo(expected.<String>valueOf(SingleFeatureBean.of(id, 0)));
+            }
+
+            SingleFeatureBean contents = SingleFeatureBean.of(Id.getProvider().fromLong(1), 1);
+            assertThat(actual.allReferencesOf(contents)).containsExactlyElementsOf(expected.allReferencesOf(contents).collect(Collectors.toList()));
+        }
+    }
+
+    /**
+     * Checks that a capacity lower than 1 is rejected.
+     */
+    @Test
+    void testInvalidCapacity() {
+        try (RecordingBackend backend = new RecordingBackend()) {
+            assertThatThrownBy(() -> new SortedBulkLoader(backend, 0, Comparator.naturalOrder()))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    /**
+     * A {@link DefaultInMemoryBackend} that records the identifiers of the created elements, in order.
+     */
+    private static final class RecordingBackend extends DefaultInMemoryBackend {
+
+        /**
+         * The identifiers of the created elements.
+         */
+        private final List<Long> created = new ArrayList<>();
+
+        @Override
+        public boolean metaClassFor(Id id, ClassBean metaClass) {
+            created.add(id.toLong());
+            return super.metaClassFor(id, metaClass);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2013 Atlanmod.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.store;
+
+import fr.inria.atlanmod.neoemf.config.BaseConfig;
+import fr.inria.atlanmod.neoemf.config.InvalidConfigException;
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+import fr.inria.atlanmod.neoemf.data.im.DefaultInMemoryBackend;
+
+import org.atlanmod.commons.AbstractTest;
+import org.atlanmod.commons.cache.CacheStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A test-case about the {@link AbstractCachingStore}s, their bounds, their statistics and the caching of absent values.
+ */
+@ParametersAreNonnullByDefault
+class CachingStoreTest extends AbstractTest {
+
+    /**
+     * The maximum number of entries in the caches.
+     */
+    private static final long MAXIMUM_SIZE = 10;
+
+    /**
+     * The number of features, greater than the maximum size of the caches.
+     */
+    private static final int SIZE = 100;
+
+    /**
+     * Checks that the statistics of each cache of the chain are exposed, and that hits and misses are recorded.
+     */
+    @Test
+    void testCacheStats() {
+        try (Store store = StoreFactory.getInstance().createStore(new DefaultInMemoryBackend(), new BaseConfig<>().cacheSizes().cacheContainers())) {
+            assertThat(store.cacheStats()).containsOnlyKeys("SizeCachingStore", "ContainerCachingStore");
+
+            SingleFeatureBean feature = SingleFeatureBean.of(Id.getProvider().fromLong(42), 0);
+            store.sizeOfValue(feature);
+            store.sizeOfValue(feature);
+            store.sizeOfValue(feature);
+
+            CacheStats stats = store.cacheStats().get("SizeCachingStore");
+            assertThat(stats.missCount()).isEqualTo(1);
+            assertThat(stats.hitCount()).isEqualTo(2);
+        }
+    }
+
+    /**
+     * Checks that a bounded cache still returns the right values when it holds more entries than its maximum size.
+     */
+    @Test
+    void testBoundedCache() {
+        try (Store store = StoreFactory.getInstance().createStore(new DefaultInMemoryBackend(), new BaseConfig<>().cacheFeatures(MAXIMUM_SIZE))) {
+            IntStream.range(0, SIZE).forEach(i -> store.setValue(SingleFeatureBean.of(Id.getProvider().fromLong(i), 0), i));
+
+            IntStream.range(0, SIZE).forEach(i -> assertThat(store.valueOf(SingleFeatureBean.of(Id.getProvider().fromLong(i), 0))).contains(i));
+
+            Map<String, CacheStats> stats = store.cacheStats();
+            assertThat(stats).containsOnlyKeys("FeatureCachingStore");
+            assertThat(stats.get("FeatureCachingStore").requestCount()).isGreaterThanOrEqualTo(SIZE);
+        }
+    }
+
+    /**
+     * Checks that the absence of value is cached, and replaced when the feature is defined.
+     */
+    @Test
+    void testAbsentValue() {
+        try (Store store = StoreFactory.getInstance().createStore(new DefaultInMemoryBackend(), new BaseConfig<>().cacheFeatures())) {
+            SingleFeatureBean feature = SingleFeatureBean.of(Id.getProvider().fromLong(42), 0);
+
+            assertThat(store.valueOf(feature)).isNotPresent();
+            assertThat(store.valueOf(feature)).isNotPresent();
+
+            CacheStats stats = store.cacheStats().get("FeatureCachingStore");
+            assertThat(stats.hitCount()).isEqualTo(1);
+
+            store.setValue(feature, "value0");
+            assertThat(store.<String>valueOf(feature)).contains("value0");
+
+            store.removeValue(feature);
+            assertThat(store.valueOf(feature)).isNotPresent();
+        }
+    }
+
+    /**
+     * Checks that the values of a multi-valued feature that are cached as absent, are replaced when they are inserted.
+     */
+    @Test
+    void testAbsentManyValue() {
+        try (Store store = StoreFactory.getInstance().createStore(new DefaultInMemoryBackend(), new BaseConfig<>().cacheFeatures().cacheSizes())) {
+            SingleFeatureBean feature = SingleFeatureBean.of(Id.getProvider().fromLong(42), 0);
+            store.appendAllValues(feature, Arrays.asList("a", "b"));
+
+            assertThat(store.valueOf(feature.withPosition(2))).isNotPresent();
+            assertThat(store.valueOf(feature.withPosition(3))).isNotPresent();
+
+            store.addAllValues(feature.withPosition(0), Arrays.asList("y", "z"));
+            assertThat(store.<String>valueOf(feature.withPosition(2))).contains("a");
+            assertThat(store.<String>valueOf(feature.withPosition(3))).contains("b");
+
+            assertThat(store.removeValue(feature.withPosition(4))).isNotPresent();
+            assertThat(store.sizeOfValue(feature)).contains(4);
+        }
+    }
+
+    /**
+     * Checks that the meta-class of an element can be defined after its absence has been cached.
+     */
+    @Test
+    void testAbsentMetaClass() {
+        try (Store store = StoreFactory.getInstance().createStore(new DefaultInMemoryBackend(), new BaseConfig<>().cacheMetaClasses())) {
+            Id id = Id.getProvider().fromLong(42);
+            ClassBean metaClass = ClassBean.of("Class0", "Uri0");
+
+            assertThat(store.metaClassOf(id)).isNotPresent();
+
+            assertThat(store.metaClassFor(id, metaClass)).isTrue();
+            assertThat(store.metaClassOf(id)).contains(metaClass);
+        }
+    }
+
+    /**
+     * Checks that a cache cannot be bounded with a negative or zero size.
+     */
+    @Test
+    void testInvalidMaximumSize() {
+        assertThatThrownBy(() -> new BaseConfig<>().cacheFeatures(0))
+                .isInstanceOf(InvalidConfigException.class);
+
+        assertThatThrownBy(() -> new BaseConfig<>().cacheSizes(-1))
+                .isInstanceOf(InvalidConfigException.class);
+    }
+}
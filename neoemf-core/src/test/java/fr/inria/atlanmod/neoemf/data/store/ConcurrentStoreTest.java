@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2013 Atlanmod.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.store;
+
+import fr.inria.atlanmod.neoemf.config.BaseConfig;
+import fr.inria.atlanmod.neoemf.config.ImmutableConfig;
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+import fr.inria.atlanmod.neoemf.data.im.DefaultInMemoryBackend;
+import fr.inria.atlanmod.neoemf.data.store.listener.StoreStats;
+
+import org.atlanmod.commons.AbstractTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static java.util.Objects.nonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A test-case about {@link ConcurrentStore}.
+ */
+@ParametersAreNonnullByDefault
+class ConcurrentStoreTest extends AbstractTest {
+
+    /**
+     * The number of threads that query the store at the same time.
+     */
+    private static final int THREADS = 8;
+
+    /**
+     * The number of values of each feature.
+     */
+    private static final int SIZE = 100;
+
+    private Store store;
+
+    private StoreStats stats;
+
+    @BeforeEach
+    void setUp() {
+        stats = new StoreStats();
+
+        ImmutableConfig config = new BaseConfig<>()
+                .concurrent()
+                .cacheFeatures()
+                .recordStats(stats);
+        assertThat(config.isConcurrent()).isTrue();
+
+        store = StoreFactory.getInstance().createStore(new DefaultInMemoryBackend(), config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (nonNull(store)) {
+            store.close();
+        }
+    }
+
+    /**
+     * Checks that the {@link ConcurrentStore} is the first store of the chain, before the listeners.
+     */
+    @Test
+    void testOrder() {
+        assertThat(store).isExactlyInstanceOf(ConcurrentStore.class);
+    }
+
+    /**
+     * Checks that several threads can read the same features at the same time, and that all calls are recorded.
+     */
+    @Test
+    void testConcurrentReads() throws Exception {
+        SingleFeatureBean feature = SingleFeatureBean.of(Id.getProvider().fromLong(42), 0);
+        IntStream.range(0, SIZE).forEach(i -> store.addValue(feature.withPosition(i), i));
+
+        Callable<List<Integer>> task = () -> IntStream.range(0, SIZE)
+                .mapToObj(i -> store.<Integer>valueOf(feature.withPosition(i)).orElse(null))
+                .collect(Collectors.toList());
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<List<Integer>>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(task));
+            }
+
+            List<Integer> expected = IntStream.range(0, SIZE).boxed().collect(Collectors.toList());
+            for (Future<List<Integer>> result : results) {
+                assertThat(result.get()).isEqualTo(expected);
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(stats.methodInvocations()).containsEntry("valueOf", (long) THREADS * SIZE);
+    }
+
+    /**
+     * Checks that several threads can read and update features at the same time, when the modifications are buffered
+     * behind the caches: the buffer is regularly flushed, and must never be flushed during a read.
+     */
+    @Test
+    void testConcurrentReadsWithBuffer() throws Exception {
+        ImmutableConfig config = new BaseConfig<>()
+                .concurrent()
+                .writeBehind(SIZE / 10)
+                .cacheElements()
+                .cacheFeatures();
+
+        Store bufferedStore = StoreFactory.getInstance().createStore(new DefaultInMemoryBackend(), config);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            SingleFeatureBean feature = SingleFeatureBean.of(Id.getProvider().fromLong(42), 0);
+            IntStream.range(0, SIZE).forEach(i -> bufferedStore.addValue(feature.withPosition(i), i));
+
+            Callable<List<Integer>> readTask = () -> IntStream.range(0, SIZE)
+                    .mapToObj(i -> bufferedStore.<Integer>valueOf(feature.withPosition(i)).orElse(null))
+                    .collect(Collectors.toList());
+
+            List<Future<List<Integer>>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                SingleFeatureBean writtenFeature = SingleFeatureBean.of(Id.getProvider().fromLong(i), 0);
+
+                Callable<List<Integer>> writeTask = () -> {
+                    IntStream.range(0, SIZE).forEach(v -> bufferedStore.appendValue(writtenFeature, v));
+                    return bufferedStore.<Integer>allValuesOf(writtenFeature).collect(Collectors.toList());
+                };
+
+                results.add(executor.submit(i % 2 == 0 ? readTask : writeTask));
+            }
+
+            List<Integer> expected = IntStream.range(0, SIZE).boxed().collect(Collectors.toList());
+            for (Future<List<Integer>> result : results) {
+                assertThat(result.get()).isEqualTo(expected);
+            }
+
+            assertThat(bufferedStore.allValuesOf(feature)).containsExactlyElementsOf(expected);
+        }
+        finally {
+            executor.shutdownNow();
+            bufferedStore.close();
+        }
+    }
+
+    /**
+     * Checks that a stream returned by the store is not affected by later modifications.
+     */
+    @Test
+    void testStreamSnapshot() {
+        SingleFeatureBean feature = SingleFeatureBean.of(Id.getProvider().fromLong(42), 0);
+        store.appendAllValues(feature, IntStream.range(0, SIZE).boxed().collect(Collectors.toList()));
+
+        Stream<Integer> values = store.allValuesOf(feature);
+
+        store.removeAllValues(feature);
+        assertThat(store.sizeOfValue(feature)).isNotPresent();
+
+        assertThat(values).hasSize(SIZE);
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2013 Atlanmod.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.store;
+
+import fr.inria.atlanmod.neoemf.config.BaseConfig;
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.bean.FeatureBean;
+import fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+import fr.inria.atlanmod.neoemf.data.im.DefaultInMemoryBackend;
+
+import org.atlanmod.commons.AbstractTest;
+import org.atlanmod.commons.cache.CacheStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static java.util.Objects.nonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A test-case about {@link ElementCachingStore}.
+ */
+@ParametersAreNonnullByDefault
+class ElementCachingStoreTest extends AbstractTest {
+
+    private final Id id = Id.getProvider().fromLong(42);
+
+    private final SingleFeatureBean name = SingleFeatureBean.of(id, 0);
+
+    private final SingleFeatureBean values = SingleFeatureBean.of(id, 3);
+
+    private final SingleFeatureBean reference = SingleFeatureBean.of(id, 5);
+
+    private final SingleFeatureBean references = SingleFeatureBean.of(id, 6);
+
+    private final Id id0 = Id.getProvider().fromLong(43);
+
+    private final Id id1 = Id.getProvider().fromLong(44);
+
+    private PrefetchingBackend backend;
+
+    private Store store;
+
+    @BeforeEach
+    void setUp() {
+        backend = new PrefetchingBackend();
+        backend.setValue(name, "name0");
+        backend.appendAllValues(values, Arrays.asList("a", "b", "c"));
+        backend.setReference(reference, id0);
+        backend.appendAllReferences(references, Arrays.asList(id1, id0));
+
+        store = StoreFactory.getInstance().createStore(backend, new BaseConfig<>().cacheElements());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (nonNull(store)) {
+            store.close();
+        }
+    }
+
+    /**
+     * Checks that all the features of an element are prefetched in a single operation, and cached in a single entry.
+     */
+    @Test
+    void testPrefetch() {
+        assertThat(store.<String>valueOf(name)).contains("name0");
+        assertThat(store.<String>valueOf(values.withPosition(1))).contains("b");
+        assertThat(store.<String>valueOf(values.withPosition(2))).contains("c");
+
+        assertThat(backend.prefetchCount).hasValue(1);
+
+        CacheStats stats = store.cacheStats().get("ElementCachingStore");
+        assertThat(stats.missCount()).isEqualTo(1);
+        assertThat(stats.hitCount()).isEqualTo(2);
+    }
+
+    /**
+     * Checks that the cached values follow the modifications of single-valued and multi-valued features.
+     */
+    @Test
+    void testModifications() {
+        assertThat(store.<String>valueOf(name)).contains("name0");
+
+        store.setValue(name, "name1");
+        assertThat(store.<String>valueOf(name)).contains("name1");
+
+        store.removeValue(name);
+        assertThat(store.<String>valueOf(name)).isNotPresent();
+
+        store.addValue(values.withPosition(0), "z");
+        assertThat(store.allValuesOf(values)).containsExactly("z", "a", "b", "c");
+        assertThat(store.<String>valueOf(values.withPosition(3))).contains("c");
+
+        store.removeValue(values.withPosition(1));
+        assertThat(store.<String>valueOf(values.withPosition(1))).contains("b");
+        assertThat(store.<String>valueOf(values.withPosition(3))).isNotPresent();
+
+        store.removeAllValues(values);
+        assertThat(store.<String>valueOf(values.withPosition(0))).isNotPresent();
+
+        assertThat(backend.prefetchCount).hasValue(1);
+    }
+
+    /**
+     * Checks that the prefetched references, returned in their stored form, are converted instead of being loaded
+     * individually.
+     */
+    @Test
+    void testPrefetchedReferences() {
+        assertThat(store.referenceOf(reference)).contains(id0);
+        assertThat(store.referenceOf(references.withPosition(0))).contains(id1);
+        assertThat(store.referenceOf(references.withPosition(1))).contains(id0);
+
+        // The converted references are cached
+        assertThat(store.referenceOf(reference)).contains(id0);
+
+        assertThat(backend.prefetchCount).hasValue(1);
+        assertThat(backend.referenceCount).hasValue(0);
+    }
+
+    /**
+     * Checks that the {@link FeatureCachingStore} converts the prefetched references as well.
+     */
+    @Test
+    void testPrefetchedReferencesWithFeatureCache() {
+        PrefetchingBackend otherBackend = new PrefetchingBackend();
+        otherBackend.setReference(reference, id0);
+        otherBackend.appendAllReferences(references, Arrays.asList(id1, id0));
+
+        try (Store otherStore = StoreFactory.getInstance().createStore(otherBackend, new BaseConfig<>().cacheFeatures())) {
+            assertThat(otherStore.referenceOf(reference)).contains(id0);
+            assertThat(otherStore.referenceOf(references.withPosition(0))).contains(id1);
+            assertThat(otherStore.referenceOf(references.withPosition(1))).contains(id0);
+
+            assertThat(otherBackend.prefetchCount).hasValue(1);
+            assertThat(otherBackend.referenceCount).hasValue(0);
+        }
+    }
+
+    /**
+     * An in-memory back-end that prefetches the single-valued feature {@code 0}, the multi-valued feature {@code 3},
+     * and the references {@code 5} and {@code 6} of an element. The references are returned as {@link Long}, as a
+     * back-end that stores them in another form.
+     */
+    private static final class PrefetchingBackend extends DefaultInMemoryBackend {
+
+        /**
+         * The number of calls to {@link #prefetch(Id)}.
+         */
+        private final AtomicInteger prefetchCount = new AtomicInteger();
+
+        /**
+         * The number of references loaded individually.
+         */
+        private final AtomicInteger referenceCount = new AtomicInteger();
+
+        @Nonnull
+        @Override
+        public Optional<Id> referenceOf(SingleFeatureBean feature) {
+            referenceCount.incrementAndGet();
+            return super.referenceOf(feature);
+        }
+
+        @Nonnull
+        @Override
+        public Optional<Id> referenceOf(ManyFeatureBean feature) {
+            referenceCount.incrementAndGet();
+            return super.referenceOf(feature);
+        }
+
+        @Nonnull
+        @Override
+        public Optional<Id> referenceFrom(Object value) {
+            return Optional.of(Id.getProvider().fromLong((Long) value));
+        }
+
+        @Nonnull
+        @Override
+        public Optional<Id> manyReferenceFrom(Object value) {
+            return Optional.of(Id.getProvider().fromLong((Long) value));
+        }
+
+        @Nonnull
+        @Override
+        public Map<FeatureBean, Object> prefetch(Id id) {
+            prefetchCount.incrementAndGet();
+
+            Map<FeatureBean, Object> values = new HashMap<>();
+
+            SingleFeatureBean singleFeature = SingleFeatureBean.of(id, 0);
+            valueOf(singleFeature).ifPresent(v -> values.put(singleFeature, v));
+
+            SingleFeatureBean manyFeature = SingleFeatureBean.of(id, 3);
+            for (int i = 0; i < sizeOfValue(manyFeature).orElse(0); i++) {
+                ManyFeatureBean feature = manyFeature.withPosition(i);
+                valueOf(feature).ifPresent(v -> values.put(feature, v));
+            }
+
+            SingleFeatureBean singleReference = SingleFeatureBean.of(id, 5);
+            super.referenceOf(singleReference).ifPresent(r -> values.put(singleReference, r.toLong()));
+
+            SingleFeatureBean manyReference = SingleFeatureBean.of(id, 6);
+            for (int i = 0; i < sizeOfReference(manyReference).orElse(0); i++) {
+                ManyFeatureBean feature = manyReference.withPosition(i);
+                super.referenceOf(feature).ifPresent(r -> values.put(feature, r.toLong()));
+            }
+
+            return values;
+        }
+    }
+}
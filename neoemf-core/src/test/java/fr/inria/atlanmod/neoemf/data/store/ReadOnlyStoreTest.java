@@ -119,6 +119,13 @@ class ReadOnlyStoreTest extends AbstractTest {
         ).isExactlyInstanceOf(READONLY_EXCEPTION_TYPE);
     }
 
+    @Test
+    void testSetValue() {
+        assertThat(
+                catchThrowable(() -> store.setValue(mock(SingleFeatureBean.class), mock(Object.class)))
+        ).isExactlyInstanceOf(READONLY_EXCEPTION_TYPE);
+    }
+
     @Test
     void testRemoveValue() {
         assertThat(
@@ -140,6 +147,13 @@ class ReadOnlyStoreTest extends AbstractTest {
         ).isExactlyInstanceOf(READONLY_EXCEPTION_TYPE);
     }
 
+    @Test
+    void testSetReference() {
+        assertThat(
+                catchThrowable(() -> store.setReference(mock(SingleFeatureBean.class), mock(Id.class)))
+        ).isExactlyInstanceOf(READONLY_EXCEPTION_TYPE);
+    }
+
     @Test
     void testRemoveReference() {
         assertThat(
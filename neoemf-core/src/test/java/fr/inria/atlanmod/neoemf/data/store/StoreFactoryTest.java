@@ -122,6 +122,20 @@ class StoreFactoryTest extends AbstractTest {
         assertThat(store).isExactlyInstanceOf(NoopStore.class);
     }
 
+    /**
+     * Checks the setup of the {@link ElementCachingStore}.
+     */
+    @Test
+    void testElementCaching() {
+        ImmutableConfig config = new BaseConfig<>().cacheElements();
+
+        Store store = StoreFactory.getInstance().createStore(mock(Backend.class), config);
+        assertThat(store).isInstanceOf(ElementCachingStore.class);
+
+        store = getInnerStore(store);
+        assertThat(store).isExactlyInstanceOf(NoopStore.class);
+    }
+
     /**
      * Checks the setup of the {@link ContainerCachingStore}.
      */
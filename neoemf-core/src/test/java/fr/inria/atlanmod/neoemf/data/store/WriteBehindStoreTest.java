@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2013 Atlanmod.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.store;
+
+import fr.inria.atlanmod.neoemf.config.BaseConfig;
+import fr.inria.atlanmod.neoemf.config.InvalidConfigException;
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+import fr.inria.atlanmod.neoemf.data.im.DefaultInMemoryBackend;
+
+import org.atlanmod.commons.AbstractTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static java.util.Objects.nonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A test-case about {@link WriteBehindStore}.
+ */
+@ParametersAreNonnullByDefault
+class WriteBehindStoreTest extends AbstractTest {
+
+    private final SingleFeatureBean feature = SingleFeatureBean.of(Id.getProvider().fromLong(42), 0);
+
+    private CountingBackend backend;
+
+    private Store store;
+
+    @BeforeEach
+    void setUp() {
+        backend = new CountingBackend();
+        store = StoreFactory.getInstance().createStore(backend, new BaseConfig<>().writeBehind());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (nonNull(store)) {
+            store.close();
+        }
+    }
+
+    /**
+     * Checks that the successive values of a single-valued feature are written once, on save.
+     */
+    @Test
+    void testCoalesceSingleValue() {
+        store.setValue(feature, "value0");
+        store.setValue(feature, "value1");
+        assertThat(store.<String>valueFor(feature, "value2")).contains("value1");
+
+        assertThat(store.<String>valueOf(feature)).contains("value2");
+        assertThat(backend.valueOf(feature)).isNotPresent();
+
+        store.save();
+
+        assertThat(backend.<String>valueOf(feature)).contains("value2");
+        assertThat(backend.writeCount).hasValue(1);
+    }
+
+    /**
+     * Checks that the values appended to a multi-valued feature are written in a single call, without the values that
+     * have been removed.
+     */
+    @Test
+    void testCoalesceAppends() {
+        store.appendValue(feature, "a");
+        store.appendAllValues(feature, Arrays.asList("b", "c"));
+        store.addValue(feature.withPosition(1), "z");
+        assertThat(store.<String>removeValue(feature.withPosition(2))).contains("b");
+
+        assertThat(store.sizeOfValue(feature)).contains(3);
+        assertThat(store.<String>valueOf(feature.withPosition(1))).contains("z");
+        assertThat(store.allValuesOf(feature)).containsExactly("a", "z", "c");
+        assertThat(backend.sizeOfValue(feature)).isNotPresent();
+
+        store.save();
+
+        assertThat(backend.allValuesOf(feature)).containsExactly("a", "z", "c");
+        assertThat(backend.writeCount).hasValue(1);
+    }
+
+    /**
+     * Checks that the pending values are written before inserting a value before them.
+     */
+    @Test
+    void testInsertBeforePendingValues() {
+        backend.appendAllValues(feature, Arrays.asList("a", "b"));
+        backend.writeCount.set(0);
+
+        assertThat(store.appendValue(feature, "c")).isEqualTo(2);
+        assertThat(store.allValuesOf(feature)).containsExactly("a", "b", "c");
+
+        store.addValue(feature.withPosition(0), "z");
+
+        assertThat(backend.allValuesOf(feature)).containsExactly("z", "a", "b", "c");
+        assertThat(store.allValuesOf(feature)).containsExactly("z", "a", "b", "c");
+        assertThat(backend.writeCount).hasValue(2);
+    }
+
+    /**
+     * Checks that removing all the values of a multi-valued feature that have never been written doesn't query the
+     * back-end.
+     */
+    @Test
+    void testRemoveAllPendingValues() {
+        store.appendAllValues(feature, Arrays.asList("a", "b"));
+        store.removeAllValues(feature);
+
+        assertThat(store.sizeOfValue(feature)).isNotPresent();
+
+        store.save();
+
+        assertThat(backend.sizeOfValue(feature)).isNotPresent();
+        assertThat(backend.writeCount).hasValue(0);
+    }
+
+    /**
+     * Checks that the buffer is flushed as soon as it contains the maximum number of modifications.
+     */
+    @Test
+    void testThreshold() {
+        store.close();
+
+        backend = new CountingBackend();
+        store = StoreFactory.getInstance().createStore(backend, new BaseConfig<>().writeBehind(2));
+
+        store.setValue(feature, "value0");
+        assertThat(backend.valueOf(feature)).isNotPresent();
+
+        store.setReference(SingleFeatureBean.of(Id.getProvider().fromLong(42), 1), Id.getProvider().fromLong(43));
+        assertThat(backend.<String>valueOf(feature)).contains("value0");
+
+        assertThatThrownBy(() -> new BaseConfig<>().writeBehind(0))
+                .isInstanceOf(InvalidConfigException.class);
+    }
+
+    /**
+     * An in-memory back-end that counts the physical writes of features. The multi-valued features are stored as lists,
+     * so all the modifications of a feature end with {@link #setValue(SingleFeatureBean, Object)} or {@link
+     * #removeValue(SingleFeatureBean)}.
+     */
+    private static final class CountingBackend extends DefaultInMemoryBackend {
+
+        /**
+         * The number of writes.
+         */
+        private final AtomicInteger writeCount = new AtomicInteger();
+
+        @Override
+        public <V> void setValue(SingleFeatureBean feature, V value) {
+            writeCount.incrementAndGet();
+            super.setValue(feature, value);
+        }
+
+        @Override
+        public void removeValue(SingleFeatureBean feature) {
+            writeCount.incrementAndGet();
+            super.removeValue(feature);
+        }
+    }
+}
@@ -8,6 +8,7 @@
 
 package fr.inria.atlanmod.neoemf.data.berkeleydb;
 
+import com.sleepycat.bind.tuple.IntegerBinding;
 import com.sleepycat.je.Cursor;
 import com.sleepycat.je.Database;
 import com.sleepycat.je.DatabaseConfig;
@@ -21,23 +22,36 @@ import fr.inria.atlanmod.neoemf.core.IdConverters;
 import fr.inria.atlanmod.neoemf.data.AbstractBackend;
 import fr.inria.atlanmod.neoemf.data.DatabaseException;
 import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
+import fr.inria.atlanmod.neoemf.data.bean.ClassDictionary;
+import fr.inria.atlanmod.neoemf.data.bean.FeatureBean;
 import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
 import fr.inria.atlanmod.neoemf.data.bean.serializer.BeanSerializerFactory;
+import fr.inria.atlanmod.neoemf.data.berkeleydb.config.BerkeleyDbConfig;
 import fr.inria.atlanmod.neoemf.data.mapping.AllReferenceAs;
+import fr.inria.atlanmod.neoemf.data.mapping.BulkLoader;
 import fr.inria.atlanmod.neoemf.data.mapping.DataMapper;
+import fr.inria.atlanmod.neoemf.data.mapping.SortedBulkLoader;
 
 import org.atlanmod.commons.function.Converter;
 import org.atlanmod.commons.io.serializer.BinarySerializer;
 
 import java.io.IOException;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.OverridingMethodsMustInvokeSuper;
 import javax.annotation.ParametersAreNonnullByDefault;
 
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 import static org.atlanmod.commons.Preconditions.checkNotNull;
 
 /**
@@ -52,6 +66,12 @@ abstract class AbstractBerkeleyDbBackend extends AbstractBackend implements Berk
     @Nonnull
     protected static final BeanSerializerFactory SERIALIZER_FACTORY = BeanSerializerFactory.getInstance();
 
+    /**
+     * The name of the database that indexes the instances by meta-class.
+     */
+    @Nonnull
+    private static final String INSTANCES_INDEX = "instances/index";
+
     /**
      * The BerkeleyDB environment.
      */
@@ -66,43 +86,99 @@ abstract class AbstractBerkeleyDbBackend extends AbstractBackend implements Berk
     private final Database containers;
 
     /**
-     * A persistent map that stores the meta-class for {@link fr.inria.atlanmod.neoemf.core.PersistentEObject}s,
+     * A persistent map that stores the identifier of the meta-class for {@link fr.inria.atlanmod.neoemf.core.PersistentEObject}s,
      * identified by the object {@link Id}.
+     *
+     * @see #classes
      */
     @Nonnull
     private final Database instances;
 
+    /**
+     * A persistent map that stores each meta-class once, identified by its compact identifier.
+     */
+    @Nonnull
+    private final Database classes;
+
+    /**
+     * The in-memory view of the {@link #classes}.
+     */
+    @Nonnull
+    private final ClassDictionary dictionary = new ClassDictionary();
+
     /**
      * A persistent map that stores single-feature values for {@link fr.inria.atlanmod.neoemf.core.PersistentEObject}s,
      * identified by the associated {@link SingleFeatureBean}. Depending on the mapping used, it can also contain
      * many-feature values grouped in collections.
+     * <p>
+     * Keys are serialized in big-endian order, starting with the identifier of the owner: with the default comparator,
+     * all the features of an element are stored next to each other.
      */
     @Nonnull
     private final Database features;
 
+    /**
+     * A persistent multimap that indexes the {@link Id} of each {@link fr.inria.atlanmod.neoemf.core.PersistentEObject}
+     * by its meta-class, using sorted duplicates. Only defined if the index is enabled.
+     *
+     * @see BerkeleyDbConfig#indexMetaClasses()
+     */
+    @Nullable
+    private final Database instancesIndex;
+
+    /**
+     * The cursors of the streams returned by this back-end, that have not been entirely consumed or closed yet.
+     */
+    @Nonnull
+    private final Set<CursorSpliterator<?>> openCursors = ConcurrentHashMap.newKeySet();
+
     /**
      * Creates a new {@code AbstractBerkeleyDbBackend} with the configuration of the databases.
      *
      * @param environment    the database environment used to create and manage {@link com.sleepycat.je.Database}s
      * @param databaseConfig the configuration of the created {@link com.sleepycat.je.Database}s
+     * @param config         the configuration of this back-end
      */
-    protected AbstractBerkeleyDbBackend(Environment environment, DatabaseConfig databaseConfig) {
+    protected AbstractBerkeleyDbBackend(Environment environment, DatabaseConfig databaseConfig, BerkeleyDbConfig config) {
         checkNotNull(environment, "environment");
         checkNotNull(databaseConfig, "databaseConfig");
+        checkNotNull(config, "config");
 
         this.environment = environment;
 
         this.containers = environment.openDatabase(null, "containers", databaseConfig);
         this.instances = environment.openDatabase(null, "instances", databaseConfig);
+        this.classes = environment.openDatabase(null, "classes", databaseConfig);
         this.features = environment.openDatabase(null, "features/single", databaseConfig);
+
+        loadDictionary();
+
+        final boolean indexExists = environment.getDatabaseNames().contains(INSTANCES_INDEX);
+        if (indexExists || (config.isMetaClassIndexed() && !config.isReadOnly())) {
+            this.instancesIndex = environment.openDatabase(null, INSTANCES_INDEX, databaseConfig.clone().setSortedDuplicates(true));
+
+            if (!indexExists) {
+                rebuildIndex();
+            }
+        }
+        else {
+            this.instancesIndex = null;
+        }
     }
 
     @Override
     protected void internalClose() {
+        new ArrayList<>(openCursors).forEach(CursorSpliterator::close);
+
         containers.close();
         instances.close();
+        classes.close();
         features.close();
 
+        if (nonNull(instancesIndex)) {
+            instancesIndex.close();
+        }
+
         environment.close();
     }
 
@@ -117,7 +193,11 @@ abstract class AbstractBerkeleyDbBackend extends AbstractBackend implements Berk
 
         copy(containers, to.containers);
         copy(instances, to.instances);
+        copy(classes, to.classes);
         copy(features, to.features);
+
+        to.loadDictionary();
+        to.rebuildIndex();
     }
 
     @Nonnull
@@ -148,7 +228,19 @@ abstract class AbstractBerkeleyDbBackend extends AbstractBackend implements Berk
     public Optional<ClassBean> metaClassOf(Id id) {
         checkNotNull(id, "id");
 
-        return get(instances, id, SERIALIZER_FACTORY.forId(), SERIALIZER_FACTORY.forClass());
+        try {
+            DatabaseEntry dbKey = new DatabaseEntry(SERIALIZER_FACTORY.forId().serialize(id));
+            DatabaseEntry dbValue = new DatabaseEntry();
+
+            if (instances.get(null, dbKey, dbValue, LockMode.DEFAULT) != OperationStatus.SUCCESS) {
+                return Optional.empty();
+            }
+
+            return dictionary.classOf(IntegerBinding.entryToInt(dbValue));
+        }
+        catch (IOException e) {
+            throw new DatabaseException(e);
+        }
     }
 
     @Override
@@ -156,32 +248,49 @@ abstract class AbstractBerkeleyDbBackend extends AbstractBackend implements Berk
         checkNotNull(id, "id");
         checkNotNull(metaClass, "metaClass");
 
-        return putIfAbsent(instances, id, metaClass, SERIALIZER_FACTORY.forId(), SERIALIZER_FACTORY.forClass());
-    }
+        final int classId = dictionary.idOf(metaClass).orElseGet(() -> registerClass(metaClass));
 
-    @Nonnull
-    @Override
-    public Stream<Id> allInstancesOf(Set<ClassBean> metaClasses) {
-        try (Cursor cursor = instances.openCursor(null, null)) {
-            DatabaseEntry dbKey = new DatabaseEntry();
+        try {
+            DatabaseEntry dbKey = new DatabaseEntry(SERIALIZER_FACTORY.forId().serialize(id));
             DatabaseEntry dbValue = new DatabaseEntry();
+            IntegerBinding.intToEntry(classId, dbValue);
 
-            // TODO Dynamically load content with an Iterator
-            Set<Id> instancesOf = new HashSet<>();
+            final boolean notDefined = instances.putNoOverwrite(null, dbKey, dbValue) != OperationStatus.KEYEXIST;
 
-            while (cursor.getNext(dbKey, dbValue, LockMode.DEFAULT) == OperationStatus.SUCCESS) {
-                if (metaClasses.contains(SERIALIZER_FACTORY.forClass().deserialize(dbValue.getData()))) {
-                    instancesOf.add(SERIALIZER_FACTORY.forId().deserialize(dbKey.getData()));
-                }
+            if (notDefined && nonNull(instancesIndex)) {
+                // Swap the key and the value: the index is read by meta-class
+                instancesIndex.put(null, dbValue, dbKey);
             }
 
-            return instancesOf.stream();
+            return notDefined;
         }
         catch (IOException e) {
             throw new DatabaseException(e);
         }
     }
 
+    @Nonnull
+    @Override
+    public Stream<Id> allInstancesOf(Set<ClassBean> metaClasses) {
+        final Set<Integer> classIds = dictionary.idsOf(metaClasses);
+
+        if (classIds.isEmpty()) {
+            return Stream.empty();
+        }
+
+        if (nonNull(instancesIndex)) {
+            // Each cursor is closed once its instances have been consumed
+            return classIds.stream()
+                    .flatMap(this::indexedInstancesOf);
+        }
+
+        final CursorSpliterator.Move next = (c, k, v) -> c.getNext(k, v, LockMode.DEFAULT);
+
+        return stream(instances, new DatabaseEntry(), next, next, (k, v) -> classIds.contains(IntegerBinding.entryToInt(v))
+                ? SERIALIZER_FACTORY.forId().deserialize(k.getData())
+                : null);
+    }
+
     @Nonnull
     @Override
     public <V> Optional<V> valueOf(SingleFeatureBean feature) {
@@ -201,6 +310,14 @@ abstract class AbstractBerkeleyDbBackend extends AbstractBackend implements Berk
         return previousValue;
     }
 
+    @Override
+    public <V> void setValue(SingleFeatureBean feature, V value) {
+        checkNotNull(feature, "feature");
+        checkNotNull(value, "value");
+
+        put(features, feature, value, SERIALIZER_FACTORY.forSingleFeature(), SERIALIZER_FACTORY.forAny());
+    }
+
     @Override
     public void removeValue(SingleFeatureBean feature) {
         checkNotNull(feature, "feature");
@@ -208,12 +325,212 @@ abstract class AbstractBerkeleyDbBackend extends AbstractBackend implements Berk
         delete(features, feature, SERIALIZER_FACTORY.forSingleFeature());
     }
 
+    @Nonnull
+    @Override
+    public Map<FeatureBean, Object> prefetch(Id id) {
+        checkNotNull(id, "id");
+
+        Map<FeatureBean, Object> values = new HashMap<>();
+        collectValues(id, values);
+        return values;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The elements are written in the order of their serialized identifier, which is the order of the keys in the
+     * databases.
+     */
+    @Nonnull
+    @Override
+    public BulkLoader newBulkLoader() {
+        return new SortedBulkLoader(this, SortedBulkLoader.DEFAULT_CAPACITY, (i1, i2) -> Long.compareUnsigned(i1.toLong(), i2.toLong()));
+    }
+
     @Nonnull
     @Override
     public Converter<Id, Long> referenceConverter() {
         return IdConverters.withLong();
     }
 
+    /**
+     * Collects the values of all the features of the element identified by the {@code id}.
+     *
+     * @param id     the identifier of the element
+     * @param values the map where to add the values
+     *
+     * @see #prefetch(Id)
+     */
+    @OverridingMethodsMustInvokeSuper
+    protected void collectValues(Id id, Map<FeatureBean, Object> values) {
+        collectRange(features, id, SERIALIZER_FACTORY.forSingleFeature(), values);
+    }
+
+    /**
+     * Adds all the entries of the {@code database} whose key starts with the serialized {@code owner} to the {@code
+     * values}, by using a single cursor.
+     *
+     * @param database      the database where to looking for
+     * @param owner         the identifier of the element
+     * @param keySerializer the serializer to deserialize the read keys
+     * @param values        the map where to add the entries
+     * @param <K>           the type of the keys
+     */
+    protected <K extends FeatureBean> void collectRange(Database database, Id owner, BinarySerializer<K> keySerializer, Map<FeatureBean, Object> values) {
+        try (Cursor cursor = database.openCursor(null, null)) {
+            final byte[] prefix = SERIALIZER_FACTORY.forId().serialize(owner);
+
+            DatabaseEntry dbKey = new DatabaseEntry(prefix);
+            DatabaseEntry dbValue = new DatabaseEntry();
+
+            OperationStatus status = cursor.getSearchKeyRange(dbKey, dbValue, LockMode.DEFAULT);
+            while (status == OperationStatus.SUCCESS && startsWith(dbKey.getData(), prefix)) {
+                values.put(keySerializer.deserialize(dbKey.getData()), SERIALIZER_FACTORY.forAny().deserialize(dbValue.getData()));
+                status = cursor.getNext(dbKey, dbValue, LockMode.DEFAULT);
+            }
+        }
+        catch (IOException e) {
+            throw new DatabaseException(e);
+        }
+    }
+
+    /**
+     * Checks whether the {@code bytes} start with the {@code prefix}.
+     *
+     * @param bytes  the bytes to check
+     * @param prefix the expected prefix
+     *
+     * @return {@code true} if the {@code bytes} start with the {@code prefix}
+     */
+    private static boolean startsWith(byte[] bytes, byte[] prefix) {
+        if (bytes.length < prefix.length) {
+            return false;
+        }
+
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Registers the given {@code metaClass} in the {@link #classes}, if it is not already registered.
+     *
+     * @param metaClass the meta-class to register
+     *
+     * @return the identifier of the meta-class
+     */
+    private synchronized int registerClass(ClassBean metaClass) {
+        Optional<Integer> existingId = dictionary.idOf(metaClass);
+        if (existingId.isPresent()) {
+            return existingId.get();
+        }
+
+        try {
+            final int classId = dictionary.nextId();
+
+            DatabaseEntry dbKey = new DatabaseEntry();
+            IntegerBinding.intToEntry(classId, dbKey);
+            classes.put(null, dbKey, new DatabaseEntry(SERIALIZER_FACTORY.forClass().serialize(metaClass)));
+
+            dictionary.register(classId, metaClass);
+            return classId;
+        }
+        catch (IOException e) {
+            throw new DatabaseException(e);
+        }
+    }
+
+    /**
+     * Clears and re-populates the {@link #dictionary} from the {@link #classes}.
+     */
+    private void loadDictionary() {
+        dictionary.clear();
+
+        try (Cursor cursor = classes.openCursor(null, null)) {
+            DatabaseEntry dbKey = new DatabaseEntry();
+            DatabaseEntry dbValue = new DatabaseEntry();
+            while (cursor.getNext(dbKey, dbValue, LockMode.DEFAULT) == OperationStatus.SUCCESS) {
+                dictionary.register(IntegerBinding.entryToInt(dbKey), SERIALIZER_FACTORY.forClass().deserialize(dbValue.getData()));
+            }
+        }
+        catch (IOException e) {
+            throw new DatabaseException(e);
+        }
+    }
+
+    /**
+     * Retrieves all instances of the given meta-class from the meta-class index.
+     *
+     * @param classId the identifier of the meta-class to look for
+     *
+     * @return a {@link Stream} of all instances of the meta-class
+     */
+    @Nonnull
+    private Stream<Id> indexedInstancesOf(int classId) {
+        DatabaseEntry dbKey = new DatabaseEntry();
+        IntegerBinding.intToEntry(classId, dbKey);
+
+        return stream(instancesIndex, dbKey,
+                (c, k, v) -> c.getSearchKey(k, v, LockMode.DEFAULT),
+                (c, k, v) -> c.getNextDup(k, v, LockMode.DEFAULT),
+                (k, v) -> SERIALIZER_FACTORY.forId().deserialize(v.getData()));
+    }
+
+    /**
+     * Creates a lazy {@link Stream} on the entries of the {@code database}, read by a new {@link Cursor}.
+     * <p>
+     * The cursor is closed when the stream is entirely consumed, when the stream is closed, or at the latest when this
+     * back-end is closed.
+     *
+     * @param database the database to read
+     * @param dbKey    the key used by the first move
+     * @param first    the move to the first entry
+     * @param next     the move to the next entry
+     * @param reader   the function that reads the value of an entry
+     * @param <T>      the type of the read values
+     *
+     * @return a new stream
+     */
+    @Nonnull
+    private <T> Stream<T> stream(Database database, DatabaseEntry dbKey, CursorSpliterator.Move first, CursorSpliterator.Move next, CursorSpliterator.Reader<T> reader) {
+        final Cursor cursor = database.openCursor(null, null);
+
+        final CursorSpliterator<T> spliterator = new CursorSpliterator<>(cursor, dbKey, first, next, reader, openCursors::remove);
+        openCursors.add(spliterator);
+
+        return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+    }
+
+    /**
+     * Clears and re-populates the meta-class index from the {@code instances} database, if the index is enabled.
+     */
+    private void rebuildIndex() {
+        if (isNull(instancesIndex)) {
+            return;
+        }
+
+        try (Cursor cursor = instancesIndex.openCursor(null, null)) {
+            DatabaseEntry dbKey = new DatabaseEntry();
+            DatabaseEntry dbValue = new DatabaseEntry();
+            while (cursor.getNext(dbKey, dbValue, LockMode.DEFAULT) == OperationStatus.SUCCESS) {
+                cursor.delete();
+            }
+        }
+
+        try (Cursor cursor = instances.openCursor(null, null)) {
+            DatabaseEntry dbKey = new DatabaseEntry();
+            DatabaseEntry dbValue = new DatabaseEntry();
+            while (cursor.getNext(dbKey, dbValue, LockMode.DEFAULT) == OperationStatus.SUCCESS) {
+                // Swap the key and the value: the index is read by meta-class
+                instancesIndex.put(null, new DatabaseEntry(dbValue.getData()), new DatabaseEntry(dbKey.getData()));
+            }
+        }
+        instancesIndex.sync();
+    }
+
     /**
      * Retrieves the value of the {@code key} from the {@code database}.
      *
@@ -11,6 +11,7 @@ package fr.inria.atlanmod.neoemf.data.berkeleydb;
 import com.sleepycat.je.DatabaseConfig;
 import com.sleepycat.je.Environment;
 
+import fr.inria.atlanmod.neoemf.data.berkeleydb.config.BerkeleyDbConfig;
 import fr.inria.atlanmod.neoemf.data.mapping.ManyValueWithArrays;
 
 import javax.annotation.ParametersAreNonnullByDefault;
@@ -28,10 +29,11 @@ class BerkeleyDbBackendArrays extends AbstractBerkeleyDbBackend implements ManyV
      *
      * @param environment    the database environment
      * @param databaseConfig the database configuration
+     * @param config         the configuration of this back-end
      *
      * @see BerkeleyDbBackendFactory
      */
-    protected BerkeleyDbBackendArrays(Environment environment, DatabaseConfig databaseConfig) {
-        super(environment, databaseConfig);
+    protected BerkeleyDbBackendArrays(Environment environment, DatabaseConfig databaseConfig, BerkeleyDbConfig config) {
+        super(environment, databaseConfig, config);
     }
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2013 Atlanmod.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.berkeleydb;
+
+import com.sleepycat.je.Database;
+import com.sleepycat.je.DatabaseConfig;
+import com.sleepycat.je.Environment;
+
+import fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean;
+import fr.inria.atlanmod.neoemf.data.berkeleydb.config.BerkeleyDbConfig;
+import fr.inria.atlanmod.neoemf.data.mapping.DataMapper;
+import fr.inria.atlanmod.neoemf.data.mapping.ManyValueWithChunks;
+
+import java.util.Optional;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static java.util.Objects.nonNull;
+import static org.atlanmod.commons.Preconditions.checkNotNull;
+
+/**
+ * A {@link BerkeleyDbBackend} that use a {@link ManyValueWithChunks} mapping for storing features.
+ *
+ * @see BerkeleyDbBackendFactory
+ */
+@ParametersAreNonnullByDefault
+class BerkeleyDbBackendChunks extends AbstractBerkeleyDbBackend implements ManyValueWithChunks {
+
+    /**
+     * A persistent map that stores chunks of many-feature values for {@link
+     * fr.inria.atlanmod.neoemf.core.PersistentEObject}s, identified by the associated {@link ManyFeatureBean} whose
+     * position is the index of the chunk.
+     */
+    @Nonnull
+    private final Database manyFeatures;
+
+    /**
+     * Constructs a new {@code BerkeleyDbBackendChunks} wrapping the provided {@code environment}.
+     *
+     * @param environment    the database environment
+     * @param databaseConfig the database configuration
+     * @param config         the configuration of this back-end
+     *
+     * @see BerkeleyDbBackendFactory
+     */
+    protected BerkeleyDbBackendChunks(Environment environment, DatabaseConfig databaseConfig, BerkeleyDbConfig config) {
+        super(environment, databaseConfig, config);
+
+        this.manyFeatures = environment.openDatabase(null, "features/many", databaseConfig);
+    }
+
+    @Override
+    protected void internalClose() {
+        manyFeatures.close();
+        super.internalClose();
+    }
+
+    @Override
+    protected void internalCopyTo(DataMapper target) {
+        super.internalCopyTo(target);
+
+        BerkeleyDbBackendChunks to = (BerkeleyDbBackendChunks) target;
+        this.copy(manyFeatures, to.manyFeatures);
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Object[]> chunkOf(ManyFeatureBean chunk) {
+        checkNotNull(chunk, "chunk");
+
+        return get(manyFeatures, chunk, SERIALIZER_FACTORY.forManyFeature(), SERIALIZER_FACTORY.forAny());
+    }
+
+    @Override
+    public void chunkFor(ManyFeatureBean chunk, @Nullable Object[] values) {
+        checkNotNull(chunk, "chunk");
+
+        if (nonNull(values)) {
+            put(manyFeatures, chunk, values, SERIALIZER_FACTORY.forManyFeature(), SERIALIZER_FACTORY.forAny());
+        }
+        else {
+            delete(manyFeatures, chunk, SERIALIZER_FACTORY.forManyFeature());
+        }
+    }
+}
@@ -39,6 +39,17 @@ public class BerkeleyDbBackendFactory extends AbstractBackendFactory<BerkeleyDbC
         super("berkeleydb");
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The version {@code 1} stores each meta-class once in a dictionary, and the identifier of the meta-class of each
+     * element.
+     */
+    @Override
+    protected int layoutVersion() {
+        return 1;
+    }
+
     @Nonnull
     @Override
     protected Backend createLocalBackend(Path directory, BerkeleyDbConfig config) throws Exception {
@@ -60,6 +71,6 @@ public class BerkeleyDbBackendFactory extends AbstractBackendFactory<BerkeleyDbC
 
         Environment environment = new Environment(directory.toFile(), environmentConfig);
 
-        return createMapper(config.getMapping(), environment, databaseConfig);
+        return createMapper(config.getMapping(), environment, databaseConfig, config);
     }
 }
@@ -12,10 +12,14 @@ import com.sleepycat.je.Database;
 import com.sleepycat.je.DatabaseConfig;
 import com.sleepycat.je.Environment;
 
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.bean.FeatureBean;
 import fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean;
+import fr.inria.atlanmod.neoemf.data.berkeleydb.config.BerkeleyDbConfig;
 import fr.inria.atlanmod.neoemf.data.mapping.DataMapper;
 import fr.inria.atlanmod.neoemf.data.mapping.ManyValueWithIndices;
 
+import java.util.Map;
 import java.util.Optional;
 
 import javax.annotation.Nonnull;
@@ -45,11 +49,12 @@ class BerkeleyDbBackendIndices extends AbstractBerkeleyDbBackend implements Many
      *
      * @param environment    the database environment
      * @param databaseConfig the database configuration
+     * @param config         the configuration of this back-end
      *
      * @see BerkeleyDbBackendFactory
      */
-    protected BerkeleyDbBackendIndices(Environment environment, DatabaseConfig databaseConfig) {
-        super(environment, databaseConfig);
+    protected BerkeleyDbBackendIndices(Environment environment, DatabaseConfig databaseConfig, BerkeleyDbConfig config) {
+        super(environment, databaseConfig, config);
 
         this.manyFeatures = environment.openDatabase(null, "features/many", databaseConfig);
     }
@@ -68,6 +73,13 @@ class BerkeleyDbBackendIndices extends AbstractBerkeleyDbBackend implements Many
         this.copy(manyFeatures, to.manyFeatures);
     }
 
+    @Override
+    protected void collectValues(Id id, Map<FeatureBean, Object> values) {
+        super.collectValues(id, values);
+
+        collectRange(manyFeatures, id, SERIALIZER_FACTORY.forManyFeature(), values);
+    }
+
     @Nonnull
     @Override
     public <V> Optional<V> valueOf(ManyFeatureBean feature) {
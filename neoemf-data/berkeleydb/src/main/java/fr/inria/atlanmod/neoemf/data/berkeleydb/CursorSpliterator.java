@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2013 Atlanmod.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.berkeleydb;
+
+import com.sleepycat.je.Cursor;
+import com.sleepycat.je.DatabaseEntry;
+import com.sleepycat.je.OperationStatus;
+
+import fr.inria.atlanmod.neoemf.data.DatabaseException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static java.util.Objects.nonNull;
+import static org.atlanmod.commons.Preconditions.checkNotNull;
+
+/**
+ * A {@link Spliterator} that reads the entries of a {@link com.sleepycat.je.Database} with a {@link Cursor}, only
+ * when they are consumed.
+ * <p>
+ * The cursor is closed as soon as it reaches its last entry, or when this spliterator is {@link #close() closed}.
+ *
+ * @param <T> the type of the read values
+ */
+@ParametersAreNonnullByDefault
+final class CursorSpliterator<T> extends Spliterators.AbstractSpliterator<T> implements Closeable {
+
+    /**
+     * The cursor used to read the entries.
+     */
+    @Nonnull
+    private final Cursor cursor;
+
+    /**
+     * The key of the current entry.
+     */
+    @Nonnull
+    private final DatabaseEntry dbKey;
+
+    /**
+     * The value of the current entry.
+     */
+    @Nonnull
+    private final DatabaseEntry dbValue = new DatabaseEntry();
+
+    /**
+     * The move to the first entry.
+     */
+    @Nonnull
+    private final Move first;
+
+    /**
+     * The move to the next entry.
+     */
+    @Nonnull
+    private final Move next;
+
+    /**
+     * The function that reads the value of an entry.
+     */
+    @Nonnull
+    private final Reader<T> reader;
+
+    /**
+     * The action to perform when this spliterator is closed.
+     */
+    @Nonnull
+    private final Consumer<? super CursorSpliterator<T>> onClose;
+
+    /**
+     * {@code true} if the cursor has been moved to the first entry.
+     */
+    private boolean started;
+
+    /**
+     * {@code true} if the cursor has been closed.
+     */
+    private boolean closed;
+
+    /**
+     * Constructs a new {@code CursorSpliterator}.
+     *
+     * @param cursor  the cursor used to read the entries
+     * @param dbKey   the key used by the first move
+     * @param first   the move to the first entry
+     * @param next    the move to the next entry
+     * @param reader  the function that reads the value of an entry
+     * @param onClose the action to perform when this spliterator is closed
+     */
+    CursorSpliterator(Cursor cursor, DatabaseEntry dbKey, Move first, Move next, Reader<T> reader, Consumer<? super CursorSpliterator<T>> onClose) {
+        super(Long.MAX_VALUE, Spliterator.NONNULL | Spliterator.DISTINCT);
+
+        this.cursor = checkNotNull(cursor, "cursor");
+        this.dbKey = checkNotNull(dbKey, "dbKey");
+        this.first = checkNotNull(first, "first");
+        this.next = checkNotNull(next, "next");
+        this.reader = checkNotNull(reader, "reader");
+        this.onClose = checkNotNull(onClose, "onClose");
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        checkNotNull(action, "action");
+
+        while (!closed) {
+            OperationStatus status = started
+                    ? next.move(cursor, dbKey, dbValue)
+                    : first.move(cursor, dbKey, dbValue);
+
+            started = true;
+
+            if (status != OperationStatus.SUCCESS) {
+                close();
+                break;
+            }
+
+            try {
+                T value = reader.read(dbKey, dbValue);
+                if (nonNull(value)) {
+                    action.accept(value);
+                    return true;
+                }
+            }
+            catch (IOException e) {
+                close();
+                throw new DatabaseException(e);
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            cursor.close();
+            onClose.accept(this);
+        }
+    }
+
+    /**
+     * A move of a {@link Cursor}.
+     */
+    @FunctionalInterface
+    interface Move {
+
+        /**
+         * Moves the {@code cursor}, and reads the key and the value of the new entry.
+         *
+         * @param cursor  the cursor to move
+         * @param dbKey   the key of the entry
+         * @param dbValue the value of the entry
+         *
+         * @return the status of the operation
+         */
+        @Nonnull
+        OperationStatus move(Cursor cursor, DatabaseEntry dbKey, DatabaseEntry dbValue);
+    }
+
+    /**
+     * A function that reads the value of an entry.
+     *
+     * @param <T> the type of the read value
+     */
+    @FunctionalInterface
+    interface Reader<T> {
+
+        /**
+         * Reads the value of the entry.
+         *
+         * @param dbKey   the key of the entry
+         * @param dbValue the value of the entry
+         *
+         * @return the read value, or {@code null} if the entry must be skipped
+         *
+         * @throws IOException if an I/O error occurs during the deserialization
+         */
+        @Nullable
+        T read(DatabaseEntry dbKey, DatabaseEntry dbValue) throws IOException;
+    }
+}
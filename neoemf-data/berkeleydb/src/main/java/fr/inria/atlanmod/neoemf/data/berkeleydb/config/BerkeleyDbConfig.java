@@ -16,6 +16,8 @@ import fr.inria.atlanmod.neoemf.data.berkeleydb.BerkeleyDbBackendFactory;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.ServiceScope;
 
+import java.util.function.Predicate;
+
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
 
@@ -30,6 +32,16 @@ import javax.annotation.ParametersAreNonnullByDefault;
 @ParametersAreNonnullByDefault
 public class BerkeleyDbConfig extends BaseConfig<BerkeleyDbConfig> {
 
+    /**
+     * The base prefix for all options related to BerkeleyDB.
+     */
+    public static final String BERKELEYDB_PREFIX = "berkeleydb";
+
+    /**
+     * The key identifying the meta-class index option.
+     */
+    static final String BERKELEYDB_INDEX_METACLASSES = createKey(BERKELEYDB_PREFIX, "index", "metaclasses");
+
     /**
      * Constructs a new {@code BerkeleyDbConfig} with default settings.
      * <p>
@@ -38,6 +50,8 @@ public class BerkeleyDbConfig extends BaseConfig<BerkeleyDbConfig> {
      * @see #withIndices()
      * @see #withLists()
      * @see #withArrays()
+     * @see #withBlocks()
+     * @see #withChunks()
      */
     public BerkeleyDbConfig() {
         // Don't set a default mapping for a multi-mapping configuration.
@@ -90,5 +104,72 @@ public class BerkeleyDbConfig extends BaseConfig<BerkeleyDbConfig> {
         return setMappingWithCheck("fr.inria.atlanmod.neoemf.data.berkeleydb.BerkeleyDbBackendLists", false);
     }
 
+    /**
+     * Defines the mapping to use for the created {@link fr.inria.atlanmod.neoemf.data.berkeleydb.BerkeleyDbBackend}.
+     * <p>
+     * This mapping corresponds to a representation of multi-valued features as an ordered list of bounded blocks, where
+     * inserting or removing a value only rewrites the block that contains it.
+     *
+     * @return this configuration (for chaining)
+     *
+     * @see fr.inria.atlanmod.neoemf.data.mapping.ManyValueWithBlocks
+     */
+    @Nonnull
+    public BerkeleyDbConfig withBlocks() {
+        return setMappingWithCheck("fr.inria.atlanmod.neoemf.data.berkeleydb.BerkeleyDbBackendBlocks", false);
+    }
+
+    /**
+     * Defines the mapping to use for the created {@link fr.inria.atlanmod.neoemf.data.berkeleydb.BerkeleyDbBackend}.
+     * <p>
+     * This mapping corresponds to an {@link Object}[] representation of multi-valued features, split in chunks of fixed
+     * size, where appending a value or accessing a value by its position only touches a single chunk.
+     *
+     * @return this configuration (for chaining)
+     *
+     * @see fr.inria.atlanmod.neoemf.data.mapping.ManyValueWithChunks
+     */
+    @Nonnull
+    public BerkeleyDbConfig withChunks() {
+        return setMappingWithCheck("fr.inria.atlanmod.neoemf.data.berkeleydb.BerkeleyDbBackendChunks", false);
+    }
+
     // endregion
+
+    /**
+     * Adds a secondary index from each meta-class to its instances, maintained by {@link
+     * fr.inria.atlanmod.neoemf.data.mapping.ClassMapper#metaClassFor(fr.inria.atlanmod.neoemf.core.Id,
+     * fr.inria.atlanmod.neoemf.data.bean.ClassBean)}. The index makes {@link fr.inria.atlanmod.neoemf.data.mapping.ClassMapper#allInstancesOf(java.util.Set)}
+     * proportional to the number of matching instances, instead of the size of the model.
+     * <p>
+     * <b>NOTE:</b> When enabled on an existing database, the index is built at the first opening. Once created, the
+     * index is maintained even if this option is not defined.
+     *
+     * @return this configuration (for chaining)
+     */
+    @Nonnull
+    public BerkeleyDbConfig indexMetaClasses() {
+        return addOption(BERKELEYDB_INDEX_METACLASSES, true);
+    }
+
+    /**
+     * Returns {@code true} if the meta-classes must be indexed.
+     *
+     * @return {@code true} if the meta-classes must be indexed
+     *
+     * @see #indexMetaClasses()
+     */
+    public boolean isMetaClassIndexed() {
+        return this.<Object>getOption(BERKELEYDB_INDEX_METACLASSES)
+                .map(String::valueOf)
+                .map(Boolean::parseBoolean)
+                .orElse(false);
+    }
+
+    @Nonnull
+    @Override
+    protected Predicate<String> isPersistentKey() {
+        return super.isPersistentKey()
+                .or(s -> s.startsWith(BERKELEYDB_PREFIX));
+    }
 }
@@ -9,12 +9,19 @@
 package fr.inria.atlanmod.neoemf.data.berkeleydb;
 
 import fr.inria.atlanmod.neoemf.context.Context;
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
 import fr.inria.atlanmod.neoemf.data.berkeleydb.context.BerkeleyDbIndicesContext;
 import fr.inria.atlanmod.neoemf.data.mapping.AbstractDataMapperTest;
 
+import org.junit.jupiter.api.Test;
+
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 /**
  * A test-case about {@link BerkeleyDbBackendIndices}.
  */
@@ -26,4 +33,27 @@ class BerkeleyDbBackendIndicesTest extends AbstractDataMapperTest {
     protected Context context() {
         return new BerkeleyDbIndicesContext();
     }
+
+    /**
+     * Checks that all the features of an element, and only them, are retrieved in a single operation.
+     */
+    @Test
+    void testPrefetch() {
+        Id id0 = Id.getProvider().fromLong(1);
+        Id id1 = Id.getProvider().fromLong(2);
+
+        SingleFeatureBean single = SingleFeatureBean.of(id0, 1);
+        ManyFeatureBean many = ManyFeatureBean.of(id0, 2, 0);
+
+        mapper.valueFor(single, "value0");
+        mapper.appendValue(many.withoutPosition(), "value1");
+        mapper.valueFor(SingleFeatureBean.of(id1, 1), "value2");
+
+        assertThat(mapper.prefetch(id0))
+                .containsEntry(single, "value0")
+                .containsEntry(many, "value1")
+                .doesNotContainValue("value2");
+
+        assertThat(mapper.prefetch(Id.getProvider().fromLong(3))).isEmpty();
+    }
 }
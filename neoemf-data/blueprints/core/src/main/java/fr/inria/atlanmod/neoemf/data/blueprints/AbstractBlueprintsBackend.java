@@ -150,10 +150,11 @@ abstract class AbstractBlueprintsBackend extends AbstractBackend implements Blue
     @Nonnull
     @Override
     public Stream<Id> allInstancesOf(Set<ClassBean> metaClasses) {
+        // Each element has a single meta-class: the vertices are traversed as the stream is consumed, without buffering
+        // them to remove duplicates
         return graph.getClassVertices(metaClasses)
                 .map(ClassVertex::getAllInstancesOf)
                 .flatMap(MoreIterables::stream)
-                .map(ElementVertex::getElementId)
-                .distinct();
+                .map(ElementVertex::getElementId);
     }
 }
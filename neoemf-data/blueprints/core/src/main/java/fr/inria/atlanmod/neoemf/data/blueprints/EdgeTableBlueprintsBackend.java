@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2013 Atlanmod.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.blueprints;
+
+import com.tinkerpop.blueprints.KeyIndexableGraph;
+
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+import fr.inria.atlanmod.neoemf.data.blueprints.internal.graph.ElementEdge;
+import fr.inria.atlanmod.neoemf.data.blueprints.internal.graph.ElementVertex;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static org.atlanmod.commons.Preconditions.checkNotContainsNull;
+import static org.atlanmod.commons.Preconditions.checkNotNull;
+import static org.atlanmod.commons.Preconditions.checkPositionIndex;
+
+/**
+ * A {@link BlueprintsBackend} mapping where the order of multi-valued references is defined by a table of edge
+ * identifiers, stored in the referencing vertex.
+ * <p>
+ * The edges of a multi-valued reference have no position: inserting or removing a reference creates or removes a
+ * single edge and rewrites the table, instead of shifting the position of all following edges. The edge at a given
+ * position is retrieved directly from its identifier, without iterating over the other edges of the vertex.
+ * <p>
+ * <b>NOTE:</b> This mapping requires a graph that preserves the identifiers of its edges, and that supports list
+ * properties.
+ *
+ * @see ElementVertex#getReferenceTable(fr.inria.atlanmod.neoemf.data.bean.FeatureBean)
+ * @see BlueprintsBackendFactory
+ */
+@ParametersAreNonnullByDefault
+class EdgeTableBlueprintsBackend extends DefaultBlueprintsBackend {
+
+    /**
+     * Constructs a new {@code EdgeTableBlueprintsBackend} wrapping the provided {@code baseGraph}.
+     *
+     * @param baseGraph the base {@link com.tinkerpop.blueprints.KeyIndexableGraph} used to access the database
+     *
+     * @see BlueprintsBackendFactory
+     */
+    protected EdgeTableBlueprintsBackend(KeyIndexableGraph baseGraph) {
+        super(baseGraph);
+    }
+
+    //region Multi-valued references
+
+    @Nonnull
+    @Override
+    public Optional<Id> referenceOf(ManyFeatureBean feature) {
+        checkNotNull(feature, "feature");
+
+        return graph.getVertex(feature.owner())
+                .map(v -> v.getReferenceTable(feature))
+                .filter(t -> feature.position() < t.size())
+                .map(t -> getEdge(t.get(feature.position())))
+                .map(ElementEdge::getReferencedVertex)
+                .map(ElementVertex::getElementId);
+    }
+
+    @Nonnull
+    @Override
+    public Stream<Id> allReferencesOf(SingleFeatureBean feature) {
+        checkNotNull(feature, "feature");
+
+        return graph.getVertex(feature.owner())
+                .map(v -> v.getReferenceTable(feature).stream()
+                        .map(this::getEdge)
+                        .map(ElementEdge::getReferencedVertex)
+                        .map(ElementVertex::getElementId))
+                .orElseGet(Stream::empty);
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Id> referenceFor(ManyFeatureBean feature, Id reference) {
+        checkNotNull(feature, "feature");
+        checkNotNull(reference, "reference");
+
+        Optional<ElementVertex> optVertex = graph.getVertex(feature.owner());
+        if (!optVertex.isPresent()) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        final ElementVertex vertex = optVertex.get();
+
+        final int position = feature.position();
+        final List<Object> table = vertex.getReferenceTable(feature);
+        if (position >= table.size()) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        ElementEdge previousEdge = getEdge(table.get(position));
+        Id previousId = previousEdge.getReferencedVertex().getElementId();
+        previousEdge.remove();
+
+        table.set(position, vertex.addReferenceEdge(feature, reference).getId());
+        vertex.setReferenceTable(feature, table);
+
+        return Optional.of(previousId);
+    }
+
+    @Override
+    public void addReference(ManyFeatureBean feature, Id reference) {
+        checkNotNull(feature, "feature");
+        checkNotNull(reference, "reference");
+
+        addAllReferences(feature, Collections.singletonList(reference));
+    }
+
+    @Override
+    public void addAllReferences(ManyFeatureBean feature, List<Id> collection) {
+        checkNotNull(feature, "feature");
+        checkNotNull(collection, "collection");
+        checkNotContainsNull(collection, "collection");
+
+        if (collection.isEmpty()) {
+            return;
+        }
+
+        ElementVertex vertex = graph.getOrCreateVertex(feature.owner());
+
+        final int firstPosition = feature.position();
+        final List<Object> table = vertex.getReferenceTable(feature);
+        checkPositionIndex(firstPosition, table.size());
+
+        List<Object> edgeIds = collection.stream()
+                .map(r -> vertex.addReferenceEdge(feature, r).getId())
+                .collect(Collectors.toList());
+
+        table.addAll(firstPosition, edgeIds);
+        vertex.setReferenceTable(feature, table);
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Id> removeReference(ManyFeatureBean feature) {
+        checkNotNull(feature, "feature");
+
+        Optional<ElementVertex> optVertex = graph.getVertex(feature.owner());
+        if (!optVertex.isPresent()) {
+            return Optional.empty();
+        }
+
+        final ElementVertex vertex = optVertex.get();
+
+        final int position = feature.position();
+        final List<Object> table = vertex.getReferenceTable(feature);
+        if (position >= table.size()) {
+            return Optional.empty();
+        }
+
+        ElementEdge previousEdge = getEdge(table.remove(position));
+        Id previousId = previousEdge.getReferencedVertex().getElementId();
+        previousEdge.remove();
+
+        vertex.setReferenceTable(feature, table);
+
+        return Optional.of(previousId);
+    }
+
+    @Override
+    public void removeAllReferences(SingleFeatureBean feature) {
+        checkNotNull(feature, "feature");
+
+        graph.getVertex(feature.owner()).ifPresent(v -> {
+            v.removeReferences(feature);
+            v.setReferenceTable(feature, Collections.emptyList());
+        });
+    }
+
+    @Nonnull
+    @Nonnegative
+    @Override
+    public Optional<Integer> sizeOfReference(SingleFeatureBean feature) {
+        checkNotNull(feature, "feature");
+
+        return graph.getVertex(feature.owner())
+                .map(v -> v.getReferenceTable(feature).size())
+                .filter(s -> s > 0);
+    }
+
+    //endregion
+
+    /**
+     * Retrieves the edge identified by the {@code id}, as registered in a reference table.
+     *
+     * @param id the identifier of the edge
+     *
+     * @return the edge
+     *
+     * @throws IllegalStateException if the edge does not exist
+     */
+    @Nonnull
+    private ElementEdge getEdge(Object id) {
+        return graph.getEdge(id, ElementEdge::from)
+                .orElseThrow(() -> new IllegalStateException(String.format("The edge %s is referenced by a table but does not exist", id)));
+    }
+}
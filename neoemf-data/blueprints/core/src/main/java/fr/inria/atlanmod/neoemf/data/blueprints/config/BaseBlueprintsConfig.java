@@ -20,6 +20,7 @@ import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.ServiceScope;
 
 import java.nio.file.Path;
+import java.util.Map;
 import java.util.function.Predicate;
 
 import javax.annotation.Nonnull;
@@ -43,11 +44,20 @@ public class BaseBlueprintsConfig<C extends BaseBlueprintsConfig<C>> extends Bas
      */
     public static final String BLUEPRINTS_PREFIX = "blueprints";
 
+    /**
+     * {@code true} if the mapping has been defined by default, and can be replaced by the mapping of a merged
+     * configuration.
+     *
+     * @see #merge(Map)
+     */
+    private boolean isDefaultMapping;
+
     /**
      * Constructs a new {@code BaseBlueprintsConfig}.
      */
     public BaseBlueprintsConfig() {
         withDefault();
+        isDefaultMapping = true;
     }
 
     /**
@@ -65,6 +75,24 @@ public class BaseBlueprintsConfig<C extends BaseBlueprintsConfig<C>> extends Bas
         return setMappingWithCheck("fr.inria.atlanmod.neoemf.data.blueprints.DefaultBlueprintsBackend", false);
     }
 
+    /**
+     * Defines the mapping to use for the created {@link fr.inria.atlanmod.neoemf.data.blueprints.BlueprintsBackend}.
+     * <p>
+     * This mapping corresponds to a representation of multi-valued references where the edges have no position: their
+     * order is defined by a table of edge identifiers stored in the referencing vertex. Inserting or removing a
+     * reference does not update the following edges.
+     * <p>
+     * <b>NOTE:</b> This mapping requires a graph that preserves the identifiers of its edges, and that supports list
+     * properties.
+     *
+     * @return this configuration (for chaining)
+     */
+    @Nonnull
+    protected C withEdgeTables() {
+        isDefaultMapping = false;
+        return setMappingWithCheck("fr.inria.atlanmod.neoemf.data.blueprints.EdgeTableBlueprintsBackend", false);
+    }
+
     /**
      * Defines the {@code graph} implementation of the Blueprints database.
      *
@@ -88,6 +116,18 @@ public class BaseBlueprintsConfig<C extends BaseBlueprintsConfig<C>> extends Bas
         throw new UnsupportedOperationException("This implementation should not be used directly");
     }
 
+    @Nonnull
+    @Override
+    public C merge(Map<String, ?> map) {
+        // The default mapping does not conflict with the mapping of the merged configuration
+        if (isDefaultMapping && map.containsKey(BACKEND_MAPPING)) {
+            setMappingWithCheck(String.valueOf(map.get(BACKEND_MAPPING)), false);
+            isDefaultMapping = false;
+        }
+
+        return super.merge(map);
+    }
+
     @Nonnull
     @Override
     protected Predicate<String> isPersistentKey() {
@@ -32,12 +32,12 @@ public class ClassVertex extends IdVertex<ModelGraph> {
     /**
      * The property key used to define the name of meta-class vertices.
      */
-    protected static final String PROPERTY_NAME = "_in";
+    public static final String PROPERTY_NAME = "_in";
 
     /**
      * The property key used to define the URI of meta-class vertices.
      */
-    protected static final String PROPERTY_URI = "_iu";
+    public static final String PROPERTY_URI = "_iu";
 
     /**
      * The name of the represented meta-class.
@@ -115,7 +115,7 @@ public class ClassVertex extends IdVertex<ModelGraph> {
      * @return the unique identifier
      */
     @Nonnull
-    private static Id createId(ClassBean bean) {
+    public static Id createId(ClassBean bean) {
         return Id.getProvider().generate(String.format("%s@%s", bean.name(), bean.uri()));
     }
 
@@ -29,12 +29,12 @@ public class ContainingEdge extends IdEdge<ModelGraph> {
     /**
      * The label of this edge.
      */
-    protected static final String LABEL = "_c";
+    public static final String LABEL = "_c";
 
     /**
      * The property key used to define the name of the opposite containing feature in container edges.
      */
-    protected static final String PROPERTY_FID = "_cn";
+    public static final String PROPERTY_FID = "_cn";
 
     /**
      * Constructs a new {@code ContainingEdge}.
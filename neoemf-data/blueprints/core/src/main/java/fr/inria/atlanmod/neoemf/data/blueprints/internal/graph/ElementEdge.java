@@ -31,7 +31,7 @@ public class ElementEdge extends IdEdge<ModelGraph> {
     /**
      * The property key used to define the position of an edge.
      */
-    protected static final String PROPERTY_POSITION = "_p";
+    public static final String PROPERTY_POSITION = "_p";
 
     /**
      * The position of this edge.
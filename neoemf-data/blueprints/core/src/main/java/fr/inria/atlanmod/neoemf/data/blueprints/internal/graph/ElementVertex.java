@@ -22,6 +22,8 @@ import org.atlanmod.commons.Lazy;
 import org.atlanmod.commons.LazyReference;
 import org.atlanmod.commons.collect.SizedIterator;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import javax.annotation.Nonnegative;
@@ -39,12 +41,19 @@ public class ElementVertex extends IdVertex<ModelGraph> {
      *
      * @see #format(FeatureBean, Object)
      */
-    protected static final String DELIMITER = "_";
+    public static final String DELIMITER = "_";
 
     /**
      * The property key used to define the number of edges with a specific label.
      */
-    protected static final String PROPERTY_SIZE = "s";
+    public static final String PROPERTY_SIZE = "s";
+
+    /**
+     * The property key used to define the ordered identifiers of the edges with a specific label.
+     *
+     * @see #getReferenceTable(FeatureBean)
+     */
+    public static final String PROPERTY_TABLE = "t";
 
     /**
      * The unique identifier of this vertex.
@@ -514,6 +523,66 @@ public class ElementVertex extends IdVertex<ModelGraph> {
 
     // endregion
 
+    // region Reference tables
+
+    /**
+     * Returns the identifiers of the edges of the {@code feature}, ordered by position.
+     * <p>
+     * Unlike {@link #getReference(FeatureBean, int)}, the position of a reference is defined by its index in this
+     * table instead of a property of its edge: the edges are never updated when a reference is inserted or removed
+     * before them, and the edge at a given position is retrieved by its identifier without iterating over the other
+     * edges.
+     *
+     * @param feature the feature
+     *
+     * @return a mutable list of edge identifiers, which is empty if the {@code feature} has no reference
+     */
+    @Nonnull
+    public List<Object> getReferenceTable(FeatureBean feature) {
+        final String property = format(feature, PROPERTY_TABLE);
+
+        final List<Object> table = getProperty(property);
+        return Optional.ofNullable(table).<List<Object>>map(ArrayList::new).orElseGet(ArrayList::new);
+    }
+
+    /**
+     * Defines the identifiers of the edges of the {@code feature}, ordered by position.
+     *
+     * @param feature the feature
+     * @param table   the ordered identifiers of the edges
+     *
+     * @see #getReferenceTable(FeatureBean)
+     */
+    public void setReferenceTable(FeatureBean feature, List<Object> table) {
+        final String property = format(feature, PROPERTY_TABLE);
+
+        if (!table.isEmpty()) {
+            setProperty(property, table);
+        }
+        else {
+            removeProperty(property);
+        }
+    }
+
+    /**
+     * Creates a new edge from this vertex to the {@code reference}, without position.
+     *
+     * @param feature   the feature
+     * @param reference the reference
+     *
+     * @return the created edge, which must be registered in the table of the {@code feature}
+     *
+     * @see #setReferenceTable(FeatureBean, List)
+     */
+    @Nonnull
+    public ElementEdge addReferenceEdge(FeatureBean feature, Id reference) {
+        final String label = format(feature);
+
+        return ElementEdge.create(graph, this, reference, label);
+    }
+
+    // endregion
+
     /**
      * Formats a label.
      *
@@ -25,7 +25,7 @@ public class InstanceOfEdge extends IdEdge<ModelGraph> {
     /**
      * The label of this edge.
      */
-    protected static final String LABEL = "_i";
+    public static final String LABEL = "_i";
 
     /**
      * Constructs a new {@code InstanceOfEdge}.
@@ -31,12 +31,16 @@ import org.atlanmod.commons.cache.CacheBuilder;
 import org.atlanmod.commons.collect.MoreIterables;
 import org.atlanmod.commons.function.Converter;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.annotation.Nonnull;
@@ -49,6 +53,12 @@ import javax.annotation.ParametersAreNonnullByDefault;
 @ParametersAreNonnullByDefault
 public class ModelGraph extends IdGraph<ModelGraph> implements Copiable<ModelGraph> {
 
+    /**
+     * The name of the index that holds all meta-class vertices.
+     */
+    @Nonnull
+    public static final String CLASS_INDEX = "instances-all";
+
     /**
      * An index that holds all meta-class vertices, identified by their name.
      * <p>
@@ -90,7 +100,7 @@ public class ModelGraph extends IdGraph<ModelGraph> implements Copiable<ModelGra
     public ModelGraph(KeyIndexableGraph baseGraph) {
         super(baseGraph, true, false);
 
-        classVerticesByName = getOrCreateIndex("instances-all", Vertex.class, ClassVertex::from);
+        classVerticesByName = getOrCreateIndex(CLASS_INDEX, Vertex.class, ClassVertex::from);
 
         Graph originGraph = getOrigin(baseGraph);
         if (originGraph instanceof TinkerGraph) {
@@ -291,6 +301,10 @@ public class ModelGraph extends IdGraph<ModelGraph> implements Copiable<ModelGra
     @Override
     public void copyTo(ModelGraph target) {
         final List<String> classPropertyKeys = Arrays.asList(ClassVertex.PROPERTY_NAME, ClassVertex.PROPERTY_URI);
+        final String tableSuffix = ElementVertex.DELIMITER + ElementVertex.PROPERTY_TABLE;
+
+        // The vertices that contain reference tables, which must be updated once the edges are copied
+        final List<Vertex> toVerticesWithTables = new ArrayList<>();
 
         // Copy all vertices
         for (Vertex fromVertex : getVertices()) {
@@ -309,8 +323,15 @@ public class ModelGraph extends IdGraph<ModelGraph> implements Copiable<ModelGra
 
             // Copy all remaining properties
             copyProperties(fromVertex, toVertex, propertyKeys);
+
+            if (propertyKeys.stream().anyMatch(k -> k.endsWith(tableSuffix))) {
+                toVerticesWithTables.add(toVertex);
+            }
         }
 
+        // The identifiers of the copied edges: they are not preserved by the target graph
+        final Map<Object, Object> toEdgeIds = new HashMap<>();
+
         // Copy all edges
         for (Edge fromEdge : getEdges()) {
             Vertex outVertex = target.getVertex(fromEdge.getVertex(Direction.OUT).getId());
@@ -320,6 +341,18 @@ public class ModelGraph extends IdGraph<ModelGraph> implements Copiable<ModelGra
 
             // Copy all properties
             copyProperties(fromEdge, toEdge, fromEdge.getPropertyKeys());
+
+            toEdgeIds.put(fromEdge.getId(), toEdge.getId());
+        }
+
+        // Update the reference tables with the identifiers of the copied edges
+        for (Vertex toVertex : toVerticesWithTables) {
+            for (String key : toVertex.getPropertyKeys()) {
+                if (key.endsWith(tableSuffix)) {
+                    final List<?> table = toVertex.getProperty(key);
+                    toVertex.setProperty(key, table.stream().map(toEdgeIds::get).collect(Collectors.toList()));
+                }
+            }
         }
     }
 
@@ -55,7 +55,7 @@ public class IdGraph<G extends IdGraph<G>> implements WrapperGraph<KeyIndexableG
      * <b>NOTE:</b> using "__id" instead of "_id" avoids collision with Rexster's "_id".
      */
     @Nonnull
-    protected static final String ID = "__id";
+    public static final String ID = "__id";
 
     /**
      * The base graph which does not necessarily support custom IDs.
@@ -0,0 +1,455 @@
+/*
+ * Copyright (c) 2013 Atlanmod.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 3.
+ */
+
+package fr.inria.atlanmod.neoemf.data.blueprints.neo4j;
+
+import com.tinkerpop.blueprints.Vertex;
+
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.core.IdConverters;
+import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+import fr.inria.atlanmod.neoemf.data.blueprints.internal.graph.ClassVertex;
+import fr.inria.atlanmod.neoemf.data.blueprints.internal.graph.ContainingEdge;
+import fr.inria.atlanmod.neoemf.data.blueprints.internal.graph.ElementEdge;
+import fr.inria.atlanmod.neoemf.data.blueprints.internal.graph.ElementVertex;
+import fr.inria.atlanmod.neoemf.data.blueprints.internal.graph.InstanceOfEdge;
+import fr.inria.atlanmod.neoemf.data.blueprints.internal.graph.ModelGraph;
+import fr.inria.atlanmod.neoemf.data.blueprints.internal.graph.wrapper.IdGraph;
+import fr.inria.atlanmod.neoemf.data.mapping.BulkElement;
+import fr.inria.atlanmod.neoemf.data.mapping.BulkLoader;
+import fr.inria.atlanmod.neoemf.data.mapping.InvalidDataMapper;
+
+import org.neo4j.graphdb.DynamicRelationshipType;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.RelationshipType;
+import org.neo4j.graphdb.Transaction;
+import org.neo4j.graphdb.factory.GraphDatabaseFactory;
+import org.neo4j.index.impl.lucene.LuceneIndexImplementation;
+import org.neo4j.index.lucene.unsafe.batchinsert.LuceneBatchInserterIndexProvider;
+import org.neo4j.kernel.impl.core.NodeManager;
+import org.neo4j.unsafe.batchinsert.BatchInserter;
+import org.neo4j.unsafe.batchinsert.BatchInserterIndex;
+import org.neo4j.unsafe.batchinsert.BatchInserterIndexProvider;
+import org.neo4j.unsafe.batchinsert.BatchInserters;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.atlanmod.commons.Preconditions.checkArgument;
+import static org.atlanmod.commons.Preconditions.checkNotNull;
+import static org.atlanmod.commons.Preconditions.checkState;
+
+/**
+ * A write-only {@link fr.inria.atlanmod.neoemf.data.mapping.DataMapper} that imports new elements in a Neo4j database
+ * with the Neo4j batch inserter, without transactions.
+ * <p>
+ * The elements are written by the loader returned by {@link #newBulkLoader()}, with the same vertices and edges as a
+ * {@link fr.inria.atlanmod.neoemf.data.blueprints.BlueprintsBackend} created with a {@link
+ * fr.inria.atlanmod.neoemf.data.blueprints.neo4j.config.BlueprintsNeo4jConfig}, so the {@code Migrator} can stream a
+ * model directly in this mapper. The Lucene indices are only populated when this mapper is closed: the database can
+ * then be opened with the {@link fr.inria.atlanmod.neoemf.data.blueprints.BlueprintsBackendFactory}.
+ * <pre>{@code
+ * try (DataMapper mapper = new BlueprintsNeo4jBatchMapper(directory)) {
+ *     Migrator.fromXmi(file).toMapper(mapper).migrate();
+ * }
+ * }</pre>
+ * <b>NOTE:</b> The database is not usable if this mapper is not closed. Only the elements imported by this mapper are
+ * known: the container and the single-valued references of an element can only be defined once. The node of each
+ * element is kept in memory until closing.
+ */
+@NotThreadSafe
+@ParametersAreNonnullByDefault
+public class BlueprintsNeo4jBatchMapper extends InvalidDataMapper {
+
+    /**
+     * The name of the Neo4j index that holds the properties indexed with {@link Vertex#getId()}.
+     *
+     * @see org.neo4j.graphdb.index.AutoIndexer
+     */
+    @Nonnull
+    private static final String NODE_AUTO_INDEX = "node_auto_index";
+
+    /**
+     * The name of the graph property where {@code Neo4j2Graph} registers the indexed keys of vertices.
+     *
+     * @see com.tinkerpop.blueprints.KeyIndexableGraph#createKeyIndex(String, Class,
+     * com.tinkerpop.blueprints.Parameter[])
+     */
+    @Nonnull
+    private static final String INDEXED_KEYS = Vertex.class.getSimpleName() + ":indexed_keys";
+
+    /**
+     * The directory of the database.
+     */
+    @Nonnull
+    private final Path directory;
+
+    /**
+     * The Neo4j batch inserter.
+     */
+    @Nonnull
+    private final BatchInserter inserter;
+
+    /**
+     * The node of each element or meta-class, identified by the {@code long} representation of its identifier.
+     */
+    @Nonnull
+    private final Map<Long, Long> nodes = new HashMap<>();
+
+    /**
+     * The node of each meta-class.
+     */
+    @Nonnull
+    private final Map<ClassBean, Long> classNodes = new HashMap<>();
+
+    /**
+     * The nodes that are linked to their meta-class.
+     */
+    @Nonnull
+    private final BitSet instanceNodes = new BitSet();
+
+    /**
+     * The nodes that are linked to their container.
+     */
+    @Nonnull
+    private final BitSet containedNodes = new BitSet();
+
+    /**
+     * {@code true} if this mapper is closed.
+     */
+    private boolean isClosed;
+
+    /**
+     * Constructs a new {@code BlueprintsNeo4jBatchMapper} that creates a new database in the {@code directory}.
+     *
+     * @param directory the directory of the database
+     *
+     * @throws NullPointerException     if the {@code directory} is {@code null}
+     * @throws IllegalArgumentException if the {@code directory} already contains a database
+     */
+    public BlueprintsNeo4jBatchMapper(Path directory) {
+        super(() -> new UnsupportedOperationException("The batch mapper only supports the import of new elements"));
+
+        checkNotNull(directory, "directory");
+        checkArgument(Files.notExists(directory.resolve("neostore")), "%s already contains a database", directory);
+
+        this.directory = directory;
+        this.inserter = BatchInserters.inserter(directory.toString());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Each element is written immediately in the store files: the returned loader has nothing to flush.
+     */
+    @Nonnull
+    @Override
+    public BulkLoader newBulkLoader() {
+        checkState(!isClosed, "The mapper is closed");
+
+        return new BulkLoader() {
+            @Override
+            public void load(BulkElement element) {
+                write(element);
+            }
+
+            @Override
+            public void flush() {
+                // Do nothing
+            }
+
+            @Override
+            public void close() {
+                // Do nothing: the indices are populated when the mapper is closed
+            }
+        };
+    }
+
+    @Override
+    public boolean metaClassFor(Id id, ClassBean metaClass) {
+        checkNotNull(id, "id");
+        checkNotNull(metaClass, "metaClass");
+        checkState(!isClosed, "The mapper is closed");
+
+        final long node = nodeOf(id);
+        if (instanceNodes.get(indexOf(node))) {
+            // The meta-class is already defined
+            return false;
+        }
+
+        defineMetaClass(node, metaClass);
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The indices are populated from the nodes created by this mapper, then the key index of the identifiers is
+     * registered as if it had been created by {@code Neo4j2Graph}, without re-indexing all vertices.
+     */
+    @Override
+    public void close() {
+        if (isClosed) {
+            return;
+        }
+
+        isClosed = true;
+
+        try {
+            populateIndices();
+        }
+        finally {
+            inserter.shutdown();
+        }
+
+        registerKeyIndex();
+    }
+
+    /**
+     * Writes the {@code element} in the database.
+     *
+     * @param element the element to write
+     *
+     * @throws NullPointerException  if the {@code element} is {@code null}
+     * @throws IllegalStateException if the {@code element} defines a meta-class, or a container, that is already
+     *                               defined
+     */
+    protected void write(BulkElement element) {
+        checkNotNull(element, "element");
+        checkState(!isClosed, "The mapper is closed");
+
+        final long vertexId = IdConverters.withLong().convert(element.id());
+        final Long existingNode = nodes.get(vertexId);
+
+        if (nonNull(existingNode)) {
+            checkState(isNull(element.metaClass()) || !instanceNodes.get(indexOf(existingNode)), "An element with the same Id (%s) is already defined", element.id().toHexString());
+            checkState(isNull(element.container()) || !containedNodes.get(indexOf(existingNode)), "The container of %s is already defined", element.id().toHexString());
+        }
+
+        // The properties of a new node are written at once: only a node created by a reference has to be read
+        final Map<String, Object> properties = new HashMap<>();
+        if (nonNull(existingNode)) {
+            properties.putAll(inserter.getNodeProperties(existingNode));
+        }
+        else {
+            properties.put(IdGraph.ID, vertexId);
+        }
+
+        element.values().forEach((f, v) -> properties.put(keyOf(f), v));
+
+        element.manyValues().forEach((f, vs) -> {
+            final int size = sizeOf(properties, f);
+            for (int i = 0; i < vs.size(); i++) {
+                properties.put(keyOf(f, size + i), vs.get(i));
+            }
+            properties.put(keyOf(f, ElementVertex.PROPERTY_SIZE), size + vs.size());
+        });
+
+        final Map<Integer, Integer> firstPositions = new HashMap<>();
+        element.manyReferences().forEach((f, rs) -> {
+            final int size = sizeOf(properties, f);
+            firstPositions.put(f, size);
+            properties.put(keyOf(f, ElementVertex.PROPERTY_SIZE), size + rs.size());
+        });
+
+        final long node;
+        if (nonNull(existingNode)) {
+            node = existingNode;
+            inserter.setNodeProperties(node, properties);
+        }
+        else {
+            node = inserter.createNode(properties);
+            nodes.put(vertexId, node);
+        }
+
+        if (nonNull(element.metaClass())) {
+            defineMetaClass(node, element.metaClass());
+        }
+
+        if (nonNull(element.container())) {
+            final SingleFeatureBean container = element.container();
+            containedNodes.set(indexOf(node));
+            createEdge(node, nodeOf(container.owner()), ContainingEdge.LABEL, Collections.singletonMap(ContainingEdge.PROPERTY_FID, container.id()));
+        }
+
+        element.references().forEach((f, r) -> createEdge(node, nodeOf(r), keyOf(f), Collections.emptyMap()));
+
+        element.manyReferences().forEach((f, rs) -> {
+            final int firstPosition = firstPositions.get(f);
+            for (int i = 0; i < rs.size(); i++) {
+                createEdge(node, nodeOf(rs.get(i)), keyOf(f), Collections.singletonMap(ElementEdge.PROPERTY_POSITION, firstPosition + i));
+            }
+        });
+    }
+
+    /**
+     * Retrieves the node of the element identified by the {@code id}. If no such node exists, it will be created.
+     *
+     * @param id the identifier of the element
+     *
+     * @return the node
+     */
+    private long nodeOf(Id id) {
+        final long vertexId = IdConverters.withLong().convert(id);
+        return nodes.computeIfAbsent(vertexId, i -> inserter.createNode(Collections.singletonMap(IdGraph.ID, i)));
+    }
+
+    /**
+     * Links the {@code node} with the node of its {@code metaClass}, created if necessary.
+     *
+     * @param node      the node of the element
+     * @param metaClass the meta-class of the element
+     *
+     * @see ClassVertex
+     */
+    private void defineMetaClass(long node, ClassBean metaClass) {
+        final long classNode = classNodes.computeIfAbsent(metaClass, bean -> {
+            final long vertexId = IdConverters.withLong().convert(ClassVertex.createId(bean));
+
+            final Map<String, Object> properties = new HashMap<>();
+            properties.put(IdGraph.ID, vertexId);
+            properties.put(ClassVertex.PROPERTY_NAME, bean.name());
+            properties.put(ClassVertex.PROPERTY_URI, bean.uri());
+
+            final long newNode = inserter.createNode(properties);
+            nodes.put(vertexId, newNode);
+            return newNode;
+        });
+
+        instanceNodes.set(indexOf(node));
+        createEdge(node, classNode, InstanceOfEdge.LABEL, Collections.emptyMap());
+    }
+
+    /**
+     * Creates a new relationship between the {@code from} node and the {@code to} node.
+     *
+     * @param from       the outgoing node
+     * @param to         the incoming node
+     * @param label      the label of the relationship
+     * @param properties the properties of the relationship
+     */
+    private void createEdge(long from, long to, String label, Map<String, Object> properties) {
+        final RelationshipType type = DynamicRelationshipType.withName(label);
+        inserter.createRelationship(from, to, type, properties);
+    }
+
+    /**
+     * Populates the Lucene indices of the database, in the same way as a {@link ModelGraph}: all nodes are indexed by
+     * their identifier, and meta-class nodes are also indexed by their name.
+     */
+    private void populateIndices() {
+        final BatchInserterIndexProvider indexProvider = new LuceneBatchInserterIndexProvider(inserter);
+
+        try {
+            final BatchInserterIndex idIndex = indexProvider.nodeIndex(NODE_AUTO_INDEX, LuceneIndexImplementation.EXACT_CONFIG);
+            nodes.forEach((id, n) -> idIndex.add(n, Collections.singletonMap(IdGraph.ID, id)));
+
+            final BatchInserterIndex classIndex = indexProvider.nodeIndex(ModelGraph.CLASS_INDEX, LuceneIndexImplementation.EXACT_CONFIG);
+            classNodes.forEach((c, n) -> classIndex.add(n, Collections.singletonMap(ClassVertex.PROPERTY_NAME, c.name())));
+        }
+        finally {
+            indexProvider.shutdown();
+        }
+    }
+
+    /**
+     * Registers the identifiers as an indexed key of vertices, in a single transaction.
+     * <p>
+     * {@code Neo4j2Graph} stores its indexed keys in the graph properties, that can't be defined by a batch inserter.
+     * The automatic index is already populated, so the key is registered directly instead of calling {@link
+     * com.tinkerpop.blueprints.KeyIndexableGraph#createKeyIndex(String, Class, com.tinkerpop.blueprints.Parameter[])},
+     * that re-indexes all vertices.
+     */
+    @SuppressWarnings("deprecation")
+    private void registerKeyIndex() {
+        final GraphDatabaseService db = new GraphDatabaseFactory().newEmbeddedDatabase(directory.toString());
+
+        try (Transaction tx = db.beginTx()) {
+            // Neo4j 2.0 only exposes the graph properties through the deprecated GraphDatabaseAPI, with no replacement:
+            // the type is fully qualified because the import of a deprecated type cannot be suppressed
+            ((org.neo4j.kernel.GraphDatabaseAPI) db).getDependencyResolver()
+                    .resolveDependency(NodeManager.class)
+                    .getGraphProperties()
+                    .setProperty(INDEXED_KEYS, new String[]{IdGraph.ID});
+
+            tx.success();
+        }
+        finally {
+            db.shutdown();
+        }
+    }
+
+    /**
+     * Returns the number of values, or references, of the feature identified by {@code featureId}.
+     *
+     * @param properties the properties of the node
+     * @param featureId  the identifier of the feature
+     *
+     * @return the number of values
+     */
+    @Nonnegative
+    private int sizeOf(Map<String, Object> properties, int featureId) {
+        final Object size = properties.get(keyOf(featureId, ElementVertex.PROPERTY_SIZE));
+        return nonNull(size) ? (Integer) size : 0;
+    }
+
+    /**
+     * Formats the label, or the property key, of the feature identified by {@code featureId}.
+     * <p>
+     * Neo4j does not require unique labels (see {@link ModelGraph#requiresUniqueLabels()}).
+     *
+     * @param featureId the identifier of the feature
+     *
+     * @return the formatted label
+     */
+    @Nonnull
+    private static String keyOf(int featureId) {
+        return String.valueOf(featureId);
+    }
+
+    /**
+     * Formats a property key as {@code label_suffix}.
+     *
+     * @param featureId the identifier of the feature
+     * @param suffix    the suffix of the property
+     *
+     * @return the formatted property key
+     */
+    @Nonnull
+    private static String keyOf(int featureId, Object suffix) {
+        return keyOf(featureId) + ElementVertex.DELIMITER + suffix;
+    }
+
+    /**
+     * Returns the index of the {@code node} in a {@link BitSet}.
+     *
+     * @param node the node
+     *
+     * @return the index
+     */
+    @Nonnegative
+    private static int indexOf(long node) {
+        return Math.toIntExact(node);
+    }
+}
@@ -54,6 +54,12 @@ public class BlueprintsNeo4jConfig extends BaseBlueprintsConfig<BlueprintsNeo4jC
         addOption(createKey(NEO4J_PREFIX, "directory"), directory.toString());
     }
 
+    @Nonnull
+    @Override
+    public BlueprintsNeo4jConfig withEdgeTables() {
+        return super.withEdgeTables();
+    }
+
     /**
      * Adds a native Neo4j key/value in this configuration.
      * <p>
@@ -14,7 +14,8 @@
  * Provides classes related to data management specific to a Neo4j implementation, under Blueprints.
  * <p>
  * This package does not provide a dedicated {@link fr.inria.atlanmod.neoemf.data.Backend}, see {@link
- * fr.inria.atlanmod.neoemf.data.blueprints.BlueprintsBackend} to create a new Neo4j-Blueprints backend.
+ * fr.inria.atlanmod.neoemf.data.blueprints.BlueprintsBackend} to create a new Neo4j-Blueprints backend. Large models can
+ * be imported without transactions with a {@link fr.inria.atlanmod.neoemf.data.blueprints.neo4j.BlueprintsNeo4jBatchMapper}.
  */
 
 package fr.inria.atlanmod.neoemf.data.blueprints.neo4j;
\ No newline at end of file
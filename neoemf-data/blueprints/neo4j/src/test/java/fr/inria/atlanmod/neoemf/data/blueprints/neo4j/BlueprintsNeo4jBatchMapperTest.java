@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2013 Atlanmod.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 3.
+ */
+
+package fr.inria.atlanmod.neoemf.data.blueprints.neo4j;
+
+import fr.inria.atlanmod.neoemf.AbstractUnitTest;
+import fr.inria.atlanmod.neoemf.context.Context;
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+import fr.inria.atlanmod.neoemf.data.blueprints.neo4j.context.BlueprintsNeo4jContext;
+import fr.inria.atlanmod.neoemf.data.mapping.BulkElement;
+import fr.inria.atlanmod.neoemf.data.mapping.BulkLoader;
+import fr.inria.atlanmod.neoemf.data.mapping.DataMapper;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A test-case about {@link BlueprintsNeo4jBatchMapper}.
+ */
+@ParametersAreNonnullByDefault
+class BlueprintsNeo4jBatchMapperTest extends AbstractUnitTest {
+
+    @Nonnull
+    @Override
+    protected Context context() {
+        return new BlueprintsNeo4jContext();
+    }
+
+    /**
+     * Checks that the imported elements are readable when the database is opened with the default back-end.
+     */
+    @Test
+    void testImport() throws IOException {
+        File file = currentTempFile();
+
+        Id id0 = Id.getProvider().fromLong(10);
+        Id id1 = Id.getProvider().fromLong(11);
+        Id id2 = Id.getProvider().fromLong(12);
+        Id id3 = Id.getProvider().fromLong(13);
+
+        ClassBean metaClass0 = ClassBean.of("Class0", "Uri0");
+        ClassBean metaClass1 = ClassBean.of("Class1", "Uri0");
+
+        try (DataMapper mapper = new BlueprintsNeo4jBatchMapper(file.toPath())) {
+            assertThat(mapper.metaClassFor(id0, metaClass0)).isTrue();
+
+            try (BulkLoader loader = mapper.newBulkLoader()) {
+                // `id2` and `id0` are referenced before being written
+                loader.load(new BulkElement(id1)
+                        .metaClass(metaClass1)
+                        .container(SingleFeatureBean.of(id0, 0))
+                        .value(1, "Value0")
+                        .appendValues(2, Arrays.asList("Value1", "Value2"))
+                        .reference(3, id2)
+                        .appendReferences(4, Arrays.asList(id2, id3)));
+
+                loader.load(new BulkElement(id2).metaClass(metaClass0).container(SingleFeatureBean.of(id0, 0)));
+                loader.load(new BulkElement(id3).metaClass(metaClass1));
+
+                // Appended values are merged with the previous ones
+                loader.load(new BulkElement(id1)
+                        .appendValues(2, Collections.singletonList("Value3"))
+                        .appendReferences(4, Collections.singletonList(id0)));
+
+                assertThatThrownBy(() -> loader.load(new BulkElement(id3).metaClass(metaClass0)))
+                        .isInstanceOf(IllegalStateException.class);
+            }
+
+            assertThat(mapper.metaClassFor(id0, metaClass1)).isFalse();
+        }
+
+        try (DataMapper mapper = context().createMapper(file)) {
+            assertThat(mapper.metaClassOf(id0)).contains(metaClass0);
+            assertThat(mapper.metaClassOf(id1)).contains(metaClass1);
+            assertThat(mapper.containerOf(id1)).contains(SingleFeatureBean.of(id0, 0));
+            assertThat(mapper.containerOf(id3)).isNotPresent();
+
+            assertThat(mapper.<String>valueOf(SingleFeatureBean.of(id1, 1))).contains("Value0");
+            assertThat(mapper.<String>allValuesOf(SingleFeatureBean.of(id1, 2))).containsExactly("Value1", "Value2", "Value3");
+
+            assertThat(mapper.referenceOf(SingleFeatureBean.of(id1, 3))).contains(id2);
+            assertThat(mapper.allReferencesOf(SingleFeatureBean.of(id1, 4))).containsExactly(id2, id3, id0);
+            assertThat(mapper.sizeOfReference(SingleFeatureBean.of(id1, 4))).contains(3);
+
+            assertThat(mapper.allInstancesOf(Collections.singleton(metaClass1))).containsExactlyInAnyOrder(id1, id3);
+
+            // The database is still writable
+            mapper.valueFor(SingleFeatureBean.of(id3, 1), "Value4");
+            assertThat(mapper.<String>valueOf(SingleFeatureBean.of(id3, 1))).contains("Value4");
+        }
+    }
+
+    /**
+     * Checks that the mapper does not support the other operations of a {@link DataMapper}.
+     */
+    @Test
+    void testUnsupported() throws IOException {
+        try (DataMapper mapper = new BlueprintsNeo4jBatchMapper(currentTempFile().toPath())) {
+            assertThatThrownBy(() -> mapper.metaClassOf(Id.getProvider().fromLong(0)))
+                    .isInstanceOf(UnsupportedOperationException.class);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2013 Atlanmod.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the Eclipse
+ * Public License, v. 2.0 are satisfied: GNU General Public License, version 3.
+ */
+
+package fr.inria.atlanmod.neoemf.data.blueprints.neo4j;
+
+import fr.inria.atlanmod.neoemf.context.Context;
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.Backend;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+import fr.inria.atlanmod.neoemf.data.blueprints.neo4j.context.BlueprintsNeo4jEdgeTablesContext;
+import fr.inria.atlanmod.neoemf.data.mapping.AbstractDataMapperTest;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A test-case about {@code EdgeTableBlueprintsBackend} with a Neo4j implementation.
+ */
+class BlueprintsNeo4jEdgeTablesTest extends AbstractDataMapperTest {
+
+    @Nonnull
+    @Override
+    protected Context context() {
+        return new BlueprintsNeo4jEdgeTablesContext();
+    }
+
+    /**
+     * Checks that the reference tables are updated with the identifiers of the copied edges, when copying a back-end
+     * to another.
+     */
+    @Test
+    void testCopyReferenceTables() throws IOException {
+        Id id0 = Id.getProvider().fromLong(0);
+        Id id1 = Id.getProvider().fromLong(1);
+        Id id2 = Id.getProvider().fromLong(2);
+        Id id3 = Id.getProvider().fromLong(3);
+
+        SingleFeatureBean feature = SingleFeatureBean.of(id0, 1);
+
+        // The current file is already used by the default mapper
+        File sourceFile = new File(currentTempFile() + "-source");
+        File targetFile = new File(currentTempFile() + "-target");
+
+        try (Backend source = context().factory().createBackend(context().createUri(sourceFile), context().config())) {
+            source.addAllReferences(feature.withPosition(0), Arrays.asList(id1, id2, id3));
+
+            // The first edge is removed: the remaining edges do not have the same identifier in the copy
+            source.removeReference(feature.withPosition(0));
+            source.save();
+
+            try (Backend target = context().factory().createBackend(context().createUri(targetFile), context().config())) {
+                source.copyTo(target);
+
+                assertThat(target.allReferencesOf(feature)).containsExactly(id2, id3);
+                assertThat(target.referenceOf(feature.withPosition(1))).contains(id3);
+            }
+        }
+    }
+}
@@ -13,14 +13,32 @@ import fr.inria.atlanmod.neoemf.core.IdConverters;
 import fr.inria.atlanmod.neoemf.data.AbstractBackend;
 import fr.inria.atlanmod.neoemf.data.DatabaseException;
 import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
+import fr.inria.atlanmod.neoemf.data.bean.ClassDictionary;
 import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
 import fr.inria.atlanmod.neoemf.data.bean.serializer.BeanSerializerFactory;
-
+import fr.inria.atlanmod.neoemf.data.hbase.config.HBaseConfig;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.BufferedMutatorParams;
+import org.apache.hadoop.hbase.client.Connection;
 import org.apache.hadoop.hbase.client.Delete;
 import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Mutation;
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.filter.CompareFilter;
+import org.apache.hadoop.hbase.filter.Filter;
+import org.apache.hadoop.hbase.filter.FilterList;
+import org.apache.hadoop.hbase.filter.SingleColumnValueFilter;
+import org.atlanmod.commons.cache.Cache;
+import org.atlanmod.commons.cache.CacheBuilder;
+import org.atlanmod.commons.collect.MoreIterables;
 import org.atlanmod.commons.function.Converter;
 import org.atlanmod.commons.io.serializer.BinarySerializer;
 import org.atlanmod.commons.primitive.Bytes;
@@ -28,14 +46,24 @@ import org.atlanmod.commons.primitive.Ints;
 import org.atlanmod.commons.primitive.Strings;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 import static org.atlanmod.commons.Preconditions.checkNotNull;
 
 /**
@@ -60,14 +88,33 @@ abstract class AbstractHBaseBackend extends AbstractBackend implements HBaseBack
     protected static final byte[] FAMILY_CONTAINMENT = Strings.toBytes("c");
 
     /**
-     * The column qualifier holding the URI of meta-models.
+     * The column qualifier holding the identifier of classes.
+     *
+     * @see #ROW_CLASSES
      */
-    private static final byte[] QUALIFIER_CLASS_URI = Strings.toBytes("m");
+    private static final byte[] QUALIFIER_CLASS = Strings.toBytes("e");
 
     /**
-     * The column qualifier holding the name of classes.
+     * The row holding the dictionary of classes, in the {@link #FAMILY_TYPE} column family: each column qualifier is
+     * the identifier of a class, and its value is the serialized class. This key cannot collide with the hexadecimal
+     * representation of an {@link Id}.
      */
-    private static final byte[] QUALIFIER_CLASS_NAME = Strings.toBytes("e");
+    private static final byte[] ROW_CLASSES = Strings.toBytes("classes");
+
+    /**
+     * The row holding the version of the layout of the table, in the {@link #QUALIFIER_LAYOUT} column of the {@link
+     * #FAMILY_TYPE} column family. This key cannot collide with the hexadecimal representation of an {@link Id}.
+     *
+     * @see HBaseBackendFactory#layoutVersion()
+     */
+    static final byte[] ROW_LAYOUT = Strings.toBytes("layout");
+
+    /**
+     * The column qualifier holding the version of the layout of the table.
+     *
+     * @see #ROW_LAYOUT
+     */
+    static final byte[] QUALIFIER_LAYOUT = Strings.toBytes("l");
 
     /**
      * The column qualifier holding the identifier of containers.
@@ -79,6 +126,16 @@ abstract class AbstractHBaseBackend extends AbstractBackend implements HBaseBack
      */
     private static final byte[] QUALIFIER_CONTAINING_FEATURE = Strings.toBytes("g");
 
+    /**
+     * The maximum number of rows that can have pending modifications in the write buffer, before it is flushed.
+     */
+    private static final int MAX_PENDING_ROWS = 10_000;
+
+    /**
+     * The maximum number of elements remembered in {@link #classifiedRows}.
+     */
+    private static final int MAX_CLASSIFIED_ROWS = 100_000;
+
     /**
      * The {@link BeanSerializerFactory} to use for creating the {@link BinarySerializer} instances.
      */
@@ -97,25 +154,144 @@ abstract class AbstractHBaseBackend extends AbstractBackend implements HBaseBack
     @Nonnull
     protected final Table table;
 
+    /**
+     * The in-memory view of the dictionary of classes.
+     *
+     * @see #ROW_CLASSES
+     */
+    @Nonnull
+    private final ClassDictionary dictionary = new ClassDictionary();
+
+    /**
+     * The number of rows fetched in each RPC when scanning the {@link #table}.
+     */
+    private final int scanCaching;
+
+    /**
+     * The maximum number of columns returned in each result when scanning the {@link #table}, if defined.
+     */
+    @Nonnull
+    private final Optional<Integer> scanBatch;
+
+    /**
+     * An in-memory cache that holds recently read rows, identified by the {@link Id} of their element. Only defined if
+     * the row cache is enabled.
+     *
+     * @see HBaseConfig#cacheRows(long)
+     */
+    @Nullable
+    private final Cache<Id, Result> rowCache;
+
+    /**
+     * The buffer where the modifications are queued before being sent to the {@link #table}. Only defined if the
+     * buffered write mode is enabled.
+     *
+     * @see HBaseConfig#bufferWrites(long, long)
+     */
+    @Nullable
+    private final BufferedMutator mutator;
+
+    /**
+     * The maximum delay, in milliseconds, between two flushes of the {@link #mutator}.
+     */
+    private final long bufferPeriod;
+
+    /**
+     * The pending modifications of the {@link #mutator}, by row: each modified column is associated with its new
+     * value, or with an empty {@link Optional} if it is deleted. The reads on these columns are answered from this map,
+     * without flushing the {@link #mutator}.
+     * <p>
+     * Reads can flush the {@link #mutator} concurrently, so this map is thread-safe.
+     *
+     * @see #columnOf(byte[], byte[])
+     */
+    @Nonnull
+    private final Map<Id, Map<ByteBuffer, Optional<byte[]>>> pendingCells = new ConcurrentHashMap<>();
+
+    /**
+     * The meta-classes defined in buffered write mode that have not been sent to the {@link #mutator} yet, by element.
+     * The existence of their rows is checked with a single request when flushing the {@link #mutator}, and a meta-class
+     * is only sent if its row does not already have one.
+     */
+    @Nonnull
+    private final Map<Id, Put> uncheckedClasses = new ConcurrentHashMap<>();
+
+    /**
+     * The elements that are known to have a meta-class, because it has been defined or read by this back-end. The
+     * meta-class of an element is never removed, so the rows of these elements are not checked again.
+     */
+    @Nonnull
+    private final Cache<Id, Boolean> classifiedRows = CacheBuilder.builder().maximumSize(MAX_CLASSIFIED_ROWS).build();
+
+    /**
+     * The time, in milliseconds, of the last flush of the {@link #mutator}.
+     */
+    private volatile long lastFlush = System.currentTimeMillis();
+
     /**
      * Constructs a new {@code AbstractHBaseBackend} on the given {@code table}.
      *
-     * @param table the HBase table
+     * @param connection the connection to the HBase cluster
+     * @param table      the HBase table
+     * @param config     the configuration of this back-end
      */
-    protected AbstractHBaseBackend(Table table) {
+    protected AbstractHBaseBackend(Connection connection, Table table, HBaseConfig config) {
+        checkNotNull(connection, "connection");
         checkNotNull(table, "table");
+        checkNotNull(config, "config");
 
         this.table = table;
+        this.scanCaching = config.getScanCaching();
+        this.scanBatch = config.getScanBatch();
+        this.rowCache = config.getCachedRows()
+                .map(s -> CacheBuilder.builder().maximumSize(s).<Id, Result>build())
+                .orElse(null);
+
+        this.bufferPeriod = config.getWriteBufferPeriod();
+        this.mutator = config.getWriteBufferSize()
+                .map(s -> createMutator(connection, table, s))
+                .orElse(null);
+
+        loadDictionary();
+    }
+
+    /**
+     * Creates a new {@link BufferedMutator} on the given {@code table}.
+     *
+     * @param connection the connection to the HBase cluster
+     * @param table      the HBase table
+     * @param bufferSize the size of the buffer, in bytes
+     *
+     * @return a new buffered mutator
+     *
+     * @throws DatabaseException if an I/O error occurs when creating the mutator
+     */
+    @Nonnull
+    private static BufferedMutator createMutator(Connection connection, Table table, long bufferSize) {
+        try {
+            return connection.getBufferedMutator(new BufferedMutatorParams(table.getName()).writeBufferSize(bufferSize));
+        }
+        catch (IOException e) {
+            throw new DatabaseException(e);
+        }
     }
 
     @Override
     protected void internalClose() throws IOException {
+        if (nonNull(rowCache)) {
+            rowCache.invalidateAll();
+        }
+
+        if (nonNull(mutator)) {
+            mutator.close();
+        }
+
         table.close();
     }
 
     @Override
-    public void internalSave() {
-        // TODO Implement this method
+    public void internalSave() throws IOException {
+        flush();
     }
 
     @Nonnull
@@ -124,8 +300,7 @@ abstract class AbstractHBaseBackend extends AbstractBackend implements HBaseBack
         checkNotNull(id, "id");
 
         try {
-            Get get = new Get(AS_BYTES.convert(id));
-            Result result = table.get(get);
+            Result result = get(id, FAMILY_CONTAINMENT, QUALIFIER_CONTAINER, QUALIFIER_CONTAINING_FEATURE);
 
             if (result.isEmpty()) {
                 return Optional.empty();
@@ -155,7 +330,7 @@ abstract class AbstractHBaseBackend extends AbstractBackend implements HBaseBack
                     .addColumn(FAMILY_CONTAINMENT, QUALIFIER_CONTAINER, AS_BYTES.convert(container.owner()))
                     .addColumn(FAMILY_CONTAINMENT, QUALIFIER_CONTAINING_FEATURE, Ints.toBytes(container.id()));
 
-            table.put(put);
+            put(id, put);
         }
         catch (IOException e) {
             throw new DatabaseException(e);
@@ -171,7 +346,7 @@ abstract class AbstractHBaseBackend extends AbstractBackend implements HBaseBack
                     .addColumns(FAMILY_CONTAINMENT, QUALIFIER_CONTAINER)
                     .addColumns(FAMILY_CONTAINMENT, QUALIFIER_CONTAINING_FEATURE);
 
-            table.delete(delete);
+            delete(id, delete);
         }
         catch (IOException e) {
             throw new DatabaseException(e);
@@ -184,21 +359,29 @@ abstract class AbstractHBaseBackend extends AbstractBackend implements HBaseBack
         checkNotNull(id, "id");
 
         try {
-            Get get = new Get(AS_BYTES.convert(id));
-            Result result = table.get(get);
+            Result result = get(id, FAMILY_TYPE, QUALIFIER_CLASS);
 
             if (result.isEmpty()) {
                 return Optional.empty();
             }
 
-            byte[] byteName = result.getValue(FAMILY_TYPE, QUALIFIER_CLASS_NAME);
-            byte[] byteUri = result.getValue(FAMILY_TYPE, QUALIFIER_CLASS_URI);
+            byte[] byteClass = result.getValue(FAMILY_TYPE, QUALIFIER_CLASS);
 
-            if (isNull(byteName) || isNull(byteUri)) {
+            if (isNull(byteClass)) {
                 return Optional.empty();
             }
 
-            return Optional.of(ClassBean.of(Bytes.toString(byteName), Bytes.toString(byteUri)));
+            classifiedRows.put(id, true);
+
+            final int classId = Bytes.toInt(byteClass);
+
+            Optional<ClassBean> metaClass = dictionary.classOf(classId);
+            if (!metaClass.isPresent()) {
+                // The class may have been registered by another client
+                loadDictionary();
+                metaClass = dictionary.classOf(classId);
+            }
+            return metaClass;
         }
         catch (IOException e) {
             throw new DatabaseException(e);
@@ -211,18 +394,35 @@ abstract class AbstractHBaseBackend extends AbstractBackend implements HBaseBack
         checkNotNull(metaClass, "metaClass");
 
         try {
+            // The known elements, including those with a pending meta-class, are not checked again
+            Optional<byte[]> pendingClass = pendingValue(id, FAMILY_TYPE, QUALIFIER_CLASS);
+            if (classifiedRows.contains(id) || (nonNull(pendingClass) && pendingClass.isPresent())) {
+                return false;
+            }
+
             byte[] row = AS_BYTES.convert(id);
 
-            Get get = new Get(row).addColumn(FAMILY_TYPE, QUALIFIER_CLASS_NAME);
-            if (table.exists(get)) {
+            // In buffered write mode, the existence of the meta-class is checked when flushing the buffer
+            if (isNull(mutator) && table.exists(new Get(row).addColumn(FAMILY_TYPE, QUALIFIER_CLASS))) {
+                classifiedRows.put(id, true);
                 return false;
             }
 
+            final int classId = dictionary.idOf(metaClass).orElseGet(() -> registerClass(metaClass));
+
             Put put = new Put(row)
-                    .addColumn(FAMILY_TYPE, QUALIFIER_CLASS_NAME, Strings.toBytes(metaClass.name()))
-                    .addColumn(FAMILY_TYPE, QUALIFIER_CLASS_URI, Strings.toBytes(metaClass.uri()));
+                    .addColumn(FAMILY_TYPE, QUALIFIER_CLASS, Ints.toBytes(classId));
 
-            table.put(put);
+            if (nonNull(mutator)) {
+                uncheckedClasses.put(id, put);
+                mutate(id, put, false);
+                invalidate(id);
+            }
+            else {
+                put(id, put);
+            }
+
+            classifiedRows.put(id, true);
             return true;
         }
         catch (IOException e) {
@@ -233,7 +433,123 @@ abstract class AbstractHBaseBackend extends AbstractBackend implements HBaseBack
     @Nonnull
     @Override
     public Stream<Id> allInstancesOf(Set<ClassBean> metaClasses) {
-        throw new UnsupportedOperationException();
+        if (metaClasses.isEmpty()) {
+            return Stream.empty();
+        }
+
+        Set<Integer> classIds = dictionary.idsOf(metaClasses);
+        if (classIds.size() < metaClasses.size()) {
+            // Some classes may have been registered by another client
+            loadDictionary();
+            classIds = dictionary.idsOf(metaClasses);
+        }
+
+        if (classIds.isEmpty()) {
+            return Stream.empty();
+        }
+
+        // Filter on the server side: only the rows matching one of the meta-classes are returned
+        final List<Filter> filters = classIds.stream()
+                .map(c -> equalFilter(QUALIFIER_CLASS, Ints.toBytes(c)))
+                .collect(Collectors.toList());
+
+        final Scan scan = new Scan()
+                .addFamily(FAMILY_TYPE)
+                .setFilter(new FilterList(FilterList.Operator.MUST_PASS_ONE, filters))
+                .setCaching(scanCaching);
+
+        scanBatch.ifPresent(scan::setBatch);
+
+        try {
+            // The pending modifications must be visible to the scan
+            if (!pendingCells.isEmpty()) {
+                flush();
+            }
+
+            final ResultScanner scanner = table.getScanner(scan);
+
+            return MoreIterables.stream(scanner)
+                    .map(Result::getRow)
+                    .map(AS_BYTES::revert)
+                    .onClose(scanner::close);
+        }
+        catch (IOException e) {
+            throw new DatabaseException(e);
+        }
+    }
+
+    /**
+     * Registers the given {@code metaClass} in the dictionary of classes, if it is not already registered. The
+     * registration is atomic: if another client registers a class with the same identifier, the dictionary is reloaded
+     * and the registration is retried.
+     *
+     * @param metaClass the meta-class to register
+     *
+     * @return the identifier of the meta-class
+     *
+     * @throws DatabaseException if an I/O error occurs when writing the table
+     */
+    private synchronized int registerClass(ClassBean metaClass) {
+        try {
+            Optional<Integer> existingId = dictionary.idOf(metaClass);
+            while (!existingId.isPresent()) {
+                final int classId = dictionary.nextId();
+                final byte[] qualifier = Ints.toBytes(classId);
+
+                Put put = new Put(ROW_CLASSES)
+                        .addColumn(FAMILY_TYPE, qualifier, SERIALIZER_FACTORY.forClass().serialize(metaClass));
+
+                if (table.checkAndPut(ROW_CLASSES, FAMILY_TYPE, qualifier, null, put)) {
+                    dictionary.register(classId, metaClass);
+                    return classId;
+                }
+
+                loadDictionary();
+                existingId = dictionary.idOf(metaClass);
+            }
+            return existingId.get();
+        }
+        catch (IOException e) {
+            throw new DatabaseException(e);
+        }
+    }
+
+    /**
+     * Clears and re-populates the in-memory dictionary of classes from the {@link #table}.
+     *
+     * @throws DatabaseException if an I/O error occurs when reading the table
+     */
+    private synchronized void loadDictionary() {
+        try {
+            Result result = table.get(new Get(ROW_CLASSES).addFamily(FAMILY_TYPE));
+
+            dictionary.clear();
+
+            if (!result.isEmpty()) {
+                for (Cell cell : result.rawCells()) {
+                    dictionary.register(Bytes.toInt(CellUtil.cloneQualifier(cell)), SERIALIZER_FACTORY.forClass().deserialize(CellUtil.cloneValue(cell)));
+                }
+            }
+        }
+        catch (IOException e) {
+            throw new DatabaseException(e);
+        }
+    }
+
+    /**
+     * Creates a {@link Filter} that only accepts the rows where the {@code qualifier} of the {@link #FAMILY_TYPE} column
+     * family is equal to the given {@code value}. Rows without this column are rejected.
+     *
+     * @param qualifier the column qualifier
+     * @param value     the expected value
+     *
+     * @return a new filter
+     */
+    @Nonnull
+    private static Filter equalFilter(byte[] qualifier, byte[] value) {
+        SingleColumnValueFilter filter = new SingleColumnValueFilter(FAMILY_TYPE, qualifier, CompareFilter.CompareOp.EQUAL, value);
+        filter.setFilterIfMissing(true);
+        return filter;
     }
 
     @Nonnull
@@ -242,14 +558,14 @@ abstract class AbstractHBaseBackend extends AbstractBackend implements HBaseBack
         checkNotNull(feature, "feature");
 
         try {
-            Get get = new Get(AS_BYTES.convert(feature.owner()));
-            Result result = table.get(get);
+            byte[] qualifier = Ints.toBytes(feature.id());
+            Result result = get(feature.owner(), FAMILY_PROPERTY, qualifier);
 
             if (result.isEmpty()) {
                 return Optional.empty();
             }
 
-            byte[] byteValue = result.getValue(FAMILY_PROPERTY, Ints.toBytes(feature.id()));
+            byte[] byteValue = result.getValue(FAMILY_PROPERTY, qualifier);
 
             if (isNull(byteValue)) {
                 return Optional.empty();
@@ -269,18 +585,24 @@ abstract class AbstractHBaseBackend extends AbstractBackend implements HBaseBack
         checkNotNull(value, "value");
 
         Optional<V> previousValue = valueOf(feature);
+        setValue(feature, value);
+        return previousValue;
+    }
+
+    @Override
+    public <V> void setValue(SingleFeatureBean feature, V value) {
+        checkNotNull(feature, "feature");
+        checkNotNull(value, "value");
 
         try {
             Put put = new Put(AS_BYTES.convert(feature.owner()))
                     .addColumn(FAMILY_PROPERTY, Ints.toBytes(feature.id()), SERIALIZER_FACTORY.<V>forAny().serialize(value));
 
-            table.put(put);
+            put(feature.owner(), put);
         }
         catch (IOException e) {
             throw new DatabaseException(e);
         }
-
-        return previousValue;
     }
 
     @Override
@@ -291,10 +613,299 @@ abstract class AbstractHBaseBackend extends AbstractBackend implements HBaseBack
             Delete delete = new Delete(AS_BYTES.convert(feature.owner()))
                     .addColumns(FAMILY_PROPERTY, Ints.toBytes(feature.id()));
 
-            table.delete(delete);
+            delete(feature.owner(), delete);
+        }
+        catch (IOException e) {
+            throw new DatabaseException(e);
+        }
+    }
+
+    /**
+     * Retrieves the given {@code qualifiers} of the {@code family} in the row of the element identified by {@code id}.
+     * <p>
+     * If all requested columns have pending modifications, they are retrieved from the write buffer. Otherwise, the
+     * write buffer is flushed if the row has pending modifications. If the row cache is enabled, the whole row is
+     * fetched and cached, so that any other column of the same row can be read without additional round-trip.
+     * Otherwise, only the requested columns are transferred.
+     *
+     * @param id         the identifier of the element
+     * @param family     the column family
+     * @param qualifiers the column qualifiers to retrieve
+     *
+     * @return the result, containing at least the requested columns if they exist
+     *
+     * @throws IOException if an I/O error occurs when reading the table
+     */
+    @Nonnull
+    private Result get(Id id, byte[] family, byte[]... qualifiers) throws IOException {
+        flushIfExpired();
+
+        final Map<ByteBuffer, Optional<byte[]>> cells = pendingCells.get(id);
+        if (nonNull(cells)) {
+            Optional<Result> pendingResult = pendingResult(id, cells, family, qualifiers);
+            if (pendingResult.isPresent()) {
+                return pendingResult.get();
+            }
+            flush();
+        }
+
+        if (nonNull(rowCache)) {
+            return rowCache.get(id, this::getRow);
+        }
+
+        Get get = new Get(AS_BYTES.convert(id));
+        for (byte[] qualifier : qualifiers) {
+            get.addColumn(family, qualifier);
+        }
+        return table.get(get);
+    }
+
+    /**
+     * Builds the result of reading the given {@code qualifiers} of the {@code family} from the pending {@code cells}
+     * of the row of the element identified by {@code id}.
+     *
+     * @param id         the identifier of the element
+     * @param cells      the pending modifications of the row
+     * @param family     the column family
+     * @param qualifiers the column qualifiers to retrieve
+     *
+     * @return an {@link Optional} containing the result, or an empty {@link Optional} if one of the requested columns
+     * has no pending modification
+     */
+    @Nonnull
+    private Optional<Result> pendingResult(Id id, Map<ByteBuffer, Optional<byte[]>> cells, byte[] family, byte[]... qualifiers) {
+        final byte[] row = AS_BYTES.convert(id);
+        final List<Cell> result = new ArrayList<>(qualifiers.length);
+
+        for (byte[] qualifier : qualifiers) {
+            Optional<byte[]> value = cells.get(columnOf(family, qualifier));
+            if (isNull(value)) {
+                return Optional.empty();
+            }
+            value.ifPresent(v -> result.add(new KeyValue(row, family, qualifier, v)));
+        }
+
+        result.sort(KeyValue.COMPARATOR);
+        return Optional.of(Result.create(result));
+    }
+
+    /**
+     * Retrieves the pending modification of the column {@code family:qualifier} in the row of the element identified by
+     * {@code id}.
+     *
+     * @param id        the identifier of the element
+     * @param family    the column family
+     * @param qualifier the column qualifier
+     *
+     * @return an {@link Optional} containing the new value, or an empty {@link Optional} if the column is deleted, or
+     * {@code null} if the column has no pending modification
+     */
+    @Nullable
+    @SuppressWarnings("OptionalAssignedToNull")
+    private Optional<byte[]> pendingValue(Id id, byte[] family, byte[] qualifier) {
+        final Map<ByteBuffer, Optional<byte[]>> cells = pendingCells.get(id);
+        return nonNull(cells) ? cells.get(columnOf(family, qualifier)) : null;
+    }
+
+    /**
+     * Retrieves the whole row of the element identified by {@code id}.
+     *
+     * @param id the identifier of the element
+     *
+     * @return the result
+     *
+     * @throws DatabaseException if an I/O error occurs when reading the table
+     */
+    @Nonnull
+    private Result getRow(Id id) {
+        try {
+            return table.get(new Get(AS_BYTES.convert(id)));
         }
         catch (IOException e) {
             throw new DatabaseException(e);
         }
     }
+
+    /**
+     * Writes the given {@code put} on the row of the element identified by {@code id}, either directly or through the
+     * write buffer if the buffered write mode is enabled.
+     *
+     * @param id  the identifier of the element
+     * @param put the modification to write
+     *
+     * @throws IOException if an I/O error occurs when writing the table
+     */
+    private void put(Id id, Put put) throws IOException {
+        if (nonNull(mutator)) {
+            mutate(id, put, true);
+        }
+        else {
+            table.put(put);
+        }
+
+        invalidate(id);
+    }
+
+    /**
+     * Writes the given {@code delete} on the row of the element identified by {@code id}, either directly or through
+     * the write buffer if the buffered write mode is enabled.
+     *
+     * @param id     the identifier of the element
+     * @param delete the modification to write
+     *
+     * @throws IOException if an I/O error occurs when writing the table
+     */
+    private void delete(Id id, Delete delete) throws IOException {
+        if (nonNull(mutator)) {
+            mutate(id, delete, true);
+        }
+        else {
+            table.delete(delete);
+        }
+
+        invalidate(id);
+    }
+
+    /**
+     * Queues the given {@code mutation} in the write buffer, and flushes it if the last flush is older than the
+     * configured period, or if too many rows have pending modifications.
+     *
+     * @param id       the identifier of the modified element
+     * @param mutation the modification to queue
+     * @param send     {@code true} if the {@code mutation} is sent to the {@link #mutator}, {@code false} if it is only
+     *                 recorded in the {@link #pendingCells} because it is sent by {@link #flush()}
+     *
+     * @throws IOException if an I/O error occurs when flushing the buffer
+     */
+    private void mutate(Id id, Mutation mutation, boolean send) throws IOException {
+        checkNotNull(mutator, "mutator");
+
+        final Map<ByteBuffer, Optional<byte[]>> newCells = new HashMap<>();
+        for (List<Cell> familyCells : mutation.getFamilyCellMap().values()) {
+            for (Cell c : familyCells) {
+                newCells.put(columnOf(CellUtil.cloneFamily(c), CellUtil.cloneQualifier(c)), CellUtil.isDelete(c)
+                        ? Optional.empty()
+                        : Optional.of(CellUtil.cloneValue(c)));
+            }
+        }
+
+        // A delete and a put on the same column must not be sent in the same batch: their order is not guaranteed
+        final Map<ByteBuffer, Optional<byte[]>> cells = pendingCells.get(id);
+        if (nonNull(cells) && newCells.entrySet().stream().anyMatch(e -> conflicts(cells.get(e.getKey()), e.getValue()))) {
+            flush();
+        }
+
+        if (send) {
+            mutator.mutate(mutation);
+        }
+        pendingCells.computeIfAbsent(id, i -> new ConcurrentHashMap<>()).putAll(newCells);
+
+        if (pendingCells.size() >= MAX_PENDING_ROWS) {
+            flush();
+        }
+        else {
+            flushIfExpired();
+        }
+    }
+
+    /**
+     * Checks whether a modification of a column conflicts with its {@code pendingValue}, i.e. if one of them is a
+     * delete and the other is a put.
+     *
+     * @param pendingValue the pending modification of the column, or {@code null} if there is none
+     * @param newValue     the new modification of the column
+     *
+     * @return {@code true} if the modifications cannot be sent in the same batch
+     */
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    private static boolean conflicts(@Nullable Optional<byte[]> pendingValue, Optional<byte[]> newValue) {
+        return nonNull(pendingValue) && pendingValue.isPresent() != newValue.isPresent();
+    }
+
+    /**
+     * Flushes the write buffer if it has pending modifications, and if the last flush is older than the configured
+     * period.
+     *
+     * @throws IOException if an I/O error occurs when flushing the buffer
+     */
+    private void flushIfExpired() throws IOException {
+        if (!pendingCells.isEmpty() && System.currentTimeMillis() - lastFlush >= bufferPeriod) {
+            flush();
+        }
+    }
+
+    /**
+     * Sends all pending modifications of the write buffer to the {@link #table}, if the buffered write mode is
+     * enabled.
+     * <p>
+     * This method is synchronized, because several reads can flush the buffer at the same time.
+     *
+     * @throws IOException if an I/O error occurs when flushing the buffer
+     */
+    private synchronized void flush() throws IOException {
+        if (nonNull(mutator)) {
+            sendUncheckedClasses();
+            mutator.flush();
+
+            // The maps of each row are left unchanged: they are still valid for the reads that are using them
+            pendingCells.clear();
+            lastFlush = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Sends the {@link #uncheckedClasses} to the {@link #mutator}, except those whose row already has a meta-class: the
+     * existing meta-class is left unchanged. The rows are checked with a single request.
+     *
+     * @throws IOException if an I/O error occurs when checking the rows
+     */
+    private void sendUncheckedClasses() throws IOException {
+        checkNotNull(mutator, "mutator");
+
+        if (uncheckedClasses.isEmpty()) {
+            return;
+        }
+
+        final Map<Id, Put> puts = new HashMap<>(uncheckedClasses);
+        uncheckedClasses.keySet().removeAll(puts.keySet());
+
+        final List<Put> classes = new ArrayList<>(puts.values());
+        final List<Get> gets = classes.stream()
+                .map(p -> new Get(p.getRow()).addColumn(FAMILY_TYPE, QUALIFIER_CLASS))
+                .collect(Collectors.toList());
+
+        final boolean[] exists = table.existsAll(gets);
+        for (int i = 0; i < classes.size(); i++) {
+            if (!exists[i]) {
+                mutator.mutate(classes.get(i));
+            }
+        }
+    }
+
+    /**
+     * Returns the key of the column {@code family:qualifier} in the {@link #pendingCells}. The families all have the
+     * same length, so the concatenation is unambiguous.
+     *
+     * @param family    the column family
+     * @param qualifier the column qualifier
+     *
+     * @return the key of the column
+     */
+    @Nonnull
+    private static ByteBuffer columnOf(byte[] family, byte[] qualifier) {
+        byte[] column = Arrays.copyOf(family, family.length + qualifier.length);
+        System.arraycopy(qualifier, 0, column, family.length, qualifier.length);
+        return ByteBuffer.wrap(column);
+    }
+
+    /**
+     * Invalidates the cached row of the element identified by {@code id}, if the row cache is enabled.
+     *
+     * @param id the identifier of the element
+     */
+    private void invalidate(Id id) {
+        if (nonNull(rowCache)) {
+            rowCache.invalidate(id);
+        }
+    }
 }
@@ -10,10 +10,12 @@ package fr.inria.atlanmod.neoemf.data.hbase;
 
 import fr.inria.atlanmod.neoemf.core.Id;
 import fr.inria.atlanmod.neoemf.core.IdConverters;
+import fr.inria.atlanmod.neoemf.data.hbase.config.HBaseConfig;
 import fr.inria.atlanmod.neoemf.data.mapping.ManyReferenceMergedAs;
 import fr.inria.atlanmod.neoemf.data.mapping.ManyValueWithArrays;
 import fr.inria.atlanmod.neoemf.data.mapping.ReferenceAs;
 
+import org.apache.hadoop.hbase.client.Connection;
 import org.apache.hadoop.hbase.client.Table;
 import org.atlanmod.commons.function.Converter;
 import org.atlanmod.commons.primitive.Strings;
@@ -70,10 +72,12 @@ class DefaultHBaseBackend extends AbstractHBaseBackend implements ReferenceAs<St
     /**
      * Constructs a new {@code HBaseBackendArrays} on the given {@code table}.
      *
-     * @param table the HBase table
+     * @param connection the connection to the HBase cluster
+     * @param table      the HBase table
+     * @param config     the configuration of this back-end
      */
-    protected DefaultHBaseBackend(Table table) {
-        super(table);
+    protected DefaultHBaseBackend(Connection connection, Table table, HBaseConfig config) {
+        super(connection, table, config);
     }
 
     @Nonnull
@@ -21,7 +21,15 @@ import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Admin;
 import org.apache.hadoop.hbase.client.Connection;
 import org.apache.hadoop.hbase.client.ConnectionFactory;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.filter.FirstKeyOnlyFilter;
+import org.atlanmod.commons.primitive.Bytes;
+import org.atlanmod.commons.primitive.Ints;
 import org.osgi.service.component.annotations.Component;
 
 import java.io.IOException;
@@ -30,6 +38,8 @@ import java.net.URL;
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
 
+import static java.util.Objects.nonNull;
+
 /**
  * A {@link fr.inria.atlanmod.neoemf.data.BackendFactory} that creates {@link HBaseBackend} instances.
  * <p>
@@ -48,6 +58,17 @@ public class HBaseBackendFactory extends AbstractBackendFactory<HBaseConfig> {
         super("hbase", false);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The version {@code 1} stores each meta-class once in a dictionary, and the identifier of the meta-class of each
+     * element.
+     */
+    @Override
+    protected int layoutVersion() {
+        return 1;
+    }
+
     @Nonnull
     @Override
     protected Backend createRemoteBackend(URL url, HBaseConfig config) throws IOException {
@@ -64,7 +85,52 @@ public class HBaseBackendFactory extends AbstractBackendFactory<HBaseConfig> {
 
         Table table = connection.getTable(tableName);
 
-        return createMapper(config.getMapping(), table);
+        try {
+            checkLayout(table, config.isReadOnly());
+        }
+        catch (IOException | RuntimeException e) {
+            table.close();
+            connection.close();
+            throw e;
+        }
+
+        return createMapper(config.getMapping(), connection, table, config);
+    }
+
+    /**
+     * Checks the version of the layout of the {@code table}, and defines it if the table is empty. The configuration
+     * of a server-based back-end is not saved, so the version is stored in the table.
+     *
+     * @param table      the HBase table
+     * @param isReadOnly {@code true} if the table must not be modified
+     *
+     * @throws IOException if an I/O error occurs when accessing the table
+     * @throws fr.inria.atlanmod.neoemf.data.InvalidBackendException if the table has been created with another layout
+     *
+     * @see AbstractHBaseBackend#ROW_LAYOUT
+     */
+    private void checkLayout(Table table, boolean isReadOnly) throws IOException {
+        Result result = table.get(new Get(AbstractHBaseBackend.ROW_LAYOUT).addColumn(AbstractHBaseBackend.FAMILY_TYPE, AbstractHBaseBackend.QUALIFIER_LAYOUT));
+
+        byte[] version = result.getValue(AbstractHBaseBackend.FAMILY_TYPE, AbstractHBaseBackend.QUALIFIER_LAYOUT);
+        if (nonNull(version)) {
+            checkLayoutVersion(Bytes.toInt(version));
+            return;
+        }
+
+        try (ResultScanner scanner = table.getScanner(new Scan().setFilter(new FirstKeyOnlyFilter()).setCaching(1))) {
+            if (nonNull(scanner.next())) {
+                // The table contains a model stored before the layout was versioned
+                checkLayoutVersion(0);
+            }
+        }
+
+        if (!isReadOnly) {
+            Put put = new Put(AbstractHBaseBackend.ROW_LAYOUT)
+                    .addColumn(AbstractHBaseBackend.FAMILY_TYPE, AbstractHBaseBackend.QUALIFIER_LAYOUT, Ints.toBytes(layoutVersion()));
+
+            table.put(put);
+        }
     }
 
     /**
@@ -11,11 +11,14 @@ package fr.inria.atlanmod.neoemf.data.hbase.config;
 import fr.inria.atlanmod.neoemf.bind.FactoryBinding;
 import fr.inria.atlanmod.neoemf.config.BaseConfig;
 import fr.inria.atlanmod.neoemf.config.Config;
+import fr.inria.atlanmod.neoemf.config.InvalidConfigException;
 import fr.inria.atlanmod.neoemf.data.hbase.HBaseBackendFactory;
 
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.ServiceScope;
 
+import java.util.Optional;
+
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
 
@@ -29,6 +32,51 @@ import javax.annotation.ParametersAreNonnullByDefault;
 @ParametersAreNonnullByDefault
 public class HBaseConfig extends BaseConfig<HBaseConfig> {
 
+    /**
+     * The base prefix for all options related to HBase.
+     */
+    public static final String HBASE_PREFIX = "hbase";
+
+    /**
+     * The key identifying the number of rows fetched in each RPC of a scan.
+     */
+    static final String HBASE_SCAN_CACHING = createKey(HBASE_PREFIX, "scan", "caching");
+
+    /**
+     * The key identifying the maximum number of columns returned in each result of a scan.
+     */
+    static final String HBASE_SCAN_BATCH = createKey(HBASE_PREFIX, "scan", "batch");
+
+    /**
+     * The key identifying the maximum number of rows kept in the read cache.
+     */
+    static final String HBASE_CACHE_ROWS = createKey(HBASE_PREFIX, "cache", "rows");
+
+    /**
+     * The key identifying the size, in bytes, of the write buffer.
+     */
+    static final String HBASE_BUFFER_SIZE = createKey(HBASE_PREFIX, "buffer", "size");
+
+    /**
+     * The key identifying the maximum delay, in milliseconds, between two flushes of the write buffer.
+     */
+    static final String HBASE_BUFFER_PERIOD = createKey(HBASE_PREFIX, "buffer", "period");
+
+    /**
+     * The default number of rows fetched in each RPC of a scan.
+     */
+    private static final int DEFAULT_SCAN_CACHING = 1_000;
+
+    /**
+     * The default size, in bytes, of the write buffer.
+     */
+    private static final long DEFAULT_BUFFER_SIZE = 2 * 1024 * 1024;
+
+    /**
+     * The default maximum delay, in milliseconds, between two flushes of the write buffer.
+     */
+    private static final long DEFAULT_BUFFER_PERIOD = 1_000;
+
     /**
      * Constructs a new {@code HBaseConfig} with default settings.
      */
@@ -55,4 +103,182 @@ public class HBaseConfig extends BaseConfig<HBaseConfig> {
     protected HBaseConfig withDefault() {
         return setMappingWithCheck("fr.inria.atlanmod.neoemf.data.hbase.DefaultHBaseBackend", false);
     }
+
+    /**
+     * Defines the number of rows fetched in each RPC when scanning the table, for example when retrieving all instances
+     * of a meta-class. Higher values reduce the number of round-trips, at the cost of memory.
+     *
+     * @param caching the number of rows
+     *
+     * @return this configuration (for chaining)
+     *
+     * @throws InvalidConfigException if {@code caching < 1}
+     * @see org.apache.hadoop.hbase.client.Scan#setCaching(int)
+     */
+    @Nonnull
+    public HBaseConfig scanCaching(int caching) {
+        if (caching < 1) {
+            throw new InvalidConfigException(String.format("The scan caching cannot be lower than 1 (but it was %d)", caching));
+        }
+
+        return addOption(HBASE_SCAN_CACHING, caching);
+    }
+
+    /**
+     * Returns the number of rows fetched in each RPC when scanning the table.
+     *
+     * @return the number of rows
+     *
+     * @see #scanCaching(int)
+     */
+    public int getScanCaching() {
+        return this.<Object>getOption(HBASE_SCAN_CACHING)
+                .map(String::valueOf)
+                .map(Integer::parseInt)
+                .orElse(DEFAULT_SCAN_CACHING);
+    }
+
+    /**
+     * Defines the maximum number of columns returned in each result when scanning the table. By default, all the
+     * columns of a row are returned at once.
+     *
+     * @param batch the number of columns
+     *
+     * @return this configuration (for chaining)
+     *
+     * @throws InvalidConfigException if {@code batch < 1}
+     * @see org.apache.hadoop.hbase.client.Scan#setBatch(int)
+     */
+    @Nonnull
+    public HBaseConfig scanBatch(int batch) {
+        if (batch < 1) {
+            throw new InvalidConfigException(String.format("The scan batch cannot be lower than 1 (but it was %d)", batch));
+        }
+
+        return addOption(HBASE_SCAN_BATCH, batch);
+    }
+
+    /**
+     * Returns the maximum number of columns returned in each result when scanning the table.
+     *
+     * @return an {@link Optional} containing the number of columns, or an empty {@link Optional} if all columns are
+     * returned at once
+     *
+     * @see #scanBatch(int)
+     */
+    @Nonnull
+    public Optional<Integer> getScanBatch() {
+        return this.<Object>getOption(HBASE_SCAN_BATCH)
+                .map(String::valueOf)
+                .map(Integer::parseInt);
+    }
+
+    /**
+     * Enables a row-level read cache of the given size. Once enabled, reading any column of an element fetches the whole
+     * row in a single round-trip, so that the following reads of the same element are served from memory. Rows are
+     * invalidated when they are modified through the back-end.
+     * <p>
+     * By default, the cache is disabled: each read only fetches the requested column.
+     *
+     * @param maxRows the maximum number of rows kept in memory
+     *
+     * @return this configuration (for chaining)
+     *
+     * @throws InvalidConfigException if {@code maxRows < 1}
+     */
+    @Nonnull
+    public HBaseConfig cacheRows(long maxRows) {
+        if (maxRows < 1) {
+            throw new InvalidConfigException(String.format("The row cache size cannot be lower than 1 (but it was %d)", maxRows));
+        }
+
+        return addOption(HBASE_CACHE_ROWS, maxRows);
+    }
+
+    /**
+     * Returns the maximum number of rows kept in the read cache.
+     *
+     * @return an {@link Optional} containing the number of rows, or an empty {@link Optional} if the cache is disabled
+     *
+     * @see #cacheRows(long)
+     */
+    @Nonnull
+    public Optional<Long> getCachedRows() {
+        return this.<Object>getOption(HBASE_CACHE_ROWS)
+                .map(String::valueOf)
+                .map(Long::parseLong);
+    }
+
+    /**
+     * Enables the buffered write mode, with the default size and period.
+     *
+     * @return this configuration (for chaining)
+     *
+     * @see #bufferWrites(long, long)
+     */
+    @Nonnull
+    public HBaseConfig bufferWrites() {
+        return bufferWrites(DEFAULT_BUFFER_SIZE, DEFAULT_BUFFER_PERIOD);
+    }
+
+    /**
+     * Enables the buffered write mode. Instead of sending each modification in its own RPC, they are queued in a {@link
+     * org.apache.hadoop.hbase.client.BufferedMutator}, and sent in batches when the back-end is saved, when the buffer
+     * exceeds {@code size} bytes, or when the back-end is accessed more than {@code period} milliseconds after the last
+     * flush. Pending modifications are visible to the reads of the same back-end: the modified columns are read from
+     * the buffer, and the buffer is flushed before reading the other columns of a modified row.
+     * <p>
+     * The meta-classes of new elements are checked in a single request when the buffer is flushed, instead of one
+     * request per element: {@link fr.inria.atlanmod.neoemf.data.mapping.ClassMapper#metaClassFor(fr.inria.atlanmod.neoemf.core.Id,
+     * fr.inria.atlanmod.neoemf.data.bean.ClassBean)} returns {@code true} for an element that is unknown to this
+     * back-end, and if its row already has a meta-class in the table, this meta-class is left unchanged.
+     *
+     * @param size   the size of the buffer, in bytes
+     * @param period the maximum delay between two flushes, in milliseconds
+     *
+     * @return this configuration (for chaining)
+     *
+     * @throws InvalidConfigException if {@code size < 1} or {@code period < 0}
+     */
+    @Nonnull
+    public HBaseConfig bufferWrites(long size, long period) {
+        if (size < 1) {
+            throw new InvalidConfigException(String.format("The buffer size cannot be lower than 1 (but it was %d)", size));
+        }
+        if (period < 0) {
+            throw new InvalidConfigException(String.format("The buffer period cannot be lower than 0 (but it was %d)", period));
+        }
+
+        addOption(HBASE_BUFFER_SIZE, size);
+        return addOption(HBASE_BUFFER_PERIOD, period);
+    }
+
+    /**
+     * Returns the size of the write buffer, in bytes.
+     *
+     * @return an {@link Optional} containing the size of the buffer, or an empty {@link Optional} if the writes are not
+     * buffered
+     *
+     * @see #bufferWrites(long, long)
+     */
+    @Nonnull
+    public Optional<Long> getWriteBufferSize() {
+        return this.<Object>getOption(HBASE_BUFFER_SIZE)
+                .map(String::valueOf)
+                .map(Long::parseLong);
+    }
+
+    /**
+     * Returns the maximum delay between two flushes of the write buffer, in milliseconds.
+     *
+     * @return the delay
+     *
+     * @see #bufferWrites(long, long)
+     */
+    public long getWriteBufferPeriod() {
+        return this.<Object>getOption(HBASE_BUFFER_PERIOD)
+                .map(String::valueOf)
+                .map(Long::parseLong)
+                .orElse(DEFAULT_BUFFER_PERIOD);
+    }
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2013 Atlanmod.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.hbase;
+
+import fr.inria.atlanmod.neoemf.context.Context;
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+import fr.inria.atlanmod.neoemf.data.hbase.context.HBaseBufferedContext;
+import fr.inria.atlanmod.neoemf.data.mapping.AbstractDataMapperTest;
+import fr.inria.atlanmod.neoemf.data.mapping.DataMapper;
+
+import org.eclipse.emf.ecore.EcorePackage;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A test-case about {@link DefaultHBaseBackend} with buffered writes.
+ */
+@ParametersAreNonnullByDefault
+class DefaultHBaseBackendBufferedTest extends AbstractDataMapperTest {
+
+    @Nonnull
+    @Override
+    protected Context context() {
+        return new HBaseBufferedContext();
+    }
+
+    /**
+     * Checks that the pending modifications are read from the buffer by the back-end that made them, and are only
+     * visible to another back-end once they are flushed.
+     */
+    @Test
+    void testReadPendingCells() throws IOException {
+        SingleFeatureBean feature0 = SingleFeatureBean.of(idBase, 3);
+        SingleFeatureBean feature1 = SingleFeatureBean.of(idBase, 4);
+
+        try (DataMapper other = context().createMapper(currentTempFile())) {
+            mapper.setValue(feature0, "value0");
+            mapper.setValue(feature1, "value1");
+            mapper.removeValue(feature1);
+
+            assertThat(mapper.<String>valueOf(feature0)).contains("value0");
+            assertThat(mapper.<String>valueOf(feature1)).isNotPresent();
+            assertThat(other.<String>valueOf(feature0)).isNotPresent();
+
+            mapper.save();
+
+            assertThat(other.<String>valueOf(feature0)).contains("value0");
+            assertThat(other.<String>valueOf(feature1)).isNotPresent();
+        }
+    }
+
+    /**
+     * Checks that successive puts and deletes of the same column are flushed in order.
+     */
+    @Test
+    void testFlushOrdering() throws IOException {
+        SingleFeatureBean feature0 = SingleFeatureBean.of(idBase, 3);
+        SingleFeatureBean feature1 = SingleFeatureBean.of(idBase, 4);
+
+        // The last modification of each column must win
+        mapper.setValue(feature0, "value0");
+        mapper.removeValue(feature0);
+        mapper.setValue(feature0, "value1");
+
+        mapper.setValue(feature1, "value0");
+        mapper.setValue(feature1, "value1");
+        mapper.removeValue(feature1);
+
+        mapper.save();
+
+        try (DataMapper other = context().createMapper(currentTempFile())) {
+            assertThat(other.<String>valueOf(feature0)).contains("value1");
+            assertThat(other.<String>valueOf(feature1)).isNotPresent();
+        }
+    }
+
+    /**
+     * Checks that the meta-class of a new element is checked when flushing the buffer, and that an existing meta-class
+     * is not replaced.
+     */
+    @Test
+    void testMetaClassCheckedOnFlush() throws IOException {
+        Id id = Id.getProvider().fromLong(17);
+        ClassBean metaClass0 = ClassBean.of("Metaclass0", EcorePackage.eNS_URI);
+        ClassBean metaClass1 = ClassBean.of("Metaclass1", EcorePackage.eNS_URI);
+
+        try (DataMapper other = context().createMapper(currentTempFile())) {
+            assertThat(mapper.metaClassFor(id, metaClass0)).isTrue();
+            assertThat(mapper.metaClassFor(id, metaClass1)).isFalse();
+            assertThat(mapper.metaClassOf(id)).contains(metaClass0);
+
+            mapper.save();
+
+            // The element is unknown to the other back-end: its row is checked when flushing
+            assertThat(other.metaClassFor(id, metaClass1)).isTrue();
+            other.save();
+
+            assertThat(other.metaClassOf(id)).contains(metaClass0);
+            assertThat(other.metaClassFor(id, metaClass1)).isFalse();
+        }
+    }
+}
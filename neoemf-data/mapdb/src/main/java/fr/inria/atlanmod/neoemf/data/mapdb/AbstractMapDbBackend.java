@@ -12,31 +12,45 @@ import fr.inria.atlanmod.neoemf.core.Id;
 import fr.inria.atlanmod.neoemf.core.IdConverters;
 import fr.inria.atlanmod.neoemf.data.AbstractBackend;
 import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
+import fr.inria.atlanmod.neoemf.data.bean.ClassDictionary;
+import fr.inria.atlanmod.neoemf.data.bean.FeatureBean;
 import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
 import fr.inria.atlanmod.neoemf.data.bean.serializer.BeanSerializerFactory;
+import fr.inria.atlanmod.neoemf.data.mapdb.config.MapDbConfig;
 import fr.inria.atlanmod.neoemf.data.mapping.AllReferenceAs;
+import fr.inria.atlanmod.neoemf.data.mapping.BulkLoader;
 import fr.inria.atlanmod.neoemf.data.mapping.DataMapper;
+import fr.inria.atlanmod.neoemf.data.mapping.SortedBulkLoader;
 
 import org.atlanmod.commons.function.Converter;
 import org.atlanmod.commons.io.serializer.BinarySerializer;
+import org.mapdb.BTreeMap;
 import org.mapdb.DB;
 import org.mapdb.DataInput2;
 import org.mapdb.DataOutput2;
 import org.mapdb.HTreeMap;
 import org.mapdb.Serializer;
+import org.mapdb.serializer.GroupSerializerObjectArray;
+import org.mapdb.serializer.SerializerArrayTuple;
 
 import java.io.DataOutput;
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Stream;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.OverridingMethodsMustInvokeSuper;
 import javax.annotation.ParametersAreNonnullByDefault;
 import javax.annotation.concurrent.Immutable;
 
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 import static org.atlanmod.commons.Preconditions.checkNotNull;
 
 /**
@@ -52,6 +66,12 @@ abstract class AbstractMapDbBackend extends AbstractBackend implements MapDbBack
     @Nonnull
     protected static final BeanSerializerFactory SERIALIZER_FACTORY = BeanSerializerFactory.getInstance();
 
+    /**
+     * The name of the collection that indexes the instances by meta-class.
+     */
+    @Nonnull
+    private static final String INSTANCES_INDEX = "instances/index";
+
     /**
      * The MapDB database.
      */
@@ -66,11 +86,32 @@ abstract class AbstractMapDbBackend extends AbstractBackend implements MapDbBack
     private final HTreeMap<Id, SingleFeatureBean> containers;
 
     /**
-     * A persistent map that stores the meta-class for {@link fr.inria.atlanmod.neoemf.core.PersistentEObject}s,
+     * A persistent map that stores the identifier of the meta-class for {@link fr.inria.atlanmod.neoemf.core.PersistentEObject}s,
      * identified by the object {@link Id}.
+     *
+     * @see #classes
+     */
+    @Nonnull
+    private final HTreeMap<Id, Integer> instances;
+
+    /**
+     * A persistent map that stores each meta-class once, identified by its compact identifier.
+     */
+    @Nonnull
+    private final HTreeMap<Integer, ClassBean> classes;
+
+    /**
+     * The in-memory view of the {@link #classes}.
      */
     @Nonnull
-    private final HTreeMap<Id, ClassBean> instances;
+    private final ClassDictionary dictionary = new ClassDictionary();
+
+    /**
+     * Whether the features are stored in sorted maps.
+     *
+     * @see MapDbConfig#sortFeatures()
+     */
+    private final boolean sortedFeatures;
 
     /**
      * A persistent map that stores single-feature values for {@link fr.inria.atlanmod.neoemf.core.PersistentEObject}s,
@@ -78,18 +119,29 @@ abstract class AbstractMapDbBackend extends AbstractBackend implements MapDbBack
      * many-feature values grouped in collections.
      */
     @Nonnull
-    private final HTreeMap<SingleFeatureBean, Object> singleFeatures;
+    private final ConcurrentMap<SingleFeatureBean, Object> singleFeatures;
+
+    /**
+     * A persistent sorted map, used as a set, that indexes the {@link Id} of each {@link fr.inria.atlanmod.neoemf.core.PersistentEObject}
+     * by its meta-class, stored as {@code (classId, id)} tuples. Only defined if the index is enabled.
+     *
+     * @see MapDbConfig#indexMetaClasses()
+     */
+    @Nullable
+    private final BTreeMap<Object[], Boolean> instancesIndex;
 
     /**
      * Constructs a new {@code AbstractMapDbBackend} wrapping the provided {@code database}.
      *
      * @param database the {@link org.mapdb.DB} used to create and manage {@link org.mapdb.HTreeMap}s
+     * @param config   the configuration of this back-end
      *
      * @see MapDbBackendFactory
      */
     @SuppressWarnings("unchecked")
-    protected AbstractMapDbBackend(DB database) {
+    protected AbstractMapDbBackend(DB database, MapDbConfig config) {
         checkNotNull(database, "database");
+        checkNotNull(config, "config");
 
         this.database = database;
 
@@ -100,13 +152,33 @@ abstract class AbstractMapDbBackend extends AbstractBackend implements MapDbBack
 
         this.instances = database.hashMap("instances")
                 .keySerializer(new SerializerDecorator<>(SERIALIZER_FACTORY.forId()))
-                .valueSerializer(new SerializerDecorator<>(SERIALIZER_FACTORY.forClass()))
+                .valueSerializer(Serializer.INTEGER)
                 .createOrOpen();
 
-        this.singleFeatures = database.hashMap("features/single")
-                .keySerializer(new SerializerDecorator<>(SERIALIZER_FACTORY.forSingleFeature()))
-                .valueSerializer(Serializer.ELSA)
+        this.classes = database.hashMap("classes")
+                .keySerializer(Serializer.INTEGER)
+                .valueSerializer(new SerializerDecorator<>(SERIALIZER_FACTORY.forClass()))
                 .createOrOpen();
+
+        loadDictionary();
+
+        this.sortedFeatures = config.isFeatureSorted();
+        this.singleFeatures = createFeatureMap("features/single", SERIALIZER_FACTORY.forSingleFeature());
+
+        final boolean indexExists = database.exists(INSTANCES_INDEX);
+        if (indexExists || (config.isMetaClassIndexed() && !config.isReadOnly())) {
+            this.instancesIndex = database.treeMap(INSTANCES_INDEX)
+                    .keySerializer(new SerializerArrayTuple(Serializer.INTEGER, Serializer.LONG))
+                    .valueSerializer(Serializer.BOOLEAN)
+                    .createOrOpen();
+
+            if (!indexExists) {
+                rebuildIndex();
+            }
+        }
+        else {
+            this.instancesIndex = null;
+        }
     }
 
     @Override
@@ -128,9 +200,15 @@ abstract class AbstractMapDbBackend extends AbstractBackend implements MapDbBack
 
         for (Map.Entry<String, Object> entry : database.getAll().entrySet()) {
             Object collection = entry.getValue();
+            if (INSTANCES_INDEX.equals(entry.getKey())) {
+                // The index is rebuilt by the target, if needed
+                continue;
+            }
             if (collection instanceof Map) {
                 Map fromMap = (Map) collection;
-                Map toMap = to.database.hashMap(entry.getKey()).open();
+                Map toMap = collection instanceof BTreeMap
+                        ? to.database.treeMap(entry.getKey()).open()
+                        : to.database.hashMap(entry.getKey()).open();
 
                 toMap.putAll(fromMap);
             }
@@ -138,6 +216,9 @@ abstract class AbstractMapDbBackend extends AbstractBackend implements MapDbBack
                 throw new UnsupportedOperationException(String.format("Cannot copy MapDB backend: store type %s is not supported", collection.getClass().getSimpleName()));
             }
         }
+
+        to.loadDictionary();
+        to.rebuildIndex();
     }
 
     @Nonnull
@@ -168,7 +249,7 @@ abstract class AbstractMapDbBackend extends AbstractBackend implements MapDbBack
     public Optional<ClassBean> metaClassOf(Id id) {
         checkNotNull(id, "id");
 
-        return get(instances, id);
+        return this.<Id, Integer>get(instances, id).flatMap(dictionary::classOf);
     }
 
     @Override
@@ -176,16 +257,35 @@ abstract class AbstractMapDbBackend extends AbstractBackend implements MapDbBack
         checkNotNull(id, "id");
         checkNotNull(metaClass, "metaClass");
 
-        return putIfAbsent(instances, id, metaClass);
+        final int classId = dictionary.idOf(metaClass).orElseGet(() -> registerClass(metaClass));
+        final boolean notDefined = putIfAbsent(instances, id, classId);
+
+        if (notDefined && nonNull(instancesIndex)) {
+            instancesIndex.put(indexKey(classId, id), Boolean.TRUE);
+        }
+
+        return notDefined;
     }
 
     @Nonnull
     @Override
     public Stream<Id> allInstancesOf(Set<ClassBean> metaClasses) {
+        final Set<Integer> classIds = dictionary.idsOf(metaClasses);
+
+        if (classIds.isEmpty()) {
+            return Stream.empty();
+        }
+
+        if (nonNull(instancesIndex)) {
+            return classIds.stream()
+                    .flatMap(c -> instancesIndex.prefixSubMap(new Object[]{c}).keySet().stream())
+                    .map(k -> referenceConverter().revert((Long) k[1]));
+        }
+
+        // The keys of the map are unique: they are not buffered to remove duplicates
         return instances.getEntries().stream()
-                .filter(e -> metaClasses.contains(e.getValue()))
-                .map(Map.Entry::getKey)
-                .distinct();
+                .filter(e -> classIds.contains(e.getValue()))
+                .map(Map.Entry::getKey);
     }
 
     @Nonnull
@@ -212,12 +312,143 @@ abstract class AbstractMapDbBackend extends AbstractBackend implements MapDbBack
         delete(singleFeatures, feature);
     }
 
+    @Nonnull
+    @Override
+    public Map<FeatureBean, Object> prefetch(Id id) {
+        checkNotNull(id, "id");
+
+        Map<FeatureBean, Object> values = new HashMap<>();
+        collectValues(id, values);
+        return values;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the features are {@linkplain MapDbConfig#sortFeatures() sorted}, the elements are written in the order of
+     * their identifier, which is the order of the keys in the features maps.
+     */
+    @Nonnull
+    @Override
+    public BulkLoader newBulkLoader() {
+        return sortedFeatures ? new SortedBulkLoader(this) : super.newBulkLoader();
+    }
+
     @Nonnull
     @Override
     public Converter<Id, Long> referenceConverter() {
         return IdConverters.withLong();
     }
 
+    /**
+     * Collects the values of all the features of the element identified by the {@code id}, stored in sorted maps.
+     *
+     * @param id     the identifier of the element
+     * @param values the map where to add the values
+     *
+     * @see #prefetch(Id)
+     */
+    @OverridingMethodsMustInvokeSuper
+    protected void collectValues(Id id, Map<FeatureBean, Object> values) {
+        collectRange(singleFeatures, SingleFeatureBean.of(id, 0), SingleFeatureBean.of(id, Integer.MAX_VALUE), values);
+    }
+
+    /**
+     * Creates or opens the map that stores features under the given {@code name}. According to the configuration, the
+     * map is sorted by key or not.
+     *
+     * @param name          the name of the map
+     * @param keySerializer the serializer of the keys
+     * @param <K>           the type of the keys
+     *
+     * @return the map
+     *
+     * @see MapDbConfig#sortFeatures()
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    protected <K extends FeatureBean> ConcurrentMap<K, Object> createFeatureMap(String name, BinarySerializer<K> keySerializer) {
+        if (sortedFeatures) {
+            return database.treeMap(name)
+                    .keySerializer(new SerializerDecorator<>(keySerializer))
+                    .valueSerializer(Serializer.ELSA)
+                    .createOrOpen();
+        }
+
+        return database.hashMap(name)
+                .keySerializer(new SerializerDecorator<>(keySerializer))
+                .valueSerializer(Serializer.ELSA)
+                .createOrOpen();
+    }
+
+    /**
+     * Adds all the entries of the {@code database} between {@code from} and {@code to} inclusive to the {@code values},
+     * if the {@code database} is sorted.
+     *
+     * @param database the database where to looking for
+     * @param from     the lowest key of the range
+     * @param to       the highest key of the range
+     * @param values   the map where to add the entries
+     * @param <K>      the type of the keys
+     */
+    protected <K extends FeatureBean> void collectRange(Map<K, Object> database, K from, K to, Map<FeatureBean, Object> values) {
+        if (database instanceof NavigableMap) {
+            values.putAll(((NavigableMap<K, Object>) database).subMap(from, true, to, true));
+        }
+    }
+
+    /**
+     * Registers the given {@code metaClass} in the {@link #classes}, if it is not already registered.
+     *
+     * @param metaClass the meta-class to register
+     *
+     * @return the identifier of the meta-class
+     */
+    private synchronized int registerClass(ClassBean metaClass) {
+        Optional<Integer> existingId = dictionary.idOf(metaClass);
+        if (existingId.isPresent()) {
+            return existingId.get();
+        }
+
+        final int classId = dictionary.nextId();
+        classes.put(classId, metaClass);
+        dictionary.register(classId, metaClass);
+        return classId;
+    }
+
+    /**
+     * Clears and re-populates the {@link #dictionary} from the {@link #classes}.
+     */
+    private void loadDictionary() {
+        dictionary.clear();
+        classes.forEach(dictionary::register);
+    }
+
+    /**
+     * Creates the key of the meta-class index for the given {@code classId} and {@code id}.
+     *
+     * @param classId the identifier of the meta-class of the instance
+     * @param id      the identifier of the instance
+     *
+     * @return a new key
+     */
+    @Nonnull
+    private Object[] indexKey(int classId, Id id) {
+        return new Object[]{classId, referenceConverter().convert(id)};
+    }
+
+    /**
+     * Clears and re-populates the meta-class index from the {@code instances} map, if the index is enabled.
+     */
+    private void rebuildIndex() {
+        if (isNull(instancesIndex)) {
+            return;
+        }
+
+        instancesIndex.clear();
+        instances.getEntries().forEach(e -> instancesIndex.put(indexKey(e.getValue(), e.getKey()), Boolean.TRUE));
+    }
+
     /**
      * Retrieves the value of the {@code key} from the {@code database}.
      *
@@ -231,7 +462,7 @@ abstract class AbstractMapDbBackend extends AbstractBackend implements MapDbBack
      */
     @Nonnull
     @SuppressWarnings("unchecked")
-    protected <K, V> Optional<V> get(HTreeMap<K, ? super V> database, K key) {
+    protected <K, V> Optional<V> get(Map<K, ? super V> database, K key) {
         return Optional.ofNullable((V) database.get(key));
     }
 
@@ -249,7 +480,7 @@ abstract class AbstractMapDbBackend extends AbstractBackend implements MapDbBack
      */
     @Nonnull
     @SuppressWarnings("unchecked")
-    protected <K, V> Optional<V> put(HTreeMap<K, ? super V> database, K key, V value) {
+    protected <K, V> Optional<V> put(Map<K, ? super V> database, K key, V value) {
         return Optional.ofNullable((V) database.put(key, value));
     }
 
@@ -265,7 +496,7 @@ abstract class AbstractMapDbBackend extends AbstractBackend implements MapDbBack
      *
      * @return {@code true} if the {@code key} has been saved
      */
-    protected <K, V> boolean putIfAbsent(HTreeMap<K, ? super V> database, K key, V value) {
+    protected <K, V> boolean putIfAbsent(Map<K, ? super V> database, K key, V value) {
         return isNull(database.putIfAbsent(key, value));
     }
 
@@ -276,18 +507,21 @@ abstract class AbstractMapDbBackend extends AbstractBackend implements MapDbBack
      * @param key      the key of the element to remove
      * @param <K>      the type of the key
      */
-    protected <K> void delete(HTreeMap<K, ?> database, K key) {
+    protected <K> void delete(Map<K, ?> database, K key) {
         database.remove(key);
     }
 
     /**
      * A MapDB serializer that delegates its processing to an internal {@link org.atlanmod.commons.io.serializer.BinarySerializer}.
+     * <p>
+     * The serialized values are compared with their natural ordering, so this serializer can be used for the keys of a
+     * {@link BTreeMap}.
      *
      * @param <T> the type of the (de)serialized value
      */
     @Immutable
     @ParametersAreNonnullByDefault
-    static final class SerializerDecorator<T> implements Serializer<T> {
+    static final class SerializerDecorator<T> extends GroupSerializerObjectArray<T> {
 
         /**
          * The serializer where to delegate the serialization process.
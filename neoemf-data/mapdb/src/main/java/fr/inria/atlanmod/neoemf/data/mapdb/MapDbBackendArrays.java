@@ -8,6 +8,7 @@
 
 package fr.inria.atlanmod.neoemf.data.mapdb;
 
+import fr.inria.atlanmod.neoemf.data.mapdb.config.MapDbConfig;
 import fr.inria.atlanmod.neoemf.data.mapping.ManyValueWithArrays;
 
 import org.mapdb.DB;
@@ -25,12 +26,13 @@ class MapDbBackendArrays extends AbstractMapDbBackend implements ManyValueWithAr
     /**
      * Constructs a new {@code MapDbBackendArrays} wrapping the provided {@code db}.
      *
-     * @param db the {@link org.mapdb.DB} used to creates the used {@link java.util.concurrent.ConcurrentMap}s and
-     *           manage the database
+     * @param db     the {@link org.mapdb.DB} used to creates the used {@link java.util.concurrent.ConcurrentMap}s and
+     *               manage the database
+     * @param config the configuration of this back-end
      *
      * @see MapDbBackendFactory
      */
-    protected MapDbBackendArrays(DB db) {
-        super(db);
+    protected MapDbBackendArrays(DB db, MapDbConfig config) {
+        super(db, config);
     }
 }
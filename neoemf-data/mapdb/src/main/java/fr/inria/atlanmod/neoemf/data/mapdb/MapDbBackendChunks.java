@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2013 Atlanmod.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.mapdb;
+
+import fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean;
+import fr.inria.atlanmod.neoemf.data.mapdb.config.MapDbConfig;
+import fr.inria.atlanmod.neoemf.data.mapping.ManyValueWithChunks;
+
+import org.mapdb.DB;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static java.util.Objects.nonNull;
+import static org.atlanmod.commons.Preconditions.checkNotNull;
+
+/**
+ * A {@link MapDbBackend} that use a {@link ManyValueWithChunks} mapping for storing features.
+ *
+ * @see MapDbBackendFactory
+ */
+@ParametersAreNonnullByDefault
+class MapDbBackendChunks extends AbstractMapDbBackend implements ManyValueWithChunks {
+
+    /**
+     * A persistent map that stores chunks of many-feature values for {@link
+     * fr.inria.atlanmod.neoemf.core.PersistentEObject}s, identified by the associated {@link ManyFeatureBean} whose
+     * position is the index of the chunk.
+     */
+    @Nonnull
+    private final ConcurrentMap<ManyFeatureBean, Object> manyFeatures;
+
+    /**
+     * Constructs a new {@code MapDbBackendChunks} wrapping the provided {@code database}.
+     *
+     * @param database the {@link org.mapdb.DB} used to creates the used {@link org.mapdb.HTreeMap}s and manage the
+     *                 database
+     * @param config   the configuration of this back-end
+     *
+     * @see MapDbBackendFactory
+     */
+    protected MapDbBackendChunks(DB database, MapDbConfig config) {
+        super(database, config);
+
+        manyFeatures = createFeatureMap("features/many", SERIALIZER_FACTORY.forManyFeature());
+    }
+
+    @Nonnull
+    @Override
+    public Optional<Object[]> chunkOf(ManyFeatureBean chunk) {
+        checkNotNull(chunk, "chunk");
+
+        return get(manyFeatures, chunk);
+    }
+
+    @Override
+    public void chunkFor(ManyFeatureBean chunk, @Nullable Object[] values) {
+        checkNotNull(chunk, "chunk");
+
+        if (nonNull(values)) {
+            put(manyFeatures, chunk, values);
+        }
+        else {
+            delete(manyFeatures, chunk);
+        }
+    }
+}
@@ -37,6 +37,17 @@ public class MapDbBackendFactory extends AbstractBackendFactory<MapDbConfig> {
         super("mapdb");
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The version {@code 1} stores each meta-class once in a dictionary, and the identifier of the meta-class of each
+     * element.
+     */
+    @Override
+    protected int layoutVersion() {
+        return 1;
+    }
+
     @Nonnull
     @Override
     protected Backend createLocalBackend(Path directory, MapDbConfig config) throws Exception {
@@ -54,6 +65,6 @@ public class MapDbBackendFactory extends AbstractBackendFactory<MapDbConfig> {
 
         DB db = dbBuilder.make();
 
-        return createMapper(config.getMapping(), db);
+        return createMapper(config.getMapping(), db, config);
     }
 }
@@ -8,14 +8,17 @@
 
 package fr.inria.atlanmod.neoemf.data.mapdb;
 
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.bean.FeatureBean;
 import fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean;
+import fr.inria.atlanmod.neoemf.data.mapdb.config.MapDbConfig;
 import fr.inria.atlanmod.neoemf.data.mapping.ManyValueWithIndices;
 
 import org.mapdb.DB;
-import org.mapdb.HTreeMap;
-import org.mapdb.Serializer;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -37,24 +40,28 @@ class MapDbBackendIndices extends AbstractMapDbBackend implements ManyValueWithI
      * identified by the associated {@link ManyFeatureBean}.
      */
     @Nonnull
-    private final HTreeMap<ManyFeatureBean, Object> manyFeatures;
+    private final ConcurrentMap<ManyFeatureBean, Object> manyFeatures;
 
     /**
      * Constructs a new {@code MapDbBackendIndices} wrapping the provided {@code database}.
      *
      * @param database the {@link org.mapdb.DB} used to creates the used {@link org.mapdb.HTreeMap}s and manage the
      *                 database
+     * @param config   the configuration of this back-end
      *
      * @see MapDbBackendFactory
      */
-    @SuppressWarnings("unchecked")
-    protected MapDbBackendIndices(DB database) {
-        super(database);
-
-        manyFeatures = database.hashMap("features/many")
-                .keySerializer(new SerializerDecorator<>(SERIALIZER_FACTORY.forManyFeature()))
-                .valueSerializer(Serializer.ELSA)
-                .createOrOpen();
+    protected MapDbBackendIndices(DB database, MapDbConfig config) {
+        super(database, config);
+
+        manyFeatures = createFeatureMap("features/many", SERIALIZER_FACTORY.forManyFeature());
+    }
+
+    @Override
+    protected void collectValues(Id id, Map<FeatureBean, Object> values) {
+        super.collectValues(id, values);
+
+        collectRange(manyFeatures, ManyFeatureBean.of(id, 0, 0), ManyFeatureBean.of(id, Integer.MAX_VALUE, Integer.MAX_VALUE), values);
     }
 
     @Nonnull
@@ -8,6 +8,7 @@
 
 package fr.inria.atlanmod.neoemf.data.mapdb;
 
+import fr.inria.atlanmod.neoemf.data.mapdb.config.MapDbConfig;
 import fr.inria.atlanmod.neoemf.data.mapping.ManyValueWithLists;
 
 import org.mapdb.DB;
@@ -25,12 +26,13 @@ class MapDbBackendLists extends AbstractMapDbBackend implements ManyValueWithLis
     /**
      * Constructs a new {@code MapDbBackendLists} wrapping the provided {@code db}.
      *
-     * @param db the {@link org.mapdb.DB} used to creates the used {@link java.util.concurrent.ConcurrentMap}s and
-     *           manage the database
+     * @param db     the {@link org.mapdb.DB} used to creates the used {@link java.util.concurrent.ConcurrentMap}s and
+     *               manage the database
+     * @param config the configuration of this back-end
      *
      * @see MapDbBackendFactory
      */
-    protected MapDbBackendLists(DB db) {
-        super(db);
+    protected MapDbBackendLists(DB db, MapDbConfig config) {
+        super(db, config);
     }
 }
@@ -16,6 +16,8 @@ import fr.inria.atlanmod.neoemf.data.mapdb.MapDbBackendFactory;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.ServiceScope;
 
+import java.util.function.Predicate;
+
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
 
@@ -30,6 +32,21 @@ import javax.annotation.ParametersAreNonnullByDefault;
 @ParametersAreNonnullByDefault
 public class MapDbConfig extends BaseConfig<MapDbConfig> {
 
+    /**
+     * The base prefix for all options related to MapDB.
+     */
+    public static final String MAPDB_PREFIX = "mapdb";
+
+    /**
+     * The key identifying the meta-class index option.
+     */
+    static final String MAPDB_INDEX_METACLASSES = createKey(MAPDB_PREFIX, "index", "metaclasses");
+
+    /**
+     * The key identifying the sorted layout option.
+     */
+    static final String MAPDB_SORTED_FEATURES = createKey(MAPDB_PREFIX, "features", "sorted");
+
     /**
      * Constructs a new {@code MapDbConfig} with default settings.
      * <p>
@@ -38,6 +55,8 @@ public class MapDbConfig extends BaseConfig<MapDbConfig> {
      * @see #withIndices()
      * @see #withLists()
      * @see #withArrays()
+     * @see #withBlocks()
+     * @see #withChunks()
      */
     public MapDbConfig() {
         // Don't set a default mapping for a multi-mapping configuration.
@@ -90,5 +109,101 @@ public class MapDbConfig extends BaseConfig<MapDbConfig> {
         return setMappingWithCheck("fr.inria.atlanmod.neoemf.data.mapdb.MapDbBackendLists", false);
     }
 
+    /**
+     * Defines the mapping to use for the created {@link fr.inria.atlanmod.neoemf.data.mapdb.MapDbBackend}.
+     * <p>
+     * This mapping corresponds to a representation of multi-valued features as an ordered list of bounded blocks, where
+     * inserting or removing a value only rewrites the block that contains it.
+     *
+     * @return this configuration (for chaining)
+     *
+     * @see fr.inria.atlanmod.neoemf.data.mapping.ManyValueWithBlocks
+     */
+    @Nonnull
+    public MapDbConfig withBlocks() {
+        return setMappingWithCheck("fr.inria.atlanmod.neoemf.data.mapdb.MapDbBackendBlocks", false);
+    }
+
+    /**
+     * Defines the mapping to use for the created {@link fr.inria.atlanmod.neoemf.data.mapdb.MapDbBackend}.
+     * <p>
+     * This mapping corresponds to an {@link Object}[] representation of multi-valued features, split in chunks of fixed
+     * size, where appending a value or accessing a value by its position only touches a single chunk.
+     *
+     * @return this configuration (for chaining)
+     *
+     * @see fr.inria.atlanmod.neoemf.data.mapping.ManyValueWithChunks
+     */
+    @Nonnull
+    public MapDbConfig withChunks() {
+        return setMappingWithCheck("fr.inria.atlanmod.neoemf.data.mapdb.MapDbBackendChunks", false);
+    }
+
     // endregion
+
+    /**
+     * Adds a secondary index from each meta-class to its instances, maintained by {@link
+     * fr.inria.atlanmod.neoemf.data.mapping.ClassMapper#metaClassFor(fr.inria.atlanmod.neoemf.core.Id,
+     * fr.inria.atlanmod.neoemf.data.bean.ClassBean)}. The index makes {@link fr.inria.atlanmod.neoemf.data.mapping.ClassMapper#allInstancesOf(java.util.Set)}
+     * proportional to the number of matching instances, instead of the size of the model.
+     * <p>
+     * <b>NOTE:</b> When enabled on an existing database, the index is built at the first opening. Once created, the
+     * index is maintained even if this option is not defined.
+     *
+     * @return this configuration (for chaining)
+     */
+    @Nonnull
+    public MapDbConfig indexMetaClasses() {
+        return addOption(MAPDB_INDEX_METACLASSES, true);
+    }
+
+    /**
+     * Returns {@code true} if the meta-classes must be indexed.
+     *
+     * @return {@code true} if the meta-classes must be indexed
+     *
+     * @see #indexMetaClasses()
+     */
+    public boolean isMetaClassIndexed() {
+        return this.<Object>getOption(MAPDB_INDEX_METACLASSES)
+                .map(String::valueOf)
+                .map(Boolean::parseBoolean)
+                .orElse(false);
+    }
+
+    /**
+     * Stores the features in {@link org.mapdb.BTreeMap}s sorted by {@code (owner, feature, position)}, instead of
+     * {@link org.mapdb.HTreeMap}s. All the features of an element are then stored next to each other, and are
+     * retrieved with a single range scan by {@link fr.inria.atlanmod.neoemf.data.mapping.ManyValueMapper#prefetch(fr.inria.atlanmod.neoemf.core.Id)}.
+     * <p>
+     * <b>NOTE:</b> This option is only considered when the database is created. It is saved with the database, and
+     * cannot be changed afterwards.
+     *
+     * @return this configuration (for chaining)
+     */
+    @Nonnull
+    public MapDbConfig sortFeatures() {
+        return addOption(MAPDB_SORTED_FEATURES, true);
+    }
+
+    /**
+     * Returns {@code true} if the features must be stored in sorted maps.
+     *
+     * @return {@code true} if the features must be stored in sorted maps
+     *
+     * @see #sortFeatures()
+     */
+    public boolean isFeatureSorted() {
+        return this.<Object>getOption(MAPDB_SORTED_FEATURES)
+                .map(String::valueOf)
+                .map(Boolean::parseBoolean)
+                .orElse(false);
+    }
+
+    @Nonnull
+    @Override
+    protected Predicate<String> isPersistentKey() {
+        return super.isPersistentKey()
+                .or(s -> s.startsWith(MAPDB_PREFIX));
+    }
 }
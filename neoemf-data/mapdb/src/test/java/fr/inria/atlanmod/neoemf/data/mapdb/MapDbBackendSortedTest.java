@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2013 Atlanmod.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.mapdb;
+
+import fr.inria.atlanmod.neoemf.context.Context;
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+import fr.inria.atlanmod.neoemf.data.mapdb.context.MapDbSortedContext;
+import fr.inria.atlanmod.neoemf.data.mapping.AbstractDataMapperTest;
+
+import org.junit.jupiter.api.Test;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A test-case about {@link MapDbBackendIndices} with features stored in sorted maps.
+ */
+@ParametersAreNonnullByDefault
+class MapDbBackendSortedTest extends AbstractDataMapperTest {
+
+    @Nonnull
+    @Override
+    protected Context context() {
+        return new MapDbSortedContext();
+    }
+
+    /**
+     * Checks that all the features of an element, and only them, are retrieved in a single operation.
+     */
+    @Test
+    void testPrefetch() {
+        Id id0 = Id.getProvider().fromLong(1);
+        Id id1 = Id.getProvider().fromLong(2);
+
+        SingleFeatureBean single = SingleFeatureBean.of(id0, 1);
+        ManyFeatureBean many = ManyFeatureBean.of(id0, 2, 0);
+
+        mapper.valueFor(single, "value0");
+        mapper.appendValue(many.withoutPosition(), "value1");
+        mapper.valueFor(SingleFeatureBean.of(id1, 1), "value2");
+
+        assertThat(mapper.prefetch(id0))
+                .containsEntry(single, "value0")
+                .containsEntry(many, "value1")
+                .doesNotContainValue("value2");
+
+        assertThat(mapper.prefetch(Id.getProvider().fromLong(3))).isEmpty();
+    }
+}
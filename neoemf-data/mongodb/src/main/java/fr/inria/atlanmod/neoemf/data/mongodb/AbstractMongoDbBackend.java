@@ -8,18 +8,29 @@
 
 package fr.inria.atlanmod.neoemf.data.mongodb;
 
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
 import com.mongodb.MongoClient;
-import com.mongodb.client.FindIterable;
+import com.mongodb.MongoWriteException;
+import com.mongodb.bulk.BulkWriteError;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
 import com.mongodb.client.MongoDatabase;
-import com.mongodb.client.model.CountOptions;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.UpdateOneModel;
 import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
 
 import fr.inria.atlanmod.neoemf.core.Id;
 import fr.inria.atlanmod.neoemf.core.IdConverters;
 import fr.inria.atlanmod.neoemf.data.AbstractBackend;
+import fr.inria.atlanmod.neoemf.data.DatabaseException;
 import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
+import fr.inria.atlanmod.neoemf.data.bean.ClassDictionary;
 import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+import fr.inria.atlanmod.neoemf.data.mongodb.config.MongoDbConfig;
 import fr.inria.atlanmod.neoemf.data.mongodb.document.ClassDocument;
 import fr.inria.atlanmod.neoemf.data.mongodb.document.ContainerDocument;
 import fr.inria.atlanmod.neoemf.data.mongodb.document.ModelDocument;
@@ -28,23 +39,29 @@ import org.atlanmod.commons.collect.MoreIterables;
 import org.atlanmod.commons.function.Converter;
 import org.bson.conversions.Bson;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 
 import static com.mongodb.client.model.Filters.and;
 import static com.mongodb.client.model.Filters.eq;
 import static com.mongodb.client.model.Filters.exists;
-import static com.mongodb.client.model.Filters.or;
+import static com.mongodb.client.model.Filters.in;
 import static com.mongodb.client.model.Projections.include;
 import static com.mongodb.client.model.Updates.combine;
 import static com.mongodb.client.model.Updates.set;
-import static com.mongodb.client.model.Updates.setOnInsert;
 import static com.mongodb.client.model.Updates.unset;
+import static java.util.Objects.nonNull;
 import static org.atlanmod.commons.Preconditions.checkNotNull;
 
 /**
@@ -54,16 +71,50 @@ import static org.atlanmod.commons.Preconditions.checkNotNull;
 abstract class AbstractMongoDbBackend extends AbstractBackend implements MongoDbBackend {
 
     /**
-     * The {@link Converter} to store the hexadecimal representation of {@link Id}s.
+     * The name of the MongoDB collection where to store the model.
+     */
+    static final String COLLECTION_INSTANCES = "instances";
+
+    /**
+     * The name of the MongoDB collection holding the version of the layout of the database, in the {@link
+     * #F_LAYOUT_VERSION} field of its single document.
+     *
+     * @see MongoDbBackendFactory#layoutVersion()
+     */
+    static final String COLLECTION_LAYOUT = "layout";
+
+    /**
+     * The field holding the version of the layout of the database.
+     *
+     * @see #COLLECTION_LAYOUT
+     */
+    static final String F_LAYOUT_VERSION = "version";
+
+    /**
+     * The {@link Converter} to store {@link Id}s as native {@code long} values.
      */
     @Nonnull
-    protected final Converter<Id, String> idConverter = IdConverters.withHexString();
+    protected final Converter<Id, Long> idConverter = IdConverters.withLong();
 
     /**
      * The MongoDB collection where to store the model.
+     *
+     * @see #documents(String)
      */
     @Nonnull
-    protected final MongoCollection<ModelDocument> documents;
+    private final MongoCollection<ModelDocument> documents;
+
+    /**
+     * The MongoDB collection where to store each meta-class once, identified by its compact identifier.
+     */
+    @Nonnull
+    private final MongoCollection<ClassDocument> classes;
+
+    /**
+     * The in-memory view of the {@link #classes}.
+     */
+    @Nonnull
+    private final ClassDictionary dictionary = new ClassDictionary();
 
     /**
      * The MongoDB client.
@@ -77,14 +128,48 @@ abstract class AbstractMongoDbBackend extends AbstractBackend implements MongoDb
     @Nonnull
     private final MongoDatabase database;
 
+    /**
+     * The maximum number of pending updates, if the bulk write mode is enabled.
+     *
+     * @see MongoDbConfig#bulkWrites(int)
+     */
+    @Nullable
+    private final Integer bulkSize;
+
+    /**
+     * The updates that have not been sent to the {@link #documents} yet, in order.
+     */
+    @Nonnull
+    private final List<WriteModel<ModelDocument>> pendingWrites = new ArrayList<>();
+
+    /**
+     * The identifiers of the elements that have pending updates.
+     * <p>
+     * Reads can send the pending updates concurrently, so this set is thread-safe. It is only cleared once the pending
+     * updates have been applied.
+     */
+    @Nonnull
+    private final Set<Long> pendingIds = ConcurrentHashMap.newKeySet();
+
     /**
      * Constructs a new {@code AbstractMongoDbBackend}.
+     *
+     * @param client   the MongoDB client
+     * @param database the MongoDB database
+     * @param config   the configuration of this back-end
      */
-    protected AbstractMongoDbBackend(MongoClient client, MongoDatabase database) {
+    protected AbstractMongoDbBackend(MongoClient client, MongoDatabase database, MongoDbConfig config) {
+        checkNotNull(config, "config");
+
         this.client = client;
         this.database = database;
+        this.bulkSize = config.getBulkWriteSize().orElse(null);
+
+        this.documents = getOrCreateCollection(COLLECTION_INSTANCES, ModelDocument.class);
+        this.classes = getOrCreateCollection("classes", ClassDocument.class);
 
-        this.documents = getOrCreateCollection("instances", ModelDocument.class);
+        createIndexes();
+        loadDictionary();
     }
 
     @Nonnull
@@ -101,7 +186,6 @@ abstract class AbstractMongoDbBackend extends AbstractBackend implements MongoDb
      * @return the corresponding {@link MongoCollection} instance
      */
     @Nonnull
-    @SuppressWarnings("SameParameterValue")
     private <D> MongoCollection<D> getOrCreateCollection(String name, Class<D> documentClass) {
         if (MoreIterables.stream(database.listCollectionNames()).noneMatch(name::equals)) {
             database.createCollection(name);
@@ -110,6 +194,17 @@ abstract class AbstractMongoDbBackend extends AbstractBackend implements MongoDb
         return database.getCollection(name, documentClass);
     }
 
+    /**
+     * Creates the secondary indexes of the collections, if they do not already exist.
+     */
+    private void createIndexes() {
+        // Used to retrieve all instances of a meta-class
+        documents.createIndex(Indexes.ascending(ModelDocument.F_METACLASS));
+
+        // Prevents 2 clients from registering the same meta-class with different identifiers
+        classes.createIndex(Indexes.ascending(ClassDocument.F_NAME, ClassDocument.F_URI), new IndexOptions().unique(true));
+    }
+
     @Override
     protected void internalClose() {
         client.close();
@@ -117,7 +212,7 @@ abstract class AbstractMongoDbBackend extends AbstractBackend implements MongoDb
 
     @Override
     protected void internalSave() {
-        // Do nothing
+        flush();
     }
 
     @Nonnull
@@ -125,12 +220,12 @@ abstract class AbstractMongoDbBackend extends AbstractBackend implements MongoDb
     public Optional<SingleFeatureBean> containerOf(Id id) {
         checkNotNull(id, "id");
 
-        final String ownerId = idConverter.convert(id);
+        final long ownerId = idConverter.convert(id);
 
         final Bson filter = and(eq(ModelDocument.F_ID, ownerId), exists(ModelDocument.F_CONTAINER));
         final Bson projection = include(ModelDocument.F_CONTAINER);
 
-        final ModelDocument instance = documents.find(filter).projection(projection).first();
+        final ModelDocument instance = documents(ownerId).find(filter).projection(projection).first();
 
         return Optional.ofNullable(instance)
                 .map(ModelDocument::getContainer)
@@ -142,7 +237,7 @@ abstract class AbstractMongoDbBackend extends AbstractBackend implements MongoDb
         checkNotNull(id, "id");
         checkNotNull(container, "container");
 
-        final String ownerId = idConverter.convert(id);
+        final long ownerId = idConverter.convert(id);
         final ContainerDocument newContainer = ContainerDocument.fromBean(container);
 
         final Bson filter = eq(ModelDocument.F_ID, ownerId);
@@ -151,19 +246,19 @@ abstract class AbstractMongoDbBackend extends AbstractBackend implements MongoDb
                 set(concat(ModelDocument.F_CONTAINER, ContainerDocument.F_ID), newContainer.getId())
         );
 
-        documents.updateOne(filter, update, new UpdateOptions().upsert(true));
+        updateOne(ownerId, filter, update, new UpdateOptions().upsert(true));
     }
 
     @Override
     public void removeContainer(Id id) {
         checkNotNull(id, "id");
 
-        final String ownerId = idConverter.convert(id);
+        final long ownerId = idConverter.convert(id);
 
         final Bson filter = and(eq(ModelDocument.F_ID, ownerId), exists(ModelDocument.F_CONTAINER));
         final Bson update = unset(ModelDocument.F_CONTAINER);
 
-        documents.updateOne(filter, update);
+        updateOne(ownerId, filter, update, new UpdateOptions());
     }
 
     @Nonnull
@@ -171,16 +266,16 @@ abstract class AbstractMongoDbBackend extends AbstractBackend implements MongoDb
     public Optional<ClassBean> metaClassOf(Id id) {
         checkNotNull(id, "id");
 
-        final String ownerId = idConverter.convert(id);
+        final long ownerId = idConverter.convert(id);
 
         final Bson filter = and(eq(ModelDocument.F_ID, ownerId), exists(ModelDocument.F_METACLASS));
         final Bson projection = include(ModelDocument.F_METACLASS);
 
-        final ModelDocument instance = documents.find(filter).projection(projection).first();
+        final ModelDocument instance = documents(ownerId).find(filter).projection(projection).first();
 
         return Optional.ofNullable(instance)
                 .map(ModelDocument::getMetaClass)
-                .map(ClassDocument::toBean);
+                .flatMap(this::classOf);
     }
 
     @Override
@@ -188,44 +283,191 @@ abstract class AbstractMongoDbBackend extends AbstractBackend implements MongoDb
         checkNotNull(id, "id");
         checkNotNull(metaClass, "metaClass");
 
-        final String ownerId = idConverter.convert(id);
-        final ClassDocument newMetaClass = ClassDocument.fromBean(metaClass);
-
-        final Bson filter = eq(ModelDocument.F_ID, ownerId);
+        final long ownerId = idConverter.convert(id);
 
-        final Bson existsFilter = and(filter, exists(ModelDocument.F_METACLASS));
-        final boolean notExists = documents.countDocuments(existsFilter, new CountOptions().limit(1)) == 0;
+        final int classId = dictionary.idOf(metaClass).orElseGet(() -> registerClass(metaClass));
 
-        if (notExists) {
-            final Bson update = combine(
-                    setOnInsert(concat(ModelDocument.F_METACLASS, ClassDocument.F_NAME), newMetaClass.getName()),
-                    setOnInsert(concat(ModelDocument.F_METACLASS, ClassDocument.F_URI), newMetaClass.getUri())
-            );
+        // If the element already has a meta-class, the filter does not match and the upsert fails with a duplicate key
+        final Bson filter = and(eq(ModelDocument.F_ID, ownerId), exists(ModelDocument.F_METACLASS, false));
+        final Bson update = set(ModelDocument.F_METACLASS, classId);
+        final UpdateOptions options = new UpdateOptions().upsert(true);
 
-            documents.updateOne(filter, update, new UpdateOptions().upsert(true));
+        // Never queued, even in bulk mode: the result depends on the current state of the element
+        try {
+            documents(ownerId).updateOne(filter, update, options);
+            return true;
+        }
+        catch (MongoWriteException e) {
+            if (e.getError().getCategory() != ErrorCategory.DUPLICATE_KEY) {
+                throw e;
+            }
+            return false;
         }
-
-        return notExists;
     }
 
     @Nonnull
     @Override
     public Stream<Id> allInstancesOf(Set<ClassBean> metaClasses) {
-        final Iterable<Bson> andFilters = metaClasses.stream()
-                .map(c -> and(
-                        eq(concat(ModelDocument.F_METACLASS, ClassDocument.F_NAME), c.name()),
-                        eq(concat(ModelDocument.F_METACLASS, ClassDocument.F_URI), c.uri()))
-                )
-                .collect(Collectors.toList());
-
-        final Bson filter = or(andFilters);
+        Set<Integer> classIds = dictionary.idsOf(metaClasses);
+        if (classIds.size() < metaClasses.size()) {
+            // Some classes may have been registered by another client
+            loadDictionary();
+            classIds = dictionary.idsOf(metaClasses);
+        }
+
+        if (classIds.isEmpty()) {
+            return Stream.empty();
+        }
+
+        final Bson filter = in(ModelDocument.F_METACLASS, classIds);
         final Bson projection = include(ModelDocument.F_ID);
 
-        final FindIterable<ModelDocument> find = documents.find(filter).projection(projection);
+        // The documents are fetched in batches as the stream is consumed: the identifiers are unique, so they are not
+        // buffered to remove duplicates
+        final MongoCursor<ModelDocument> cursor = documents().find(filter).projection(projection).iterator();
 
-        return MoreIterables.stream(find)
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.NONNULL | Spliterator.DISTINCT), false)
+                .onClose(cursor::close)
                 .map(ModelDocument::getId)
-                .map(idConverter::revert)
-                .distinct();
+                .map(idConverter::revert);
+    }
+
+    /**
+     * Returns the collection where to store the model, after sending the pending updates of the element identified by
+     * {@code ownerId}, so that they are visible to the following operations.
+     *
+     * @param ownerId the identifier of the element to read or update
+     *
+     * @return the collection
+     */
+    @Nonnull
+    protected MongoCollection<ModelDocument> documents(long ownerId) {
+        if (pendingIds.contains(ownerId)) {
+            flush();
+        }
+        return documents;
+    }
+
+    /**
+     * Returns the collection where to store the model, after sending all pending updates.
+     *
+     * @return the collection
+     */
+    @Nonnull
+    protected MongoCollection<ModelDocument> documents() {
+        flush();
+        return documents;
+    }
+
+    /**
+     * Updates the document of the element identified by {@code ownerId}, either directly or through the pending
+     * updates if the bulk write mode is enabled.
+     *
+     * @param ownerId the identifier of the element
+     * @param filter  the query filter to apply to the update
+     * @param update  the update to apply
+     * @param options the options to apply to the update
+     */
+    protected void updateOne(long ownerId, Bson filter, Bson update, UpdateOptions options) {
+        if (nonNull(bulkSize)) {
+            synchronized (this) {
+                pendingWrites.add(new UpdateOneModel<>(filter, update, options));
+                pendingIds.add(ownerId);
+
+                if (pendingWrites.size() >= bulkSize) {
+                    flush();
+                }
+            }
+        }
+        else {
+            documents.updateOne(filter, update, options);
+        }
+    }
+
+    /**
+     * Sends all pending updates to the {@link #documents} in an ordered bulk operation, if the bulk write mode is
+     * enabled.
+     * <p>
+     * This method is synchronized, because several reads can send the pending updates at the same time: each update
+     * must be applied only once.
+     *
+     * @throws DatabaseException if a pending update fails: the following updates are not applied
+     */
+    private synchronized void flush() {
+        if (pendingWrites.isEmpty()) {
+            return;
+        }
+
+        try {
+            documents.bulkWrite(pendingWrites, new BulkWriteOptions().ordered(true));
+        }
+        catch (MongoBulkWriteException e) {
+            // An ordered bulk operation stops at the first error: report the update that caused it
+            final BulkWriteError error = e.getWriteErrors().get(0);
+            final WriteModel<ModelDocument> write = pendingWrites.get(error.getIndex());
+            throw new DatabaseException(String.format("Unable to apply the pending update %s (%d updates not applied): %s", write, pendingWrites.size() - error.getIndex(), error.getMessage()), e);
+        }
+        finally {
+            pendingWrites.clear();
+            pendingIds.clear();
+        }
+    }
+
+    /**
+     * Retrieves the meta-class associated with the given {@code classId}, reloading the dictionary if needed.
+     *
+     * @param classId the identifier of the meta-class
+     *
+     * @return an {@link Optional} containing the meta-class, or {@link Optional#empty()} if the identifier is unknown
+     */
+    @Nonnull
+    private Optional<ClassBean> classOf(int classId) {
+        Optional<ClassBean> metaClass = dictionary.classOf(classId);
+        if (!metaClass.isPresent()) {
+            // The class may have been registered by another client
+            loadDictionary();
+            metaClass = dictionary.classOf(classId);
+        }
+        return metaClass;
+    }
+
+    /**
+     * Registers the given {@code metaClass} in the {@link #classes}, if it is not already registered. If another client
+     * registers a class with the same identifier, the dictionary is reloaded and the registration is retried.
+     *
+     * @param metaClass the meta-class to register
+     *
+     * @return the identifier of the meta-class
+     */
+    private synchronized int registerClass(ClassBean metaClass) {
+        Optional<Integer> existingId = dictionary.idOf(metaClass);
+        while (!existingId.isPresent()) {
+            final int classId = dictionary.nextId();
+
+            try {
+                classes.insertOne(ClassDocument.fromBean(classId, metaClass));
+                dictionary.register(classId, metaClass);
+                return classId;
+            }
+            catch (MongoWriteException e) {
+                if (e.getError().getCategory() != ErrorCategory.DUPLICATE_KEY) {
+                    throw e;
+                }
+            }
+
+            loadDictionary();
+            existingId = dictionary.idOf(metaClass);
+        }
+        return existingId.get();
+    }
+
+    /**
+     * Clears and re-populates the {@link #dictionary} from the {@link #classes}.
+     */
+    private synchronized void loadDictionary() {
+        dictionary.clear();
+        for (ClassDocument c : classes.find()) {
+            dictionary.register(c.getId(), c.toBean());
+        }
     }
 }
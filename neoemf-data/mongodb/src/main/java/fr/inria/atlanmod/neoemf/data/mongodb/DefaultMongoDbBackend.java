@@ -16,18 +16,19 @@ import com.mongodb.client.AggregateIterable;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.FindOneAndUpdateOptions;
 import com.mongodb.client.model.PushOptions;
+import com.mongodb.client.model.UpdateOptions;
 
 import fr.inria.atlanmod.neoemf.core.Id;
 import fr.inria.atlanmod.neoemf.data.bean.ManyFeatureBean;
 import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
 import fr.inria.atlanmod.neoemf.data.mapping.AllReferenceAs;
+import fr.inria.atlanmod.neoemf.data.mongodb.config.MongoDbConfig;
 import fr.inria.atlanmod.neoemf.data.mongodb.document.ModelDocument;
+import fr.inria.atlanmod.neoemf.data.mongodb.document.ValueConverter;
 
 import org.atlanmod.commons.collect.MoreIterables;
 import org.atlanmod.commons.function.Converter;
-import org.atlanmod.commons.io.serializer.BinarySerializerFactory;
-import org.atlanmod.commons.io.serializer.StringSerializer;
-import org.atlanmod.commons.io.serializer.StringSerializerFactory;
+import org.bson.BsonValue;
 import org.bson.Document;
 import org.bson.conversions.Bson;
 
@@ -65,27 +66,30 @@ import static org.atlanmod.commons.Preconditions.checkNotNull;
  * @see MongoDbBackendFactory
  */
 @ParametersAreNonnullByDefault
-class DefaultMongoDbBackend extends AbstractMongoDbBackend implements AllReferenceAs<String> {
+class DefaultMongoDbBackend extends AbstractMongoDbBackend implements AllReferenceAs<Long> {
 
     /**
-     * A {@link org.atlanmod.commons.io.serializer.Serializer} that converts feature values in a Base64 representation.
+     * The {@link Converter} that stores feature values as native BSON values.
      */
     @Nonnull
-    // FIXME Id are converted twice (long -> hexa-string -> base64-string)
-    private final StringSerializer<Object> serializer = StringSerializerFactory.base64(BinarySerializerFactory.getInstance().forAny());
+    private final ValueConverter valueConverter = new ValueConverter();
 
     /**
      * Constructs a new {@code DefaultMongoDbBackend}.
      *
+     * @param client   the MongoDB client
+     * @param database the MongoDB database
+     * @param config   the configuration of this back-end
+     *
      * @see MongoDbBackendFactory
      */
-    protected DefaultMongoDbBackend(MongoClient client, MongoDatabase database) {
-        super(client, database);
+    protected DefaultMongoDbBackend(MongoClient client, MongoDatabase database, MongoDbConfig config) {
+        super(client, database, config);
     }
 
     @Nonnull
     @Override
-    public Converter<Id, String> referenceConverter() {
+    public Converter<Id, Long> referenceConverter() {
         return idConverter;
     }
 
@@ -96,7 +100,7 @@ class DefaultMongoDbBackend extends AbstractMongoDbBackend implements AllReferen
     public <V> Optional<V> valueOf(SingleFeatureBean feature) {
         checkNotNull(feature, "feature");
 
-        final String ownerId = idConverter.convert(feature.owner());
+        final long ownerId = idConverter.convert(feature.owner());
         final String featureId = Integer.toString(feature.id());
 
         final String fieldName = concat(ModelDocument.F_SINGLE_FEATURE, featureId);
@@ -104,7 +108,7 @@ class DefaultMongoDbBackend extends AbstractMongoDbBackend implements AllReferen
         final Bson filter = and(eq(ModelDocument.F_ID, ownerId), exists(fieldName));
         final Bson projection = include(fieldName);
 
-        final ModelDocument instance = documents.find(filter).projection(projection).first();
+        final ModelDocument instance = documents(ownerId).find(filter).projection(projection).first();
 
         return Optional.ofNullable(instance)
                 .map(ModelDocument::getSingleFeatures)
@@ -118,7 +122,7 @@ class DefaultMongoDbBackend extends AbstractMongoDbBackend implements AllReferen
         checkNotNull(feature, "feature");
         checkNotNull(value, "value");
 
-        final String ownerId = idConverter.convert(feature.owner());
+        final long ownerId = idConverter.convert(feature.owner());
         final String featureId = Integer.toString(feature.id());
 
         final String fieldName = concat(ModelDocument.F_SINGLE_FEATURE, featureId);
@@ -127,7 +131,7 @@ class DefaultMongoDbBackend extends AbstractMongoDbBackend implements AllReferen
         final Bson projection = include(fieldName);
         final Bson update = set(fieldName, serializeValue(value));
 
-        final ModelDocument instance = documents.findOneAndUpdate(filter, update, new FindOneAndUpdateOptions().upsert(true).projection(projection));
+        final ModelDocument instance = documents(ownerId).findOneAndUpdate(filter, update, new FindOneAndUpdateOptions().upsert(true).projection(projection));
 
         return Optional.ofNullable(instance)
                 .map(ModelDocument::getSingleFeatures)
@@ -135,11 +139,28 @@ class DefaultMongoDbBackend extends AbstractMongoDbBackend implements AllReferen
                 .map(this::deserializeValue);
     }
 
+    @Override
+    public <V> void setValue(SingleFeatureBean feature, V value) {
+        checkNotNull(feature, "feature");
+        checkNotNull(value, "value");
+
+        final long ownerId = idConverter.convert(feature.owner());
+        final String featureId = Integer.toString(feature.id());
+
+        final String fieldName = concat(ModelDocument.F_SINGLE_FEATURE, featureId);
+
+        // Unlike valueFor(), the previous value is not needed: the update can be deferred
+        final Bson filter = eq(ModelDocument.F_ID, ownerId);
+        final Bson update = set(fieldName, serializeValue(value));
+
+        updateOne(ownerId, filter, update, new UpdateOptions().upsert(true));
+    }
+
     @Override
     public void removeValue(SingleFeatureBean feature) {
         checkNotNull(feature, "feature");
 
-        final String ownerId = idConverter.convert(feature.owner());
+        final long ownerId = idConverter.convert(feature.owner());
         final String featureId = Integer.toString(feature.id());
 
         final String fieldName = concat(ModelDocument.F_SINGLE_FEATURE, featureId);
@@ -147,7 +168,7 @@ class DefaultMongoDbBackend extends AbstractMongoDbBackend implements AllReferen
         final Bson filter = and(eq(ModelDocument.F_ID, ownerId), exists(fieldName));
         final Bson update = unset(fieldName);
 
-        documents.updateOne(filter, update);
+        updateOne(ownerId, filter, update, new UpdateOptions());
     }
 
     //endregion
@@ -159,7 +180,7 @@ class DefaultMongoDbBackend extends AbstractMongoDbBackend implements AllReferen
     public <V> Optional<V> valueOf(ManyFeatureBean feature) {
         checkNotNull(feature, "feature");
 
-        final String ownerId = idConverter.convert(feature.owner());
+        final long ownerId = idConverter.convert(feature.owner());
         final String featureId = Integer.toString(feature.id());
 
         final String fieldName = concat(ModelDocument.F_MANY_FEATURE, featureId);
@@ -168,7 +189,7 @@ class DefaultMongoDbBackend extends AbstractMongoDbBackend implements AllReferen
         final Bson filter = and(eq(ModelDocument.F_ID, ownerId), exists(fieldNameWithPos));
         final Bson projection = slice(fieldName, feature.position(), 1);
 
-        final ModelDocument instance = documents.find(filter).projection(projection).first();
+        final ModelDocument instance = documents(ownerId).find(filter).projection(projection).first();
 
         return Optional.ofNullable(instance)
                 .map(ModelDocument::getManyFeatures)
@@ -183,7 +204,7 @@ class DefaultMongoDbBackend extends AbstractMongoDbBackend implements AllReferen
     public <V> Stream<V> allValuesOf(SingleFeatureBean feature) {
         checkNotNull(feature, "feature");
 
-        final String ownerId = idConverter.convert(feature.owner());
+        final long ownerId = idConverter.convert(feature.owner());
         final String featureId = Integer.toString(feature.id());
 
         final String fieldName = concat(ModelDocument.F_MANY_FEATURE, featureId);
@@ -191,7 +212,7 @@ class DefaultMongoDbBackend extends AbstractMongoDbBackend implements AllReferen
         final Bson filter = and(eq(ModelDocument.F_ID, ownerId), exists(fieldName));
         final Bson projection = include(fieldName);
 
-        final ModelDocument instance = documents.find(filter).projection(projection).first();
+        final ModelDocument instance = documents(ownerId).find(filter).projection(projection).first();
 
         return Optional.ofNullable(instance)
                 .map(ModelDocument::getManyFeatures)
@@ -207,7 +228,7 @@ class DefaultMongoDbBackend extends AbstractMongoDbBackend implements AllReferen
         checkNotNull(feature, "feature");
         checkNotNull(value, "value");
 
-        final String ownerId = idConverter.convert(feature.owner());
+        final long ownerId = idConverter.convert(feature.owner());
         final String featureId = Integer.toString(feature.id());
 
         final String fieldName = concat(ModelDocument.F_MANY_FEATURE, featureId);
@@ -217,7 +238,7 @@ class DefaultMongoDbBackend extends AbstractMongoDbBackend implements AllReferen
         final Bson projection = slice(fieldName, feature.position(), 1);
         final Bson update = set(fieldNameWithPos, serializeValue(value));
 
-        final ModelDocument instance = documents.findOneAndUpdate(filter, update, new FindOneAndUpdateOptions().projection(projection));
+        final ModelDocument instance = documents(ownerId).findOneAndUpdate(filter, update, new FindOneAndUpdateOptions().projection(projection));
 
         final Optional<V> previousValue = Optional.ofNullable(instance)
                 .map(ModelDocument::getManyFeatures)
@@ -251,7 +272,7 @@ class DefaultMongoDbBackend extends AbstractMongoDbBackend implements AllReferen
             return;
         }
 
-        final String ownerId = idConverter.convert(feature.owner());
+        final long ownerId = idConverter.convert(feature.owner());
         final String featureId = Integer.toString(feature.id());
 
         final int size = sizeOfValue(feature.withoutPosition()).orElse(0);
@@ -260,14 +281,14 @@ class DefaultMongoDbBackend extends AbstractMongoDbBackend implements AllReferen
             throw new IndexOutOfBoundsException();
         }
 
-        List<String> newValues = collection.stream().map(this::serializeValue).collect(Collectors.toList());
+        List<BsonValue> newValues = collection.stream().map(this::serializeValue).collect(Collectors.toList());
 
         final String fieldName = concat(ModelDocument.F_MANY_FEATURE, featureId);
 
         final Bson filter = eq(ModelDocument.F_ID, ownerId);
         final Bson update = pushEach(fieldName, newValues, new PushOptions().position(feature.position()));
 
-        documents.updateOne(filter, update);
+        updateOne(ownerId, filter, update, new UpdateOptions());
     }
 
     @Nonnull
@@ -275,7 +296,7 @@ class DefaultMongoDbBackend extends AbstractMongoDbBackend implements AllReferen
     public <V> Optional<V> removeValue(ManyFeatureBean feature) {
         checkNotNull(feature, "feature");
 
-        final String ownerId = idConverter.convert(feature.owner());
+        final long ownerId = idConverter.convert(feature.owner());
         final String featureId = Integer.toString(feature.id());
 
         final String fieldName = concat(ModelDocument.F_MANY_FEATURE, featureId);
@@ -285,19 +306,19 @@ class DefaultMongoDbBackend extends AbstractMongoDbBackend implements AllReferen
         final Bson getFilter = and(baseFilter, exists(fieldNameWithPos));
         final Bson projection = include(fieldName);
 
-        final ModelDocument instance = documents.find(getFilter).projection(projection).first();
+        final ModelDocument instance = documents(ownerId).find(getFilter).projection(projection).first();
 
         if (isNull(instance)) {
             return Optional.empty();
         }
 
-        final List<String> values = instance.getManyFeatures().get(featureId);
+        final List<BsonValue> values = instance.getManyFeatures().get(featureId);
         final Optional<V> previousValue = Optional.of(values.remove(feature.position())).map(this::deserializeValue);
 
         final Bson updateFilter = and(baseFilter, exists(fieldName));
         final Bson update = set(fieldName, values);
 
-        documents.updateOne(updateFilter, update);
+        updateOne(ownerId, updateFilter, update, new UpdateOptions());
 
         return previousValue;
     }
@@ -306,14 +327,14 @@ class DefaultMongoDbBackend extends AbstractMongoDbBackend implements AllReferen
     public void removeAllValues(SingleFeatureBean feature) {
         checkNotNull(feature, "feature");
 
-        final String ownerId = idConverter.convert(feature.owner());
+        final long ownerId = idConverter.convert(feature.owner());
 
         final String fieldName = ModelDocument.F_MANY_FEATURE;
 
         final Bson filter = and(eq(ModelDocument.F_ID, ownerId), exists(fieldName));
         final Bson update = unset(fieldName);
 
-        documents.updateOne(filter, update);
+        updateOne(ownerId, filter, update, new UpdateOptions());
     }
 
     @Nonnull
@@ -322,7 +343,7 @@ class DefaultMongoDbBackend extends AbstractMongoDbBackend implements AllReferen
     public Optional<Integer> sizeOfValue(SingleFeatureBean feature) {
         checkNotNull(feature, "feature");
 
-        final String ownerId = idConverter.convert(feature.owner());
+        final long ownerId = idConverter.convert(feature.owner());
 
         final String fieldName = ModelDocument.F_MANY_FEATURE;
         final String fieldSize = "size";
@@ -337,7 +358,7 @@ class DefaultMongoDbBackend extends AbstractMongoDbBackend implements AllReferen
         );
 
         try {
-            final AggregateIterable<BasicDBObject> aggregate = documents.aggregate(pipeline, BasicDBObject.class);
+            final AggregateIterable<BasicDBObject> aggregate = documents(ownerId).aggregate(pipeline, BasicDBObject.class);
             return MoreIterables.onlyElement(aggregate).map(o -> o.getInt(fieldSize));
         }
         catch (MongoCommandException e) {
@@ -360,11 +381,11 @@ class DefaultMongoDbBackend extends AbstractMongoDbBackend implements AllReferen
      *
      * @return the serialized object
      *
-     * @see #deserializeValue(String)
+     * @see #deserializeValue(BsonValue)
      */
     @Nonnull
-    private <T> String serializeValue(T value) {
-        return serializer.convert(value);
+    private <T> BsonValue serializeValue(T value) {
+        return valueConverter.convert(value);
     }
 
     /**
@@ -378,8 +399,8 @@ class DefaultMongoDbBackend extends AbstractMongoDbBackend implements AllReferen
      */
     @Nonnull
     @SuppressWarnings("unchecked")
-    private <T> T deserializeValue(String value) {
-        return (T) serializer.revert(value);
+    private <T> T deserializeValue(BsonValue value) {
+        return (T) valueConverter.revert(value);
     }
 
     // endregion
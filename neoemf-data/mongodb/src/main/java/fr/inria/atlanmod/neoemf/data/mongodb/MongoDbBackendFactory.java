@@ -11,6 +11,7 @@ package fr.inria.atlanmod.neoemf.data.mongodb;
 import com.mongodb.MongoClient;
 import com.mongodb.ReadConcern;
 import com.mongodb.WriteConcern;
+import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 
 import fr.inria.atlanmod.neoemf.data.AbstractBackendFactory;
@@ -18,6 +19,7 @@ import fr.inria.atlanmod.neoemf.data.Backend;
 import fr.inria.atlanmod.neoemf.data.BackendFactory;
 import fr.inria.atlanmod.neoemf.data.mongodb.config.MongoDbConfig;
 
+import org.bson.Document;
 import org.bson.codecs.configuration.CodecRegistry;
 import org.bson.codecs.pojo.PojoCodecProvider;
 import org.osgi.service.component.annotations.Component;
@@ -27,6 +29,7 @@ import java.net.URL;
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
 
+import static java.util.Objects.nonNull;
 import static org.bson.codecs.configuration.CodecRegistries.fromProviders;
 import static org.bson.codecs.configuration.CodecRegistries.fromRegistries;
 
@@ -44,6 +47,17 @@ public class MongoDbBackendFactory extends AbstractBackendFactory<MongoDbConfig>
         super("mongodb", false);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The version {@code 1} stores each meta-class once in a dictionary, and stores the identifiers and the values of
+     * features as native BSON types.
+     */
+    @Override
+    protected int layoutVersion() {
+        return 1;
+    }
+
     @Nonnull
     @Override
     protected Backend createRemoteBackend(URL url, MongoDbConfig config) {
@@ -51,7 +65,9 @@ public class MongoDbBackendFactory extends AbstractBackendFactory<MongoDbConfig>
 
         try {
             final MongoDatabase database = createDatabase(client, url.getPath().substring(1));
-            return createMapper(config.getMapping(), client, database);
+            checkLayout(database, config.isReadOnly());
+
+            return createMapper(config.getMapping(), client, database, config);
         }
         catch (RuntimeException e) {
             client.close();
@@ -59,6 +75,37 @@ public class MongoDbBackendFactory extends AbstractBackendFactory<MongoDbConfig>
         }
     }
 
+    /**
+     * Checks the version of the layout of the {@code database}, and defines it if the database does not contain any
+     * model. The configuration of a server-based back-end is not saved, so the version is stored in the database.
+     *
+     * @param database   the MongoDB database
+     * @param isReadOnly {@code true} if the database must not be modified
+     *
+     * @throws fr.inria.atlanmod.neoemf.data.InvalidBackendException if the database has been created with another
+     *                                                               layout
+     *
+     * @see AbstractMongoDbBackend#COLLECTION_LAYOUT
+     */
+    private void checkLayout(MongoDatabase database, boolean isReadOnly) {
+        final MongoCollection<Document> layout = database.getCollection(AbstractMongoDbBackend.COLLECTION_LAYOUT);
+
+        Document layoutDocument = layout.find().first();
+        if (nonNull(layoutDocument)) {
+            checkLayoutVersion(layoutDocument.getInteger(AbstractMongoDbBackend.F_LAYOUT_VERSION, 0));
+            return;
+        }
+
+        if (nonNull(database.getCollection(AbstractMongoDbBackend.COLLECTION_INSTANCES).find().first())) {
+            // The database contains a model stored before the layout was versioned
+            checkLayoutVersion(0);
+        }
+
+        if (!isReadOnly) {
+            layout.insertOne(new Document(AbstractMongoDbBackend.F_LAYOUT_VERSION, layoutVersion()));
+        }
+    }
+
     /**
      * Creates a new MongoDB client on a server located by the specified {@code url}.
      *
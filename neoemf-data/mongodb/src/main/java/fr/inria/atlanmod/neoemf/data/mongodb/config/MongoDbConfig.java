@@ -11,11 +11,15 @@ package fr.inria.atlanmod.neoemf.data.mongodb.config;
 import fr.inria.atlanmod.neoemf.bind.FactoryBinding;
 import fr.inria.atlanmod.neoemf.config.BaseConfig;
 import fr.inria.atlanmod.neoemf.config.Config;
+import fr.inria.atlanmod.neoemf.config.InvalidConfigException;
 import fr.inria.atlanmod.neoemf.data.mongodb.MongoDbBackendFactory;
 
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.ServiceScope;
 
+import java.util.Optional;
+
+import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
 
 /**
@@ -28,6 +32,21 @@ import javax.annotation.ParametersAreNonnullByDefault;
 @ParametersAreNonnullByDefault
 public class MongoDbConfig extends BaseConfig<MongoDbConfig> {
 
+    /**
+     * The base prefix for all options related to MongoDB.
+     */
+    public static final String MONGODB_PREFIX = "mongodb";
+
+    /**
+     * The key identifying the number of writes sent in each bulk operation.
+     */
+    static final String MONGODB_BULK_SIZE = createKey(MONGODB_PREFIX, "bulk", "size");
+
+    /**
+     * The default number of writes sent in each bulk operation.
+     */
+    private static final int DEFAULT_BULK_SIZE = 1_000;
+
     /**
      * Constructs a new {@code MongoDbConfig}.
      */
@@ -43,4 +62,54 @@ public class MongoDbConfig extends BaseConfig<MongoDbConfig> {
     protected MongoDbConfig withDefault() {
         return setMappingWithCheck("fr.inria.atlanmod.neoemf.data.mongodb.DefaultMongoDbBackend", false);
     }
+
+    /**
+     * Enables the bulk write mode, with the default size.
+     *
+     * @return this configuration (for chaining)
+     *
+     * @see #bulkWrites(int)
+     */
+    @Nonnull
+    public MongoDbConfig bulkWrites() {
+        return bulkWrites(DEFAULT_BULK_SIZE);
+    }
+
+    /**
+     * Enables the bulk write mode. Instead of sending each update in its own round-trip, the updates that do not need
+     * to read the database are queued, and sent in a single {@code bulkWrite} when the back-end is saved, or when
+     * {@code size} updates are pending. Pending updates are visible to the reads of the same back-end.
+     * <p>
+     * <b>NOTE:</b> Defining the meta-class of an element is never queued, because the caller must know whether the
+     * element already had one: the pending updates of the element are sent first.
+     *
+     * @param size the maximum number of pending updates
+     *
+     * @return this configuration (for chaining)
+     *
+     * @throws InvalidConfigException if {@code size < 1}
+     */
+    @Nonnull
+    public MongoDbConfig bulkWrites(int size) {
+        if (size < 1) {
+            throw new InvalidConfigException(String.format("The bulk size cannot be lower than 1 (but it was %d)", size));
+        }
+
+        return addOption(MONGODB_BULK_SIZE, size);
+    }
+
+    /**
+     * Returns the maximum number of updates sent in each bulk operation.
+     *
+     * @return an {@link Optional} containing the number of updates, or an empty {@link Optional} if the updates are not
+     * grouped
+     *
+     * @see #bulkWrites(int)
+     */
+    @Nonnull
+    public Optional<Integer> getBulkWriteSize() {
+        return this.<Object>getOption(MONGODB_BULK_SIZE)
+                .map(String::valueOf)
+                .map(Integer::parseInt);
+    }
 }
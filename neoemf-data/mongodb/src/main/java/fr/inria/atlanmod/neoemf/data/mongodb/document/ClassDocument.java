@@ -11,17 +11,25 @@ package fr.inria.atlanmod.neoemf.data.mongodb.document;
 import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
 import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
 
+import org.bson.codecs.pojo.annotations.BsonId;
 import org.bson.codecs.pojo.annotations.BsonProperty;
 
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
 
 /**
- * Represents a meta-class.
+ * Model for the "classes" MongoDb collection.
+ * Represents a meta-class, stored once and referenced by its identifier from the {@link ModelDocument}s.
  */
 @ParametersAreNonnullByDefault
 public class ClassDocument {
 
+    /**
+     * The field name of the unique identifier of a meta-class.
+     */
+    @Nonnull
+    public static final String F_ID = "_id";
+
     /**
      * The field name of the name of a meta-class.
      */
@@ -34,6 +42,12 @@ public class ClassDocument {
     @Nonnull
     public static final String F_URI = "uri";
 
+    /**
+     * The unique identifier of this meta-class.
+     */
+    @BsonId
+    private Integer id;
+
     /**
      * The name of this meta-class.
      */
@@ -49,18 +63,28 @@ public class ClassDocument {
     /**
      * Converts the specified {@code bean} in a {@link ClassDocument}.
      *
+     * @param id   the identifier of the meta-class
      * @param bean the bean
      *
      * @return the document
      */
     @Nonnull
-    public static ClassDocument fromBean(ClassBean bean) {
+    public static ClassDocument fromBean(int id, ClassBean bean) {
         ClassDocument m = new ClassDocument();
+        m.setId(id);
         m.setName(bean.name());
         m.setUri(bean.uri());
         return m;
     }
 
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
     public String getName() {
         return name;
     }
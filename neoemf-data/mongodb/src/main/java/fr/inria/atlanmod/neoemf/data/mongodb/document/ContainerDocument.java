@@ -38,13 +38,13 @@ public class ContainerDocument {
 
     // TODO Use the converter of the calling Backend
     @Nonnull
-    private static final Converter<Id, String> CONVERTER = IdConverters.withHexString();
+    private static final Converter<Id, Long> CONVERTER = IdConverters.withLong();
 
     /**
      * The identifier of the owner of this container.
      */
     @BsonProperty(F_OWNER)
-    private String owner;
+    private Long owner;
 
     /**
      * The identifier of the containing feature.
@@ -67,11 +67,11 @@ public class ContainerDocument {
         return c;
     }
 
-    public String getOwner() {
+    public Long getOwner() {
         return owner;
     }
 
-    public void setOwner(String owner) {
+    public void setOwner(Long owner) {
         this.owner = owner;
     }
 
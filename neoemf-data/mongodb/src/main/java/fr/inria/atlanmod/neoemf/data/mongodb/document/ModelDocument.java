@@ -9,6 +9,7 @@
 package fr.inria.atlanmod.neoemf.data.mongodb.document;
 
 import org.atlanmod.commons.annotation.VisibleForReflection;
+import org.bson.BsonValue;
 import org.bson.codecs.pojo.annotations.BsonId;
 import org.bson.codecs.pojo.annotations.BsonProperty;
 
@@ -60,13 +61,15 @@ public class ModelDocument {
      * The unique identifier of the model object.
      */
     @BsonId
-    private String id;
+    private Long id;
 
     /**
-     * The meta-class of the related model object.
+     * The identifier of the meta-class of the related model object.
+     *
+     * @see ClassDocument
      */
     @BsonProperty(F_METACLASS)
-    private ClassDocument metaClass;
+    private Integer metaClass;
 
     /**
      * The container of the related model object.
@@ -78,27 +81,27 @@ public class ModelDocument {
      * The single-valued features values of the related model object.
      */
     @BsonProperty(F_SINGLE_FEATURE)
-    private Map<String, String> singleFeatures = new HashMap<>();
+    private Map<String, BsonValue> singleFeatures = new HashMap<>();
 
     /**
      * The multi-valued features values of the related model object.
      */
     @BsonProperty(F_MANY_FEATURE)
-    private Map<String, List<String>> manyFeatures = new HashMap<>();
+    private Map<String, List<BsonValue>> manyFeatures = new HashMap<>();
 
-    public String getId() {
+    public Long getId() {
         return id;
     }
 
-    public void setId(String id) {
+    public void setId(Long id) {
         this.id = id;
     }
 
-    public ClassDocument getMetaClass() {
+    public Integer getMetaClass() {
         return metaClass;
     }
 
-    public void setMetaClass(ClassDocument metaClass) {
+    public void setMetaClass(Integer metaClass) {
         this.metaClass = metaClass;
     }
 
@@ -110,21 +113,21 @@ public class ModelDocument {
         this.container = container;
     }
 
-    public Map<String, String> getSingleFeatures() {
+    public Map<String, BsonValue> getSingleFeatures() {
         return singleFeatures;
     }
 
     @VisibleForReflection
-    public void setSingleFeatures(Map<String, String> singleFeatures) {
+    public void setSingleFeatures(Map<String, BsonValue> singleFeatures) {
         this.singleFeatures = singleFeatures;
     }
 
-    public Map<String, List<String>> getManyFeatures() {
+    public Map<String, List<BsonValue>> getManyFeatures() {
         return manyFeatures;
     }
 
     @VisibleForReflection
-    public void setManyFeatures(Map<String, List<String>> manyFeatures) {
+    public void setManyFeatures(Map<String, List<BsonValue>> manyFeatures) {
         this.manyFeatures = manyFeatures;
     }
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2013 Atlanmod.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.mongodb.document;
+
+import org.atlanmod.commons.function.Converter;
+import org.atlanmod.commons.io.serializer.BinarySerializer;
+import org.atlanmod.commons.io.serializer.BinarySerializerFactory;
+import org.bson.BsonBinary;
+import org.bson.BsonBoolean;
+import org.bson.BsonDouble;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.annotation.concurrent.Immutable;
+
+import static org.atlanmod.commons.Preconditions.checkNotNull;
+
+/**
+ * A {@link Converter} that stores feature values as native BSON values.
+ * <p>
+ * {@link String}s, {@link Integer}s, {@link Long}s, {@link Double}s and {@link Boolean}s are stored with their
+ * corresponding BSON type, so that they can be compared and indexed by MongoDB. Any other value is serialized in a
+ * {@link BsonBinary}.
+ */
+@Immutable
+@ParametersAreNonnullByDefault
+public final class ValueConverter implements Converter<Object, BsonValue> {
+
+    /**
+     * The serializer of the values that have no native BSON type.
+     */
+    @Nonnull
+    private final BinarySerializer<Object> serializer = BinarySerializerFactory.getInstance().forAny();
+
+    @Nonnull
+    @Override
+    public BsonValue convert(Object value) {
+        checkNotNull(value, "value");
+
+        if (value instanceof String) {
+            return new BsonString((String) value);
+        }
+        else if (value instanceof Integer) {
+            return new BsonInt32((Integer) value);
+        }
+        else if (value instanceof Long) {
+            return new BsonInt64((Long) value);
+        }
+        else if (value instanceof Double) {
+            return new BsonDouble((Double) value);
+        }
+        else if (value instanceof Boolean) {
+            return BsonBoolean.valueOf((Boolean) value);
+        }
+        else {
+            return new BsonBinary(serializer.convert(value));
+        }
+    }
+
+    @Nonnull
+    @Override
+    public Object revert(BsonValue value) {
+        checkNotNull(value, "value");
+
+        switch (value.getBsonType()) {
+            case STRING:
+                return value.asString().getValue();
+            case INT32:
+                return value.asInt32().getValue();
+            case INT64:
+                return value.asInt64().getValue();
+            case DOUBLE:
+                return value.asDouble().getValue();
+            case BOOLEAN:
+                return value.asBoolean().getValue();
+            case BINARY:
+                return serializer.revert(value.asBinary().getData());
+            default:
+                throw new IllegalArgumentException(String.format("Unsupported BSON type: %s", value.getBsonType()));
+        }
+    }
+}
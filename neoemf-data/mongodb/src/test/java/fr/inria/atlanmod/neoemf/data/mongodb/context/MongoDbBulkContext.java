@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2013 Atlanmod.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.mongodb.context;
+
+import fr.inria.atlanmod.neoemf.config.ImmutableConfig;
+import fr.inria.atlanmod.neoemf.data.mongodb.config.MongoDbConfig;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * An {@link AbstractMongoDbContext} with bulk writes.
+ */
+@ParametersAreNonnullByDefault
+public class MongoDbBulkContext extends AbstractMongoDbContext {
+
+    @Nonnull
+    @Override
+    public String name() {
+        return super.name() + "-Bulk";
+    }
+
+    @Nonnull
+    @Override
+    public ImmutableConfig config() {
+        return new MongoDbConfig().bulkWrites();
+    }
+}
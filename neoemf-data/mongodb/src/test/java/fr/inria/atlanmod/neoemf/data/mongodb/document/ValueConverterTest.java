@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2013 Atlanmod.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.data.mongodb.document;
+
+import org.atlanmod.commons.AbstractTest;
+import org.bson.BsonType;
+import org.bson.BsonValue;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Date;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A test-case about {@link ValueConverter}.
+ */
+@ParametersAreNonnullByDefault
+class ValueConverterTest extends AbstractTest {
+
+    private final ValueConverter converter = new ValueConverter();
+
+    /**
+     * Checks that strings and primitives with a native BSON type are stored with this type.
+     */
+    @Test
+    void testNativeTypes() {
+        assertThat(converter.convert("value").getBsonType()).isEqualTo(BsonType.STRING);
+        assertThat(converter.convert(42).getBsonType()).isEqualTo(BsonType.INT32);
+        assertThat(converter.convert(42L).getBsonType()).isEqualTo(BsonType.INT64);
+        assertThat(converter.convert(4.2).getBsonType()).isEqualTo(BsonType.DOUBLE);
+        assertThat(converter.convert(true).getBsonType()).isEqualTo(BsonType.BOOLEAN);
+
+        for (Object value : Arrays.asList("value", 42, 42L, 4.2, true)) {
+            assertThat(converter.revert(converter.convert(value))).isEqualTo(value);
+        }
+    }
+
+    /**
+     * Checks that the values without native BSON type are stored in binary, and keep their type.
+     */
+    @Test
+    void testBinary() {
+        for (Object value : Arrays.asList(4.2f, (short) 42, (byte) 42, 'c', new Date(0L))) {
+            BsonValue converted = converter.convert(value);
+            assertThat(converted.getBsonType()).isEqualTo(BsonType.BINARY);
+            assertThat(converter.revert(converted)).isEqualTo(value);
+        }
+    }
+}
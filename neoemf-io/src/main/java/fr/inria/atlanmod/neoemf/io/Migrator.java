@@ -15,6 +15,7 @@ import fr.inria.atlanmod.neoemf.io.listener.LoggingEventListener;
 import fr.inria.atlanmod.neoemf.io.listener.ProgressEventListener;
 import fr.inria.atlanmod.neoemf.io.listener.TimerEventListener;
 import fr.inria.atlanmod.neoemf.io.processor.NoopProcessor;
+import fr.inria.atlanmod.neoemf.io.processor.PipelinedProcessor;
 import fr.inria.atlanmod.neoemf.io.processor.Processor;
 import fr.inria.atlanmod.neoemf.io.reader.AbstractReader;
 import fr.inria.atlanmod.neoemf.io.reader.DefaultMapperReader;
@@ -48,12 +49,14 @@ import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 
+import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
 import javax.annotation.WillNotClose;
 
 import static java.util.Objects.nonNull;
 import static org.atlanmod.commons.Preconditions.checkArgument;
+import static org.atlanmod.commons.Preconditions.checkGreaterThan;
 import static org.atlanmod.commons.Preconditions.checkNotNull;
 import static org.atlanmod.commons.Preconditions.checkState;
 
@@ -106,6 +109,19 @@ public final class Migrator<T> {
     @Nonnull
     private final Set<OutputStream> streamsToClose = new HashSet<>();
 
+    /**
+     * The number of events in a batch handed off to the writing thread, or {@code 0} if the writers are notified on
+     * the reading thread.
+     */
+    @Nonnegative
+    private int pipelineBatchSize;
+
+    /**
+     * The number of batches waiting to be notified to the writing thread.
+     */
+    @Nonnegative
+    private int pipelineCapacity;
+
     /**
      * Constructs a new {@code Migrator} with the given arguments.
      *
@@ -359,6 +375,45 @@ public final class Migrator<T> {
 
     //endregion
 
+    //region Options
+
+    /**
+     * Notifies the listeners and the writers on a dedicated thread, with the default batch size and queue capacity.
+     *
+     * @return this migrator (for chaining)
+     *
+     * @see #withPipeline(int, int)
+     */
+    @Nonnull
+    public Migrator<T> withPipeline() {
+        return withPipeline(PipelinedProcessor.DEFAULT_BATCH_SIZE, PipelinedProcessor.DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Notifies the listeners and the writers on a dedicated thread. The reading and the resolution of the events
+     * continue while the previous events are written, and the events are handed off in batches through a bounded
+     * queue. The events are written in the same order, so the result is identical to a sequential migration.
+     *
+     * @param batchSize     the number of events in a batch
+     * @param queueCapacity the number of batches waiting to be written
+     *
+     * @return this migrator (for chaining)
+     *
+     * @throws IllegalArgumentException if {@code batchSize <= 0} or {@code queueCapacity <= 0}
+     * @see PipelinedProcessor
+     */
+    @Nonnull
+    public Migrator<T> withPipeline(@Nonnegative int batchSize, @Nonnegative int queueCapacity) {
+        checkGreaterThan(batchSize, 0, "batchSize (%d) must be greater than 0", batchSize);
+        checkGreaterThan(queueCapacity, 0, "queueCapacity (%d) must be greater than 0", queueCapacity);
+
+        this.pipelineBatchSize = batchSize;
+        this.pipelineCapacity = queueCapacity;
+        return this;
+    }
+
+    //endregion
+
     /**
      * Runs the migration.
      *
@@ -367,17 +422,32 @@ public final class Migrator<T> {
     public void migrate() throws IOException {
         checkNotNull(writers, "writers");
 
+        PipelinedProcessor pipeline = null;
+
         try {
             // Bind handlers and notifiers
             Collection<Handler> handlers = new ArrayList<>(listeners.size() + writers.size());
             handlers.addAll(listeners);
             handlers.addAll(writers);
-            reader.addNext(new NoopProcessor(handlers));
+
+            Processor processor = new NoopProcessor(handlers);
+            if (pipelineBatchSize > 0) {
+                pipeline = new PipelinedProcessor(processor, pipelineBatchSize, pipelineCapacity);
+                processor = pipeline;
+            }
+            reader.addNext(processor);
 
             reader.read(source);
         }
         finally {
-            closeAll();
+            try {
+                if (nonNull(pipeline)) {
+                    pipeline.close();
+                }
+            }
+            finally {
+                closeAll();
+            }
         }
     }
 
@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) 2013 Atlanmod.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.io.processor;
+
+import fr.inria.atlanmod.neoemf.io.AbstractNotifier;
+import fr.inria.atlanmod.neoemf.io.proxy.ProxyAttribute;
+import fr.inria.atlanmod.neoemf.io.proxy.ProxyElement;
+import fr.inria.atlanmod.neoemf.io.proxy.ProxyReference;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.atlanmod.commons.Preconditions.checkGreaterThan;
+import static org.atlanmod.commons.Preconditions.checkNotNull;
+
+/**
+ * A {@link Processor} that notifies the next {@link Processor} on a dedicated thread.
+ * <p>
+ * Events are collected in batches of fixed size, and handed off through a bounded queue to a thread that notifies
+ * them to the next processor, in the same order. The reading, and the processors placed before this one, can then run
+ * while the previous batches are written. When the queue is full, the reading thread waits for the writing thread.
+ * <p>
+ * Once notified, the events must not be modified by the previous processors. A failure of the next processor is
+ * rethrown on the reading thread, at the latest when the processing is {@linkplain #onComplete() complete}.
+ */
+@ParametersAreNonnullByDefault
+public final class PipelinedProcessor extends AbstractNotifier<Processor> implements Processor, Closeable {
+
+    /**
+     * The default number of events in a batch.
+     */
+    @Nonnegative
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+
+    /**
+     * The default number of batches waiting to be notified.
+     */
+    @Nonnegative
+    public static final int DEFAULT_QUEUE_CAPACITY = 16;
+
+    /**
+     * The batch that indicates the end of the processing.
+     */
+    @Nonnull
+    private static final List<Event> END = Collections.emptyList();
+
+    /**
+     * The maximum time, in milliseconds, to wait for the thread that notifies the next processor when closing.
+     */
+    @Nonnegative
+    private static final long CLOSE_TIMEOUT = 10_000;
+
+    /**
+     * The batches waiting to be notified.
+     */
+    @Nonnull
+    private final BlockingQueue<List<Event>> queue;
+
+    /**
+     * The number of events in a batch.
+     */
+    @Nonnegative
+    private final int batchSize;
+
+    /**
+     * The thread that notifies the next processor.
+     */
+    @Nonnull
+    private final Thread worker;
+
+    /**
+     * The events that have not been handed off yet.
+     */
+    @Nonnull
+    private List<Event> batch;
+
+    /**
+     * The first failure of the next processor, or {@code null} if none occurred.
+     */
+    @Nullable
+    private volatile Throwable failure;
+
+    /**
+     * Constructs a new {@code PipelinedProcessor} with the default batch size and queue capacity.
+     *
+     * @param next the processor to notify on a dedicated thread
+     */
+    public PipelinedProcessor(Processor next) {
+        this(next, DEFAULT_BATCH_SIZE, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Constructs a new {@code PipelinedProcessor}.
+     *
+     * @param next          the processor to notify on a dedicated thread
+     * @param batchSize     the number of events in a batch
+     * @param queueCapacity the number of batches waiting to be notified
+     *
+     * @throws IllegalArgumentException if {@code batchSize <= 0} or {@code queueCapacity <= 0}
+     */
+    public PipelinedProcessor(Processor next, @Nonnegative int batchSize, @Nonnegative int queueCapacity) {
+        checkNotNull(next, "next");
+        checkGreaterThan(batchSize, 0, "batchSize (%d) must be greater than 0", batchSize);
+        checkGreaterThan(queueCapacity, 0, "queueCapacity (%d) must be greater than 0", queueCapacity);
+
+        addNext(next);
+
+        this.batchSize = batchSize;
+        this.batch = new ArrayList<>(batchSize);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        this.worker = new Thread(this::run, "neoemf-pipeline");
+        this.worker.setDaemon(true);
+    }
+
+    @Override
+    public void onInitialize() throws IOException {
+        worker.start();
+
+        handOff(this::notifyInitialize);
+    }
+
+    @Override
+    public void onStartElement(ProxyElement element) throws IOException {
+        handOff(() -> notifyStartElement(element));
+    }
+
+    @Override
+    public void onAttribute(ProxyAttribute attribute) throws IOException {
+        handOff(() -> notifyAttribute(attribute));
+    }
+
+    @Override
+    public void onReference(ProxyReference reference) throws IOException {
+        handOff(() -> notifyReference(reference));
+    }
+
+    @Override
+    public void onEndElement() throws IOException {
+        handOff(this::notifyEndElement);
+    }
+
+    @Override
+    public void onComplete() throws IOException {
+        handOff(this::notifyComplete);
+        flush();
+        put(END);
+
+        try {
+            worker.join();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the pipeline to complete");
+        }
+
+        rethrowFailure();
+    }
+
+    /**
+     * Stops the thread that notifies the next processor, if the processing has not been completed, and waits for its
+     * termination: the next processor is no longer notified when this method returns.
+     *
+     * @throws IOException if the thread does not stop in time, or if the next processor has failed
+     */
+    @Override
+    public void close() throws IOException {
+        if (worker.isAlive()) {
+            worker.interrupt();
+
+            try {
+                worker.join(CLOSE_TIMEOUT);
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the pipeline to stop");
+            }
+
+            if (worker.isAlive()) {
+                throw new IOException(String.format("The pipeline did not stop within %d ms", CLOSE_TIMEOUT));
+            }
+        }
+
+        rethrowFailure();
+    }
+
+    /**
+     * Adds the {@code event} to the current batch, and hands off the batch if it is full.
+     *
+     * @param event the event to notify on the dedicated thread
+     *
+     * @throws IOException if the next processor has failed
+     */
+    private void handOff(Event event) throws IOException {
+        batch.add(event);
+
+        if (batch.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Hands off the current batch, if it is not empty.
+     *
+     * @throws IOException if the next processor has failed
+     */
+    private void flush() throws IOException {
+        rethrowFailure();
+
+        if (!batch.isEmpty()) {
+            put(batch);
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    /**
+     * Puts the {@code events} in the queue, waiting for space if necessary.
+     *
+     * @param events the events to put
+     *
+     * @throws IOException if the current thread is interrupted while waiting
+     */
+    private void put(List<Event> events) throws IOException {
+        try {
+            queue.put(events);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the pipeline");
+        }
+    }
+
+    /**
+     * Rethrows the failure of the next processor, if any.
+     *
+     * @throws IOException if the next processor has failed with an {@link IOException}
+     */
+    private void rethrowFailure() throws IOException {
+        final Throwable t = failure;
+
+        if (isNull(t)) {
+            return;
+        }
+
+        if (t instanceof IOException) {
+            throw (IOException) t;
+        }
+        if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        throw new IOException(t);
+    }
+
+    /**
+     * Notifies the batches of events to the next processor, until the end of the processing. After a failure, the
+     * remaining batches are discarded to release the reading thread.
+     */
+    private void run() {
+        try {
+            List<Event> events;
+            while ((events = queue.take()) != END) {
+                if (nonNull(failure)) {
+                    continue;
+                }
+
+                try {
+                    for (Event e : events) {
+                        e.notifyNext();
+                    }
+                }
+                catch (Throwable t) {
+                    failure = t;
+                }
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * An event to notify to the next processor.
+     */
+    @FunctionalInterface
+    private interface Event {
+
+        /**
+         * Notifies this event to the next processor.
+         *
+         * @throws IOException if an I/O error occurs during the notification
+         */
+        void notifyNext() throws IOException;
+    }
+}
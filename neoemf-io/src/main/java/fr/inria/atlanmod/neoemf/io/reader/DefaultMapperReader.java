@@ -9,8 +9,8 @@
 package fr.inria.atlanmod.neoemf.io.reader;
 
 import fr.inria.atlanmod.neoemf.core.Id;
-import fr.inria.atlanmod.neoemf.data.bean.AbstractFeatureBean;
 import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
+import fr.inria.atlanmod.neoemf.data.bean.FeatureBean;
 import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
 import fr.inria.atlanmod.neoemf.data.mapping.DataMapper;
 import fr.inria.atlanmod.neoemf.io.proxy.ProxyElement;
@@ -32,7 +32,9 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -40,18 +42,19 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 
+import static java.util.Objects.isNull;
+
 /**
  * The default implementation of a {@link Reader} that reads data from a {@link fr.inria.atlanmod.neoemf.data.mapping.DataMapper}.
+ * <p>
+ * The containment tree is walked with an explicit stack instead of recursive calls, so the depth of a model is not
+ * limited by the size of the call stack. All the features of an element are {@linkplain DataMapper#prefetch(Id)
+ * prefetched} in a single operation before being read, and the container of each child is only retrieved once, to
+ * check its ownership and to name it.
  */
 @ParametersAreNonnullByDefault
 public class DefaultMapperReader extends AbstractReader<DataMapper> {
 
-    /**
-     * A LIFO that holds the current {@link EClass} chain. It contains the current element and the previous.
-     */
-    @Nonnull
-    private final Deque<EClass> classes = new ArrayDeque<>();
-
     /**
      * The mapper to read.
      */
@@ -66,50 +69,67 @@ public class DefaultMapperReader extends AbstractReader<DataMapper> {
         SingleFeatureBean rootKey = SingleFeatureBean.of(PersistentResource.ROOT_ID, -1);
         Iterable<Id> rootReferences = source.allReferencesOf(rootKey).collect(Collectors.toList());
         for (Id id : rootReferences) {
-            readElement(id, true);
+            readTree(id);
         }
 
         notifyComplete();
     }
 
     /**
-     * Reads the element identified by its {@code id}.
+     * Reads the root element identified by its {@code id}, and all its content.
      *
-     * @param id     the identifier of the element
-     * @param isRoot {@code true} if the element is a root element
+     * @param id the identifier of the root element
+     */
+    private void readTree(Id id) throws IOException {
+        Deque<ElementFrame> frames = new ArrayDeque<>();
+        frames.push(readElement(id, null));
+
+        while (!frames.isEmpty()) {
+            ElementFrame frame = frames.peek();
+
+            if (frame.hasNextChild()) {
+                ChildElement child = frame.nextChild();
+                frames.push(readElement(child.id, child.name));
+            }
+            else {
+                frames.pop();
+                notifyEndElement();
+            }
+        }
+    }
+
+    /**
+     * Reads the element identified by its {@code id}, and all its features. The end of the element is notified when
+     * all its children have been read.
+     *
+     * @param id   the identifier of the element
+     * @param name the name of the containing feature, or {@code null} if the element is a root element
+     *
+     * @return the frame of the element, to read its children
      */
-    private void readElement(Id id, boolean isRoot) throws IOException {
+    @Nonnull
+    private ElementFrame readElement(Id id, @Nullable String name) throws IOException {
         // Retrieve the meta-class and namespace
         EClass eClass = mapper.metaClassOf(id)
                 .map(ClassBean::get)
                 .orElseThrow(IllegalArgumentException::new);
 
-        // Retrieve the name of the element
-        // If root it's the name of the meta-class, otherwise the name of the containing feature from the previous class
-        String name = isRoot ? eClass.getName() : mapper.containerOf(id)
-                .map(SingleFeatureBean::id)
-                .map(classes.getLast()::getEStructuralFeature)
-                .map(EStructuralFeature::getName)
-                .orElseThrow(IllegalStateException::new);
+        boolean isRoot = isNull(name);
 
         // Create the meta-class
         ProxyClass metaClass = new ProxyClass(eClass);
 
-        // Create the element
+        // Create the element: if root, its name is the name of its meta-class
         ProxyElement element = new ProxyElement()
-                .setName(name)
+                .setName(isRoot ? eClass.getName() : name)
                 .setId(ProxyValue.resolved(id))
                 .setRoot(isRoot)
                 .setMetaClass(metaClass);
 
         notifyStartElement(element);
-        classes.addLast(eClass);
 
         // Process all features
-        readAllFeatures(id, eClass);
-
-        classes.removeLast();
-        notifyEndElement();
+        return new ElementFrame(readAllFeatures(id, eClass));
     }
 
     /**
@@ -117,54 +137,73 @@ public class DefaultMapperReader extends AbstractReader<DataMapper> {
      *
      * @param id     the identifier of the element
      * @param eClass the meta-class of the element
+     *
+     * @return the children of the element, in order
      */
-    private void readAllFeatures(Id id, EClass eClass) throws IOException {
+    @Nonnull
+    private List<ChildElement> readAllFeatures(Id id, EClass eClass) throws IOException {
+        Map<FeatureBean, Object> prefetchedValues = mapper.prefetch(id);
+
         List<Id> containments = new ArrayList<>();
 
         // Read all feature of the element, and notify the next handler
         for (EStructuralFeature f : eClass.getEAllStructuralFeatures()) {
-            containments.addAll(readFeature(id, eClass, f));
+            containments.addAll(readFeature(id, eClass, f, prefetchedValues));
         }
 
-        // Read the next element only if containerOf(next) == parent
+        // Read the next element only if containerOf(next) == parent: its name is the name of the containing feature
+        List<ChildElement> children = new ArrayList<>(containments.size());
         for (Id r : containments) {
-            if (mapper.containerOf(r).map(AbstractFeatureBean::owner).filter(id::equals).isPresent()) {
-                readElement(r, false);
+            Optional<SingleFeatureBean> container = mapper.containerOf(r).filter(c -> c.owner().equals(id));
+
+            if (container.isPresent()) {
+                String name = container.map(SingleFeatureBean::id)
+                        .map(eClass::getEStructuralFeature)
+                        .map(EStructuralFeature::getName)
+                        .orElseThrow(IllegalStateException::new);
+
+                children.add(new ChildElement(r, name));
             }
         }
+
+        return children;
     }
 
     /**
      * Reads the value(s) of the {@code eFeature} for the given {@code id}.
      *
-     * @param id       the identifier of the element
-     * @param eClass   the identifier of the element
-     * @param eFeature the feature
+     * @param id               the identifier of the element
+     * @param eClass           the identifier of the element
+     * @param eFeature         the feature
+     * @param prefetchedValues the prefetched values of the element
      *
      * @return a stream of containment references
      */
     @Nonnull
-    private List<Id> readFeature(Id id, EClass eClass, EStructuralFeature eFeature) throws IOException {
+    private List<Id> readFeature(Id id, EClass eClass, EStructuralFeature eFeature, Map<FeatureBean, Object> prefetchedValues) throws IOException {
         final SingleFeatureBean bean = SingleFeatureBean.of(id, eClass.getFeatureID(eFeature));
 
         if (EFeatures.isAttribute(eFeature)) {
-            readAttribute(bean, EFeatures.asAttribute(eFeature));
+            readAttribute(bean, EFeatures.asAttribute(eFeature), prefetchedValues);
             return Collections.emptyList();
         }
         else {
-            return readReference(bean, EFeatures.asReference(eFeature));
+            return readReference(bean, EFeatures.asReference(eFeature), prefetchedValues);
         }
     }
 
     /**
      * Reads the value(s) of the {@code eAttribute} for the given {@code feature}.
      *
-     * @param feature    the owner of the attribute
-     * @param eAttribute the associated EMF attribute
+     * @param feature          the owner of the attribute
+     * @param eAttribute       the associated EMF attribute
+     * @param prefetchedValues the prefetched values of the owner
      */
-    private void readAttribute(SingleFeatureBean feature, EAttribute eAttribute) throws IOException {
+    private void readAttribute(SingleFeatureBean feature, EAttribute eAttribute, Map<FeatureBean, Object> prefetchedValues) throws IOException {
         if (!eAttribute.isMany()) {
-            Optional<Object> value = mapper.valueOf(feature);
+            Optional<Object> value = prefetchedValues.containsKey(feature)
+                    ? Optional.of(prefetchedValues.get(feature))
+                    : mapper.valueOf(feature);
             if (value.isPresent()) {
                 createAttribute(feature, eAttribute, value.get());
             }
@@ -180,17 +219,22 @@ public class DefaultMapperReader extends AbstractReader<DataMapper> {
     /**
      * Reads the value(s) of the {@code eReference} for the given {@code feature}.
      *
-     * @param feature    the owner of the reference
-     * @param eReference the associated EMF reference
+     * @param feature          the owner of the reference
+     * @param eReference       the associated EMF reference
+     * @param prefetchedValues the prefetched values of the owner
      *
      * @return a list of containment references
      */
     @Nonnull
-    private List<Id> readReference(SingleFeatureBean feature, EReference eReference) throws IOException {
+    private List<Id> readReference(SingleFeatureBean feature, EReference eReference, Map<FeatureBean, Object> prefetchedValues) throws IOException {
         boolean isContainment = eReference.isContainment();
 
         if (!eReference.isMany()) {
-            Optional<Id> reference = mapper.referenceOf(feature);
+            // Prefetched references are returned as they are stored, so they are converted by the mapper
+            Optional<Id> reference = Optional.ofNullable(prefetchedValues.get(feature)).flatMap(mapper::referenceFrom);
+            if (!reference.isPresent()) {
+                reference = mapper.referenceOf(feature);
+            }
             if (reference.isPresent()) {
                 createReference(feature, eReference, reference.get());
             }
@@ -275,4 +319,75 @@ public class DefaultMapperReader extends AbstractReader<DataMapper> {
             throw new UnsupportedOperationException("FeatureMaps are not supported yet: Use standard EMF to export your model");
         }
     }
+
+    /**
+     * An element being read, with the children that remain to be read.
+     */
+    @ParametersAreNonnullByDefault
+    private static final class ElementFrame {
+
+        /**
+         * The children of the element that remain to be read.
+         */
+        @Nonnull
+        private final Iterator<ChildElement> children;
+
+        /**
+         * Constructs a new {@code ElementFrame}.
+         *
+         * @param children the children of the element, in order
+         */
+        ElementFrame(List<ChildElement> children) {
+            this.children = children.iterator();
+        }
+
+        /**
+         * Returns {@code true} if a child of the element remains to be read.
+         *
+         * @return {@code true} if a child remains to be read
+         */
+        public boolean hasNextChild() {
+            return children.hasNext();
+        }
+
+        /**
+         * Returns the next child of the element to read.
+         *
+         * @return the next child
+         */
+        @Nonnull
+        public ChildElement nextChild() {
+            return children.next();
+        }
+    }
+
+    /**
+     * A child element to read, with the name of its containing feature.
+     */
+    @ParametersAreNonnullByDefault
+    private static final class ChildElement {
+
+        /**
+         * The identifier of the child.
+         */
+        @Nonnull
+        private final Id id;
+
+        /**
+         * The name of the containing feature.
+         */
+        @Nonnull
+        private final String name;
+
+        /**
+         * Constructs a new {@code ChildElement}.
+         *
+         * @param id   the identifier of the child
+         * @param name the name of the containing feature
+         */
+        ChildElement(Id id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
 }
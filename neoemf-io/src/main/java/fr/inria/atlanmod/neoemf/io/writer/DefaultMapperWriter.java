@@ -11,28 +11,86 @@ package fr.inria.atlanmod.neoemf.io.writer;
 import fr.inria.atlanmod.neoemf.core.Id;
 import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
 import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+import fr.inria.atlanmod.neoemf.data.mapping.BulkElement;
+import fr.inria.atlanmod.neoemf.data.mapping.BulkLoader;
 import fr.inria.atlanmod.neoemf.data.mapping.DataMapper;
-import fr.inria.atlanmod.neoemf.io.proxy.ProxyElement;
 import fr.inria.atlanmod.neoemf.io.proxy.ProxyAttribute;
 import fr.inria.atlanmod.neoemf.io.proxy.ProxyClass;
+import fr.inria.atlanmod.neoemf.io.proxy.ProxyElement;
 import fr.inria.atlanmod.neoemf.io.proxy.ProxyReference;
 import fr.inria.atlanmod.neoemf.io.proxy.ProxyValue;
 import fr.inria.atlanmod.neoemf.resource.PersistentResource;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 
+import static java.util.Objects.nonNull;
 import static org.atlanmod.commons.Preconditions.checkState;
 
 /**
  * A {@link Writer} that persists data into a {@link fr.inria.atlanmod.neoemf.data.mapping.DataMapper}.
+ * <p>
+ * Each element is collected as a {@link BulkElement}, and written with a {@link BulkLoader} of the mapper once the
+ * element is complete. The content of the mapper is the same as if each feature was written separately, but the
+ * back-end can write a whole element, or several elements, at once.
+ * <p>
+ * The multi-valued features of an element that is not complete, such as the containment list of a parent, are written
+ * by chunks of at most {@link #MAX_PENDING_VALUES} values, so the memory used by the writer depends on the depth of the
+ * model and not on its size.
  */
 @ParametersAreNonnullByDefault
 public class DefaultMapperWriter extends AbstractWriter<DataMapper> {
 
+    /**
+     * The maximum number of values of multi-valued features collected for an element that is not complete. Beyond this
+     * number, the features collected so far are written, and the element collects the next ones.
+     */
+    @Nonnegative
+    private static final int MAX_PENDING_VALUES = 1_000;
+
+    /**
+     * The identifiers of the elements that are not complete, from the root to the current element.
+     */
+    @Nonnull
+    private final Deque<Id> elements = new ArrayDeque<>();
+
+    /**
+     * The elements that are not complete, identified by their identifier. An element is removed once it is written.
+     */
+    @Nonnull
+    private final Map<Id, BulkElement> elementsById = new HashMap<>();
+
+    /**
+     * The containers of the elements that have not been started yet. They are defined when reading a containment
+     * reference before the contained element.
+     */
+    @Nonnull
+    private final Map<Id, SingleFeatureBean> pendingContainers = new LinkedHashMap<>();
+
+    /**
+     * The loader used to write the complete elements.
+     */
+    @Nullable
+    private BulkLoader loader;
+
+    /**
+     * The features of the 'ROOT' element, written when the migration is complete.
+     */
+    @Nullable
+    private BulkElement rootElement;
+
     /**
      * Constructs a new {@code DefaultMapperWriter} with the given {@code mapper}.
      *
@@ -44,6 +102,8 @@ public class DefaultMapperWriter extends AbstractWriter<DataMapper> {
 
     @Override
     public void onInitialize() {
+        loader = target.newBulkLoader();
+
         // Create the 'ROOT' node with the default meta-class
         ProxyElement rootElement = new ProxyElement()
                 .setId(ProxyValue.resolved(PersistentResource.ROOT_ID))
@@ -54,6 +114,21 @@ public class DefaultMapperWriter extends AbstractWriter<DataMapper> {
 
     @Override
     public void onComplete() {
+        // Write the containers of the elements that have never been started
+        pendingContainers.forEach((i, c) -> load(new BulkElement(i).container(c)));
+        pendingContainers.clear();
+
+        if (nonNull(rootElement)) {
+            elementsById.remove(rootElement.id());
+            load(rootElement);
+            rootElement = null;
+        }
+
+        if (nonNull(loader)) {
+            loader.close();
+            loader = null;
+        }
+
         target.save();
     }
 
@@ -65,32 +140,50 @@ public class DefaultMapperWriter extends AbstractWriter<DataMapper> {
     }
 
     @Override
-    public void onAttribute(ProxyAttribute attribute, List<Object> values) {
-        SingleFeatureBean bean = SingleFeatureBean.of(attribute.getOwner(), attribute.getId());
+    public void onEndElement() throws IOException {
+        super.onEndElement();
 
-        if (!attribute.isMany()) {
-            target.valueFor(bean, values.get(0));
-        }
-        else {
-            target.appendAllValues(bean, values);
-        }
+        Id id = elements.removeLast();
+        load(elementsById.remove(id));
     }
 
     @Override
-    public void onReference(ProxyReference reference, List<Id> values) {
-        SingleFeatureBean bean = SingleFeatureBean.of(reference.getOwner(), reference.getId());
+    public void onAttribute(ProxyAttribute attribute, List<Object> values) {
+        update(attribute.getOwner(), e -> {
+            if (!attribute.isMany()) {
+                e.value(attribute.getId(), values.get(0));
+            }
+            else {
+                e.appendValues(attribute.getId(), values);
+            }
+        });
+    }
 
+    @Override
+    public void onReference(ProxyReference reference, List<Id> values) {
         // Update the containment reference if needed
         if (reference.isContainment()) {
-            values.forEach(i -> target.containerFor(i, bean));
-        }
+            SingleFeatureBean bean = SingleFeatureBean.of(reference.getOwner(), reference.getId());
 
-        if (!reference.isMany()) {
-            target.referenceFor(bean, values.get(0));
-        }
-        else {
-            target.appendAllReferences(bean, values);
+            for (Id i : values) {
+                BulkElement child = elementsById.get(i);
+                if (nonNull(child)) {
+                    child.container(bean);
+                }
+                else {
+                    pendingContainers.put(i, bean);
+                }
+            }
         }
+
+        update(reference.getOwner(), e -> {
+            if (!reference.isMany()) {
+                e.reference(reference.getId(), values.get(0));
+            }
+            else {
+                e.appendReferences(reference.getId(), values);
+            }
+        });
     }
 
     /**
@@ -102,10 +195,30 @@ public class DefaultMapperWriter extends AbstractWriter<DataMapper> {
      * @throws NullPointerException if the {@code element} is {@code null}
      */
     protected void createElement(ProxyElement element, boolean ignoreFailure) {
+        final Id id = element.getId().getResolved();
         ProxyClass metaClass = element.getMetaClass();
-        boolean success = target.metaClassFor(element.getId().getResolved(), ClassBean.of(metaClass.getName(), metaClass.getNamespace().getUri()));
+        ClassBean classBean = ClassBean.of(metaClass.getName(), metaClass.getNamespace().getUri());
+
+        BulkElement newElement = new BulkElement(id);
+
+        if (ignoreFailure) {
+            // The element may already exist: it is created immediately, and only its features are collected
+            target.metaClassFor(id, classBean);
+            rootElement = newElement;
+        }
+        else {
+            checkState(!elementsById.containsKey(id), "An element with the same Id (%s) is already defined", id.toHexString());
+
+            newElement.metaClass(classBean);
+            elements.addLast(id);
 
-        checkState(success || ignoreFailure, "An element with the same Id (%s) is already defined", element.getId().getResolved().toHexString());
+            SingleFeatureBean container = pendingContainers.remove(id);
+            if (nonNull(container)) {
+                newElement.container(container);
+            }
+        }
+
+        elementsById.put(id, newElement);
 
         // Add the current element as content of the 'ROOT' node
         if (element.isRoot()) {
@@ -115,7 +228,64 @@ public class DefaultMapperWriter extends AbstractWriter<DataMapper> {
                     .setId(-1)
                     .setMany(true);
 
-            onReference(rootReference, Collections.singletonList(element.getId().getResolved()));
+            onReference(rootReference, Collections.singletonList(id));
         }
     }
+
+    /**
+     * Updates the element that collects the features of the element identified by the {@code id}. If this element is
+     * not complete, the features are written with the element, or as soon as its multi-valued features hold too many
+     * values; otherwise they are written immediately.
+     *
+     * @param id     the identifier of the element
+     * @param update the update to apply
+     */
+    private void update(Id id, Consumer<BulkElement> update) {
+        BulkElement element = elementsById.get(id);
+
+        if (nonNull(element)) {
+            update.accept(element);
+
+            if (sizeOfMany(element) >= MAX_PENDING_VALUES) {
+                // Write the features collected so far: the appended values are written in the same order
+                load(element);
+
+                BulkElement nextElement = new BulkElement(id);
+                elementsById.put(id, nextElement);
+
+                if (element == rootElement) {
+                    rootElement = nextElement;
+                }
+            }
+        }
+        else {
+            BulkElement detachedElement = new BulkElement(id);
+            update.accept(detachedElement);
+            load(detachedElement);
+        }
+    }
+
+    /**
+     * Returns the number of values of the multi-valued features collected by the {@code element}.
+     *
+     * @param element the element
+     *
+     * @return the number of values
+     */
+    @Nonnegative
+    private static int sizeOfMany(BulkElement element) {
+        return element.manyValues().values().stream().mapToInt(List::size).sum()
+                + element.manyReferences().values().stream().mapToInt(List::size).sum();
+    }
+
+    /**
+     * Writes the {@code element} with the current loader.
+     *
+     * @param element the element to write
+     */
+    private void load(BulkElement element) {
+        checkState(nonNull(loader), "The writer has not been initialized");
+
+        loader.load(element);
+    }
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2013 Atlanmod.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.io;
+
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.Backend;
+import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+import fr.inria.atlanmod.neoemf.data.im.DefaultInMemoryBackend;
+import fr.inria.atlanmod.neoemf.io.util.InMemoryElement;
+import fr.inria.atlanmod.neoemf.io.util.InMemoryWriter;
+import fr.inria.atlanmod.neoemf.resource.PersistentResource;
+
+import org.atlanmod.commons.AbstractTest;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A test-case about {@link fr.inria.atlanmod.neoemf.io.reader.DefaultMapperReader}.
+ */
+@ParametersAreNonnullByDefault
+class MapperReaderTest extends AbstractTest {
+
+    /**
+     * The depth of the containment tree, that would exceed the call stack with a recursive reading.
+     */
+    private static final int DEPTH = 20_000;
+
+    /**
+     * Checks the reading of a very deep containment tree.
+     */
+    @Test
+    void testReadDeepModel() throws IOException {
+        InMemoryWriter writer = new InMemoryWriter();
+
+        try (Backend backend = new DefaultInMemoryBackend()) {
+            ClassBean metaClass = ClassBean.from(EcorePackage.eINSTANCE.getEPackage());
+
+            Id parent = Id.getProvider().fromLong(0);
+            backend.metaClassFor(parent, metaClass);
+            backend.setValue(SingleFeatureBean.of(parent, EcorePackage.EPACKAGE__NAME), "package0");
+            backend.appendReference(SingleFeatureBean.of(PersistentResource.ROOT_ID, -1), parent);
+
+            for (int i = 1; i < DEPTH; i++) {
+                Id child = Id.getProvider().fromLong(i);
+                SingleFeatureBean containment = SingleFeatureBean.of(parent, EcorePackage.EPACKAGE__ESUBPACKAGES);
+
+                backend.metaClassFor(child, metaClass);
+                backend.setValue(SingleFeatureBean.of(child, EcorePackage.EPACKAGE__NAME), "package" + i);
+                backend.appendReference(containment, child);
+                backend.containerFor(child, containment);
+
+                parent = child;
+            }
+
+            Migrator.fromMapper(backend).to(writer).migrate();
+        }
+
+        InMemoryElement element = writer.getRoot();
+        assertThat(element.name()).isEqualTo("EPackage");
+
+        int depth = 1;
+        List<InMemoryElement> children = element.children();
+        while (!children.isEmpty()) {
+            assertThat(children).hasSize(1);
+
+            element = children.get(0);
+            assertThat(element.name()).isEqualTo("eSubpackages");
+            assertThat(element.id()).isEqualTo(Id.getProvider().fromLong(depth));
+
+            children = element.children();
+            depth++;
+        }
+
+        assertThat(depth).isEqualTo(DEPTH);
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2013 Atlanmod.
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License v2.0 which accompanies
+ * this distribution, and is available at https://www.eclipse.org/legal/epl-2.0/
+ */
+
+package fr.inria.atlanmod.neoemf.io;
+
+import fr.inria.atlanmod.neoemf.core.Id;
+import fr.inria.atlanmod.neoemf.data.Backend;
+import fr.inria.atlanmod.neoemf.data.bean.ClassBean;
+import fr.inria.atlanmod.neoemf.data.bean.SingleFeatureBean;
+import fr.inria.atlanmod.neoemf.data.im.DefaultInMemoryBackend;
+import fr.inria.atlanmod.neoemf.data.mapping.DataMapper;
+import fr.inria.atlanmod.neoemf.io.processor.NoopProcessor;
+import fr.inria.atlanmod.neoemf.io.processor.PipelinedProcessor;
+import fr.inria.atlanmod.neoemf.io.provider.UriProvider;
+import fr.inria.atlanmod.neoemf.io.proxy.ProxyAttribute;
+import fr.inria.atlanmod.neoemf.io.proxy.ProxyElement;
+import fr.inria.atlanmod.neoemf.io.proxy.ProxyReference;
+import fr.inria.atlanmod.neoemf.io.util.ResourceManager;
+import fr.inria.atlanmod.neoemf.resource.PersistentResource;
+
+import org.atlanmod.commons.AbstractTest;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ArgumentsSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A test-case about the migration with a {@link PipelinedProcessor}.
+ */
+@ParametersAreNonnullByDefault
+class PipelineTest extends AbstractTest {
+
+    /**
+     * The number of sub-packages of each package of the copied model.
+     */
+    private static final int PACKAGES = 30;
+
+    @BeforeAll
+    static void registerPackages() {
+        ResourceManager.registerAllPackages();
+    }
+
+    /**
+     * Creates a backend containing a root {@link org.eclipse.emf.ecore.EPackage} with {@link #PACKAGES} sub-packages,
+     * each of them containing {@link #PACKAGES} sub-packages.
+     *
+     * @return a new backend
+     */
+    @Nonnull
+    private static Backend createModel() {
+        Backend backend = new DefaultInMemoryBackend();
+        ClassBean metaClass = ClassBean.from(EcorePackage.eINSTANCE.getEPackage());
+
+        Id root = Id.getProvider().generate("root");
+        backend.metaClassFor(root, metaClass);
+        backend.setValue(SingleFeatureBean.of(root, EcorePackage.EPACKAGE__NAME), "root");
+        backend.appendReference(SingleFeatureBean.of(PersistentResource.ROOT_ID, -1), root);
+
+        for (int i = 0; i < PACKAGES; i++) {
+            Id child = createPackage(backend, root, "package" + i);
+
+            for (int j = 0; j < PACKAGES; j++) {
+                createPackage(backend, child, "package" + i + "." + j);
+            }
+        }
+
+        return backend;
+    }
+
+    /**
+     * Creates a {@link org.eclipse.emf.ecore.EPackage} contained in the {@code parent}.
+     *
+     * @param backend the backend where to create the package
+     * @param parent  the identifier of the containing package
+     * @param name    the name of the package
+     *
+     * @return the identifier of the new package
+     */
+    @Nonnull
+    private static Id createPackage(Backend backend, Id parent, String name) {
+        Id id = Id.getProvider().generate(name);
+        SingleFeatureBean containment = SingleFeatureBean.of(parent, EcorePackage.EPACKAGE__ESUBPACKAGES);
+
+        backend.metaClassFor(id, ClassBean.from(EcorePackage.eINSTANCE.getEPackage()));
+        backend.setValue(SingleFeatureBean.of(id, EcorePackage.EPACKAGE__NAME), name);
+        backend.setValue(SingleFeatureBean.of(id, EcorePackage.EPACKAGE__NS_URI), "http://" + name);
+        backend.appendReference(containment, id);
+        backend.containerFor(id, containment);
+
+        return id;
+    }
+
+    /**
+     * Exports the content of the {@code backend} as XMI.
+     *
+     * @param backend the backend to export
+     *
+     * @return the XMI content
+     */
+    @Nonnull
+    private static String export(Backend backend) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Migrator.fromMapper(backend).toXmi(out).migrate();
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Checks that an import with a pipeline produces the same content as a sequential import.
+     */
+    @ParameterizedTest(name = "[{index}] source = {0}")
+    @ArgumentsSource(UriProvider.All.class)
+    void testImport(URI uri) throws IOException {
+        String expected;
+        try (Backend backend = new DefaultInMemoryBackend(); InputStream in = new URL(uri.toString()).openStream()) {
+            Migrator.fromXmi(in).toMapper(backend).migrate();
+            expected = export(backend);
+        }
+
+        String actual;
+        try (Backend backend = new DefaultInMemoryBackend(); InputStream in = new URL(uri.toString()).openStream()) {
+            Migrator.fromXmi(in).toMapper(backend).withPipeline(7, 2).migrate();
+            actual = export(backend);
+        }
+
+        assertThat(actual).isNotEmpty().isEqualTo(expected);
+    }
+
+    /**
+     * Checks that a copy with a pipeline produces the same content as a sequential copy.
+     */
+    @Test
+    void testCopy() throws IOException {
+        try (Backend source = createModel()) {
+            String expected;
+            try (Backend backend = new DefaultInMemoryBackend()) {
+                Migrator.fromMapper(source).toMapper(backend).migrate();
+                expected = export(backend);
+            }
+
+            String actual;
+            try (Backend backend = new DefaultInMemoryBackend()) {
+                Migrator.fromMapper(source).toMapper(backend).withPipeline(7, 2).migrate();
+                actual = export(backend);
+            }
+
+            assertThat(actual).isNotEmpty().isEqualTo(expected);
+        }
+    }
+
+    /**
+     * Checks that a failure of the backend is rethrown by the migration.
+     */
+    @Test
+    void testBackendFailure() throws IOException {
+        Backend failingBackend = new DefaultInMemoryBackend() {
+            @Nonnull
+            @Override
+            public <V> Optional<V> valueFor(SingleFeatureBean feature, V value) {
+                throw new IllegalStateException("Failure");
+            }
+        };
+
+        try (Backend source = createModel(); Backend backend = failingBackend) {
+            assertThatThrownBy(() -> Migrator.fromMapper(source).toMapper(backend).withPipeline(7, 2).migrate())
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("Failure");
+        }
+    }
+
+    /**
+     * Checks that closing a pipeline before its completion stops the thread that notifies the next processor.
+     */
+    @Test
+    void testCloseBeforeComplete() throws Exception {
+        CountDownLatch initialized = new CountDownLatch(1);
+        AtomicReference<Thread> worker = new AtomicReference<>();
+
+        Handler handler = new Handler() {
+            @Override
+            public void onInitialize() {
+                worker.set(Thread.currentThread());
+                initialized.countDown();
+            }
+
+            @Override
+            public void onStartElement(ProxyElement element) {
+            }
+
+            @Override
+            public void onAttribute(ProxyAttribute attribute) {
+            }
+
+            @Override
+            public void onReference(ProxyReference reference) {
+            }
+
+            @Override
+            public void onEndElement() {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        };
+
+        PipelinedProcessor pipeline = new PipelinedProcessor(new NoopProcessor(Collections.singletonList(handler)), 1, 2);
+        pipeline.onInitialize();
+        assertThat(initialized.await(10, TimeUnit.SECONDS)).isTrue();
+
+        pipeline.close();
+        assertThat(worker.get().isAlive()).isFalse();
+    }
+
+    /**
+     * Checks that the options of the pipeline are validated.
+     */
+    @Test
+    void testInvalidOptions() throws IOException {
+        try (Backend backend = new DefaultInMemoryBackend()) {
+            Migrator<DataMapper> migrator = Migrator.fromMapper(backend);
+
+            assertThatThrownBy(() -> migrator.withPipeline(0, 2)).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> migrator.withPipeline(7, 0)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
@@ -19,12 +19,16 @@ import fr.inria.atlanmod.neoemf.tests.sample.Tree;
 import fr.inria.atlanmod.neoemf.tests.sample.VirtualNode;
 
 import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ArgumentsSource;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import javax.annotation.ParametersAreNonnullByDefault;
@@ -115,6 +119,30 @@ class AllInstancesTest extends AbstractResourceBasedTest {
         }
     }
 
+    /**
+     * Checks the content with {@link PersistentResource#streamInstancesOf(EClass, boolean)} and {@link
+     * PersistentResource#streamAllContents()}.
+     */
+    @ParameterizedTest(name = "[{index}] {0}: isStrict = {1}")
+    @ArgumentsSource(ContextProvider.AllWithBooleans.class)
+    void testStreamInstances(Context context, Boolean isStrict) throws IOException {
+        try (PersistentResource resource = createPersistentResource(context)) {
+            fillResource(resource);
+
+            assertThat(resource.streamInstancesOf(EPACKAGE.getTree(), isStrict).count())
+                    .isEqualTo(TREE_COUNT);
+
+            assertThat(resource.streamInstancesOf(EPACKAGE.getPhysicalNode(), isStrict).count())
+                    .isEqualTo(isStrict ? PHYSICAL_NODE_STRICT_COUNT : PHYSICAL_NODE_COUNT);
+
+            List<EObject> allContents = new ArrayList<>();
+            resource.getAllContents().forEachRemaining(allContents::add);
+
+            assertThat(resource.streamAllContents().collect(Collectors.<EObject>toList()))
+                    .containsExactlyElementsOf(allContents);
+        }
+    }
+
     /**
      * Fills the {@code resource}.
      *